@@ -0,0 +1,15 @@
+-- ----------------------------
+-- 异步邮件发送队列：sys_mail_log 兼作持久化任务表
+-- 待发送（send_status = 0）的记录按 next_retry_time 调度：入队或被实例认领时写入租约到期时间，
+-- 发送失败时写入下次重试时间；实例宕机后租约到期的记录由其他实例重新认领
+-- 标题、内容与参数按渲染结果保存：HTML 转义会使内容变长，参数以完整 JSON 保存，相应加宽字段；
+-- 仍超出长度的请求单独记为发送失败，不影响同批次其他邮件
+-- ----------------------------
+
+ALTER TABLE `sys_mail_log`
+  ADD COLUMN `retry_count` int NOT NULL DEFAULT 0 COMMENT '已重试次数' AFTER `send_exception`,
+  ADD COLUMN `next_retry_time` datetime NULL DEFAULT NULL COMMENT '下次发送时间（发送中为租约到期时间）' AFTER `retry_count`,
+  ADD INDEX `idx_send_status_next_retry_time`(`send_status` ASC, `next_retry_time` ASC) USING BTREE,
+  MODIFY COLUMN `template_title` varchar(1024) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '邮件标题',
+  MODIFY COLUMN `template_content` mediumtext CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '邮件内容',
+  MODIFY COLUMN `template_params` text CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '邮件参数';
@@ -0,0 +1,26 @@
+-- ----------------------------
+-- 文件内容去重：同租户同服务商内相同内容（SHA-256）只存储一份，sys_oss 记录通过 content_hash 引用内容块
+-- 内容块引用计数归零时物理删除行与存储对象，因此 sys_oss_blob 不做逻辑删除
+-- 升级前的 sys_oss 记录 content_hash 为空，不参与去重，删除时直接删除对象
+-- ----------------------------
+
+ALTER TABLE `sys_oss` ADD COLUMN `content_hash` char(64) CHARACTER SET ascii COLLATE ascii_bin NULL DEFAULT NULL COMMENT '内容SHA-256（十六进制）' AFTER `service`;
+
+DROP TABLE IF EXISTS `sys_oss_blob`;
+CREATE TABLE `sys_oss_blob`  (
+  `id` bigint NOT NULL COMMENT '内容块ID',
+  `content_hash` char(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '内容SHA-256（十六进制）',
+  `service` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '服务商',
+  `file_name` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '对象键',
+  `url` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT 'URL地址',
+  `file_size` bigint NOT NULL DEFAULT 0 COMMENT '文件大小(字节)',
+  `ref_count` int NOT NULL DEFAULT 1 COMMENT '引用数（未删除的 sys_oss 记录数）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `tenant_id` bigint NOT NULL DEFAULT 0 COMMENT '租户ID',
+  PRIMARY KEY (`id`) USING BTREE,
+  UNIQUE INDEX `uk_tenant_service_hash`(`tenant_id` ASC, `service` ASC, `content_hash` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_bin COMMENT = 'OSS内容块表' ROW_FORMAT = DYNAMIC;
+
+-- 租户用量对账按租户汇总未删除文件大小，覆盖索引避免回表
+ALTER TABLE `sys_oss` ADD INDEX `idx_tenant_deleted_size`(`tenant_id` ASC, `deleted` ASC, `file_size` ASC) USING BTREE;
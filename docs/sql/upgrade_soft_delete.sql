@@ -0,0 +1,95 @@
+-- ----------------------------
+-- 逻辑删除字段升级：deleted bit(1) -> bigint，已删除行写入自身ID
+-- 升级后 (业务键, deleted) 唯一索引允许同一业务键保留多条已删除记录；唯一索引无需重建
+-- 对应 SoftDeleteMode.ID，也可通过 SoftDeleteMigration.migrate 执行
+-- ----------------------------
+
+ALTER TABLE `sys_app_resource` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_app_resource` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_application` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_application` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_config` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_config` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_data_permission_rule` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_data_permission_rule` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_dept` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_dept` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_dict_data` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_dict_data` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_dict_type` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_dict_type` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_login_log` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_login_log` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_mail_account` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_mail_account` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_mail_log` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_mail_log` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_mail_template` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_mail_template` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_notice` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_notice` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_oauth2_access_token` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_oauth2_access_token` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_oauth2_client` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_oauth2_client` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_oauth2_code` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_oauth2_code` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_operation_log` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_operation_log` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_oss` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_oss` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_oss_config` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_oss_config` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_permission_log` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_permission_log` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_post` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_post` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_role` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_role` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_role_data_permission` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_role_data_permission` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_role_resource` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_role_resource` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_tenant` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_tenant` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_tenant_application` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_tenant_application` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_tenant_package` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_tenant_package` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_user` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_user` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_user_permission` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_user_permission` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_user_post` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_user_post` SET `deleted` = `id` WHERE `deleted` <> 0;
+
+ALTER TABLE `sys_user_role` MODIFY COLUMN `deleted` bigint NOT NULL DEFAULT 0 COMMENT '是否删除：0-未删除，非0-已删除';
+UPDATE `sys_user_role` SET `deleted` = `id` WHERE `deleted` <> 0;
@@ -0,0 +1,22 @@
+package com.taoyuan.enjoy.framework.cache.config;
+
+/**
+ * 配置变更监听
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * 配置项新增、修改或删除后回调，在刷新线程上执行
+     * 默认租户的配置变化时，未单独配置该键的租户读取到的值也随之变化
+     *
+     * @param tenantId 租户ID
+     * @param key      配置键
+     * @param oldEntry 变更前的配置项，新增时为 null
+     * @param newEntry 变更后的配置项，删除或停用时为 null
+     */
+    void onChange(long tenantId, String key, ConfigEntry oldEntry, ConfigEntry newEntry);
+}
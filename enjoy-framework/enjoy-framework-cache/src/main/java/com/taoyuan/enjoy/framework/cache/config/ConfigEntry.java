@@ -0,0 +1,223 @@
+package com.taoyuan.enjoy.framework.cache.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 配置项（sys_config 的一行），不可变
+ * 加载时即按可能的类型解析好整数、布尔、时长与 JSON 树，读取时不再解析字符串；
+ * 按类型绑定的 JSON 对象首次读取时转换并缓存在配置项上，配置变更后随新配置项一并失效
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class ConfigEntry {
+
+    public static final String TYPE_STRING = "STRING";
+    public static final String TYPE_INTEGER = "INTEGER";
+    public static final String TYPE_BOOLEAN = "BOOLEAN";
+    public static final String TYPE_JSON = "JSON";
+
+    private final long id;
+    private final long tenantId;
+    private final String key;
+    private final String value;
+    private final String type;
+
+    private final boolean integer;
+    private final long longValue;
+    private final Boolean booleanValue;
+    private final Duration duration;
+    private final JsonNode json;
+    private final String jsonError;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Object> objects = new ConcurrentHashMap<>();
+
+    ConfigEntry(long id, long tenantId, String key, String value, String type, ObjectMapper objectMapper) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.key = key;
+        this.value = value;
+        this.type = type == null ? TYPE_STRING : type.toUpperCase(Locale.ROOT);
+        this.objectMapper = objectMapper;
+        String text = value == null ? "" : value.trim();
+        Long number = parseLong(text);
+        this.integer = number != null;
+        this.longValue = number == null ? 0L : number;
+        this.booleanValue = parseBoolean(text);
+        this.duration = parseDuration(text);
+        JsonNode node = null;
+        String error = null;
+        if (TYPE_JSON.equals(this.type) || text.startsWith("{") || text.startsWith("[")) {
+            try {
+                node = objectMapper.readTree(text.isEmpty() ? "null" : text);
+            } catch (JsonProcessingException e) {
+                error = e.getOriginalMessage();
+            }
+        }
+        this.json = node;
+        this.jsonError = error;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 原始配置值
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 配置类型（config_type）：STRING、INTEGER、BOOLEAN、JSON
+     */
+    public String getType() {
+        return type;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+
+    long longValue() {
+        if (!integer) {
+            throw invalid("an integer");
+        }
+        return longValue;
+    }
+
+    int intValue() {
+        long number = longValue();
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw invalid("an int");
+        }
+        return (int) number;
+    }
+
+    boolean booleanValue() {
+        if (booleanValue == null) {
+            throw invalid("a boolean");
+        }
+        return booleanValue;
+    }
+
+    Duration durationValue() {
+        if (duration == null) {
+            throw invalid("a duration");
+        }
+        return duration;
+    }
+
+    JsonNode jsonValue() {
+        if (json == null) {
+            throw invalid(jsonError == null ? "JSON" : "JSON (" + jsonError + ")");
+        }
+        return json;
+    }
+
+    <T> T objectValue(Class<T> type) {
+        Object object = objects.get(type);
+        if (object == null) {
+            JsonNode node = jsonValue();
+            try {
+                object = objectMapper.treeToValue(node, type);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Config " + key + " of tenant " + tenantId
+                        + " cannot be bound to " + type.getName(), e);
+            }
+            if (object == null) {
+                return null;
+            }
+            Object existing = objects.putIfAbsent(type, object);
+            if (existing != null) {
+                object = existing;
+            }
+        }
+        return type.cast(object);
+    }
+
+    /**
+     * 是否为同一行的相同内容，用于刷新时跳过未变化的行
+     */
+    boolean matches(long id, String value, String type) {
+        return this.id == id && Objects.equals(this.value, value)
+                && this.type.equals(type == null ? TYPE_STRING : type.toUpperCase(Locale.ROOT));
+    }
+
+    private IllegalStateException invalid(String expected) {
+        return new IllegalStateException("Config " + key + " of tenant " + tenantId + " is not " + expected
+                + ": " + value);
+    }
+
+    private static Long parseLong(String text) {
+        if (text.isEmpty() || text.length() > 20) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String text) {
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "y", "yes", "1", "on" -> Boolean.TRUE;
+            case "false", "n", "no", "0", "off" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /**
+     * 时长：ISO-8601（PT30S）、带单位（500ms、30s、5m、2h、1d）或纯数字（毫秒）
+     */
+    private static Duration parseDuration(String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        char first = Character.toUpperCase(text.charAt(0));
+        if (first == 'P' || ((first == '-' || first == '+') && text.length() > 1
+                && Character.toUpperCase(text.charAt(1)) == 'P')) {
+            try {
+                return Duration.parse(text);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int unitStart = lower.length();
+        while (unitStart > 0 && Character.isLetter(lower.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+        Long amount = parseLong(lower.substring(0, unitStart).trim());
+        if (amount == null) {
+            return null;
+        }
+        return switch (lower.substring(unitStart)) {
+            case "", "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> null;
+        };
+    }
+}
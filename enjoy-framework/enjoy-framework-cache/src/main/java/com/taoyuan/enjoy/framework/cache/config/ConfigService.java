@@ -0,0 +1,428 @@
+package com.taoyuan.enjoy.framework.cache.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taoyuan.enjoy.framework.common.constant.TenantConstants;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 参数配置服务
+ * 首次读取时全量加载 sys_config 中未删除的行，之后定时按 update_time 增量拉取变更行（含已删除的行），
+ * 复制出新快照整体替换并回调监听。读取只有一次 volatile 读，之后是一次哈希查找与两次二分查找，
+ * 值在加载时已解析为整数、布尔、时长与 JSON 树。租户未配置的键回退到默认租户（{@link TenantConstants#DEFAULT_TENANT_ID}）。
+ * 配置值存在但不是所需类型时抛出 {@link IllegalStateException}，不存在时返回默认值
+ *
+ * <pre>
+ * int maxAttempts = configService.getInt(tenantId, "login.max-attempts", 5);
+ * Duration lockTime = configService.getDuration(tenantId, "login.lock-time", Duration.ofMinutes(15));
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ConfigService {
+
+    private static final String SELECT_SQL = "SELECT id, tenant_id, config_key, config_value, config_type, deleted,"
+            + " update_time FROM sys_config";
+    private static final String ALL_FILTER = " WHERE deleted = 0";
+    private static final String CHANGED_FILTER = " WHERE update_time >= ?";
+
+    private final DataSource dataSource;
+    private final ConfigProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 串行化加载与刷新，快照本身由 volatile 发布
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * 已合并变更的最大 update_time
+     */
+    private Timestamp watermark;
+    private long lastFullReload = System.nanoTime();
+    private volatile Exception lastError;
+    private ScheduledExecutorService scheduler;
+
+    public ConfigService(DataSource dataSource, ConfigProperties properties) {
+        this(dataSource, properties, new ObjectMapper());
+    }
+
+    public ConfigService(DataSource dataSource, ConfigProperties properties, ObjectMapper objectMapper) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.properties = Objects.requireNonNull(properties);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+    }
+
+    /**
+     * 获取配置项，租户未配置时回退到默认租户
+     *
+     * @return 不存在时返回 null
+     */
+    public ConfigEntry getEntry(long tenantId, String key) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = load();
+        }
+        ConfigSlot slot = current.slots.get(key);
+        if (slot == null) {
+            return null;
+        }
+        ConfigEntry entry = slot.get(tenantId);
+        if (entry == null && tenantId != TenantConstants.DEFAULT_TENANT_ID) {
+            entry = slot.get(TenantConstants.DEFAULT_TENANT_ID);
+        }
+        return entry;
+    }
+
+    /**
+     * @return 不存在时返回 null
+     */
+    public String getString(long tenantId, String key) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    public String getString(long tenantId, String key, String defaultValue) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null || entry.getValue() == null ? defaultValue : entry.getValue();
+    }
+
+    public int getInt(long tenantId, String key, int defaultValue) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? defaultValue : entry.intValue();
+    }
+
+    public long getLong(long tenantId, String key, long defaultValue) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? defaultValue : entry.longValue();
+    }
+
+    /**
+     * 布尔值：true/false、Y/N、yes/no、1/0、on/off，不区分大小写
+     */
+    public boolean getBoolean(long tenantId, String key, boolean defaultValue) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? defaultValue : entry.booleanValue();
+    }
+
+    /**
+     * 时长：ISO-8601（PT30S）、带单位（500ms、30s、5m、2h、1d）或纯数字（毫秒）
+     */
+    public Duration getDuration(long tenantId, String key, Duration defaultValue) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? defaultValue : entry.durationValue();
+    }
+
+    /**
+     * JSON 树，加载时已解析，调用方不应修改
+     *
+     * @return 不存在时返回 null
+     */
+    public JsonNode getJson(long tenantId, String key) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? null : entry.jsonValue();
+    }
+
+    /**
+     * JSON 绑定为对象，同一配置项按类型缓存转换结果，调用方不应修改
+     *
+     * @return 不存在时返回 null
+     */
+    public <T> T getObject(long tenantId, String key, Class<T> type) {
+        ConfigEntry entry = getEntry(tenantId, key);
+        return entry == null ? null : entry.objectValue(type);
+    }
+
+    /**
+     * 监听所有配置键的变更
+     */
+    public void addListener(ConfigChangeListener listener) {
+        listeners.add(new Registration(null, Objects.requireNonNull(listener)));
+    }
+
+    /**
+     * 监听指定配置键的变更
+     */
+    public void addListener(String key, ConfigChangeListener listener) {
+        listeners.add(new Registration(Objects.requireNonNull(key), Objects.requireNonNull(listener)));
+    }
+
+    /**
+     * 增量刷新
+     *
+     * @return 发生变化的配置项数
+     */
+    public int refresh() {
+        List<Change> changes = new ArrayList<>();
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || watermark == null) {
+                return 0;
+            }
+            Timestamp since = new Timestamp(watermark.getTime()
+                    - TimeUnit.SECONDS.toMillis(properties.getOverlapSeconds()));
+            List<Row> rows = new ArrayList<>();
+            long max = query(SELECT_SQL + CHANGED_FILTER, since, rows);
+            if (max > watermark.getTime()) {
+                watermark = new Timestamp(max);
+            }
+            Snapshot merged = current.apply(rows, null, objectMapper, changes);
+            if (merged != current) {
+                snapshot = merged;
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(changes);
+        return changes.size();
+    }
+
+    /**
+     * 全量重载，用于物理删除等增量无法发现的变更；未变化的配置项沿用原实例
+     *
+     * @return 发生变化的配置项数
+     */
+    public int reload() {
+        List<Change> changes = new ArrayList<>();
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                load();
+                return 0;
+            }
+            List<Row> rows = new ArrayList<>();
+            query(SELECT_SQL + ALL_FILTER, null, rows);
+            Snapshot merged = current.apply(rows, ids(rows), objectMapper, changes);
+            if (merged != current) {
+                snapshot = merged;
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(changes);
+        return changes.size();
+    }
+
+    /**
+     * 启动定时刷新
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-config-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce, properties.getRefreshIntervalSeconds(),
+                properties.getRefreshIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定时刷新
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 执行一轮刷新：到达全量重载间隔时全量重载，否则增量刷新；异常记录到 {@link #getLastError()}，不中断定时任务
+     */
+    public void runOnce() {
+        try {
+            long fullReloadNanos = TimeUnit.SECONDS.toNanos(properties.getFullReloadIntervalSeconds());
+            if (fullReloadNanos > 0 && System.nanoTime() - lastFullReload >= fullReloadNanos) {
+                reload();
+                lastFullReload = System.nanoTime();
+            } else {
+                refresh();
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e;
+        }
+    }
+
+    /**
+     * 最近一轮定时刷新的异常，成功后清空
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    private Snapshot load() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                List<Row> rows = new ArrayList<>();
+                long max = query(SELECT_SQL + ALL_FILTER, null, rows);
+                watermark = new Timestamp(max);
+                snapshot = Snapshot.EMPTY.apply(rows, null, objectMapper, new ArrayList<>());
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 读取到的最大 update_time（毫秒）
+     */
+    private long query(String sql, Timestamp since, List<Row> out) {
+        long max = 0L;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (since != null) {
+                ps.setTimestamp(1, since);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new Row(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getLong(6) == 0L));
+                    max = Math.max(max, rs.getTimestamp(7).getTime());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load sys_config", e);
+        }
+        return max;
+    }
+
+    private static Set<Long> ids(List<Row> rows) {
+        Set<Long> ids = new HashSet<>(rows.size() * 2);
+        for (Row row : rows) {
+            ids.add(row.id());
+        }
+        return ids;
+    }
+
+    private void notifyListeners(List<Change> changes) {
+        for (Change change : changes) {
+            for (Registration registration : listeners) {
+                if (registration.key() == null || registration.key().equals(change.key())) {
+                    registration.listener().onChange(change.tenantId(), change.key(), change.oldEntry(),
+                            change.newEntry());
+                }
+            }
+        }
+    }
+
+    /**
+     * 配置快照，不可变
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        final Map<String, ConfigSlot> slots;
+        final Map<Long, ConfigEntry> byId;
+
+        Snapshot(Map<String, ConfigSlot> slots, Map<Long, ConfigEntry> byId) {
+            this.slots = slots;
+            this.byId = byId;
+        }
+
+        /**
+         * 合并变更行
+         *
+         * @param rows     变更行
+         * @param complete 全量重载时为全部有效行的ID，不在其中的配置项视为已删除；增量时为 null
+         * @param changes  输出实际发生的变化
+         * @return 无变化时返回当前实例
+         */
+        Snapshot apply(List<Row> rows, Set<Long> complete, ObjectMapper objectMapper, List<Change> changes) {
+            Map<String, ConfigSlot> newSlots = new HashMap<>(slots);
+            Map<Long, ConfigEntry> newById = new HashMap<>(byId);
+            int before = changes.size();
+            if (complete != null) {
+                for (ConfigEntry entry : byId.values()) {
+                    if (!complete.contains(entry.getId())) {
+                        remove(newSlots, newById, entry, changes);
+                    }
+                }
+            }
+            for (Row row : rows) {
+                ConfigEntry previous = newById.get(row.id());
+                if (previous != null && (!row.active() || !previous.getKey().equals(row.key())
+                        || previous.getTenantId() != row.tenantId())) {
+                    remove(newSlots, newById, previous, changes);
+                }
+                if (!row.active()) {
+                    continue;
+                }
+                ConfigSlot slot = newSlots.getOrDefault(row.key(), ConfigSlot.EMPTY);
+                ConfigEntry existing = slot.get(row.tenantId());
+                if (existing != null && existing.matches(row.id(), row.value(), row.type())) {
+                    continue;
+                }
+                ConfigEntry entry = new ConfigEntry(row.id(), row.tenantId(), row.key(), row.value(), row.type(),
+                        objectMapper);
+                newSlots.put(row.key(), slot.with(entry));
+                if (existing != null) {
+                    newById.remove(existing.getId());
+                }
+                newById.put(row.id(), entry);
+                changes.add(new Change(row.tenantId(), row.key(), existing, entry));
+            }
+            if (changes.size() == before) {
+                return this;
+            }
+            return new Snapshot(Map.copyOf(newSlots), Map.copyOf(newById));
+        }
+
+        private static void remove(Map<String, ConfigSlot> slots, Map<Long, ConfigEntry> byId, ConfigEntry entry,
+                                   List<Change> changes) {
+            ConfigSlot slot = slots.get(entry.getKey());
+            if (slot != null && slot.get(entry.getTenantId()) == entry) {
+                ConfigSlot remaining = slot.without(entry.getTenantId());
+                if (remaining.isEmpty()) {
+                    slots.remove(entry.getKey());
+                } else {
+                    slots.put(entry.getKey(), remaining);
+                }
+            }
+            byId.remove(entry.getId());
+            changes.add(new Change(entry.getTenantId(), entry.getKey(), entry, null));
+        }
+    }
+
+    /**
+     * sys_config 行
+     */
+    private record Row(long id, long tenantId, String key, String value, String type, boolean active) {
+    }
+
+    private record Change(long tenantId, String key, ConfigEntry oldEntry, ConfigEntry newEntry) {
+    }
+
+    private record Registration(String key, ConfigChangeListener listener) {
+    }
+}
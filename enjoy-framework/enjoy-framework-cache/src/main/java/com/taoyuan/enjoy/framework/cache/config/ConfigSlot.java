@@ -0,0 +1,74 @@
+package com.taoyuan.enjoy.framework.cache.config;
+
+import java.util.Arrays;
+
+/**
+ * 同一配置键在各租户下的配置项，不可变
+ * 租户ID升序存放，按二分查找定位；绝大多数键只有默认租户与少数租户覆盖，查询不装箱、不创建对象
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class ConfigSlot {
+
+    static final ConfigSlot EMPTY = new ConfigSlot(new long[0], new ConfigEntry[0]);
+
+    private final long[] tenantIds;
+    private final ConfigEntry[] entries;
+
+    private ConfigSlot(long[] tenantIds, ConfigEntry[] entries) {
+        this.tenantIds = tenantIds;
+        this.entries = entries;
+    }
+
+    /**
+     * @return 该租户未配置时返回 null
+     */
+    ConfigEntry get(long tenantId) {
+        int i = Arrays.binarySearch(tenantIds, tenantId);
+        return i >= 0 ? entries[i] : null;
+    }
+
+    boolean isEmpty() {
+        return tenantIds.length == 0;
+    }
+
+    /**
+     * 返回放入（或替换）配置项后的新实例
+     */
+    ConfigSlot with(ConfigEntry entry) {
+        int i = Arrays.binarySearch(tenantIds, entry.getTenantId());
+        if (i >= 0) {
+            ConfigEntry[] newEntries = entries.clone();
+            newEntries[i] = entry;
+            return new ConfigSlot(tenantIds, newEntries);
+        }
+        int at = -i - 1;
+        long[] newIds = new long[tenantIds.length + 1];
+        ConfigEntry[] newEntries = new ConfigEntry[entries.length + 1];
+        System.arraycopy(tenantIds, 0, newIds, 0, at);
+        System.arraycopy(entries, 0, newEntries, 0, at);
+        newIds[at] = entry.getTenantId();
+        newEntries[at] = entry;
+        System.arraycopy(tenantIds, at, newIds, at + 1, tenantIds.length - at);
+        System.arraycopy(entries, at, newEntries, at + 1, entries.length - at);
+        return new ConfigSlot(newIds, newEntries);
+    }
+
+    /**
+     * 返回移除租户配置项后的新实例
+     */
+    ConfigSlot without(long tenantId) {
+        int i = Arrays.binarySearch(tenantIds, tenantId);
+        if (i < 0) {
+            return this;
+        }
+        long[] newIds = new long[tenantIds.length - 1];
+        ConfigEntry[] newEntries = new ConfigEntry[entries.length - 1];
+        System.arraycopy(tenantIds, 0, newIds, 0, i);
+        System.arraycopy(entries, 0, newEntries, 0, i);
+        System.arraycopy(tenantIds, i + 1, newIds, i, tenantIds.length - i - 1);
+        System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+        return new ConfigSlot(newIds, newEntries);
+    }
+}
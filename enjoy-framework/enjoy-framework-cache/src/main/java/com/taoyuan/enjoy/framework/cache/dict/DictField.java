@@ -0,0 +1,32 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+import java.util.Objects;
+
+/**
+ * 批量翻译的字段声明
+ *
+ * @param field      键值字段（对象属性名或 Map 键）
+ * @param dictType   字典类型编码
+ * @param labelField 写入标签的字段，须为 String 类型
+ * @author enjoy
+ * @version 1.0
+ */
+public record DictField(String field, String dictType, String labelField) {
+
+    public DictField {
+        Objects.requireNonNull(field);
+        Objects.requireNonNull(dictType);
+        Objects.requireNonNull(labelField);
+    }
+
+    /**
+     * 标签写入 {@code field + "Label"}，如 status → statusLabel
+     */
+    public static DictField of(String field, String dictType) {
+        return new DictField(field, dictType, field + "Label");
+    }
+
+    public static DictField of(String field, String dictType, String labelField) {
+        return new DictField(field, dictType, labelField);
+    }
+}
@@ -0,0 +1,59 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+/**
+ * 字典项（sys_dict_data 中启用的一行），不可变
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class DictItem {
+
+    private final long id;
+    private final String value;
+    private final String label;
+    private final int sort;
+    private final String colorType;
+    private final String cssClass;
+    private final boolean defaultItem;
+
+    DictItem(long id, String value, String label, int sort, String colorType, String cssClass, boolean defaultItem) {
+        this.id = id;
+        this.value = value;
+        this.label = label;
+        this.sort = sort;
+        this.colorType = colorType;
+        this.cssClass = cssClass;
+        this.defaultItem = defaultItem;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getSort() {
+        return sort;
+    }
+
+    public String getColorType() {
+        return colorType;
+    }
+
+    public String getCssClass() {
+        return cssClass;
+    }
+
+    /**
+     * 是否默认项（is_default = 'Y'）
+     */
+    public boolean isDefaultItem() {
+        return defaultItem;
+    }
+}
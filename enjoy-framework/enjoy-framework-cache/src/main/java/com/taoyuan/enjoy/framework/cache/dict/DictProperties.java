@@ -0,0 +1,49 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+/**
+ * 字典缓存配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class DictProperties {
+
+    /**
+     * 增量刷新间隔（秒）
+     */
+    private long refreshIntervalSeconds = 30L;
+
+    /**
+     * 增量查询向前重叠的时间（秒），覆盖提交晚于 update_time 的事务与 datetime 的秒级精度
+     */
+    private long overlapSeconds = 5L;
+
+    /**
+     * 全量重载间隔（秒），用于发现物理删除的行；不大于0时不做全量重载
+     */
+    private long fullReloadIntervalSeconds = 3600L;
+
+    public long getRefreshIntervalSeconds() {
+        return refreshIntervalSeconds;
+    }
+
+    public void setRefreshIntervalSeconds(long refreshIntervalSeconds) {
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    public long getOverlapSeconds() {
+        return overlapSeconds;
+    }
+
+    public void setOverlapSeconds(long overlapSeconds) {
+        this.overlapSeconds = overlapSeconds;
+    }
+
+    public long getFullReloadIntervalSeconds() {
+        return fullReloadIntervalSeconds;
+    }
+
+    public void setFullReloadIntervalSeconds(long fullReloadIntervalSeconds) {
+        this.fullReloadIntervalSeconds = fullReloadIntervalSeconds;
+    }
+}
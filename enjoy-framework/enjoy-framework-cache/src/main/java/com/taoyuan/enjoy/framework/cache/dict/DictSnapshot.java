@@ -0,0 +1,163 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单个租户的字典快照，不可变
+ * 保留启用且未删除的原始行，用于增量合并；字典类型按编码索引。
+ * 增量变更只重建受影响的字典类型，其余沿用上一快照中的实例
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class DictSnapshot {
+
+    static final DictSnapshot EMPTY = new DictSnapshot(Map.of(), Map.of(), Map.of());
+
+    private static final Comparator<DataRow> ITEM_ORDER =
+            Comparator.comparingInt(DataRow::sort).thenComparingLong(DataRow::id);
+
+    private final Map<Long, TypeRow> typeRows;
+    private final Map<Long, DataRow> dataRows;
+    private final Map<String, DictType> types;
+
+    private DictSnapshot(Map<Long, TypeRow> typeRows, Map<Long, DataRow> dataRows, Map<String, DictType> types) {
+        this.typeRows = typeRows;
+        this.dataRows = dataRows;
+        this.types = types;
+    }
+
+    /**
+     * 由全量行构建
+     */
+    static DictSnapshot of(List<TypeRow> types, List<DataRow> data) {
+        return EMPTY.merge(types, data);
+    }
+
+    DictType type(String type) {
+        return types.get(type);
+    }
+
+    Map<String, DictType> types() {
+        return types;
+    }
+
+    int itemCount() {
+        return dataRows.size();
+    }
+
+    /**
+     * 原始行是否与另一快照一致，全量重载时据此判断是否需要替换
+     */
+    boolean sameRows(DictSnapshot other) {
+        return typeRows.equals(other.typeRows) && dataRows.equals(other.dataRows);
+    }
+
+    /**
+     * 合并变更行（含已删除、已停用的行）
+     *
+     * @return 无实际变化时返回当前实例
+     */
+    DictSnapshot merge(List<TypeRow> changedTypes, List<DataRow> changedData) {
+        Map<Long, TypeRow> newTypeRows = null;
+        Map<Long, DataRow> newDataRows = null;
+        Set<Long> affected = new HashSet<>();
+        for (TypeRow row : changedTypes) {
+            TypeRow old = typeRows.get(row.id());
+            TypeRow now = row.active() ? row : null;
+            if (same(old, now)) {
+                continue;
+            }
+            if (newTypeRows == null) {
+                newTypeRows = new HashMap<>(typeRows);
+            }
+            if (now == null) {
+                newTypeRows.remove(row.id());
+            } else {
+                newTypeRows.put(row.id(), now);
+            }
+            affected.add(row.id());
+        }
+        for (DataRow row : changedData) {
+            DataRow old = dataRows.get(row.id());
+            DataRow now = row.active() ? row : null;
+            if (same(old, now)) {
+                continue;
+            }
+            if (newDataRows == null) {
+                newDataRows = new HashMap<>(dataRows);
+            }
+            if (now == null) {
+                newDataRows.remove(row.id());
+            } else {
+                newDataRows.put(row.id(), now);
+            }
+            if (old != null) {
+                affected.add(old.typeId());
+            }
+            affected.add(row.typeId());
+        }
+        if (affected.isEmpty()) {
+            return this;
+        }
+        Map<Long, TypeRow> mergedTypes = newTypeRows == null ? typeRows : Map.copyOf(newTypeRows);
+        Map<Long, DataRow> mergedData = newDataRows == null ? dataRows : Map.copyOf(newDataRows);
+
+        Map<Long, List<DataRow>> itemsByType = new HashMap<>();
+        for (DataRow row : mergedData.values()) {
+            if (affected.contains(row.typeId())) {
+                itemsByType.computeIfAbsent(row.typeId(), key -> new ArrayList<>()).add(row);
+            }
+        }
+        Map<String, DictType> newTypes = new HashMap<>(types);
+        // 先移除受影响类型的旧编码（编码可能被改名），再按新行重建
+        for (Map.Entry<Long, TypeRow> entry : typeRows.entrySet()) {
+            if (affected.contains(entry.getKey())) {
+                newTypes.remove(entry.getValue().type());
+            }
+        }
+        for (Long typeId : affected) {
+            TypeRow type = mergedTypes.get(typeId);
+            if (type != null) {
+                newTypes.put(type.type(), build(type, itemsByType.getOrDefault(typeId, List.of())));
+            }
+        }
+        return new DictSnapshot(mergedTypes, mergedData, Map.copyOf(newTypes));
+    }
+
+    private static DictType build(TypeRow type, List<DataRow> rows) {
+        DataRow[] sorted = rows.toArray(new DataRow[0]);
+        Arrays.sort(sorted, ITEM_ORDER);
+        DictItem[] items = new DictItem[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            DataRow row = sorted[i];
+            items[i] = new DictItem(row.id(), row.value(), row.label(), row.sort(), row.colorType(),
+                    row.cssClass(), row.defaultItem());
+        }
+        return new DictType(type.id(), type.type(), type.name(), items);
+    }
+
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * sys_dict_type 行
+     */
+    record TypeRow(long id, long tenantId, String type, String name, boolean active) {
+    }
+
+    /**
+     * sys_dict_data 行
+     */
+    record DataRow(long id, long tenantId, long typeId, String label, String value, int sort, String colorType,
+                   String cssClass, boolean defaultItem, boolean active) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+import java.util.List;
+
+/**
+ * 字典类型，不可变
+ * 字典项按 dict_sort、id 排序；键值到字典项用开放寻址表索引，另为十进制整数键值建 long 索引，
+ * 按字符串或整数查询标签均不创建对象。同一键值出现多次时取排序靠前的一项
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class DictType {
+
+    private final long id;
+    private final String type;
+    private final String name;
+    private final List<DictItem> items;
+    private final DictItem defaultItem;
+
+    private final String[] keys;
+    private final DictItem[] values;
+    private final long[] longKeys;
+    private final DictItem[] longValues;
+    private final int mask;
+
+    DictType(long id, String type, String name, DictItem[] sorted) {
+        this.id = id;
+        this.type = type;
+        this.name = name;
+        this.items = List.of(sorted);
+        int capacity = Integer.highestOneBit(Math.max(4, sorted.length * 2 - 1)) << 1;
+        this.mask = capacity - 1;
+        this.keys = new String[capacity];
+        this.values = new DictItem[capacity];
+        this.longKeys = new long[capacity];
+        this.longValues = new DictItem[capacity];
+        DictItem defaultItem = null;
+        for (DictItem item : sorted) {
+            if (defaultItem == null && item.isDefaultItem()) {
+                defaultItem = item;
+            }
+            putString(item);
+            Long number = parseLong(item.getValue());
+            if (number != null) {
+                putLong(number, item);
+            }
+        }
+        this.defaultItem = defaultItem;
+    }
+
+    private void putString(DictItem item) {
+        String key = item.getValue();
+        for (int i = spread(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = item;
+                return;
+            }
+            if (keys[i].equals(key)) {
+                return;
+            }
+        }
+    }
+
+    private void putLong(long key, DictItem item) {
+        for (int i = spread(Long.hashCode(key)) & mask; ; i = (i + 1) & mask) {
+            if (longValues[i] == null) {
+                longKeys[i] = key;
+                longValues[i] = item;
+                return;
+            }
+            if (longKeys[i] == key) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按键值查找字典项
+     *
+     * @return 不存在时返回 null
+     */
+    public DictItem item(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (int i = spread(value.hashCode()) & mask; ; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (key.equals(value)) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * 按整数键值查找字典项，只匹配规范十进制写法的键值（如 "1"，不匹配 "01"）
+     *
+     * @return 不存在时返回 null
+     */
+    public DictItem item(long value) {
+        for (int i = spread(Long.hashCode(value)) & mask; ; i = (i + 1) & mask) {
+            DictItem item = longValues[i];
+            if (item == null) {
+                return null;
+            }
+            if (longKeys[i] == value) {
+                return item;
+            }
+        }
+    }
+
+    /**
+     * 按键值查找标签
+     *
+     * @return 不存在时返回 null
+     */
+    public String label(String value) {
+        DictItem item = item(value);
+        return item == null ? null : item.getLabel();
+    }
+
+    /**
+     * 按整数键值查找标签
+     *
+     * @return 不存在时返回 null
+     */
+    public String label(long value) {
+        DictItem item = item(value);
+        return item == null ? null : item.getLabel();
+    }
+
+    /**
+     * 按任意类型的键值查找标签：整数类型走 long 索引，其余按 toString
+     */
+    public String label(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String text) {
+            return label(text);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return label(((Number) value).longValue());
+        }
+        if (value instanceof Boolean bool) {
+            return label(bool ? 1L : 0L);
+        }
+        return label(value.toString());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 按 dict_sort 排序的字典项，不可修改
+     */
+    public List<DictItem> getItems() {
+        return items;
+    }
+
+    /**
+     * 默认项，没有时返回 null
+     */
+    public DictItem getDefaultItem() {
+        return defaultItem;
+    }
+
+    @Override
+    public String toString() {
+        return "DictType{" + type + ", items=" + items.size() + '}';
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static Long parseLong(String value) {
+        int length = value.length();
+        if (length == 0 || length > 19) {
+            return null;
+        }
+        try {
+            long number = Long.parseLong(value);
+            return Long.toString(number).equals(value) ? number : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+import com.taoyuan.enjoy.framework.cache.dict.DictSnapshot.DataRow;
+import com.taoyuan.enjoy.framework.cache.dict.DictSnapshot.TypeRow;
+import com.taoyuan.enjoy.framework.common.constant.TenantConstants;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * 字典服务
+ * 租户首次访问时全量加载 sys_dict_type / sys_dict_data 中启用且未删除的行，构建不可变快照；
+ * 之后定时按 update_time 增量拉取所有租户的变更行（含已删除、已停用的行），只重建受影响的字典类型并整体替换快照，
+ * 读取方无锁。标签、键值等文本驻留（intern），各租户相同的文本只保留一份；查询标签不创建对象。
+ * 租户未配置的字典类型回退到默认租户（{@link TenantConstants#DEFAULT_TENANT_ID}）。
+ * 物理删除的行增量无法发现，由周期性全量重载兜底
+ *
+ * <pre>
+ * dictionaryService.translate(tenantId, users, DictField.of("status", "sys_common_status"),
+ *         DictField.of("sex", "sys_user_sex"));
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class DictionaryService {
+
+    private static final String TYPE_SQL = "SELECT id, tenant_id, dict_type, dict_name, status, deleted, update_time"
+            + " FROM sys_dict_type";
+    private static final String DATA_SQL = "SELECT id, tenant_id, dict_type_id, dict_label, dict_value, dict_sort,"
+            + " color_type, css_class, is_default, status, deleted, update_time FROM sys_dict_data";
+    private static final String TENANT_FILTER = " WHERE tenant_id = ? AND deleted = 0";
+    private static final String CHANGED_FILTER = " WHERE update_time >= ?";
+
+    private static final Map<Class<?>, Map<String, Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final DataSource dataSource;
+    private final DictProperties properties;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 串行化加载与刷新，快照本身由 volatile 发布
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile TenantSnapshots snapshots = TenantSnapshots.EMPTY;
+
+    /**
+     * 已合并变更的最大 update_time，首个租户加载前取库中当前最大值
+     */
+    private Timestamp watermark;
+    private long lastFullReload = System.nanoTime();
+    private volatile Exception lastError;
+    private ScheduledExecutorService scheduler;
+
+    public DictionaryService(DataSource dataSource, DictProperties properties) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    /**
+     * 获取字典类型，租户未配置时回退到默认租户
+     *
+     * @return 不存在时返回 null
+     */
+    public DictType get(long tenantId, String type) {
+        DictType dict = snapshot(tenantId).type(type);
+        if (dict == null && tenantId != TenantConstants.DEFAULT_TENANT_ID) {
+            dict = snapshot(TenantConstants.DEFAULT_TENANT_ID).type(type);
+        }
+        return dict;
+    }
+
+    /**
+     * 租户可见的全部字典类型（含回退到默认租户的类型），按编码排序
+     */
+    public Map<String, DictType> getAll(long tenantId) {
+        Map<String, DictType> all = new HashMap<>();
+        if (tenantId != TenantConstants.DEFAULT_TENANT_ID) {
+            all.putAll(snapshot(TenantConstants.DEFAULT_TENANT_ID).types());
+        }
+        all.putAll(snapshot(tenantId).types());
+        Map<String, DictType> sorted = new LinkedHashMap<>();
+        all.keySet().stream().sorted().forEach(key -> sorted.put(key, all.get(key)));
+        return sorted;
+    }
+
+    /**
+     * 查询标签
+     *
+     * @return 字典类型或键值不存在时返回 null
+     */
+    public String label(long tenantId, String type, String value) {
+        DictType dict = get(tenantId, type);
+        return dict == null ? null : dict.label(value);
+    }
+
+    /**
+     * 按整数键值查询标签
+     *
+     * @return 字典类型或键值不存在时返回 null
+     */
+    public String label(long tenantId, String type, long value) {
+        DictType dict = get(tenantId, type);
+        return dict == null ? null : dict.label(value);
+    }
+
+    /**
+     * 批量翻译：读取每行的键值字段，把标签写入对应的标签字段
+     * 行可以是普通对象（按字段名反射读写，字段按类缓存，整数字段直接读取不装箱）或 {@code Map<String, Object>}。
+     * 字典类型只在开始时解析一次，键值不存在时写入 null
+     *
+     * @param tenantId 租户ID
+     * @param rows     行数据
+     * @param fields   翻译字段
+     * @return 传入的 rows
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> translate(long tenantId, List<T> rows, DictField... fields) {
+        if (rows == null || rows.isEmpty() || fields.length == 0) {
+            return rows;
+        }
+        DictType[] dicts = new DictType[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            dicts[i] = get(tenantId, fields[i].dictType());
+        }
+        Class<?> boundClass = null;
+        Binding[] bindings = null;
+        for (T row : rows) {
+            if (row == null) {
+                continue;
+            }
+            if (row instanceof Map<?, ?> map) {
+                Map<Object, Object> values = (Map<Object, Object>) map;
+                for (int i = 0; i < fields.length; i++) {
+                    Object value = values.get(fields[i].field());
+                    values.put(fields[i].labelField(), dicts[i] == null ? null : dicts[i].label(value));
+                }
+                continue;
+            }
+            if (row.getClass() != boundClass) {
+                boundClass = row.getClass();
+                bindings = bind(boundClass, fields);
+            }
+            for (int i = 0; i < fields.length; i++) {
+                bindings[i].apply(row, dicts[i]);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 注册变更监听，参数为快照发生变化的租户ID
+     * 默认租户变化时也影响回退到它的其他租户
+     */
+    public void addListener(LongConsumer listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * 增量刷新所有已加载租户
+     *
+     * @return 快照发生变化的租户数
+     */
+    public int refresh() {
+        List<Long> changed = new ArrayList<>();
+        lock.lock();
+        try {
+            if (watermark == null || snapshots.size() == 0) {
+                return 0;
+            }
+            Timestamp since = new Timestamp(watermark.getTime()
+                    - TimeUnit.SECONDS.toMillis(properties.getOverlapSeconds()));
+            List<TypeRow> types = new ArrayList<>();
+            List<DataRow> data = new ArrayList<>();
+            long max;
+            try (Connection conn = dataSource.getConnection()) {
+                max = Math.max(queryTypes(conn, TYPE_SQL + CHANGED_FILTER, since, types),
+                        queryData(conn, DATA_SQL + CHANGED_FILTER, since, data));
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to refresh dictionaries", e);
+            }
+            if (max > watermark.getTime()) {
+                watermark = new Timestamp(max);
+            }
+            Map<Long, List<TypeRow>> typesByTenant = new HashMap<>();
+            Map<Long, List<DataRow>> dataByTenant = new HashMap<>();
+            for (TypeRow row : types) {
+                typesByTenant.computeIfAbsent(row.tenantId(), key -> new ArrayList<>()).add(row);
+            }
+            for (DataRow row : data) {
+                dataByTenant.computeIfAbsent(row.tenantId(), key -> new ArrayList<>()).add(row);
+            }
+            for (long tenantId : snapshots.tenantIds()) {
+                List<TypeRow> tenantTypes = typesByTenant.getOrDefault(tenantId, List.of());
+                List<DataRow> tenantData = dataByTenant.getOrDefault(tenantId, List.of());
+                if (tenantTypes.isEmpty() && tenantData.isEmpty()) {
+                    continue;
+                }
+                DictSnapshot current = snapshots.get(tenantId);
+                DictSnapshot merged = current.merge(tenantTypes, tenantData);
+                if (merged != current) {
+                    snapshots = snapshots.with(tenantId, merged);
+                    changed.add(tenantId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(changed);
+        return changed.size();
+    }
+
+    /**
+     * 全量重载指定租户，用于物理删除等增量无法发现的变更
+     *
+     * @return 快照是否发生变化
+     */
+    public boolean reload(long tenantId) {
+        boolean changed;
+        lock.lock();
+        try {
+            DictSnapshot current = snapshots.get(tenantId);
+            DictSnapshot loaded = load(tenantId);
+            changed = current == null || !current.sameRows(loaded);
+            if (changed) {
+                snapshots = snapshots.with(tenantId, loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (changed) {
+            notifyListeners(List.of(tenantId));
+        }
+        return changed;
+    }
+
+    /**
+     * 全量重载所有已加载租户
+     *
+     * @return 快照发生变化的租户数
+     */
+    public int reloadAll() {
+        int changed = 0;
+        for (long tenantId : snapshots.tenantIds()) {
+            if (reload(tenantId)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 启动定时刷新
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-dict-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce, properties.getRefreshIntervalSeconds(),
+                properties.getRefreshIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定时刷新
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 执行一轮刷新：到达全量重载间隔时全量重载，否则增量刷新；异常记录到 {@link #getLastError()}，不中断定时任务
+     */
+    public void runOnce() {
+        try {
+            long fullReloadNanos = TimeUnit.SECONDS.toNanos(properties.getFullReloadIntervalSeconds());
+            if (fullReloadNanos > 0 && System.nanoTime() - lastFullReload >= fullReloadNanos) {
+                reloadAll();
+                lastFullReload = System.nanoTime();
+            } else {
+                refresh();
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e;
+        }
+    }
+
+    /**
+     * 最近一轮定时刷新的异常，成功后清空
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 已加载的租户数
+     */
+    public int getTenantCount() {
+        return snapshots.size();
+    }
+
+    private DictSnapshot snapshot(long tenantId) {
+        DictSnapshot snapshot = snapshots.get(tenantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        lock.lock();
+        try {
+            snapshot = snapshots.get(tenantId);
+            if (snapshot == null) {
+                snapshot = load(tenantId);
+                snapshots = snapshots.with(tenantId, snapshot);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 全量读取租户的字典，调用方持有锁
+     */
+    private DictSnapshot load(long tenantId) {
+        List<TypeRow> types = new ArrayList<>();
+        List<DataRow> data = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            if (watermark == null) {
+                // 先取水位再读数据，读取期间的变更由下一轮增量补上
+                watermark = new Timestamp(Math.max(maxUpdateTime(conn, "sys_dict_type"),
+                        maxUpdateTime(conn, "sys_dict_data")));
+            }
+            queryTypes(conn, TYPE_SQL + TENANT_FILTER, tenantId, types);
+            queryData(conn, DATA_SQL + TENANT_FILTER, tenantId, data);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load dictionaries of tenant " + tenantId, e);
+        }
+        return DictSnapshot.of(types, data);
+    }
+
+    private static long maxUpdateTime(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT MAX(update_time) FROM " + table);
+             ResultSet rs = ps.executeQuery()) {
+            Timestamp max = rs.next() ? rs.getTimestamp(1) : null;
+            return max == null ? 0L : max.getTime();
+        }
+    }
+
+    /**
+     * @return 读取到的最大 update_time（毫秒）
+     */
+    private static long queryTypes(Connection conn, String sql, Object parameter, List<TypeRow> out)
+            throws SQLException {
+        long max = 0L;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, parameter);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new TypeRow(rs.getLong(1), rs.getLong(2), intern(rs.getString(3)),
+                            intern(rs.getString(4)), rs.getInt(5) == 1 && rs.getLong(6) == 0L));
+                    max = Math.max(max, rs.getTimestamp(7).getTime());
+                }
+            }
+        }
+        return max;
+    }
+
+    private static long queryData(Connection conn, String sql, Object parameter, List<DataRow> out)
+            throws SQLException {
+        long max = 0L;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, parameter);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new DataRow(rs.getLong(1), rs.getLong(2), rs.getLong(3), intern(rs.getString(4)),
+                            intern(rs.getString(5)), rs.getInt(6), intern(rs.getString(7)), intern(rs.getString(8)),
+                            "Y".equals(rs.getString(9)), rs.getInt(10) == 1 && rs.getLong(11) == 0L));
+                    max = Math.max(max, rs.getTimestamp(12).getTime());
+                }
+            }
+        }
+        return max;
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
+    private void notifyListeners(List<Long> tenantIds) {
+        for (Long tenantId : tenantIds) {
+            for (LongConsumer listener : listeners) {
+                listener.accept(tenantId);
+            }
+        }
+    }
+
+    private static Binding[] bind(Class<?> type, DictField[] fields) {
+        Map<String, Field> declared = FIELDS.computeIfAbsent(type, DictionaryService::fieldsOf);
+        Binding[] bindings = new Binding[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Field source = declared.get(fields[i].field());
+            Field target = declared.get(fields[i].labelField());
+            if (source == null || target == null) {
+                throw new IllegalArgumentException("No field " + (source == null ? fields[i].field()
+                        : fields[i].labelField()) + " in " + type.getName());
+            }
+            if (target.getType() != String.class) {
+                throw new IllegalArgumentException("Label field must be String: " + type.getName() + "."
+                        + target.getName());
+            }
+            Class<?> sourceType = source.getType();
+            boolean integral = sourceType == long.class || sourceType == int.class
+                    || sourceType == short.class || sourceType == byte.class;
+            bindings[i] = new Binding(source, target, integral);
+        }
+        return bindings;
+    }
+
+    private static Map<String, Field> fieldsOf(Class<?> type) {
+        Map<String, Field> fields = new HashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !fields.containsKey(field.getName())) {
+                    field.setAccessible(true);
+                    fields.put(field.getName(), field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 一个翻译字段在某个类上的读写位置
+     */
+    private record Binding(Field source, Field target, boolean integral) {
+
+        void apply(Object row, DictType dict) {
+            try {
+                String label = null;
+                if (dict != null) {
+                    label = integral ? dict.label(source.getLong(row)) : dict.label(source.get(row));
+                }
+                target.set(row, label);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+/**
+ * 租户ID到字典快照的只读表
+ * 以 long 为键的开放寻址表，查询不装箱；更新时复制出新表整体替换
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class TenantSnapshots {
+
+    static final TenantSnapshots EMPTY = new TenantSnapshots(new long[8], new DictSnapshot[8], 0);
+
+    private final long[] tenantIds;
+    private final DictSnapshot[] snapshots;
+    private final int size;
+
+    private TenantSnapshots(long[] tenantIds, DictSnapshot[] snapshots, int size) {
+        this.tenantIds = tenantIds;
+        this.snapshots = snapshots;
+        this.size = size;
+    }
+
+    /**
+     * @return 未加载的租户返回 null
+     */
+    DictSnapshot get(long tenantId) {
+        int mask = tenantIds.length - 1;
+        for (int i = index(tenantId, mask); ; i = (i + 1) & mask) {
+            DictSnapshot snapshot = snapshots[i];
+            if (snapshot == null || tenantIds[i] == tenantId) {
+                return snapshot;
+            }
+        }
+    }
+
+    /**
+     * 返回放入（或替换）指定租户快照后的新表
+     */
+    TenantSnapshots with(long tenantId, DictSnapshot snapshot) {
+        int newSize = get(tenantId) == null ? size + 1 : size;
+        int capacity = tenantIds.length;
+        if (newSize * 2 > capacity) {
+            capacity <<= 1;
+        }
+        long[] newIds = new long[capacity];
+        DictSnapshot[] newSnapshots = new DictSnapshot[capacity];
+        for (int i = 0; i < tenantIds.length; i++) {
+            if (snapshots[i] != null && tenantIds[i] != tenantId) {
+                put(newIds, newSnapshots, tenantIds[i], snapshots[i]);
+            }
+        }
+        put(newIds, newSnapshots, tenantId, snapshot);
+        return new TenantSnapshots(newIds, newSnapshots, newSize);
+    }
+
+    /**
+     * 已加载的租户ID
+     */
+    long[] tenantIds() {
+        long[] ids = new long[size];
+        int n = 0;
+        for (int i = 0; i < tenantIds.length; i++) {
+            if (snapshots[i] != null) {
+                ids[n++] = tenantIds[i];
+            }
+        }
+        return ids;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void put(long[] ids, DictSnapshot[] values, long tenantId, DictSnapshot snapshot) {
+        int mask = ids.length - 1;
+        int i = index(tenantId, mask);
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        ids[i] = tenantId;
+        values[i] = snapshot;
+    }
+
+    private static int index(long tenantId, int mask) {
+        long h = tenantId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
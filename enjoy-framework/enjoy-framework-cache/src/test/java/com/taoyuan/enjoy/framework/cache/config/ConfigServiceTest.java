@@ -0,0 +1,127 @@
+package com.taoyuan.enjoy.framework.cache.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 参数配置：类型解析、回退到默认租户、增量刷新回调监听且未变化的配置项沿用原实例、全量重载发现物理删除
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ConfigServiceTest {
+
+    private JdbcDataSource dataSource;
+    private ConfigService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:config" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE sys_config (id bigint PRIMARY KEY, tenant_id bigint, config_key varchar(100),"
+                        + " config_value varchar(500), config_type varchar(20), deleted int DEFAULT 0,"
+                        + " update_time timestamp DEFAULT CURRENT_TIMESTAMP)",
+                "INSERT INTO sys_config (id, tenant_id, config_key, config_value, config_type) VALUES"
+                        + " (1, 0, 'login.max-attempts', '5', 'INTEGER'), (2, 7, 'login.max-attempts', '3', 'INTEGER'),"
+                        + " (3, 0, 'login.lock-time', '15m', 'STRING'), (4, 0, 'captcha.enabled', 'Y', 'BOOLEAN'),"
+                        + " (5, 0, 'upload', '{\"maxSize\":1024,\"types\":[\"png\"]}', 'JSON'),"
+                        + " (6, 0, 'site.name', 'enjoy', 'STRING'), (7, 0, 'broken', '{oops', 'JSON')");
+        service = new ConfigService(dataSource, new ConfigProperties());
+    }
+
+    private void execute(String... sqls) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : sqls) {
+                st.execute(sql);
+            }
+        }
+    }
+
+    public record Upload(int maxSize, List<String> types) {
+    }
+
+    @Test
+    void parsesTypedValuesWithTenantFallback() {
+        assertEquals(3, service.getInt(7L, "login.max-attempts", 0));
+        assertEquals(5, service.getInt(8L, "login.max-attempts", 0));
+        assertEquals(9, service.getInt(7L, "missing", 9));
+        assertEquals(Duration.ofMinutes(15), service.getDuration(7L, "login.lock-time", Duration.ZERO));
+        assertTrue(service.getBoolean(7L, "captcha.enabled", false));
+        assertEquals(1024, service.getJson(7L, "upload").get("maxSize").asInt());
+        Upload upload = service.getObject(7L, "upload", Upload.class);
+        assertEquals(new Upload(1024, List.of("png")), upload);
+        assertSame(upload, service.getObject(7L, "upload", Upload.class));
+        assertEquals("enjoy", service.getString(7L, "site.name"));
+    }
+
+    @Test
+    void wrongTypeFailsInsteadOfDefaulting() {
+        assertThrows(IllegalStateException.class, () -> service.getInt(0L, "site.name", 1));
+        assertThrows(IllegalStateException.class, () -> service.getBoolean(0L, "login.lock-time", false));
+        IllegalStateException broken = assertThrows(IllegalStateException.class, () -> service.getJson(0L, "broken"));
+        assertTrue(broken.getMessage().contains("broken"));
+    }
+
+    @Test
+    void durationFormats() throws SQLException {
+        Map<String, Duration> formats = Map.of("PT30S", Duration.ofSeconds(30), "500ms", Duration.ofMillis(500),
+                "2h", Duration.ofHours(2), "1d", Duration.ofDays(1), "250", Duration.ofMillis(250));
+        long id = 100;
+        List<String> sqls = new ArrayList<>();
+        for (String value : formats.keySet()) {
+            sqls.add("INSERT INTO sys_config (id, tenant_id, config_key, config_value) VALUES (" + id++ + ", 0, 'd."
+                    + value + "', '" + value + "')");
+        }
+        execute(sqls.toArray(new String[0]));
+        formats.forEach((value, expected) -> assertEquals(expected, service.getDuration(0L, "d." + value, null)));
+    }
+
+    @Test
+    void refreshNotifiesChangedKeysOnly() throws SQLException {
+        JsonNode upload = service.getJson(0L, "upload");
+        List<String> changes = new ArrayList<>();
+        service.addListener("login.max-attempts", (tenantId, key, oldEntry, newEntry) ->
+                changes.add(tenantId + ":" + (oldEntry == null ? null : oldEntry.getValue()) + "->"
+                        + (newEntry == null ? null : newEntry.getValue())));
+        List<String> all = new ArrayList<>();
+        service.addListener((tenantId, key, oldEntry, newEntry) -> all.add(key));
+        assertEquals(0, service.refresh());
+        execute("UPDATE sys_config SET config_value = '4', update_time = DATEADD('SECOND', 1, CURRENT_TIMESTAMP) WHERE id = 2",
+                "UPDATE sys_config SET deleted = 1, update_time = DATEADD('SECOND', 1, CURRENT_TIMESTAMP) WHERE id = 6",
+                "UPDATE sys_config SET update_time = DATEADD('SECOND', 1, CURRENT_TIMESTAMP) WHERE id = 5");
+        assertEquals(2, service.refresh());
+        assertEquals(List.of("7:3->4"), changes);
+        assertEquals(List.of("login.max-attempts", "site.name"), all.stream().sorted().toList());
+        assertEquals(4, service.getInt(7L, "login.max-attempts", 0));
+        assertNull(service.getString(7L, "site.name"));
+        assertSame(upload, service.getJson(0L, "upload"));
+    }
+
+    @Test
+    void reloadFindsPhysicalDeletes() throws SQLException {
+        assertEquals(3, service.getInt(7L, "login.max-attempts", 0));
+        execute("DELETE FROM sys_config WHERE id = 2");
+        assertEquals(0, service.refresh());
+        assertEquals(1, service.reload());
+        assertEquals(5, service.getInt(7L, "login.max-attempts", 0));
+        assertEquals(0, service.reload());
+        assertFalse(service.getJson(0L, "upload").isNull());
+    }
+}
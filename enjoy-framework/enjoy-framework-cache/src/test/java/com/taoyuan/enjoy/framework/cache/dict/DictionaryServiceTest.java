@@ -0,0 +1,121 @@
+package com.taoyuan.enjoy.framework.cache.dict;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 字典服务：按租户加载并回退到默认租户，批量翻译，增量刷新只替换变化的租户，全量重载发现物理删除
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class DictionaryServiceTest {
+
+    static class User {
+        int status;
+        String statusLabel;
+        String sex;
+        String sexLabel;
+    }
+
+    private JdbcDataSource dataSource;
+    private DictionaryService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:dict" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE sys_dict_type (id bigint PRIMARY KEY, tenant_id bigint, dict_type varchar(100),"
+                        + " dict_name varchar(100), status tinyint DEFAULT 1, deleted int DEFAULT 0,"
+                        + " update_time timestamp DEFAULT CURRENT_TIMESTAMP)",
+                "CREATE TABLE sys_dict_data (id bigint PRIMARY KEY, tenant_id bigint, dict_type_id bigint,"
+                        + " dict_label varchar(100), dict_value varchar(100), dict_sort int, color_type varchar(100),"
+                        + " css_class varchar(100), is_default char(1), status tinyint DEFAULT 1, deleted int DEFAULT 0,"
+                        + " update_time timestamp DEFAULT CURRENT_TIMESTAMP)",
+                "INSERT INTO sys_dict_type (id, tenant_id, dict_type, dict_name) VALUES"
+                        + " (1, 0, 'sys_common_status', '状态'), (2, 0, 'sys_user_sex', '性别'), (3, 7, 'sys_user_sex', '性别')",
+                "INSERT INTO sys_dict_data (id, tenant_id, dict_type_id, dict_label, dict_value, dict_sort, is_default) VALUES"
+                        + " (11, 0, 1, '正常', '1', 1, 'Y'), (12, 0, 1, '停用', '0', 2, 'N'),"
+                        + " (21, 0, 2, '男', 'M', 1, 'N'), (22, 0, 2, '女', 'F', 2, 'N'),"
+                        + " (31, 7, 3, '先生', 'M', 1, 'N'), (32, 7, 3, '女士', 'F', 2, 'N')");
+        service = new DictionaryService(dataSource, new DictProperties());
+    }
+
+    private void execute(String... sqls) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : sqls) {
+                st.execute(sql);
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToDefaultTenant() {
+        assertEquals("正常", service.label(7L, "sys_common_status", 1L));
+        assertEquals("先生", service.label(7L, "sys_user_sex", "M"));
+        assertEquals("男", service.label(8L, "sys_user_sex", "M"));
+        assertNull(service.label(7L, "sys_user_sex", "X"));
+        assertNull(service.label(7L, "missing", "M"));
+        assertEquals(List.of("sys_common_status", "sys_user_sex"), new ArrayList<>(service.getAll(7L).keySet()));
+        assertEquals("先生", service.getAll(7L).get("sys_user_sex").label("M"));
+    }
+
+    @Test
+    void translatesObjectsAndMaps() {
+        User user = new User();
+        user.status = 0;
+        user.sex = "F";
+        Map<String, Object> row = new HashMap<>();
+        row.put("status", 1);
+        row.put("sex", "X");
+        DictField status = DictField.of("status", "sys_common_status");
+        DictField sex = DictField.of("sex", "sys_user_sex");
+        service.translate(7L, List.of(user), status, sex);
+        service.translate(7L, List.of(row), status, sex);
+        assertEquals("停用", user.statusLabel);
+        assertEquals("女士", user.sexLabel);
+        assertEquals("正常", row.get("statusLabel"));
+        assertNull(row.get("sexLabel"));
+    }
+
+    @Test
+    void refreshReplacesOnlyChangedTenants() throws SQLException {
+        service.label(0L, "sys_user_sex", "M");
+        service.label(7L, "sys_user_sex", "M");
+        List<Long> notified = new ArrayList<>();
+        service.addListener(notified::add);
+        assertEquals(0, service.refresh());
+        execute("UPDATE sys_dict_data SET dict_label = '先生们', update_time = DATEADD('SECOND', 1, CURRENT_TIMESTAMP)"
+                        + " WHERE id = 31",
+                "UPDATE sys_dict_data SET status = 0, update_time = DATEADD('SECOND', 1, CURRENT_TIMESTAMP) WHERE id = 32");
+        assertEquals(1, service.refresh());
+        assertEquals(List.of(7L), notified);
+        assertEquals("先生们", service.label(7L, "sys_user_sex", "M"));
+        assertNull(service.label(7L, "sys_user_sex", "F"));
+        assertEquals("女", service.label(0L, "sys_user_sex", "F"));
+    }
+
+    @Test
+    void reloadFindsPhysicalDeletes() throws SQLException {
+        assertEquals("女士", service.label(7L, "sys_user_sex", "F"));
+        execute("DELETE FROM sys_dict_data WHERE id = 32");
+        assertEquals(0, service.refresh());
+        assertTrue(service.reload(7L));
+        assertNull(service.label(7L, "sys_user_sex", "F"));
+        assertFalse(service.reload(7L));
+    }
+}
@@ -1,4 +1,20 @@
 package com.taoyuan.enjoy.framework.common.constant;
 
+/**
+ * 请求头常量
+ */
 public class HeaderConstants {
+
+    /**
+     * 链路追踪ID
+     */
+    public static final String TRACE_ID = "X-Trace-Id";
+
+    /**
+     * 当前跨度ID
+     */
+    public static final String SPAN_ID = "X-Span-Id";
+
+    private HeaderConstants() {
+    }
 }
@@ -1,4 +1,40 @@
 package com.taoyuan.enjoy.framework.common.constant;
 
+/**
+ * 安全相关常量
+ */
 public class SecurityConstants {
+
+    /**
+     * 认证请求头
+     */
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+
+    /**
+     * 令牌前缀
+     */
+    public static final String TOKEN_PREFIX = "Bearer ";
+
+    /**
+     * 访问令牌类型
+     */
+    public static final String TOKEN_TYPE_ACCESS = "access";
+
+    /**
+     * 刷新令牌类型
+     */
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    /**
+     * 访问令牌默认有效期（秒）
+     */
+    public static final long DEFAULT_ACCESS_TOKEN_TTL_SECONDS = 30 * 60L;
+
+    /**
+     * 刷新令牌默认有效期（秒）
+     */
+    public static final long DEFAULT_REFRESH_TOKEN_TTL_SECONDS = 7 * 24 * 60 * 60L;
+
+    private SecurityConstants() {
+    }
 }
@@ -1,4 +1,15 @@
 package com.taoyuan.enjoy.framework.common.constant;
 
+/**
+ * 租户相关常量
+ */
 public class TenantConstants {
+
+    /**
+     * 平台默认租户ID，租户未单独配置的字典、参数等回退到该租户
+     */
+    public static final long DEFAULT_TENANT_ID = 0L;
+
+    private TenantConstants() {
+    }
 }
@@ -0,0 +1,37 @@
+package com.taoyuan.enjoy.framework.common.enums;
+
+/**
+ * 分页总数统计方式
+ */
+public enum CountModeEnum {
+
+    /**
+     * 精确统计 COUNT(*)
+     */
+    EXACT("精确统计"),
+
+    /**
+     * 封顶统计，超过上限时只返回上限（前端显示为“10000+”），扫描到上限即停止
+     */
+    CAPPED("封顶统计"),
+
+    /**
+     * 按执行计划估算，误差可能较大，适合超大表的列表
+     */
+    ESTIMATED("估算"),
+
+    /**
+     * 不统计总数
+     */
+    NONE("不统计");
+
+    private final String desc;
+
+    CountModeEnum(String desc) {
+        this.desc = desc;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
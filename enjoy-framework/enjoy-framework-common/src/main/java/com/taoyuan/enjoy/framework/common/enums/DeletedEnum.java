@@ -2,6 +2,8 @@ package com.taoyuan.enjoy.framework.common.enums;
 
 /**
  * 逻辑删除标记枚举
+ * deleted 字段为 0 表示未删除，非 0 表示已删除；按主键删除策略下已删除行写入自身ID，
+ * 使 (业务键, deleted) 唯一索引允许同一业务键存在多条已删除记录
  */
 public enum DeletedEnum {
 
@@ -30,4 +32,11 @@ public enum DeletedEnum {
     public String getDesc() {
         return desc;
     }
+
+    /**
+     * 判断 deleted 字段取值是否为已删除
+     */
+    public static boolean isDeleted(long value) {
+        return value != NO.code;
+    }
 }
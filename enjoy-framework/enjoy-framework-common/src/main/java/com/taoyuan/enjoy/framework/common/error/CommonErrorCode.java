@@ -40,6 +40,11 @@ public enum CommonErrorCode implements ErrorCode {
      */
     DATA_NOT_FOUND(404, "数据不存在"),
 
+    /**
+     * 请求过多
+     */
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后再试"),
+
     /**
      * 操作失败
      */
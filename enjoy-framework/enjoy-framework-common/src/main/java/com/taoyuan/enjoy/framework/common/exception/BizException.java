@@ -2,13 +2,28 @@ package com.taoyuan.enjoy.framework.common.exception;
 
 import com.taoyuan.enjoy.framework.common.error.ErrorCode;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 业务异常
+ * 开启无栈模式（{@link #setStackless(boolean)}）后新建的实例不填充调用栈、不记录被抑制异常；
+ * 只关心错误码的场景可直接抛出 {@link #of(ErrorCode)} 返回的共享实例
  */
 public class BizException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 共享的无栈实例
+     */
+    private static final Map<ErrorCode, BizException> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * 是否不填充调用栈
+     */
+    private static volatile boolean stackless;
+
     /**
      * 错误码
      */
@@ -19,22 +34,54 @@ public class BizException extends RuntimeException {
      */
     private final String message;
 
+    /**
+     * 错误码定义，以数字错误码创建时为空
+     */
+    private final transient ErrorCode errorCode;
+
     public BizException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.code = errorCode.getCode();
-        this.message = errorCode.getMessage();
+        this(errorCode, errorCode.getCode(), errorCode.getMessage(), stackless);
     }
 
     public BizException(ErrorCode errorCode, String message) {
-        super(message);
-        this.code = errorCode.getCode();
-        this.message = message;
+        this(errorCode, errorCode.getCode(), message, stackless);
     }
 
     public BizException(int code, String message) {
-        super(message);
+        this(null, code, message, stackless);
+    }
+
+    private BizException(ErrorCode errorCode, int code, String message, boolean withoutStackTrace) {
+        super(message, null, !withoutStackTrace, !withoutStackTrace);
         this.code = code;
         this.message = message;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * 错误码对应的共享实例，始终无栈
+     *
+     * @param errorCode 错误码
+     * @return 同一错误码返回同一实例
+     */
+    public static BizException of(ErrorCode errorCode) {
+        BizException exception = SHARED.get(errorCode);
+        if (exception == null) {
+            exception = SHARED.computeIfAbsent(errorCode,
+                    key -> new BizException(key, key.getCode(), key.getMessage(), true));
+        }
+        return exception;
+    }
+
+    /**
+     * 设置无栈模式，对之后新建的实例生效
+     */
+    public static void setStackless(boolean stackless) {
+        BizException.stackless = stackless;
+    }
+
+    public static boolean isStackless() {
+        return stackless;
     }
 
     public int getCode() {
@@ -45,4 +92,8 @@ public class BizException extends RuntimeException {
     public String getMessage() {
         return message;
     }
-}
\ No newline at end of file
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
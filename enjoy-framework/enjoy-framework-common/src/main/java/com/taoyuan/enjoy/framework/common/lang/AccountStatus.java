@@ -1,4 +1,33 @@
 package com.taoyuan.enjoy.framework.common.lang;
 
-public class AccountStatus {
+/**
+ * 账号登录状态
+ */
+public enum AccountStatus {
+
+    /**
+     * 正常
+     */
+    NORMAL("NORMAL", "正常"),
+
+    /**
+     * 连续登录失败被锁定
+     */
+    LOCKED("LOCKED", "锁定");
+
+    private final String code;
+    private final String desc;
+
+    AccountStatus(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
 }
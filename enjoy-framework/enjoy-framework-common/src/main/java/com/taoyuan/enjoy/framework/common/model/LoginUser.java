@@ -1,4 +1,99 @@
 package com.taoyuan.enjoy.framework.common.model;
 
+/**
+ * 登录用户信息
+ * 由访问令牌解析得到，请求内只读
+ */
 public class LoginUser {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 租户ID
+     */
+    private Long tenantId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 用户类型：ADMIN-管理员,NORMAL-普通用户,SYSTEM-系统用户
+     */
+    private String userType;
+
+    /**
+     * 客户端ID
+     */
+    private String clientId;
+
+    /**
+     * 令牌ID（jti）
+     */
+    private String tokenId;
+
+    /**
+     * 令牌过期时间（毫秒时间戳）
+     */
+    private long expireTime;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+
+    public void setUserType(String userType) {
+        this.userType = userType;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    public void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+    }
 }
@@ -1,4 +1,143 @@
 package com.taoyuan.enjoy.framework.common.model;
 
+import com.taoyuan.enjoy.framework.common.enums.CountModeEnum;
+
+/**
+ * 分页请求
+ * 支持两种模式：
+ * 1. 页码模式：pageNo + pageSize，对应 LIMIT offset, size，适合浅分页；
+ * 2. 游标模式（keyset）：keyset = true，首页不传 cursor，之后传上一页返回的 nextCursor，
+ *    翻页代价与页数无关，适合日志等深分页列表。
+ * 查询后由分页拦截器回填 total / hasNext / nextCursor，用 {@link PageResult#of} 组装返回
+ */
 public class PageRequest {
+
+    /**
+     * 单页最大条数
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * 页码，从1开始（游标模式下忽略）
+     */
+    private int pageNo = 1;
+
+    /**
+     * 每页条数
+     */
+    private int pageSize = 10;
+
+    /**
+     * 是否使用游标模式
+     */
+    private boolean keyset;
+
+    /**
+     * 上一页返回的游标，首页为空
+     */
+    private String cursor;
+
+    /**
+     * 总数统计方式，游标模式通常设为 NONE
+     */
+    private CountModeEnum countMode = CountModeEnum.EXACT;
+
+    /**
+     * 总数（拦截器回填，未统计为 null）
+     */
+    private Long total;
+
+    /**
+     * 总数是否为封顶值（拦截器回填，封顶统计时实际总数可能更多）
+     */
+    private boolean totalCapped;
+
+    /**
+     * 是否还有下一页（拦截器回填）
+     */
+    private boolean hasNext;
+
+    /**
+     * 下一页游标（拦截器回填，仅游标模式）
+     */
+    private String nextCursor;
+
+    public int getPageNo() {
+        return pageNo;
+    }
+
+    public void setPageNo(int pageNo) {
+        this.pageNo = Math.max(1, pageNo);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
+    }
+
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    public void setKeyset(boolean keyset) {
+        this.keyset = keyset;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public CountModeEnum getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(CountModeEnum countMode) {
+        this.countMode = countMode == null ? CountModeEnum.EXACT : countMode;
+    }
+
+    /**
+     * 页码模式下的偏移量
+     */
+    public long getOffset() {
+        return (long) (pageNo - 1) * pageSize;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    public void setTotalCapped(boolean totalCapped) {
+        this.totalCapped = totalCapped;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
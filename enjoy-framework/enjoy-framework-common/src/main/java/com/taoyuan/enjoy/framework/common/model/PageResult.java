@@ -0,0 +1,112 @@
+package com.taoyuan.enjoy.framework.common.model;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ */
+public class PageResult<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 总数，未统计为 null
+     */
+    private Long total;
+
+    /**
+     * 总数是否为封顶值
+     */
+    private boolean totalCapped;
+
+    /**
+     * 页码（游标模式为空）
+     */
+    private Integer pageNo;
+
+    /**
+     * 每页条数
+     */
+    private int pageSize;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasNext;
+
+    /**
+     * 下一页游标（仅游标模式）
+     */
+    private String nextCursor;
+
+    public static <T> PageResult<T> of(List<T> records, PageRequest request) {
+        PageResult<T> result = new PageResult<>();
+        result.records = records;
+        result.total = request.getTotal();
+        result.totalCapped = request.isTotalCapped();
+        result.pageNo = request.isKeyset() ? null : request.getPageNo();
+        result.pageSize = request.getPageSize();
+        result.hasNext = request.isHasNext();
+        result.nextCursor = request.getNextCursor();
+        return result;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<T> records) {
+        this.records = records;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    public void setTotalCapped(boolean totalCapped) {
+        this.totalCapped = totalCapped;
+    }
+
+    public Integer getPageNo() {
+        return pageNo;
+    }
+
+    public void setPageNo(Integer pageNo) {
+        this.pageNo = pageNo;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,81 @@
+package com.taoyuan.enjoy.framework.common.model;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.error.ErrorCode;
+
+/**
+ * 统一响应
+ * 序列化为 {"code":200,"message":"success","data":...}
+ */
+public class Result<T> {
+
+    /**
+     * 错误码
+     */
+    private final int code;
+
+    /**
+     * 错误信息
+     */
+    private final String message;
+
+    /**
+     * 数据
+     */
+    private final T data;
+
+    /**
+     * 使用默认信息时的错误码定义，用于查找预编码的响应前缀
+     */
+    private final ErrorCode errorCode;
+
+    private Result(int code, String message, T data, ErrorCode errorCode) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+        this.errorCode = errorCode;
+    }
+
+    public static <T> Result<T> ok() {
+        return of(CommonErrorCode.SUCCESS, null);
+    }
+
+    public static <T> Result<T> ok(T data) {
+        return of(CommonErrorCode.SUCCESS, data);
+    }
+
+    public static <T> Result<T> of(ErrorCode errorCode, T data) {
+        return new Result<>(errorCode.getCode(), errorCode.getMessage(), data, errorCode);
+    }
+
+    public static <T> Result<T> fail(ErrorCode errorCode) {
+        return of(errorCode, null);
+    }
+
+    public static <T> Result<T> fail(ErrorCode errorCode, String message) {
+        return new Result<>(errorCode.getCode(), message, null, null);
+    }
+
+    public static <T> Result<T> fail(int code, String message) {
+        return new Result<>(code, message, null, null);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    /**
+     * 使用默认信息时的错误码定义，自定义信息时为空（不按属性序列化）
+     */
+    public ErrorCode errorCode() {
+        return errorCode;
+    }
+}
@@ -1,4 +1,93 @@
 package com.taoyuan.enjoy.framework.common.utils;
 
-public class IdGenerator {
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 雪花ID生成器
+ * 41位毫秒时间（自 2024-01-01 起）+ 10位机器号 + 12位序列号，单机每毫秒 4096 个，趋势递增。
+ * 机器号取系统属性 enjoy.worker-id，未配置为 0；多实例部署须保证各实例机器号不同。
+ * 状态为单个 AtomicLong（时间戳与序列号打包），无锁生成，批量插入前可预先取号
+ */
+public final class IdGenerator {
+
+    /**
+     * 起始时间 2024-01-01T00:00:00Z
+     */
+    private static final long EPOCH = 1704067200000L;
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile long workerId = Long.getLong("enjoy.worker-id", 0L) & MAX_WORKER_ID;
+
+    /**
+     * 最近一次分配：高位为相对时间戳，低12位为序列号
+     */
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private IdGenerator() {
+    }
+
+    /**
+     * 设置机器号，应在应用启动时调用一次
+     *
+     * @param id 0 ~ 1023
+     */
+    public static void setWorkerId(long id) {
+        if (id < 0 || id > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID);
+        }
+        workerId = id;
+    }
+
+    public static long getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * 生成一个ID
+     */
+    public static long nextId() {
+        while (true) {
+            long last = STATE.get();
+            long lastTime = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+            long next;
+            if (now > lastTime) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 同一毫秒或时钟回拨：沿用上次时间戳继续递增序列，保证单调
+                next = last + 1;
+            } else {
+                // 序列用尽，借用下一毫秒
+                next = (lastTime + 1) << SEQUENCE_BITS;
+            }
+            if (STATE.compareAndSet(last, next)) {
+                long time = next >>> SEQUENCE_BITS;
+                return (time << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 批量生成ID
+     *
+     * @param count 数量
+     * @return ID数组，递增
+     */
+    public static long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId();
+        }
+        return ids;
+    }
+
+    /**
+     * 解析ID中的生成时间（毫秒时间戳）
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
 }
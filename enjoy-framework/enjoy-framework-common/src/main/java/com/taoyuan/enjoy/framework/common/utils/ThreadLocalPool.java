@@ -0,0 +1,69 @@
+package com.taoyuan.enjoy.framework.common.utils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 按线程复用的对象池（Mac、Signature、缓冲区等初始化代价较高的对象）
+ * 平台线程使用线程本地实例；虚拟线程数量大且生命周期短，改为从共享的有界队列借还
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class ThreadLocalPool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+    private final ConcurrentLinkedQueue<T> shared = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sharedSize = new AtomicInteger();
+    private final int maxShared;
+
+    /**
+     * @param factory   实例工厂
+     * @param maxShared 虚拟线程共享队列中最多保留的实例数
+     */
+    public ThreadLocalPool(Supplier<T> factory, int maxShared) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+        this.maxShared = maxShared;
+    }
+
+    /**
+     * 借出实例，使用完毕后调用 {@link #release(Object)}，期间不得重入
+     */
+    public T acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return local.get();
+        }
+        T instance = shared.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        sharedSize.decrementAndGet();
+        return instance;
+    }
+
+    /**
+     * 归还实例
+     */
+    public void release(T instance) {
+        if (!Thread.currentThread().isVirtual()) {
+            return;
+        }
+        if (sharedSize.incrementAndGet() <= maxShared) {
+            shared.offer(instance);
+        } else {
+            sharedSize.decrementAndGet();
+        }
+    }
+
+    /**
+     * 丢弃借出的实例（状态已不可信，如使用中抛出异常），不再归还
+     */
+    public void discard(T instance) {
+        if (!Thread.currentThread().isVirtual() && local.get() == instance) {
+            local.remove();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taoyuan.enjoy.framework.excel.annotation;
+
+import com.taoyuan.enjoy.framework.common.utils.RegexUtils;
+
+import java.util.function.Predicate;
+
+/**
+ * 单元格格式校验
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum CellValidator {
+
+    NONE(value -> true, ""),
+    EMAIL(RegexUtils::isEmail, "邮箱格式错误"),
+    PHONE(RegexUtils::isPhone, "手机号格式错误"),
+    ID_CARD(RegexUtils::isIdCard, "身份证号格式错误"),
+    URL(RegexUtils::isUrl, "URL格式错误"),
+    IP(RegexUtils::isIp, "IP地址格式错误"),
+    CHINESE(RegexUtils::isChinese, "只能填写中文"),
+    NUMBER(RegexUtils::isNumber, "数字格式错误"),
+    POSITIVE_INTEGER(RegexUtils::isPositiveInteger, "必须为正整数"),
+    DATE(RegexUtils::isDate, "日期格式错误"),
+    TIME(RegexUtils::isTime, "时间格式错误"),
+    BANK_CARD(RegexUtils::isBankCard, "银行卡号格式错误"),
+    POSTAL_CODE(RegexUtils::isPostalCode, "邮政编码格式错误");
+
+    private final Predicate<String> predicate;
+    private final String message;
+
+    CellValidator(Predicate<String> predicate, String message) {
+        this.predicate = predicate;
+        this.message = message;
+    }
+
+    public boolean test(String value) {
+        return predicate.test(value);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.taoyuan.enjoy.framework.excel.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 表格列映射
+ * 标注在行对象字段上，导入时按表头名称（或列序号）绑定，导出时按声明顺序输出（父类字段在前）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcelColumn {
+
+    /**
+     * 表头名称
+     */
+    String value();
+
+    /**
+     * 列序号（从0开始），-1 表示按表头名称匹配
+     */
+    int index() default -1;
+
+    /**
+     * 是否必填
+     */
+    boolean required() default false;
+
+    /**
+     * 内置格式校验
+     */
+    CellValidator validator() default CellValidator.NONE;
+
+    /**
+     * 自定义正则校验，与 validator 同时生效
+     */
+    String regex() default "";
+
+    /**
+     * 日期格式，为空时日期取 {@code yyyy-MM-dd}，日期时间取 {@code yyyy-MM-dd HH:mm:ss}
+     */
+    String format() default "";
+
+    /**
+     * 导出脱敏
+     */
+    MaskType mask() default MaskType.NONE;
+}
@@ -0,0 +1,30 @@
+package com.taoyuan.enjoy.framework.excel.annotation;
+
+import com.taoyuan.enjoy.framework.common.utils.RegexUtils;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * 导出脱敏方式
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum MaskType {
+
+    NONE(value -> value),
+    PHONE(RegexUtils::maskPhone),
+    ID_CARD(RegexUtils::maskIdCard),
+    EMAIL(RegexUtils::maskEmail),
+    BANK_CARD(value -> RegexUtils.mask(value, 4, 4));
+
+    private final UnaryOperator<String> masker;
+
+    MaskType(UnaryOperator<String> masker) {
+        this.masker = masker;
+    }
+
+    public String apply(String value) {
+        return masker.apply(value);
+    }
+}
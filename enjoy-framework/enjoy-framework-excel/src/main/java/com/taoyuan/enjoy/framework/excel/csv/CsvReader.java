@@ -0,0 +1,264 @@
+package com.taoyuan.enjoy.framework.excel.csv;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CSV 读取（RFC 4180，UTF-8）
+ * 文件按窗口内存映射，分隔符与换行一次比较8个字节（SWAR）定位，字段只记录位置不复制；
+ * 跨窗口的行从行首重新映射。支持引号字段（含换行与 "" 转义）、\n 与 \r\n 行尾，忽略 UTF-8 BOM 与空行。
+ * 非线程安全，读出的行可交给其他线程
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final long QUOTE_PATTERN = ONES * QUOTE;
+    private static final long LF_PATTERN = ONES * LF;
+
+    private final FileChannel channel;
+    private final Path tempFile;
+    private final byte delimiter;
+    private final long delimiterPattern;
+    private final int windowSize;
+
+    private int[] bounds = new int[32];
+    private int fieldCount;
+
+    private CsvReader(FileChannel channel, Path tempFile, char delimiter, int windowSize) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Illegal delimiter: " + delimiter);
+        }
+        this.channel = channel;
+        this.tempFile = tempFile;
+        this.delimiter = (byte) delimiter;
+        this.delimiterPattern = ONES * delimiter;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * 打开文件
+     *
+     * @param file      文件
+     * @param delimiter 分隔符（ASCII）
+     */
+    public static CsvReader open(Path file, char delimiter) throws IOException {
+        return new CsvReader(FileChannel.open(file, StandardOpenOption.READ), null, delimiter, WINDOW_SIZE);
+    }
+
+    /**
+     * 打开输入流（先落盘为临时文件以便内存映射，关闭时删除）
+     */
+    public static CsvReader open(InputStream in, char delimiter) throws IOException {
+        Path temp = Files.createTempFile("enjoy-csv-", ".csv");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            return new CsvReader(FileChannel.open(temp, StandardOpenOption.READ), temp, delimiter, WINDOW_SIZE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 逐行读取
+     *
+     * @param handler 行处理，返回 false 时停止读取
+     */
+    public void read(RowHandler handler) throws IOException {
+        long fileSize = channel.size();
+        long windowStart = 0;
+        int rowNum = 0;
+        while (windowStart < fileSize) {
+            int size = (int) Math.min(windowSize, fileSize - windowStart);
+            boolean last = windowStart + size == fileSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int pos = windowStart == 0 ? skipBom(buffer, size) : 0;
+            boolean progressed = false;
+            while (pos < size) {
+                int next = parseRow(buffer, pos, size, last, rowNum + 1);
+                if (next < 0) {
+                    break;
+                }
+                pos = next;
+                rowNum++;
+                progressed = true;
+                if (fieldCount == 1 && bounds[0] == bounds[1]) {
+                    continue;
+                }
+                if (!handler.handle(rowNum, new CsvRow(buffer, Arrays.copyOf(bounds, fieldCount * 2)))) {
+                    return;
+                }
+            }
+            if (last) {
+                break;
+            }
+            if (!progressed) {
+                throw new BizException(CommonErrorCode.PARAM_ERROR, "CSV第" + (rowNum + 1) + "行过长");
+            }
+            windowStart += pos;
+        }
+    }
+
+    /**
+     * 解析一行，字段位置写入 bounds
+     *
+     * @return 下一行起点；行在窗口内不完整（需重新映射）时返回 -1
+     */
+    private int parseRow(ByteBuffer buffer, int pos, int limit, boolean last, int rowNum) {
+        fieldCount = 0;
+        int p = pos;
+        while (true) {
+            if (p < limit && buffer.get(p) == QUOTE) {
+                int q = p + 1;
+                boolean escaped = false;
+                while (true) {
+                    q = indexOf(buffer, q, limit, QUOTE_PATTERN, QUOTE, QUOTE_PATTERN, QUOTE);
+                    if (q < 0) {
+                        if (last) {
+                            throw malformed(rowNum, "引号未闭合");
+                        }
+                        return -1;
+                    }
+                    if (q + 1 < limit && buffer.get(q + 1) == QUOTE) {
+                        escaped = true;
+                        q += 2;
+                        continue;
+                    }
+                    if (q + 1 == limit && !last) {
+                        return -1;
+                    }
+                    break;
+                }
+                addField(escaped ? ~(p + 1) : p + 1, q);
+                p = q + 1;
+                if (p < limit) {
+                    byte b = buffer.get(p);
+                    if (b != delimiter && b != LF && b != CR) {
+                        throw malformed(rowNum, "引号后存在多余字符");
+                    }
+                }
+            } else {
+                int stop = indexOf(buffer, p, limit, delimiterPattern, delimiter, LF_PATTERN, LF);
+                if (stop < 0) {
+                    if (!last) {
+                        return -1;
+                    }
+                    stop = limit;
+                }
+                int end = stop > p && buffer.get(stop - 1) == CR ? stop - 1 : stop;
+                addField(p, end);
+                p = stop;
+            }
+            if (p >= limit) {
+                return limit;
+            }
+            byte b = buffer.get(p++);
+            if (b == delimiter) {
+                if (p >= limit) {
+                    if (!last) {
+                        return -1;
+                    }
+                    addField(p, p);
+                    return limit;
+                }
+            } else if (b == CR) {
+                if (p < limit) {
+                    return buffer.get(p) == LF ? p + 1 : p;
+                }
+                return last ? p : -1;
+            } else {
+                return p;
+            }
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount * 2 == bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[fieldCount * 2] = start;
+        bounds[fieldCount * 2 + 1] = end;
+        fieldCount++;
+    }
+
+    /**
+     * 查找两个字节之一首次出现的位置：每次读取8字节，用"字节为零"位运算同时比较8个字节，
+     * 最低位的命中即为首个匹配（借位只会影响更高位的字节）
+     */
+    private static int indexOf(ByteBuffer buffer, int from, int limit, long pattern1, byte b1, long pattern2, byte b2) {
+        int i = from;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            long match = zeroBytes(word ^ pattern1) | zeroBytes(word ^ pattern2);
+            if (match != 0) {
+                return i + (Long.numberOfTrailingZeros(match) >>> 3);
+            }
+        }
+        for (; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == b1 || b == b2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+
+    private static BizException malformed(int rowNum, String reason) {
+        return new BizException(CommonErrorCode.PARAM_ERROR, "CSV第" + rowNum + "行格式错误：" + reason);
+    }
+
+    private static int skipBom(ByteBuffer buffer, int size) {
+        return size >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * 行处理
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * @param rowNum 行号（从1开始，按记录计，引号内的换行不计）
+         * @param row    行数据
+         * @return 是否继续读取
+         */
+        boolean handle(int rowNum, CsvRow row);
+    }
+}
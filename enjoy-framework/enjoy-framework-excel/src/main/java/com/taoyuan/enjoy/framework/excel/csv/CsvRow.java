@@ -0,0 +1,178 @@
+package com.taoyuan.enjoy.framework.excel.csv;
+
+import com.taoyuan.enjoy.framework.excel.mapping.RowCells;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV 行数据
+ * 只记录各字段在映射缓冲区中的起止位置，文本在读取时才解码；整数、小数直接从字节解析，不创建字符串。
+ * 只使用绝对位置读取，可在多个线程间共享
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class CsvRow implements RowCells {
+
+    /**
+     * 双精度快速路径：尾数不超过 2^53 且十进制指数不超过 22 时，一次乘除即为正确舍入结果
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * 每个字段两项：起点、终点（不含）；起点取反表示字段内含需要还原的双引号
+     */
+    private final int[] bounds;
+
+    CsvRow(ByteBuffer buffer, int[] bounds) {
+        this.buffer = buffer;
+        this.bounds = bounds;
+    }
+
+    @Override
+    public int size() {
+        return bounds.length >> 1;
+    }
+
+    @Override
+    public String getString(int index) {
+        if (index >= size()) {
+            return null;
+        }
+        int start = start(index);
+        int length = bounds[2 * index + 1] - start;
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        if (bounds[2 * index] < 0) {
+            length = unescape(bytes);
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isBlank(int index) {
+        if (index >= size()) {
+            return true;
+        }
+        for (int i = start(index), end = bounds[2 * index + 1]; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getLong(int index) {
+        int start = start(index);
+        int end = bounds[2 * index + 1];
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || (start < end && buffer.get(start) == '+') ? start + 1 : start;
+        if (i == end || end - i > 18) {
+            // 空串、超过18位（可能溢出）交由默认实现处理
+            return RowCells.super.getLong(index);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return RowCells.super.getLong(index);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        long[] parsed = parseDecimal(index);
+        if (parsed == null || parsed[0] >= MAX_EXACT_MANTISSA || parsed[1] >= POWERS_OF_TEN.length) {
+            return RowCells.super.getDouble(index);
+        }
+        double value = parsed[0] / POWERS_OF_TEN[(int) parsed[1]];
+        return parsed[2] != 0 ? -value : value;
+    }
+
+    @Override
+    public BigDecimal getDecimal(int index) {
+        long[] parsed = parseDecimal(index);
+        if (parsed == null) {
+            return RowCells.super.getDecimal(index);
+        }
+        return BigDecimal.valueOf(parsed[2] != 0 ? -parsed[0] : parsed[0], (int) parsed[1]);
+    }
+
+    /**
+     * 解析形如 -123.45 的十进制数
+     *
+     * @return {尾数, 小数位数, 是否负数}，格式不符或超过18位有效数字时返回 null
+     */
+    private long[] parseDecimal(int index) {
+        int start = start(index);
+        int end = bounds[2 * index + 1];
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || (start < end && buffer.get(start) == '+') ? start + 1 : start;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) {
+                return null;
+            }
+            mantissa = mantissa * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return new long[]{mantissa, Math.max(scale, 0), negative ? 1 : 0};
+    }
+
+    private int start(int index) {
+        int start = bounds[2 * index];
+        return start < 0 ? ~start : start;
+    }
+
+    /**
+     * 还原字段内的 "" 为 "
+     */
+    private static int unescape(byte[] bytes) {
+        int w = 0;
+        for (int r = 0; r < bytes.length; r++) {
+            bytes[w++] = bytes[r];
+            if (bytes[r] == '"' && r + 1 < bytes.length && bytes[r + 1] == '"') {
+                r++;
+            }
+        }
+        return w;
+    }
+}
@@ -0,0 +1,193 @@
+package com.taoyuan.enjoy.framework.excel.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV 写入（RFC 4180，UTF-8，行尾 \r\n）
+ * 编码结果写入直接缓冲区，满后整块写往通道；ASCII 文本与整数逐字节写入，不经过编码器与中间字符串。
+ * 含分隔符、引号或换行的文本加引号并转义
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class CsvWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final WritableByteChannel channel;
+    private final byte delimiter;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final byte[] digits = new byte[20];
+    private long rowCount;
+
+    /**
+     * @param channel   输出通道，关闭时一并关闭
+     * @param delimiter 分隔符（ASCII）
+     */
+    public CsvWriter(WritableByteChannel channel, char delimiter) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Illegal delimiter: " + delimiter);
+        }
+        this.channel = channel;
+        this.delimiter = (byte) delimiter;
+    }
+
+    /**
+     * 写入表头
+     */
+    public void writeHeader(List<String> headers) throws IOException {
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) {
+                put(delimiter);
+            }
+            writeText(headers.get(i));
+        }
+        put((byte) '\r');
+        put((byte) '\n');
+    }
+
+    /**
+     * 写入一行，null 写为空字段
+     */
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                put(delimiter);
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeLong(((Number) value).longValue());
+            } else if (value instanceof BigDecimal decimal) {
+                writeText(decimal.toPlainString());
+            } else {
+                writeText(value.toString());
+            }
+        }
+        put((byte) '\r');
+        put((byte) '\n');
+        rowCount++;
+    }
+
+    /**
+     * 已写入的数据行数（不含表头）
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeText(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensure(digits.length - i);
+        buffer.put(digits, i, digits.length - i);
+    }
+
+    private void writeText(String text) throws IOException {
+        boolean quote = false;
+        boolean ascii = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+            } else if (c > 0x7F) {
+                ascii = false;
+            }
+        }
+        if (quote) {
+            put((byte) '"');
+            int start = 0;
+            for (int i = text.indexOf('"'); i >= 0; i = text.indexOf('"', i + 1)) {
+                writeChars(text, start, i + 1, ascii);
+                put((byte) '"');
+                start = i + 1;
+            }
+            writeChars(text, start, text.length(), ascii);
+            put((byte) '"');
+        } else {
+            writeChars(text, 0, text.length(), ascii);
+        }
+    }
+
+    private void writeChars(String text, int start, int end, boolean ascii) throws IOException {
+        if (ascii) {
+            for (int i = start; i < end; i++) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+                buffer.put((byte) text.charAt(i));
+            }
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(text, start, end);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flushBuffer();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flushBuffer();
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put(b);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
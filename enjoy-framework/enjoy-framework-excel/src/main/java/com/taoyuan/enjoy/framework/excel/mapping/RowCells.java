@@ -0,0 +1,49 @@
+package com.taoyuan.enjoy.framework.excel.mapping;
+
+import java.math.BigDecimal;
+
+/**
+ * 一行单元格的只读视图
+ * 数值读取方法默认基于文本解析，实现类可直接从底层缓冲区解析以避免创建字符串
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface RowCells {
+
+    /**
+     * 列数
+     */
+    int size();
+
+    /**
+     * 单元格文本，缺失时返回 null
+     */
+    String getString(int index);
+
+    /**
+     * 单元格是否为空（缺失或只有空白）
+     */
+    default boolean isBlank(int index) {
+        String value = getString(index);
+        return value == null || value.isBlank();
+    }
+
+    default long getLong(int index) {
+        String value = getString(index).trim();
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // 表格中的整数可能以 1.0 / 1E+3 形式保存
+            return new BigDecimal(value).longValueExact();
+        }
+    }
+
+    default double getDouble(int index) {
+        return Double.parseDouble(getString(index).trim());
+    }
+
+    default BigDecimal getDecimal(int index) {
+        return new BigDecimal(getString(index).trim());
+    }
+}
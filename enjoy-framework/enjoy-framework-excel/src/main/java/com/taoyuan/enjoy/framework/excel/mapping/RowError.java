@@ -0,0 +1,13 @@
+package com.taoyuan.enjoy.framework.excel.mapping;
+
+/**
+ * 行级错误
+ *
+ * @param row     行号（从1开始，与表格中显示的一致）
+ * @param column  列名，整行错误时为 null
+ * @param message 错误信息
+ * @author enjoy
+ * @version 1.0
+ */
+public record RowError(int row, String column, String message) {
+}
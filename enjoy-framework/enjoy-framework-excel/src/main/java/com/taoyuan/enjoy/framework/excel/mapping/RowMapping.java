@@ -0,0 +1,408 @@
+package com.taoyuan.enjoy.framework.excel.mapping;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.utils.DateUtils;
+import com.taoyuan.enjoy.framework.excel.annotation.CellValidator;
+import com.taoyuan.enjoy.framework.excel.annotation.ExcelColumn;
+import com.taoyuan.enjoy.framework.excel.annotation.MaskType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 行对象映射
+ * 解析 {@link ExcelColumn} 标注的字段，负责行数据到对象的类型转换与校验，以及导出时的格式化与脱敏；
+ * 表头绑定后得到列位置，绑定结果不可变，可在多个线程间共享。行对象需有无参构造
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class RowMapping<T> {
+
+    private static final Map<Class<?>, RowMapping<?>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 表格日期序列号的起点（1900日期系统）
+     */
+    private static final LocalDateTime SERIAL_EPOCH = LocalDate.of(1899, 12, 30).atStartOfDay();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final Column[] columns;
+    private final int[] positions;
+
+    private RowMapping(Class<T> type, Constructor<T> constructor, Column[] columns, int[] positions) {
+        this.type = type;
+        this.constructor = constructor;
+        this.columns = columns;
+        this.positions = positions;
+    }
+
+    /**
+     * 获取类型的映射（未绑定表头，列位置取注解中的 index）
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapping<T> of(Class<T> type) {
+        return (RowMapping<T>) CACHE.computeIfAbsent(type, RowMapping::create);
+    }
+
+    private static <T> RowMapping<T> create(Class<T> type) {
+        List<Column> columns = new ArrayList<>();
+        collectColumns(type, columns);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No @ExcelColumn field in " + type.getName());
+        }
+        Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No default constructor in " + type.getName(), e);
+        }
+        int[] positions = columns.stream().mapToInt(c -> c.index).toArray();
+        return new RowMapping<>(type, constructor, columns.toArray(new Column[0]), positions);
+    }
+
+    private static void collectColumns(Class<?> type, List<Column> columns) {
+        if (type == null || type == Object.class) {
+            return;
+        }
+        collectColumns(type.getSuperclass(), columns);
+        for (Field field : type.getDeclaredFields()) {
+            ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+            if (annotation == null || Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            columns.add(new Column(field, annotation));
+        }
+    }
+
+    /**
+     * 按表头绑定列位置
+     * 指定了 index 的列不参与名称匹配；未找到的必填列抛出异常，非必填列忽略
+     *
+     * @param header 表头行
+     * @return 绑定后的映射
+     */
+    public RowMapping<T> bind(RowCells header) {
+        Map<String, Integer> names = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.getString(i);
+            if (name != null && !name.isBlank()) {
+                names.putIfAbsent(name.trim(), i);
+            }
+        }
+        int[] bound = new int[columns.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            Column column = columns[i];
+            bound[i] = column.index >= 0 ? column.index : names.getOrDefault(column.name, -1);
+            if (bound[i] < 0 && column.required) {
+                missing.add(column.name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "缺少必填列：" + String.join("、", missing));
+        }
+        return new RowMapping<>(type, constructor, columns, bound);
+    }
+
+    /**
+     * 转换一行数据
+     *
+     * @param row    行数据
+     * @param rowNum 行号，用于错误信息
+     * @param errors 错误收集
+     * @return 行对象，存在错误时返回 null
+     */
+    public T map(RowCells row, int rowNum, List<RowError> errors) {
+        T target = newInstance();
+        boolean valid = true;
+        for (int i = 0; i < columns.length; i++) {
+            Column column = columns[i];
+            int pos = positions[i];
+            if (pos < 0 || pos >= row.size() || row.isBlank(pos)) {
+                if (column.required) {
+                    errors.add(new RowError(rowNum, column.name, column.name + "不能为空"));
+                    valid = false;
+                }
+                continue;
+            }
+            String message = column.validate(row, pos);
+            if (message != null) {
+                errors.add(new RowError(rowNum, column.name, message));
+                valid = false;
+                continue;
+            }
+            try {
+                column.field.set(target, column.read(row, pos));
+            } catch (RuntimeException | IllegalAccessException e) {
+                errors.add(new RowError(rowNum, column.name, column.name + "格式错误"));
+                valid = false;
+            }
+        }
+        return valid ? target : null;
+    }
+
+    /**
+     * 导出一行：数值、布尔值保持原类型，日期按列格式格式化，枚举取描述，文本按列配置脱敏
+     *
+     * @param target 行对象
+     * @param values 输出，长度不小于列数
+     */
+    public void values(T target, Object[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            try {
+                values[i] = columns[i].export(columns[i].field.get(target));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 列数
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * 表头名称，按字段声明顺序
+     */
+    public List<String> headers() {
+        return Arrays.stream(columns).map(c -> c.name).toList();
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    private T newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 表格日期序列号转日期时间
+     */
+    static LocalDateTime fromSerial(double serial) {
+        long millis = Math.round(serial * MILLIS_PER_DAY);
+        return SERIAL_EPOCH.plusNanos(millis * 1_000_000L);
+    }
+
+    /**
+     * 日期单元格保存为序列号（整数部分至多5位），以区分 yyyyMMdd 之类的纯数字格式
+     */
+    private static boolean isSerial(String value) {
+        int dot = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && dot < 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        int integerDigits = dot < 0 ? value.length() : dot;
+        return integerDigits > 0 && integerDigits <= 5;
+    }
+
+    private enum Kind {
+        STRING, INT, LONG, DOUBLE, DECIMAL, BOOLEAN, LOCAL_DATE, LOCAL_DATE_TIME, DATE, ENUM
+    }
+
+    private static final class Column {
+
+        private final Field field;
+        private final String name;
+        private final int index;
+        private final boolean required;
+        private final CellValidator validator;
+        private final MaskType mask;
+        private final Pattern regex;
+        private final Kind kind;
+        private final DateTimeFormatter formatter;
+        private final Map<String, Object> constants;
+        private final Map<Object, String> labels;
+
+        private Column(Field field, ExcelColumn annotation) {
+            this.field = field;
+            this.name = annotation.value();
+            this.index = annotation.index();
+            this.required = annotation.required();
+            this.validator = annotation.validator();
+            this.mask = annotation.mask();
+            this.regex = annotation.regex().isEmpty() ? null : Pattern.compile(annotation.regex());
+            this.kind = kindOf(field);
+            String format = annotation.format();
+            if (format.isEmpty()) {
+                format = kind == Kind.LOCAL_DATE ? DateUtils.DATE_PATTERN : DateUtils.DATE_TIME_PATTERN;
+            }
+            this.formatter = DateTimeFormatter.ofPattern(format);
+            this.constants = kind == Kind.ENUM ? enumConstants(field.getType()) : null;
+            this.labels = kind == Kind.ENUM ? enumLabels(field.getType()) : null;
+        }
+
+        private static Kind kindOf(Field field) {
+            Class<?> t = field.getType();
+            if (t == String.class) {
+                return Kind.STRING;
+            } else if (t == int.class || t == Integer.class) {
+                return Kind.INT;
+            } else if (t == long.class || t == Long.class) {
+                return Kind.LONG;
+            } else if (t == double.class || t == Double.class) {
+                return Kind.DOUBLE;
+            } else if (t == BigDecimal.class) {
+                return Kind.DECIMAL;
+            } else if (t == boolean.class || t == Boolean.class) {
+                return Kind.BOOLEAN;
+            } else if (t == LocalDate.class) {
+                return Kind.LOCAL_DATE;
+            } else if (t == LocalDateTime.class) {
+                return Kind.LOCAL_DATE_TIME;
+            } else if (t == java.util.Date.class) {
+                return Kind.DATE;
+            } else if (t.isEnum()) {
+                return Kind.ENUM;
+            }
+            throw new IllegalArgumentException("Unsupported column type " + t.getName() + " of field " + field.getName());
+        }
+
+        /**
+         * 枚举可按名称、描述（getDesc）或编码（getCode）匹配
+         */
+        private static Map<String, Object> enumConstants(Class<?> enumType) {
+            Map<String, Object> constants = new HashMap<>();
+            Method desc = accessor(enumType, "getDesc");
+            Method code = accessor(enumType, "getCode");
+            for (Object constant : enumType.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name().toUpperCase(Locale.ROOT), constant);
+                try {
+                    if (desc != null) {
+                        constants.putIfAbsent(String.valueOf(desc.invoke(constant)), constant);
+                    }
+                    if (code != null) {
+                        constants.putIfAbsent(String.valueOf(code.invoke(constant)), constant);
+                    }
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return constants;
+        }
+
+        private static Map<Object, String> enumLabels(Class<?> enumType) {
+            Map<Object, String> labels = new HashMap<>();
+            Method desc = accessor(enumType, "getDesc");
+            for (Object constant : enumType.getEnumConstants()) {
+                try {
+                    labels.put(constant, desc != null ? String.valueOf(desc.invoke(constant)) : ((Enum<?>) constant).name());
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return labels;
+        }
+
+        private static Method accessor(Class<?> type, String name) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private String validate(RowCells row, int pos) {
+            if (validator == CellValidator.NONE && regex == null) {
+                return null;
+            }
+            String value = row.getString(pos).trim();
+            if (!validator.test(value)) {
+                return name + validator.getMessage();
+            }
+            if (regex != null && !regex.matcher(value).matches()) {
+                return name + "格式错误";
+            }
+            return null;
+        }
+
+        private Object read(RowCells row, int pos) {
+            return switch (kind) {
+                case STRING -> row.getString(pos).trim();
+                case INT -> Math.toIntExact(row.getLong(pos));
+                case LONG -> row.getLong(pos);
+                case DOUBLE -> row.getDouble(pos);
+                case DECIMAL -> row.getDecimal(pos);
+                case BOOLEAN -> parseBoolean(row.getString(pos).trim());
+                case LOCAL_DATE -> readDateTime(row.getString(pos).trim()).toLocalDate();
+                case LOCAL_DATE_TIME -> readDateTime(row.getString(pos).trim());
+                case DATE -> DateUtils.toDate(readDateTime(row.getString(pos).trim()));
+                case ENUM -> {
+                    String value = row.getString(pos).trim();
+                    Object constant = constants.get(value);
+                    if (constant == null) {
+                        constant = constants.get(value.toUpperCase(Locale.ROOT));
+                    }
+                    if (constant == null) {
+                        throw new IllegalArgumentException(value);
+                    }
+                    yield constant;
+                }
+            };
+        }
+
+        private Object export(Object value) {
+            if (value == null) {
+                return null;
+            }
+            Object exported = switch (kind) {
+                case STRING, INT, LONG, DOUBLE, DECIMAL, BOOLEAN -> value;
+                case LOCAL_DATE -> formatter.format((LocalDate) value);
+                case LOCAL_DATE_TIME -> formatter.format((LocalDateTime) value);
+                case DATE -> formatter.format(DateUtils.toLocalDateTime((java.util.Date) value));
+                case ENUM -> labels.get(value);
+            };
+            return mask == MaskType.NONE ? exported : mask.apply(String.valueOf(exported));
+        }
+
+        private LocalDateTime readDateTime(String value) {
+            if (isSerial(value)) {
+                return fromSerial(Double.parseDouble(value));
+            }
+            if (kind == Kind.LOCAL_DATE) {
+                return LocalDate.parse(value, formatter).atStartOfDay();
+            }
+            return LocalDateTime.parse(value, formatter);
+        }
+
+        private static boolean parseBoolean(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "1", "true", "y", "yes", "是" -> true;
+                case "0", "false", "n", "no", "否" -> false;
+                default -> throw new IllegalArgumentException(value);
+            };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+/**
+ * 导入配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ExcelImportProperties {
+
+    /**
+     * 表头所在行（从1开始），之前的行忽略
+     */
+    private int headerRow = 1;
+
+    /**
+     * 每批校验与写入的行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 同时在途（读取完成、尚未写入）的批次数上限，决定内存上限
+     */
+    private int maxPendingBatches = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * 最多保留的行级错误数，超出后只计数
+     */
+    private int maxErrors = 1000;
+
+    /**
+     * 单次导入最大数据行数，0 表示不限制
+     */
+    private int maxRows = 0;
+
+    public int getHeaderRow() {
+        return headerRow;
+    }
+
+    public void setHeaderRow(int headerRow) {
+        this.headerRow = headerRow;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxPendingBatches() {
+        return maxPendingBatches;
+    }
+
+    public void setMaxPendingBatches(int maxPendingBatches) {
+        this.maxPendingBatches = maxPendingBatches;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+}
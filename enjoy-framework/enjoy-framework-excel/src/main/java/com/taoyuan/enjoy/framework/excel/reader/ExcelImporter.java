@@ -0,0 +1,158 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.excel.csv.CsvReader;
+import com.taoyuan.enjoy.framework.excel.mapping.RowCells;
+import com.taoyuan.enjoy.framework.excel.mapping.RowMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 表格导入
+ * 流式读取 XLSX 或 CSV，按 {@link ExcelImportProperties#getHeaderRow()} 行绑定表头，之后的非空行进入 {@link ImportPipeline}：
+ * 并行转换校验、按序分批写入，校验失败的行记录错误后跳过
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ExcelImporter {
+
+    private final ExcelImportProperties properties;
+    private final Executor executor;
+
+    public ExcelImporter() {
+        this(new ExcelImportProperties(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param properties 导入配置
+     * @param executor   执行行校验的线程池
+     */
+    public ExcelImporter(ExcelImportProperties properties, Executor executor) {
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * 导入上传文件的第一个工作表
+     */
+    public <T> ImportResult importXlsx(InputStream in, Class<T> type, RowSink<T> sink) throws IOException {
+        try (XlsxReader reader = XlsxReader.open(in)) {
+            return importSheet(reader, 0, type, sink);
+        }
+    }
+
+    /**
+     * 导入指定工作表
+     *
+     * @param file       文件
+     * @param sheetIndex 工作表序号（从0开始）
+     * @param type       行对象类型
+     * @param sink       写入
+     * @return 导入结果
+     */
+    public <T> ImportResult importXlsx(Path file, int sheetIndex, Class<T> type, RowSink<T> sink) throws IOException {
+        try (XlsxReader reader = XlsxReader.open(file)) {
+            return importSheet(reader, sheetIndex, type, sink);
+        }
+    }
+
+    /**
+     * 导入上传的 CSV（UTF-8，逗号分隔），用于系统间同步等不需要表格格式的场景
+     */
+    public <T> ImportResult importCsv(InputStream in, Class<T> type, RowSink<T> sink) throws IOException {
+        try (CsvReader reader = CsvReader.open(in, ',')) {
+            return importCsv(reader, type, sink);
+        }
+    }
+
+    /**
+     * 导入 CSV 文件（UTF-8）
+     *
+     * @param file      文件
+     * @param delimiter 分隔符
+     * @param type      行对象类型
+     * @param sink      写入
+     * @return 导入结果
+     */
+    public <T> ImportResult importCsv(Path file, char delimiter, Class<T> type, RowSink<T> sink) throws IOException {
+        try (CsvReader reader = CsvReader.open(file, delimiter)) {
+            return importCsv(reader, type, sink);
+        }
+    }
+
+    private <T> ImportResult importSheet(XlsxReader reader, int sheetIndex, Class<T> type,
+                                         RowSink<T> sink) throws IOException {
+        RowDispatcher<T> handler = new RowDispatcher<>(RowMapping.of(type), sink);
+        try {
+            reader.read(sheetIndex, (rowNum, row) -> row.isEmpty() || handler.accept(rowNum, row));
+        } catch (RuntimeException e) {
+            if (handler.pipeline != null) {
+                handler.pipeline.abort();
+            }
+            throw e;
+        }
+        return handler.finish();
+    }
+
+    private <T> ImportResult importCsv(CsvReader reader, Class<T> type, RowSink<T> sink) throws IOException {
+        RowDispatcher<T> handler = new RowDispatcher<>(RowMapping.of(type), sink);
+        try {
+            reader.read(handler::accept);
+        } catch (RuntimeException e) {
+            if (handler.pipeline != null) {
+                handler.pipeline.abort();
+            }
+            throw e;
+        }
+        return handler.finish();
+    }
+
+    /**
+     * 创建导入流水线，供其他文件格式复用
+     *
+     * @param mapping 已绑定表头的映射
+     * @param sink    写入
+     */
+    public <T> ImportPipeline<T> pipeline(RowMapping<T> mapping, RowSink<T> sink) {
+        return new ImportPipeline<>(mapping, sink, properties, executor);
+    }
+
+    /**
+     * 跳过表头之前的行，绑定表头，其余行交给流水线
+     */
+    private final class RowDispatcher<T> {
+
+        private final RowMapping<T> template;
+        private final RowSink<T> sink;
+        private ImportPipeline<T> pipeline;
+
+        private RowDispatcher(RowMapping<T> template, RowSink<T> sink) {
+            this.template = template;
+            this.sink = sink;
+        }
+
+        private boolean accept(int rowNum, RowCells row) {
+            if (rowNum < properties.getHeaderRow()) {
+                return true;
+            }
+            if (pipeline == null) {
+                pipeline = pipeline(template.bind(row), sink);
+                return true;
+            }
+            return pipeline.accept(rowNum, row);
+        }
+
+        private ImportResult finish() {
+            if (pipeline == null) {
+                throw new BizException(CommonErrorCode.PARAM_ERROR, "未找到表头");
+            }
+            return pipeline.finish();
+        }
+    }
+}
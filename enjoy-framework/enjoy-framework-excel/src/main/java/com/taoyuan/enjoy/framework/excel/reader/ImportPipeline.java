@@ -0,0 +1,156 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.excel.mapping.RowCells;
+import com.taoyuan.enjoy.framework.excel.mapping.RowError;
+import com.taoyuan.enjoy.framework.excel.mapping.RowMapping;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 导入流水线
+ * 读取线程按批提交行数据，转换与校验在执行器中并行进行；校验结果按提交顺序在读取线程中写入，
+ * 在途批次数有上限，读取快于写入时读取线程阻塞等待，内存占用与文件大小无关。
+ * 行级错误只记录不中断，写入异常则中止导入。非线程安全，由单个读取线程驱动
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class ImportPipeline<T> {
+
+    private final RowMapping<T> mapping;
+    private final RowSink<T> sink;
+    private final ExcelImportProperties properties;
+    private final Executor executor;
+    private final Deque<CompletableFuture<Validated<T>>> pending = new ArrayDeque<>();
+    private final List<RowError> errors = new ArrayList<>();
+
+    private List<RowCells> rows;
+    private int[] rowNums;
+    private long total;
+    private long success;
+    private long failed;
+    private boolean truncated;
+    private boolean exceeded;
+
+    ImportPipeline(RowMapping<T> mapping, RowSink<T> sink, ExcelImportProperties properties, Executor executor) {
+        this.mapping = mapping;
+        this.sink = sink;
+        this.properties = properties;
+        this.executor = executor;
+        newBatch();
+    }
+
+    /**
+     * 提交一行数据
+     *
+     * @param rowNum 行号
+     * @param row    行数据，提交后不可再修改
+     * @return 是否可继续提交，超过最大行数时返回 false
+     */
+    public boolean accept(int rowNum, RowCells row) {
+        int maxRows = properties.getMaxRows();
+        if (maxRows > 0 && total >= maxRows) {
+            exceeded = true;
+            return false;
+        }
+        rowNums[rows.size()] = rowNum;
+        rows.add(row);
+        total++;
+        if (rows.size() == rowNums.length) {
+            submit();
+        }
+        return true;
+    }
+
+    /**
+     * 写入剩余批次并返回结果
+     */
+    public ImportResult finish() {
+        if (!rows.isEmpty()) {
+            submit();
+        }
+        while (!pending.isEmpty()) {
+            drain();
+        }
+        return new ImportResult(total, success, failed, List.copyOf(errors), truncated, exceeded);
+    }
+
+    /**
+     * 放弃未写入的批次
+     */
+    public void abort() {
+        pending.forEach(f -> f.cancel(false));
+        pending.clear();
+    }
+
+    private void submit() {
+        List<RowCells> batchRows = rows;
+        int[] batchRowNums = rowNums;
+        pending.addLast(CompletableFuture.supplyAsync(() -> validate(batchRows, batchRowNums), executor));
+        newBatch();
+        while (pending.size() >= Math.max(1, properties.getMaxPendingBatches())) {
+            drain();
+        }
+    }
+
+    private void newBatch() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        rows = new ArrayList<>(batchSize);
+        rowNums = new int[batchSize];
+    }
+
+    private Validated<T> validate(List<RowCells> batchRows, int[] batchRowNums) {
+        List<T> valid = new ArrayList<>(batchRows.size());
+        List<RowError> batchErrors = new ArrayList<>();
+        int invalid = 0;
+        for (int i = 0; i < batchRows.size(); i++) {
+            T target = mapping.map(batchRows.get(i), batchRowNums[i], batchErrors);
+            if (target != null) {
+                valid.add(target);
+            } else {
+                invalid++;
+            }
+        }
+        return new Validated<>(valid, batchErrors, invalid);
+    }
+
+    private void drain() {
+        Validated<T> validated;
+        try {
+            validated = pending.removeFirst().join();
+        } catch (CompletionException e) {
+            abort();
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+        failed += validated.invalid;
+        for (RowError error : validated.errors) {
+            if (errors.size() < properties.getMaxErrors()) {
+                errors.add(error);
+            } else {
+                truncated = true;
+            }
+        }
+        if (validated.rows.isEmpty()) {
+            return;
+        }
+        try {
+            sink.write(validated.rows);
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        } catch (Exception e) {
+            abort();
+            throw new IllegalStateException("Import sink failed", e);
+        }
+        success += validated.rows.size();
+    }
+
+    private record Validated<T>(List<T> rows, List<RowError> errors, int invalid) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.excel.mapping.RowError;
+
+import java.util.List;
+
+/**
+ * 导入结果
+ *
+ * @param total     数据行数
+ * @param success   写入行数
+ * @param failed    校验失败行数
+ * @param errors    行级错误（最多保留配置的条数）
+ * @param truncated 是否有错误因超出上限未保留
+ * @param exceeded  是否因超过最大行数而中止读取
+ * @author enjoy
+ * @version 1.0
+ */
+public record ImportResult(long total, long success, long failed, List<RowError> errors, boolean truncated,
+                           boolean exceeded) {
+}
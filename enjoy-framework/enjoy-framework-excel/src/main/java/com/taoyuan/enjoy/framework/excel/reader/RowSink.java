@@ -0,0 +1,20 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import java.util.List;
+
+/**
+ * 导入写入
+ * 在调用导入的线程中按文件顺序回调，可直接使用当前会话，如
+ * {@code rows -> batchInsertExecutor.insert(session, "...insert", rows)}
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RowSink<T> {
+
+    /**
+     * 写入一批校验通过的行
+     */
+    void write(List<T> rows) throws Exception;
+}
@@ -0,0 +1,471 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * XLSX 流式读取
+ * 直接以 StAX 拉取方式解析压缩包内的工作表XML，不构建工作簿对象模型，内存占用与行数无关；
+ * 共享字符串表整体加载（与去重后的文本量成正比）。日期单元格按原样返回序列号，由 {@code RowMapping} 按字段类型转换。
+ * 解析器禁用 DTD 与外部实体
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class XlsxReader implements Closeable {
+
+    private static final String REL_OFFICE_DOCUMENT = "/officeDocument";
+    private static final String REL_SHARED_STRINGS = "/sharedStrings";
+    /**
+     * 工作表上限：1048576 行、16384 列（A..XFD）
+     */
+    private static final int MAX_ROWS = 1_048_576;
+    private static final int MAX_COLUMNS = 16_384;
+    private static final XMLInputFactory XML_FACTORY = createFactory();
+
+    private final ZipFile zip;
+    private final Path tempFile;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<String> sheetParts = new ArrayList<>();
+    private String sharedStringsPart;
+    private String[] sharedStrings;
+
+    private XlsxReader(ZipFile zip, Path tempFile) {
+        this.zip = zip;
+        this.tempFile = tempFile;
+    }
+
+    /**
+     * 打开文件
+     */
+    public static XlsxReader open(Path file) throws IOException {
+        return open(file, null);
+    }
+
+    /**
+     * 打开输入流（先落盘为临时文件以便随机访问压缩包条目，关闭时删除）
+     */
+    public static XlsxReader open(InputStream in) throws IOException {
+        Path temp = Files.createTempFile("enjoy-excel-", ".xlsx");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            return open(temp, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static XlsxReader open(Path file, Path tempFile) throws IOException {
+        ZipFile zip;
+        try {
+            zip = new ZipFile(file.toFile());
+        } catch (ZipException e) {
+            throw invalidFile();
+        }
+        XlsxReader reader = new XlsxReader(zip, tempFile);
+        try {
+            reader.loadWorkbook();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * 工作表名称，按工作簿中的顺序
+     */
+    public List<String> getSheetNames() {
+        return List.copyOf(sheetNames);
+    }
+
+    /**
+     * 逐行读取工作表，空行（文件中不存在的行）不回调
+     *
+     * @param sheetIndex 工作表序号（从0开始）
+     * @param handler    行处理，返回 false 时停止读取
+     */
+    public void read(int sheetIndex, RowHandler handler) throws IOException {
+        if (sheetIndex < 0 || sheetIndex >= sheetParts.size()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "工作表不存在：" + (sheetIndex + 1));
+        }
+        String[] strings = sharedStrings();
+        try (InputStream in = entry(sheetParts.get(sheetIndex))) {
+            XMLStreamReader xml = XML_FACTORY.createXMLStreamReader(in);
+            try {
+                readSheet(xml, strings, handler);
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw invalidFile();
+        }
+    }
+
+    private void readSheet(XMLStreamReader xml, String[] strings, RowHandler handler) throws XMLStreamException {
+        String[] cells = new String[16];
+        int width = 0;
+        int rowNum = 0;
+        int column = 0;
+        String type = null;
+        boolean capture = false;
+        boolean inCell = false;
+        StringBuilder text = new StringBuilder();
+        while (xml.hasNext()) {
+            switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    switch (xml.getLocalName()) {
+                        case "row" -> {
+                            String r = xml.getAttributeValue(null, "r");
+                            rowNum = r != null ? parseIndex(r, 1, MAX_ROWS) : rowNum + 1;
+                            column = 0;
+                            width = 0;
+                        }
+                        case "c" -> {
+                            String ref = xml.getAttributeValue(null, "r");
+                            column = ref != null ? columnIndex(ref) : column;
+                            type = xml.getAttributeValue(null, "t");
+                            text.setLength(0);
+                            inCell = true;
+                        }
+                        // <v> 为值，<is><t> 为内联字符串；<f> 公式文本不读取
+                        case "v", "t" -> capture = inCell;
+                        default -> {
+                        }
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (capture) {
+                        text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    switch (xml.getLocalName()) {
+                        case "v", "t" -> capture = false;
+                        case "c" -> {
+                            inCell = false;
+                            if (column >= cells.length) {
+                                cells = Arrays.copyOf(cells, Math.max(cells.length * 2, column + 1));
+                            }
+                            cells[column] = cellValue(type, text, strings);
+                            width = Math.max(width, column + 1);
+                            column++;
+                        }
+                        case "row" -> {
+                            XlsxRow row = new XlsxRow(Arrays.copyOf(cells, width));
+                            Arrays.fill(cells, 0, width, null);
+                            if (!handler.handle(rowNum, row)) {
+                                return;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static String cellValue(String type, StringBuilder text, String[] strings) {
+        if (type == null || "n".equals(type)) {
+            return text.isEmpty() ? null : text.toString();
+        }
+        return switch (type) {
+            case "s" -> {
+                yield strings[parseIndex(text.toString().trim(), 0, strings.length - 1)];
+            }
+            case "b" -> "1".contentEquals(text) ? "TRUE" : "FALSE";
+            case "inlineStr" -> decode(text);
+            default -> text.toString();
+        };
+    }
+
+    /**
+     * 列引用（如 "AB12"）转列序号（从0开始）。须为 1~3 个大写字母加行号，列不超过 XFD
+     */
+    static int columnIndex(String ref) {
+        int index = 0;
+        int i = 0;
+        while (i < ref.length() && i < 3 && ref.charAt(i) >= 'A' && ref.charAt(i) <= 'Z') {
+            index = index * 26 + (ref.charAt(i) - 'A' + 1);
+            i++;
+        }
+        if (i == 0 || index > MAX_COLUMNS) {
+            throw invalidFile();
+        }
+        parseIndex(ref.substring(i), 1, MAX_ROWS);
+        return index - 1;
+    }
+
+    /**
+     * 解析文件中的非负整数（行号、共享字符串下标、计数），超出 [min, max] 视为文件损坏
+     */
+    static int parseIndex(String value, int min, int max) {
+        if (value.isEmpty() || value.length() > 10) {
+            throw invalidFile();
+        }
+        long result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw invalidFile();
+            }
+            result = result * 10 + (c - '0');
+        }
+        if (result < min || result > max) {
+            throw invalidFile();
+        }
+        return (int) result;
+    }
+
+    private String[] sharedStrings() throws IOException {
+        if (sharedStrings == null) {
+            sharedStrings = sharedStringsPart == null ? new String[0] : loadSharedStrings(sharedStringsPart);
+        }
+        return sharedStrings;
+    }
+
+    private String[] loadSharedStrings(String part) throws IOException {
+        try (InputStream in = entry(part)) {
+            XMLStreamReader xml = XML_FACTORY.createXMLStreamReader(in);
+            try {
+                List<String> strings = new ArrayList<>();
+                StringBuilder text = new StringBuilder();
+                boolean capture = false;
+                // 注音（rPh）中的 <t> 不属于显示文本
+                boolean phonetic = false;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "sst" -> {
+                                String count = xml.getAttributeValue(null, "uniqueCount");
+                                if (count != null) {
+                                    strings = new ArrayList<>(Math.min(parseIndex(count, 0, Integer.MAX_VALUE), 1 << 20));
+                                }
+                            }
+                            case "si" -> text.setLength(0);
+                            case "rPh" -> phonetic = true;
+                            case "t" -> capture = !phonetic;
+                            default -> {
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "si" -> strings.add(decode(text));
+                            case "rPh" -> phonetic = false;
+                            case "t" -> capture = false;
+                            default -> {
+                            }
+                        }
+                    } else if (capture && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                            || event == XMLStreamConstants.SPACE)) {
+                        text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    }
+                }
+                return strings.toArray(new String[0]);
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw invalidFile();
+        }
+    }
+
+    /**
+     * 还原 OOXML 中以 _xHHHH_ 转义的控制字符
+     */
+    private static String decode(StringBuilder text) {
+        int start = text.indexOf("_x");
+        if (start < 0) {
+            return text.toString();
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int i = 0;
+        while (start >= 0) {
+            sb.append(text, i, start);
+            if (start + 7 <= text.length() && text.charAt(start + 6) == '_' && isHex(text, start + 2, start + 6)) {
+                sb.append((char) Integer.parseInt(text.substring(start + 2, start + 6), 16));
+                i = start + 7;
+            } else {
+                sb.append("_x");
+                i = start + 2;
+            }
+            start = text.indexOf("_x", i);
+        }
+        return sb.append(text, i, text.length()).toString();
+    }
+
+    private static boolean isHex(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.digit(s.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void loadWorkbook() throws IOException {
+        String workbook = null;
+        for (Relationship rel : relationships("")) {
+            if (rel.type.endsWith(REL_OFFICE_DOCUMENT)) {
+                workbook = rel.target;
+            }
+        }
+        if (workbook == null) {
+            throw invalidFile();
+        }
+        Map<String, String> targets = new HashMap<>();
+        for (Relationship rel : relationships(workbook)) {
+            targets.put(rel.id, rel.target);
+            if (rel.type.endsWith(REL_SHARED_STRINGS)) {
+                sharedStringsPart = rel.target;
+            }
+        }
+        try (InputStream in = entry(workbook)) {
+            XMLStreamReader xml = XML_FACTORY.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                        String target = targets.get(relationshipId(xml));
+                        if (target != null) {
+                            sheetNames.add(xml.getAttributeValue(null, "name"));
+                            sheetParts.add(target);
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw invalidFile();
+        }
+    }
+
+    private static String relationshipId(XMLStreamReader xml) {
+        for (int i = 0; i < xml.getAttributeCount(); i++) {
+            if ("id".equals(xml.getAttributeLocalName(i)) && xml.getAttributeNamespace(i) != null) {
+                return xml.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取部件的关系文件，目标路径解析为压缩包内的绝对路径
+     */
+    private List<Relationship> relationships(String part) throws IOException {
+        int slash = part.lastIndexOf('/');
+        String dir = slash < 0 ? "" : part.substring(0, slash + 1);
+        String relsPart = dir + "_rels/" + part.substring(slash + 1) + ".rels";
+        List<Relationship> rels = new ArrayList<>();
+        if (zip.getEntry(relsPart) == null) {
+            return rels;
+        }
+        try (InputStream in = entry(relsPart)) {
+            XMLStreamReader xml = XML_FACTORY.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())) {
+                        if ("External".equals(xml.getAttributeValue(null, "TargetMode"))) {
+                            continue;
+                        }
+                        rels.add(new Relationship(xml.getAttributeValue(null, "Id"), xml.getAttributeValue(null, "Type"),
+                                resolve(dir, xml.getAttributeValue(null, "Target"))));
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw invalidFile();
+        }
+        return rels;
+    }
+
+    private static String resolve(String dir, String target) {
+        String path = target.startsWith("/") ? target.substring(1) : dir + target;
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !".".equals(segment)) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private InputStream entry(String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            throw invalidFile();
+        }
+        return new BufferedInputStream(zip.getInputStream(entry), 64 * 1024);
+    }
+
+    private static BizException invalidFile() {
+        return new BizException(CommonErrorCode.PARAM_ERROR, "Excel文件格式错误");
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            zip.close();
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * 行处理
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * @param rowNum 行号（从1开始）
+         * @param row    行数据
+         * @return 是否继续读取
+         */
+        boolean handle(int rowNum, XlsxRow row);
+    }
+
+    private record Relationship(String id, String type, String target) {
+    }
+}
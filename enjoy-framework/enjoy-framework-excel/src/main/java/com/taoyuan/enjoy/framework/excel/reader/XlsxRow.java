@@ -0,0 +1,40 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.excel.mapping.RowCells;
+
+/**
+ * XLSX 行数据
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class XlsxRow implements RowCells {
+
+    private final String[] cells;
+
+    XlsxRow(String[] cells) {
+        this.cells = cells;
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public String getString(int index) {
+        return index < cells.length ? cells[index] : null;
+    }
+
+    /**
+     * 是否整行为空
+     */
+    public boolean isEmpty() {
+        for (int i = 0; i < cells.length; i++) {
+            if (!isBlank(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+/**
+ * 导出配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ExcelExportProperties {
+
+    /**
+     * 每个工作表最多行数（含表头），超出后自动新建工作表
+     */
+    private int maxRowsPerSheet = XlsxWriter.MAX_ROWS;
+
+    /**
+     * 流式查询的 fetchSize，默认为 MySQL 逐行读取；连接参数 useCursorFetch=true 时可取正数
+     */
+    private int fetchSize = Integer.MIN_VALUE;
+
+    /**
+     * 客户端接收慢时内存中最多缓冲的字节数，超出部分写入临时文件
+     */
+    private int spillThreshold = 8 * 1024 * 1024;
+
+    /**
+     * 临时文件目录，为空时使用系统临时目录
+     */
+    private String spillDirectory;
+
+    public int getMaxRowsPerSheet() {
+        return maxRowsPerSheet;
+    }
+
+    public void setMaxRowsPerSheet(int maxRowsPerSheet) {
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+}
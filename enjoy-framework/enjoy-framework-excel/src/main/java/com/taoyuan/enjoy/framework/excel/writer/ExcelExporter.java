@@ -0,0 +1,165 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+import com.taoyuan.enjoy.framework.excel.csv.CsvWriter;
+import com.taoyuan.enjoy.framework.excel.mapping.RowMapping;
+import com.taoyuan.enjoy.framework.mybatis.interceptor.FetchSizeInterceptor;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.ibatis.session.SqlSession;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 表格导出
+ * 查询结果经 ResultHandler 逐行交给 {@link XlsxWriter} 或 {@link CsvWriter}，不在内存中保留结果集；查询走 Executor.query，
+ * 分页、逻辑删除与数据权限拦截器照常生效。需注册 {@link FetchSizeInterceptor}，否则按语句自身的 fetchSize 读取。
+ * 写往 HTTP 响应时经 {@link SpillingOutputStream} 缓冲，客户端接收慢不会拖住数据库连接
+ *
+ * <pre>
+ * try (OutputStream out = exporter.open(response, "用户.xlsx")) {
+ *     exporter.export(session, "...UserMapper.selectExport", query, UserExcel.class, "用户", out);
+ * }
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ExcelExporter {
+
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final String CSV_CONTENT_TYPE = "text/csv;charset=UTF-8";
+
+    private final ExcelExportProperties properties;
+
+    public ExcelExporter() {
+        this(new ExcelExportProperties());
+    }
+
+    public ExcelExporter(ExcelExportProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 设置下载响应头并返回带溢写缓冲的输出流
+     *
+     * @param response 响应
+     * @param fileName 下载文件名，以 .csv 结尾时按 CSV 设置内容类型
+     */
+    public OutputStream open(HttpServletResponse response, String fileName) throws IOException {
+        response.setContentType(fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV_CONTENT_TYPE : CONTENT_TYPE);
+        response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''"
+                + URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20"));
+        String directory = properties.getSpillDirectory();
+        return new SpillingOutputStream(response.getOutputStream(), properties.getSpillThreshold(),
+                directory == null || directory.isBlank() ? null : Path.of(directory));
+    }
+
+    /**
+     * 以流式查询导出
+     *
+     * @param session     会话
+     * @param statementId 查询语句ID，结果类型为 type
+     * @param parameter   查询参数
+     * @param type        行对象类型
+     * @param sheetName   工作表名称
+     * @param out         输出流，导出完成后关闭
+     * @return 导出行数
+     */
+    public <T> long export(SqlSession session, String statementId, Object parameter, Class<T> type,
+                           String sheetName, OutputStream out) throws IOException {
+        RowMapping<T> mapping = RowMapping.of(type);
+        try (XlsxWriter writer = new XlsxWriter(out, properties.getMaxRowsPerSheet())) {
+            writer.startSheet(sheetName, mapping.headers());
+            select(session, statementId, parameter, mapping, writer::writeRow);
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * 以流式查询导出 CSV（UTF-8，逗号分隔），用于系统间同步等不需要表格格式的场景
+     *
+     * @param session     会话
+     * @param statementId 查询语句ID，结果类型为 type
+     * @param parameter   查询参数
+     * @param type        行对象类型
+     * @param out         输出流，导出完成后关闭
+     * @return 导出行数
+     */
+    public <T> long exportCsv(SqlSession session, String statementId, Object parameter, Class<T> type,
+                              OutputStream out) throws IOException {
+        RowMapping<T> mapping = RowMapping.of(type);
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(out), ',')) {
+            writer.writeHeader(mapping.headers());
+            select(session, statementId, parameter, mapping, writer::writeRow);
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * 从任意数据源导出 CSV
+     */
+    public <T> long exportCsv(Iterable<? extends T> rows, Class<T> type, OutputStream out) throws IOException {
+        RowMapping<T> mapping = RowMapping.of(type);
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(out), ',')) {
+            writer.writeHeader(mapping.headers());
+            Object[] values = new Object[mapping.size()];
+            for (T row : rows) {
+                mapping.values(row, values);
+                writer.writeRow(values);
+            }
+            return writer.getRowCount();
+        }
+    }
+
+    private <T> void select(SqlSession session, String statementId, Object parameter, RowMapping<T> mapping,
+                            RowWriter writer) throws IOException {
+        Class<T> type = mapping.getType();
+        Object[] values = new Object[mapping.size()];
+        try {
+            FetchSizeInterceptor.run(properties.getFetchSize(), () -> session.select(statementId, parameter, context -> {
+                mapping.values(type.cast(context.getResultObject()), values);
+                try {
+                    writer.write(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 从任意数据源导出，如 MyBatis {@code Cursor}
+     *
+     * @param rows      数据
+     * @param type      行对象类型
+     * @param sheetName 工作表名称
+     * @param out       输出流，导出完成后关闭
+     * @return 导出行数
+     */
+    public <T> long export(Iterable<? extends T> rows, Class<T> type, String sheetName, OutputStream out) throws IOException {
+        RowMapping<T> mapping = RowMapping.of(type);
+        try (XlsxWriter writer = new XlsxWriter(out, properties.getMaxRowsPerSheet())) {
+            writer.startSheet(sheetName, mapping.headers());
+            Object[] values = new Object[mapping.size()];
+            for (T row : rows) {
+                mapping.values(row, values);
+                writer.writeRow(values);
+            }
+            return writer.getRowCount();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(Object[] values) throws IOException;
+    }
+}
@@ -0,0 +1,251 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 溢写输出流
+ * 写入方与目标流解耦：数据按块交给后台线程写往目标流，目标流（慢客户端）跟不上时，
+ * 超出内存上限的部分顺序追加到临时文件，后台线程先写完内存块再读文件补发，追平后恢复使用内存。
+ * 写入方从不因客户端阻塞，数据库游标可以尽快读完释放连接；目标流异常时后续写入抛出该异常。
+ * 关闭时等待全部数据写出，不关闭目标流
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class SpillingOutputStream extends OutputStream {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final OutputStream target;
+    private final long memoryLimit;
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<byte[]> memory = new ArrayDeque<>();
+    private final Thread drainer;
+
+    private byte[] buffer = new byte[CHUNK_SIZE];
+    private int count;
+
+    private long memoryBytes;
+    private boolean spilling;
+    private FileChannel spill;
+    private long spillWrite;
+    private long spillRead;
+    private long spilledBytes;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * @param target      目标流
+     * @param memoryLimit 内存中最多缓冲的字节数
+     * @param directory   临时文件目录，为空时使用系统临时目录
+     */
+    public SpillingOutputStream(OutputStream target, long memoryLimit, Path directory) {
+        this.target = target;
+        this.memoryLimit = memoryLimit;
+        this.directory = directory;
+        this.drainer = Thread.ofVirtual().name("excel-spill-drainer").start(this::drain);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * 累计写入临时文件的字节数
+     */
+    public long getSpilledBytes() {
+        lock.lock();
+        try {
+            return spilledBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        byte[] chunk = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!spilling && memoryBytes + chunk.length <= memoryLimit) {
+                memory.addLast(chunk);
+                memoryBytes += chunk.length;
+            } else {
+                // 进入溢写后新数据全部追加到文件，保证顺序在内存块之后
+                spilling = true;
+                if (spill == null) {
+                    Path file = directory != null
+                            ? Files.createTempFile(directory, "enjoy-export-", ".tmp")
+                            : Files.createTempFile("enjoy-export-", ".tmp");
+                    spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+                }
+                ByteBuffer src = ByteBuffer.wrap(chunk);
+                while (src.hasRemaining()) {
+                    spillWrite += spill.write(src, spillWrite);
+                }
+                spilledBytes += chunk.length;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (chunk == buffer) {
+            buffer = new byte[CHUNK_SIZE];
+        }
+        count = 0;
+    }
+
+    private void drain() {
+        ByteBuffer readBuffer = null;
+        try {
+            while (true) {
+                byte[] chunk = null;
+                long position = 0;
+                int length = 0;
+                lock.lock();
+                try {
+                    while (memory.isEmpty() && spillRead == spillWrite && !closed) {
+                        available.await();
+                    }
+                    if (!memory.isEmpty()) {
+                        chunk = memory.pollFirst();
+                        memoryBytes -= chunk.length;
+                    } else if (spillRead < spillWrite) {
+                        position = spillRead;
+                        length = (int) Math.min(CHUNK_SIZE, spillWrite - spillRead);
+                    } else {
+                        break;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (chunk != null) {
+                    target.write(chunk);
+                    continue;
+                }
+                if (readBuffer == null) {
+                    readBuffer = ByteBuffer.allocate(CHUNK_SIZE);
+                }
+                readBuffer.clear().limit(length);
+                while (readBuffer.hasRemaining()) {
+                    if (spill.read(readBuffer, position + readBuffer.position()) < 0) {
+                        throw new IOException("Unexpected end of spill file");
+                    }
+                }
+                target.write(readBuffer.array(), 0, length);
+                lock.lock();
+                try {
+                    spillRead += length;
+                    if (spillRead == spillWrite) {
+                        // 文件已追平（此时内存块必然已写完），复用文件并恢复内存缓冲
+                        spilling = false;
+                        spillRead = 0;
+                        spillWrite = 0;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            target.flush();
+        } catch (IOException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException("Spill drainer interrupted"));
+        }
+    }
+
+    private void fail(IOException e) {
+        lock.lock();
+        try {
+            failure = e;
+            memory.clear();
+            memoryBytes = 0;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        boolean interrupted = false;
+        try {
+            try {
+                flush();
+            } finally {
+                lock.lock();
+                try {
+                    closed = true;
+                    available.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            while (true) {
+                try {
+                    drainer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (spill != null) {
+                spill.close();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XLSX 流式写入
+ * 工作表XML逐行直接写入压缩流，文本使用内联字符串，不维护共享字符串表与单元格对象，内存占用与行数无关；
+ * 工作簿、关系与内容类型在关闭时写入。工作表达到行数上限后自动续写到同名加序号的新工作表并重复表头。
+ * 超过15位有效数字的整数（如雪花ID）按文本写入，避免表格按双精度截断
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class XlsxWriter implements Closeable {
+
+    /**
+     * 单个工作表的最大行数
+     */
+    public static final int MAX_ROWS = 1_048_576;
+
+    private static final int MAX_SHEET_NAME = 31;
+    private static final int MAX_CELL_TEXT = 32_767;
+    private static final long MAX_EXACT_NUMBER = 999_999_999_999_999L;
+    private static final int COLUMN_WIDTH = 20;
+    private static final String XML_HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+    private final int maxRowsPerSheet;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final Set<String> usedNames = new HashSet<>();
+
+    private String baseName;
+    private List<String> headers;
+    private int part;
+    private int sheetRows;
+    private boolean sheetOpen;
+    private long rowCount;
+
+    /**
+     * @param output          输出流，关闭时一并关闭
+     * @param maxRowsPerSheet 每个工作表最多行数（含表头）
+     */
+    public XlsxWriter(OutputStream output, int maxRowsPerSheet) {
+        this.zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        // 表格XML重复度高，最快压缩级别的压缩率已足够，CPU开销约为默认级别的一半
+        this.zip.setLevel(Deflater.BEST_SPEED);
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.maxRowsPerSheet = Math.min(Math.max(2, maxRowsPerSheet), MAX_ROWS);
+    }
+
+    /**
+     * 开始新工作表
+     *
+     * @param name    工作表名称
+     * @param headers 表头
+     */
+    public void startSheet(String name, List<String> headers) throws IOException {
+        endSheet();
+        this.baseName = name;
+        this.headers = List.copyOf(headers);
+        this.part = 0;
+        openSheet();
+    }
+
+    /**
+     * 写入一行，值为 null 时留空；{@link Number}、{@link Boolean} 写为数值与布尔单元格，其余按文本写入
+     */
+    public void writeRow(Object[] values) throws IOException {
+        if (!sheetOpen) {
+            throw new IllegalStateException("startSheet must be called first");
+        }
+        if (sheetRows >= maxRowsPerSheet) {
+            endSheet();
+            openSheet();
+        }
+        out.write("<row>");
+        for (Object value : values) {
+            writeCell(value);
+        }
+        out.write("</row>");
+        sheetRows++;
+        rowCount++;
+    }
+
+    /**
+     * 已写入的数据行数（不含表头）
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void openSheet() throws IOException {
+        part++;
+        String name = sheetName(part == 1 ? baseName : baseName + "(" + part + ")");
+        sheetNames.add(name);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"));
+        out.write(XML_HEAD);
+        out.write("<worksheet xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_REL + "\">");
+        out.write("<sheetViews><sheetView workbookViewId=\"0\">"
+                + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        if (!headers.isEmpty()) {
+            out.write("<cols><col min=\"1\" max=\"" + headers.size() + "\" width=\"" + COLUMN_WIDTH
+                    + "\" customWidth=\"1\"/></cols>");
+        }
+        out.write("<sheetData><row>");
+        for (String header : headers) {
+            out.write("<c s=\"1\" t=\"inlineStr\"><is><t>");
+            writeText(header);
+            out.write("</t></is></c>");
+        }
+        out.write("</row>");
+        sheetRows = 1;
+        sheetOpen = true;
+    }
+
+    private void endSheet() throws IOException {
+        if (!sheetOpen) {
+            return;
+        }
+        out.write("</sheetData></worksheet>");
+        out.flush();
+        zip.closeEntry();
+        sheetOpen = false;
+    }
+
+    private void writeCell(Object value) throws IOException {
+        if (value == null) {
+            out.write("<c/>");
+        } else if (value instanceof Boolean b) {
+            out.write(b ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+        } else if (value instanceof Number number && isExact(number)) {
+            out.write("<c><v>");
+            out.write(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString());
+            out.write("</v></c>");
+        } else {
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.length() > MAX_CELL_TEXT) {
+                text = text.substring(0, MAX_CELL_TEXT);
+            }
+            boolean preserve = !text.isEmpty()
+                    && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+            out.write(preserve ? "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">" : "<c t=\"inlineStr\"><is><t>");
+            writeText(text);
+            out.write("</t></is></c>");
+        }
+    }
+
+    private static boolean isExact(Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            long v = number.longValue();
+            return v >= -MAX_EXACT_NUMBER && v <= MAX_EXACT_NUMBER;
+        }
+        if (number instanceof BigDecimal decimal) {
+            return decimal.precision() <= 15;
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return Double.isFinite(number.doubleValue());
+        }
+        return false;
+    }
+
+    /**
+     * 写入XML文本：转义标记字符，控制字符与形如 _xHHHH_ 的原文按 OOXML 规则编码
+     */
+    private void writeText(String text) throws IOException {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String replacement;
+            if (c == '<') {
+                replacement = "&lt;";
+            } else if (c == '>') {
+                replacement = "&gt;";
+            } else if (c == '&') {
+                replacement = "&amp;";
+            } else if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                replacement = String.format("_x%04X_", (int) c);
+            } else if (c == '_' && isEscapeLike(text, i)) {
+                replacement = "_x005F_";
+            } else if (c == '\uFFFE' || c == '\uFFFF') {
+                replacement = "";
+            } else {
+                continue;
+            }
+            out.write(text, start, i - start);
+            out.write(replacement);
+            start = i + 1;
+        }
+        out.write(text, start, length - start);
+    }
+
+    private static boolean isEscapeLike(String text, int i) {
+        if (i + 7 > text.length() || text.charAt(i + 1) != 'x' || text.charAt(i + 6) != '_') {
+            return false;
+        }
+        for (int j = i + 2; j < i + 6; j++) {
+            if (Character.digit(text.charAt(j), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 工作表名称：去除非法字符，截断到31个字符，重名时追加序号
+     */
+    private String sheetName(String name) {
+        String cleaned = (name == null || name.isBlank() ? "Sheet" : name).replaceAll("[\\[\\]:*?/\\\\]", "_");
+        String candidate = truncate(cleaned, MAX_SHEET_NAME);
+        for (int i = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            String suffix = "_" + i;
+            candidate = truncate(cleaned, MAX_SHEET_NAME - suffix.length()) + suffix;
+        }
+        return candidate;
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(XML_HEAD);
+        out.write(content);
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private void writePackage() throws IOException {
+        if (sheetNames.isEmpty()) {
+            startSheet("Sheet1", List.of());
+            endSheet();
+        }
+        StringBuilder types = new StringBuilder(512)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        StringBuilder workbook = new StringBuilder(256)
+                .append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_REL).append("\"><sheets>");
+        StringBuilder rels = new StringBuilder(256).append("<Relationships xmlns=\"").append(NS_PKG_REL).append("\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            types.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"").append(escapeAttribute(sheetNames.get(i - 1)))
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            rels.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(NS_REL)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        rels.append("<Relationship Id=\"rId").append(sheetNames.size() + 1).append("\" Type=\"").append(NS_REL)
+                .append("/styles\" Target=\"styles.xml\"/></Relationships>");
+        writeEntry("[Content_Types].xml", types.append("</Types>").toString());
+        writeEntry("_rels/.rels", "<Relationships xmlns=\"" + NS_PKG_REL + "\"><Relationship Id=\"rId1\" Type=\""
+                + NS_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+        writeEntry("xl/workbook.xml", workbook.append("</sheets></workbook>").toString());
+        writeEntry("xl/_rels/workbook.xml.rels", rels.toString());
+        writeEntry("xl/styles.xml", "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"等线\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"等线\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+                + "</styleSheet>");
+    }
+
+    private static String escapeAttribute(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            endSheet();
+            writePackage();
+            zip.finish();
+        } finally {
+            zip.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.taoyuan.enjoy.framework.excel.csv;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CSV 解析：引号字段（含分隔符、换行与 "" 转义）、行尾、BOM、空行、数值解析，格式错误按参数错误处理；
+ * 写入后可原样读回
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class CsvReaderTest {
+
+    private static List<String> read(String csv, char delimiter) throws IOException {
+        List<String> rows = new ArrayList<>();
+        try (CsvReader reader = CsvReader.open(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), delimiter)) {
+            reader.read((rowNum, row) -> {
+                List<String> cells = new ArrayList<>();
+                for (int i = 0; i < row.size(); i++) {
+                    cells.add(row.getString(i));
+                }
+                return rows.add(rowNum + ":" + String.join("|", cells));
+            });
+        }
+        return rows;
+    }
+
+    @Test
+    void parsesQuotedFieldsAndLineEndings() throws IOException {
+        String csv = "﻿name,remark\r\n"
+                + "\"a, long quoted value\",\"say \"\"hi\"\"\"\r\n"
+                + "\n"
+                + "\"multi\nline\",plain value longer than eight\n"
+                + "last,\r\n"
+                + "end";
+        assertEquals(List.of("1:name|remark", "2:a, long quoted value|say \"hi\"", "4:multi\nline|plain value longer than eight",
+                "5:last|", "6:end"), read(csv, ','));
+    }
+
+    @Test
+    void supportsOtherDelimiters() throws IOException {
+        assertEquals(List.of("1:a|b,c|"), read("a;b,c;", ';'));
+        assertThrows(IllegalArgumentException.class, () -> read("a", '"'));
+    }
+
+    @Test
+    void rejectsMalformedQuotes() {
+        BizException unclosed = assertThrows(BizException.class, () -> read("a\n\"open,b\n", ','));
+        assertTrue(unclosed.getMessage().contains("第2行"));
+        assertThrows(BizException.class, () -> read("\"a\"b,c\n", ','));
+    }
+
+    @Test
+    void parsesNumbers() throws IOException {
+        String csv = " 42 ,-7,\"+15\",12345678901234567890,-12.50,0.1,1e3\n";
+        try (CsvReader reader = CsvReader.open(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ',')) {
+            reader.read((rowNum, row) -> {
+                assertEquals(42L, row.getLong(0));
+                assertEquals(-7L, row.getLong(1));
+                assertEquals(15L, row.getLong(2));
+                assertEquals(new BigDecimal("12345678901234567890"), row.getDecimal(3));
+                assertEquals(new BigDecimal("-12.50"), row.getDecimal(4));
+                assertEquals(-12.5D, row.getDouble(4));
+                assertEquals(0.1D, row.getDouble(5));
+                assertEquals(1000L, row.getLong(6));
+                assertThrows(ArithmeticException.class, () -> row.getLong(3));
+                return true;
+            });
+        }
+    }
+
+    @Test
+    void readsBackWhatWriterWrote() throws IOException {
+        List<Object[]> values = List.of(new Object[]{1L, "plain", null}, new Object[]{-42, "逗号,引号\"换行\r\n", "x"},
+                new Object[]{Long.MIN_VALUE, new BigDecimal("1.50"), "\"\""});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(out), ',')) {
+            writer.writeHeader(List.of("id", "text", "extra"));
+            for (Object[] row : values) {
+                writer.writeRow(row);
+            }
+            assertEquals(3, writer.getRowCount());
+        }
+        assertEquals(List.of("1:id|text|extra", "2:1|plain|", "3:-42|逗号,引号\"换行\r\n|x",
+                "4:" + Long.MIN_VALUE + "|1.50|\"\""), read(out.toString(StandardCharsets.UTF_8), ','));
+    }
+}
@@ -0,0 +1,262 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.excel.annotation.CellValidator;
+import com.taoyuan.enjoy.framework.excel.annotation.ExcelColumn;
+import com.taoyuan.enjoy.framework.excel.mapping.RowError;
+import com.taoyuan.enjoy.framework.excel.writer.XlsxWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 导入管道：表头绑定与类型转换、批次并行校验且按序写入、错误上限截断、行数上限
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ExcelImporterTest {
+
+    private ExecutorService executor;
+
+    public enum Status {
+        ENABLED("启用", 1), DISABLED("停用", 0);
+
+        private final String desc;
+        private final int code;
+
+        Status(String desc, int code) {
+            this.desc = desc;
+            this.code = code;
+        }
+
+        public String getDesc() {
+            return desc;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    static class ImportRow {
+        @ExcelColumn(value = "ID", required = true)
+        Long id;
+        @ExcelColumn("姓名")
+        String name;
+        @ExcelColumn(value = "邮箱", validator = CellValidator.EMAIL)
+        String email;
+        @ExcelColumn("金额")
+        BigDecimal amount;
+        @ExcelColumn("数量")
+        Integer count;
+        @ExcelColumn("生日")
+        LocalDate birthday;
+        @ExcelColumn("登记时间")
+        LocalDateTime createTime;
+        @ExcelColumn("状态")
+        Status status;
+    }
+
+    /**
+     * 构造时记录校验线程并随机停顿，使各批次完成顺序与提交顺序不同
+     */
+    static class SlowRow {
+        static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+        @ExcelColumn(value = "ID", required = true)
+        Long id;
+        @ExcelColumn(value = "邮箱", validator = CellValidator.EMAIL)
+        String email;
+
+        SlowRow() {
+            THREADS.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExcelImporter importer(int batchSize, int maxErrors, int maxRows) {
+        ExcelImportProperties properties = new ExcelImportProperties();
+        properties.setBatchSize(batchSize);
+        properties.setMaxPendingBatches(4);
+        properties.setMaxErrors(maxErrors);
+        properties.setMaxRows(maxRows);
+        executor = Executors.newFixedThreadPool(4);
+        return new ExcelImporter(properties, executor);
+    }
+
+    private static InputStream csv(String header, List<String> lines) {
+        StringBuilder text = new StringBuilder(header).append('\n');
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> numbered(int count, String email) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            lines.add(i + "," + email);
+        }
+        return lines;
+    }
+
+    @Test
+    void bindsHeaderByNameAndConvertsTypes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxWriter writer = new XlsxWriter(out, 100)) {
+            writer.startSheet("导入", List.of("状态", "备注", "登记时间", "生日", "数量", "金额", "邮箱", "姓名", "ID"));
+            writer.writeRow(new Object[]{"启用", "忽略", 45292.5, 45292, 3, new BigDecimal("12.50"), "a@b.com", "张三", 7});
+            writer.writeRow(new Object[]{"disabled", null, "2024-02-03 04:05:06", "2024-02-03", "4", "0.1", null, "李四", "8"});
+            writer.writeRow(new Object[]{"1", null, null, null, null, null, null, null, "9"});
+        }
+        List<ImportRow> rows = new ArrayList<>();
+        ImportResult result = importer(500, 1000, 0)
+                .importXlsx(new ByteArrayInputStream(out.toByteArray()), ImportRow.class, rows::addAll);
+
+        assertEquals(3, result.total());
+        assertEquals(3, result.success());
+        ImportRow first = rows.get(0);
+        assertEquals(7L, first.id);
+        assertEquals("张三", first.name);
+        assertEquals("a@b.com", first.email);
+        assertEquals(new BigDecimal("12.50"), first.amount);
+        assertEquals(3, first.count);
+        assertEquals(LocalDate.of(2024, 1, 1), first.birthday);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0), first.createTime);
+        assertEquals(Status.ENABLED, first.status);
+
+        ImportRow second = rows.get(1);
+        assertEquals(LocalDate.of(2024, 2, 3), second.birthday);
+        assertEquals(LocalDateTime.of(2024, 2, 3, 4, 5, 6), second.createTime);
+        assertEquals(4, second.count);
+        assertEquals(new BigDecimal("0.1"), second.amount);
+        assertEquals(Status.DISABLED, second.status);
+        assertNull(second.email);
+
+        assertEquals(Status.ENABLED, rows.get(2).status);
+    }
+
+    @Test
+    void reportsConversionAndValidationErrors() throws Exception {
+        List<ImportRow> rows = new ArrayList<>();
+        ImportResult result = importer(500, 1000, 0).importCsv(csv("ID,数量,生日,状态,邮箱", List.of(
+                "1,abc,,,",
+                "2,,2024-13-01,,",
+                "3,,,未知,",
+                "4,,,,not-mail",
+                ",,,,",
+                "6,5,2024-01-02,停用,x@y.com")), ImportRow.class, rows::addAll);
+
+        assertEquals(6, result.total());
+        assertEquals(1, result.success());
+        assertEquals(5, result.failed());
+        assertEquals(List.of("数量", "生日", "状态", "邮箱", "ID"),
+                result.errors().stream().map(RowError::column).toList());
+        assertEquals("ID不能为空", result.errors().get(4).message());
+        assertEquals(6L, rows.get(0).id);
+        assertEquals(Status.DISABLED, rows.get(0).status);
+    }
+
+    @Test
+    void missingRequiredColumnIsRejected() {
+        BizException e = assertThrows(BizException.class, () -> importer(500, 1000, 0)
+                .importCsv(csv("姓名,邮箱", List.of("张三,a@b.com")), ImportRow.class, rows -> {
+                }));
+        assertTrue(e.getMessage().contains("ID"), e.getMessage());
+    }
+
+    @Test
+    void batchesAreValidatedInParallelAndWrittenInOrder() throws Exception {
+        SlowRow.THREADS.clear();
+        List<String> lines = numbered(200, "a@b.com");
+        for (int i = 4; i < lines.size(); i += 10) {
+            lines.set(i, (i + 1) + ",bad");
+        }
+        Thread caller = Thread.currentThread();
+        List<Long> written = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        ImportResult result = importer(10, 1000, 0).importCsv(csv("ID,邮箱", lines), SlowRow.class, batch -> {
+            assertEquals(caller, Thread.currentThread());
+            batchSizes.add(batch.size());
+            batch.forEach(row -> written.add(row.id));
+        });
+
+        assertEquals(200, result.total());
+        assertEquals(180, result.success());
+        assertEquals(20, result.failed());
+        assertTrue(SlowRow.THREADS.size() > 1, SlowRow.THREADS.toString());
+        assertFalse(SlowRow.THREADS.contains(caller.getName()));
+        assertEquals(20, batchSizes.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size == 9));
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            if (id % 10 != 5) {
+                expected.add(id);
+            }
+        }
+        assertEquals(expected, written);
+        List<Integer> errorRows = result.errors().stream().map(RowError::row).toList();
+        assertEquals(errorRows.stream().sorted().toList(), errorRows);
+    }
+
+    @Test
+    void errorsAreCappedAndTruncated() throws Exception {
+        List<String> lines = numbered(10, "bad");
+        lines.add("11,a@b.com");
+        ImportResult result = importer(4, 3, 0)
+                .importCsv(csv("ID,邮箱", lines), SlowRow.class, rows -> {
+                });
+
+        assertEquals(11, result.total());
+        assertEquals(1, result.success());
+        assertEquals(10, result.failed());
+        assertEquals(3, result.errors().size());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    void stopsAtMaxRows() throws Exception {
+        List<Long> written = new ArrayList<>();
+        ImportResult result = importer(2, 1000, 5).importCsv(csv("ID,邮箱", numbered(8, "a@b.com")),
+                SlowRow.class, rows -> rows.forEach(row -> written.add(row.id)));
+
+        assertEquals(5, result.total());
+        assertEquals(5, result.success());
+        assertTrue(result.exceeded());
+        assertFalse(result.truncated());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), written);
+    }
+}
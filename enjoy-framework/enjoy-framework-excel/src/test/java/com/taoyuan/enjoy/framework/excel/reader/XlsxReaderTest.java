@@ -0,0 +1,130 @@
+package com.taoyuan.enjoy.framework.excel.reader;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.excel.writer.XlsxWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * XLSX 读取：正常读取，以及列引用、行号、共享字符串下标与计数越界时按文件格式错误处理
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class XlsxReaderTest {
+
+    @Test
+    void readsWrittenWorkbook() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxWriter writer = new XlsxWriter(out, 100)) {
+            writer.startSheet("用户", List.of("名称", "年龄"));
+            writer.writeRow(new Object[]{"张三", 18});
+            writer.writeRow(new Object[]{null, 20});
+        }
+        List<String> rows = new ArrayList<>();
+        try (XlsxReader reader = XlsxReader.open(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(List.of("用户"), reader.getSheetNames());
+            reader.read(0, (rowNum, row) -> rows.add(rowNum + ":" + row.getString(0) + "," + row.getString(1)));
+        }
+        assertEquals(List.of("1:名称,年龄", "2:张三,18", "3:null,20"), rows);
+    }
+
+    @Test
+    void readsSharedStringsAndSparseCells() throws IOException {
+        List<XlsxRow> rows = new ArrayList<>();
+        try (XlsxReader reader = open("<row r=\"3\"><c r=\"B3\" t=\"s\"><v>1</v></c><c r=\"XFD3\"><v>7</v></c></row>",
+                "<sst uniqueCount=\"2\"><si><t>a</t></si><si><t>b</t></si></sst>")) {
+            reader.read(0, (rowNum, row) -> rows.add(row));
+        }
+        assertEquals(16_384, rows.get(0).size());
+        assertNull(rows.get(0).getString(0));
+        assertEquals("b", rows.get(0).getString(1));
+        assertEquals("7", rows.get(0).getString(16_383));
+    }
+
+    @Test
+    void columnIndex() {
+        assertEquals(0, XlsxReader.columnIndex("A1"));
+        assertEquals(27, XlsxReader.columnIndex("AB12"));
+        assertEquals(16_383, XlsxReader.columnIndex("XFD1048576"));
+        for (String ref : List.of("XFE1", "AAAA1", "a1", "1", "", "A", "A0", "A1x", "A-1", "A1048577", "A99999999999")) {
+            assertThrows(BizException.class, () -> XlsxReader.columnIndex(ref), ref);
+        }
+    }
+
+    @Test
+    void rejectsInvalidCellReference() {
+        assertInvalid("<row r=\"1\"><c r=\"ZZZZZZ1\"><v>1</v></c></row>", null);
+        assertInvalid("<row r=\"1\"><c r=\"1A\"><v>1</v></c></row>", null);
+    }
+
+    @Test
+    void rejectsInvalidRowNumber() {
+        assertInvalid("<row r=\"x\"><c><v>1</v></c></row>", null);
+        assertInvalid("<row r=\"-1\"><c><v>1</v></c></row>", null);
+        assertInvalid("<row r=\"99999999999\"><c><v>1</v></c></row>", null);
+    }
+
+    @Test
+    void rejectsInvalidSharedStringIndex() {
+        String sst = "<sst><si><t>a</t></si></sst>";
+        assertInvalid("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>1</v></c></row>", sst);
+        assertInvalid("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>-1</v></c></row>", sst);
+        assertInvalid("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>x</v></c></row>", sst);
+    }
+
+    @Test
+    void rejectsInvalidUniqueCount() {
+        String row = "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c></row>";
+        assertInvalid(row, "<sst uniqueCount=\"-5\"><si><t>a</t></si></sst>");
+        assertInvalid(row, "<sst uniqueCount=\"99999999999\"><si><t>a</t></si></sst>");
+        assertInvalid(row, "<sst uniqueCount=\"many\"><si><t>a</t></si></sst>");
+    }
+
+    private static void assertInvalid(String rows, String sharedStrings) {
+        BizException e = assertThrows(BizException.class, () -> {
+            try (XlsxReader reader = open(rows, sharedStrings)) {
+                reader.read(0, (rowNum, row) -> true);
+            }
+        });
+        assertEquals("Excel文件格式错误", e.getMessage());
+    }
+
+    private static XlsxReader open(String rows, String sharedStrings) throws IOException {
+        String ns = " xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"";
+        String rel = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            put(zip, "_rels/.rels", "<Relationships><Relationship Id=\"r1\" Type=\"" + rel
+                    + "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+            put(zip, "xl/workbook.xml", "<workbook" + ns + " xmlns:r=\"" + rel
+                    + "\"><sheets><sheet name=\"S\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            put(zip, "xl/_rels/workbook.xml.rels", "<Relationships><Relationship Id=\"rId1\" Type=\"" + rel
+                    + "/worksheet\" Target=\"worksheets/sheet1.xml\"/><Relationship Id=\"rId2\" Type=\"" + rel
+                    + "/sharedStrings\" Target=\"sharedStrings.xml\"/></Relationships>");
+            put(zip, "xl/worksheets/sheet1.xml", "<worksheet" + ns + "><sheetData>" + rows + "</sheetData></worksheet>");
+            if (sharedStrings != null) {
+                put(zip, "xl/sharedStrings.xml", sharedStrings);
+            }
+        }
+        return XlsxReader.open(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,86 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 溢写输出流：目标流阻塞时写入方不阻塞，超出内存上限的数据落盘后按原顺序写出；目标流异常传递给写入方
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class SpillingOutputStreamTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void spillsWhileTargetIsBlockedAndKeepsOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.write(b, off, len);
+            }
+        };
+        byte[] data = new byte[1024 * 1024];
+        new Random(1).nextBytes(data);
+        SpillingOutputStream out = new SpillingOutputStream(slow, 128 * 1024, directory);
+        for (int off = 0; off < data.length; off += 1000) {
+            out.write(data, off, Math.min(1000, data.length - off));
+        }
+        out.flush();
+        assertTrue(out.getSpilledBytes() > 0);
+        release.countDown();
+        out.close();
+        assertArrayEquals(data, received.toByteArray());
+    }
+
+    @Test
+    void targetFailureReachesWriter() throws Exception {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client gone");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("client gone");
+            }
+        };
+        SpillingOutputStream out = new SpillingOutputStream(broken, 1024 * 1024, directory);
+        byte[] chunk = new byte[64 * 1024];
+        IOException error = assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 1000; i++) {
+                out.write(chunk);
+                Thread.sleep(1L);
+            }
+        });
+        assertEquals("client gone", error.getMessage());
+        assertThrows(IOException.class, out::close);
+    }
+}
@@ -0,0 +1,77 @@
+package com.taoyuan.enjoy.framework.excel.writer;
+
+import com.taoyuan.enjoy.framework.excel.reader.XlsxReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * XLSX 写入：按行数上限拆分工作表并重复表头，特殊字符与超长整数经读取后保持原值
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class XlsxWriterTest {
+
+    private static List<List<String>> read(byte[] bytes, int sheetIndex) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (XlsxReader reader = XlsxReader.open(new ByteArrayInputStream(bytes))) {
+            reader.read(sheetIndex, (rowNum, row) -> {
+                List<String> cells = new ArrayList<>();
+                for (int i = 0; i < row.size(); i++) {
+                    cells.add(row.getString(i));
+                }
+                return rows.add(cells);
+            });
+        }
+        return rows;
+    }
+
+    @Test
+    void splitsSheetsAndRepeatsHeader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxWriter writer = new XlsxWriter(out, 3)) {
+            writer.startSheet("用户", List.of("ID"));
+            for (int i = 1; i <= 5; i++) {
+                writer.writeRow(new Object[]{i});
+            }
+            assertEquals(5, writer.getRowCount());
+        }
+        try (XlsxReader reader = XlsxReader.open(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(List.of("用户", "用户(2)", "用户(3)"), reader.getSheetNames());
+        }
+        assertEquals(List.of(List.of("ID"), List.of("1"), List.of("2")), read(out.toByteArray(), 0));
+        assertEquals(List.of(List.of("ID"), List.of("5")), read(out.toByteArray(), 2));
+    }
+
+    @Test
+    void keepsTextAndNumbers() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxWriter writer = new XlsxWriter(out, 100)) {
+            writer.startSheet("a/b:c", List.of("v"));
+            writer.writeRow(new Object[]{"<a>&\"b\"", "x\u0001y", "_x0041_", " padded ", 1234567890123456789L,
+                    new BigDecimal("12.50"), true, null});
+        }
+        try (XlsxReader reader = XlsxReader.open(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(List.of("a_b_c"), reader.getSheetNames());
+        }
+        List<String> row = read(out.toByteArray(), 0).get(1);
+        assertEquals(List.of("<a>&\"b\"", "x\u0001y", "_x0041_", " padded ", "1234567890123456789", "12.50", "TRUE"),
+                row.subList(0, 7));
+    }
+
+    @Test
+    void rowBeforeSheetIsRejected() throws IOException {
+        try (XlsxWriter writer = new XlsxWriter(new ByteArrayOutputStream(), 100)) {
+            assertThrows(IllegalStateException.class, () -> writer.writeRow(new Object[]{1}));
+        }
+    }
+}
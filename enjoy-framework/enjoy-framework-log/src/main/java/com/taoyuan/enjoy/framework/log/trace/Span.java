@@ -0,0 +1,129 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+/**
+ * 跨度，表示链路中的一次调用（HTTP请求、SQL语句、缓存访问、异步任务等）
+ * 通过 {@link Tracer#startSpan(String)} 创建，配合 try-with-resources 使用，关闭时结束计时并恢复父跨度
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class Span implements AutoCloseable {
+
+    private final Trace trace;
+    private final Span parent;
+    private final String name;
+    private final long spanId;
+    private final long startEpochMillis;
+    private final long startNanos;
+
+    /**
+     * 创建本跨度前线程上的当前跨度，关闭时恢复
+     */
+    private final Span previous;
+
+    private volatile long durationNanos = -1L;
+    private volatile String error;
+    private String tag;
+
+    Span(Trace trace, Span parent, Span previous, String name) {
+        this.trace = trace;
+        this.parent = parent;
+        this.previous = previous;
+        this.name = name;
+        this.spanId = TraceIds.nextId();
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 记录异常，包含该跨度的整条链路将被尾部采样保留
+     *
+     * @param throwable 异常
+     * @return this
+     */
+    public Span error(Throwable throwable) {
+        return error(throwable.getClass().getName());
+    }
+
+    /**
+     * 记录错误描述，包含该跨度的整条链路将被尾部采样保留
+     *
+     * @param message 错误描述
+     * @return this
+     */
+    public Span error(String message) {
+        this.error = message;
+        trace.markError();
+        return this;
+    }
+
+    /**
+     * 附加一个简短标签（如SQL语句ID、缓存key前缀），仅保留最后一次设置的值
+     *
+     * @param tag 标签
+     * @return this
+     */
+    public Span tag(String tag) {
+        this.tag = tag;
+        return this;
+    }
+
+    /**
+     * 结束跨度并恢复父跨度，重复调用无副作用
+     */
+    @Override
+    public void close() {
+        if (durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        Tracer.restore(this, previous);
+        trace.onSpanEnd(this);
+    }
+
+    public boolean isRoot() {
+        return parent == null;
+    }
+
+    public boolean isFinished() {
+        return durationNanos >= 0;
+    }
+
+    public Trace getTrace() {
+        return trace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    public long getParentSpanId() {
+        return parent == null ? 0L : parent.spanId;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + TraceIds.toHex(spanId) + ", " + durationNanos / 1000 + "us"
+                + (error != null ? ", error=" + error : "") + "]";
+    }
+}
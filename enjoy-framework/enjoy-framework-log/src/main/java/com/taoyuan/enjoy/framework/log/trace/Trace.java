@@ -0,0 +1,178 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 一条链路，收集同一追踪ID下已结束的跨度
+ * 跨度数量有上限，超出部分只计数不保存；根跨度结束后由 {@link TraceRecorder} 决定是否保留。
+ * 跨度按 {@value #CHUNK_SIZE} 个一块按需分配，多数请求只有少量跨度，不为上限预分配整个数组
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class Trace {
+
+    static final int CHUNK_SIZE = 16;
+
+    private final long traceIdHigh;
+    private final long traceIdLow;
+    private final TraceRecorder recorder;
+    private final int maxSpans;
+    private final Chunk head;
+    private final AtomicInteger spanCount = new AtomicInteger();
+
+    private volatile boolean error;
+    private volatile Span root;
+    private volatile String traceIdHex;
+
+    Trace(long traceIdHigh, long traceIdLow, TraceRecorder recorder) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.recorder = recorder;
+        this.maxSpans = recorder.getMaxSpansPerTrace();
+        this.head = new Chunk(Math.min(CHUNK_SIZE, maxSpans));
+    }
+
+    void markError() {
+        this.error = true;
+    }
+
+    void onSpanEnd(Span span) {
+        int index = spanCount.getAndIncrement();
+        if (index < maxSpans) {
+            Chunk chunk = head;
+            for (int start = CHUNK_SIZE; start <= index; start += CHUNK_SIZE) {
+                chunk = chunk.nextOrCreate(Math.min(CHUNK_SIZE, maxSpans - start));
+            }
+            chunk.set(index % CHUNK_SIZE, span);
+        }
+        if (span.isRoot()) {
+            this.root = span;
+            recorder.onTraceEnd(this);
+        }
+    }
+
+    /**
+     * 追踪ID（32位十六进制），首次调用时生成并缓存
+     *
+     * @return 追踪ID
+     */
+    public String getTraceId() {
+        String hex = traceIdHex;
+        if (hex == null) {
+            hex = TraceIds.toHex(traceIdHigh, traceIdLow);
+            traceIdHex = hex;
+        }
+        return hex;
+    }
+
+    public long getTraceIdHigh() {
+        return traceIdHigh;
+    }
+
+    public long getTraceIdLow() {
+        return traceIdLow;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    /**
+     * 根跨度，链路未结束时为 null
+     *
+     * @return 根跨度
+     */
+    public Span getRoot() {
+        return root;
+    }
+
+    /**
+     * 链路耗时（根跨度耗时），未结束时为 -1
+     *
+     * @return 纳秒
+     */
+    public long getDurationNanos() {
+        Span r = root;
+        return r == null ? -1L : r.getDurationNanos();
+    }
+
+    /**
+     * 因超出上限被丢弃的跨度数量
+     *
+     * @return 丢弃数量
+     */
+    public int getDroppedSpans() {
+        return Math.max(0, spanCount.get() - maxSpans);
+    }
+
+    /**
+     * 已记录的跨度（按结束顺序）
+     *
+     * @return 跨度列表
+     */
+    public List<Span> getSpans() {
+        int size = Math.min(spanCount.get(), maxSpans);
+        List<Span> list = new ArrayList<>(size);
+        Chunk chunk = head;
+        for (int i = 0; i < size && chunk != null; i++) {
+            if (i > 0 && i % CHUNK_SIZE == 0) {
+                chunk = chunk.next;
+                if (chunk == null) {
+                    break;
+                }
+            }
+            Span span = chunk.get(i % CHUNK_SIZE);
+            if (span != null) {
+                list.add(span);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public String toString() {
+        Span r = root;
+        return "Trace[" + getTraceId() + ", " + (r == null ? "running" : r.getName() + " " + r.getDurationNanos() / 1000 + "us")
+                + (error ? ", error" : "") + ", spans=" + spanCount.get() + "]";
+    }
+
+    /**
+     * 跨度块，按需以 CAS 追加下一块
+     */
+    private static final class Chunk {
+
+        private static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Chunk.class, "next");
+
+        private final AtomicReferenceArray<Span> spans;
+
+        volatile Chunk next;
+
+        Chunk(int length) {
+            this.spans = new AtomicReferenceArray<>(length);
+        }
+
+        Span get(int index) {
+            return spans.get(index);
+        }
+
+        void set(int index, Span span) {
+            spans.set(index, span);
+        }
+
+        Chunk nextOrCreate(int length) {
+            Chunk n = next;
+            if (n == null) {
+                Chunk created = new Chunk(length);
+                n = NEXT.compareAndSet(this, null, created) ? created : next;
+            }
+            return n;
+        }
+    }
+}
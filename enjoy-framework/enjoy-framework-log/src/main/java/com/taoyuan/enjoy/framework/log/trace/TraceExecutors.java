@@ -0,0 +1,133 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 链路传播的线程池工具
+ * 包装后的线程池在提交任务时捕获当前跨度，并在执行线程上恢复，适用于平台线程池与虚拟线程
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TraceExecutors {
+
+    private TraceExecutors() {
+    }
+
+    /**
+     * 包装 Executor
+     *
+     * @param executor 原始 Executor
+     * @return 传播链路的 Executor
+     */
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof TracingExecutorService) {
+            return executor;
+        }
+        return task -> executor.execute(Tracer.wrap(task));
+    }
+
+    /**
+     * 包装 ExecutorService
+     *
+     * @param executorService 原始线程池
+     * @return 传播链路的线程池
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        if (executorService instanceof TracingExecutorService) {
+            return executorService;
+        }
+        return new TracingExecutorService(executorService);
+    }
+
+    /**
+     * 每个任务一个虚拟线程，并传播链路
+     *
+     * @return 线程池
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return new TracingExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    private static final class TracingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private TracingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(Tracer.wrap(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(Tracer.wrap(task));
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(Tracer.wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(Tracer.wrap(task), result);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        private static <T> List<Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
+            List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                wrapped.add(Tracer.wrap(task));
+            }
+            return wrapped;
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
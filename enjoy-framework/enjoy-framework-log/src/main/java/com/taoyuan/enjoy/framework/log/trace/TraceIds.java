@@ -0,0 +1,116 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 链路ID工具类
+ * 追踪ID为128位（两个long），跨度ID为64位，均由线程本地随机源生成，生成过程不产生对象分配，
+ * 仅在需要输出（响应头、日志表 trace_id 字段）时才转换为十六进制字符串
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TraceIds {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * 追踪ID的十六进制长度
+     */
+    public static final int TRACE_ID_HEX_LENGTH = 32;
+
+    /**
+     * 跨度ID的十六进制长度
+     */
+    public static final int SPAN_ID_HEX_LENGTH = 16;
+
+    private TraceIds() {
+    }
+
+    /**
+     * 生成非零的64位随机ID
+     *
+     * @return 随机ID
+     */
+    public static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0L);
+        return id;
+    }
+
+    /**
+     * 追踪ID转十六进制字符串
+     *
+     * @param high 高64位
+     * @param low  低64位
+     * @return 32位十六进制字符串
+     */
+    public static String toHex(long high, long low) {
+        char[] chars = new char[TRACE_ID_HEX_LENGTH];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, SPAN_ID_HEX_LENGTH);
+        return new String(chars);
+    }
+
+    /**
+     * 跨度ID转十六进制字符串
+     *
+     * @param id 跨度ID
+     * @return 16位十六进制字符串
+     */
+    public static String toHex(long id) {
+        char[] chars = new char[SPAN_ID_HEX_LENGTH];
+        writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 解析十六进制ID片段，非法输入返回0
+     *
+     * @param hex    十六进制字符串
+     * @param offset 起始位置
+     * @param length 长度（不超过16）
+     * @return 解析结果
+     */
+    public static long parseHex(CharSequence hex, int offset, int length) {
+        long value = 0L;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                return 0L;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * 判断是否为合法的追踪ID（32位十六进制且不全为0）
+     *
+     * @param hex 十六进制字符串
+     * @return 是否合法
+     */
+    public static boolean isValidTraceId(CharSequence hex) {
+        if (hex == null || hex.length() != TRACE_ID_HEX_LENGTH) {
+            return false;
+        }
+        boolean nonZero = false;
+        for (int i = 0; i < TRACE_ID_HEX_LENGTH; i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                return false;
+            }
+            nonZero |= digit != 0;
+        }
+        return nonZero;
+    }
+
+    private static void writeHex(long value, char[] dest, int offset) {
+        for (int i = SPAN_ID_HEX_LENGTH - 1; i >= 0; i--) {
+            dest[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
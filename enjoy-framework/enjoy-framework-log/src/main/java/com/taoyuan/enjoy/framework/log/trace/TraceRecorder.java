@@ -0,0 +1,147 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 链路记录器（尾部采样 + 有界环形缓冲）
+ * 根跨度结束后才做采样决定：出错或耗时超过阈值的链路一律保留，其余按基础采样率保留；
+ * 保留的链路写入固定容量的环形缓冲，写满后覆盖最旧的记录，内存占用有上限
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TraceRecorder {
+
+    /**
+     * 默认慢链路阈值（毫秒）
+     */
+    public static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 500L;
+
+    /**
+     * 默认环形缓冲容量
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * 默认单条链路最多保存的跨度数
+     */
+    public static final int DEFAULT_MAX_SPANS_PER_TRACE = 128;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxSpansPerTrace;
+    private final AtomicReferenceArray<Trace> ring;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final AtomicLong finishedTraces = new AtomicLong();
+
+    public TraceRecorder() {
+        this(DEFAULT_SLOW_THRESHOLD_MILLIS, 0D, DEFAULT_CAPACITY, DEFAULT_MAX_SPANS_PER_TRACE);
+    }
+
+    /**
+     * @param slowThresholdMillis 慢链路阈值（毫秒），超过即保留
+     * @param sampleRate          普通链路的基础采样率 [0, 1]
+     * @param capacity            环形缓冲容量，向上取整为2的幂
+     * @param maxSpansPerTrace    单条链路最多保存的跨度数
+     */
+    public TraceRecorder(long slowThresholdMillis, double sampleRate, int capacity, int maxSpansPerTrace) {
+        if (slowThresholdMillis < 0 || sampleRate < 0D || sampleRate > 1D || capacity <= 0 || maxSpansPerTrace <= 0) {
+            throw new IllegalArgumentException("Invalid trace recorder settings");
+        }
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void onTraceEnd(Trace trace) {
+        finishedTraces.incrementAndGet();
+        if (shouldKeep(trace)) {
+            ring.set((int) (writeIndex.getAndIncrement() & mask), trace);
+        }
+    }
+
+    private boolean shouldKeep(Trace trace) {
+        if (trace.isError() || trace.getDurationNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        return sampleRate > 0D && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 当前缓冲中保留的链路，最新的在前
+     *
+     * @return 链路列表
+     */
+    public List<Trace> snapshot() {
+        long end = writeIndex.get();
+        long start = Math.max(0L, end - ring.length());
+        List<Trace> traces = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            Trace trace = ring.get((int) (i & mask));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * 耗时最长的若干条链路
+     *
+     * @param limit 数量
+     * @return 按耗时倒序的链路列表
+     */
+    public List<Trace> slowest(int limit) {
+        List<Trace> traces = snapshot();
+        traces.sort(Comparator.comparingLong(Trace::getDurationNanos).reversed());
+        return traces.size() > limit ? new ArrayList<>(traces.subList(0, limit)) : traces;
+    }
+
+    /**
+     * 按追踪ID查找已保留的链路
+     *
+     * @param traceId 32位十六进制追踪ID
+     * @return 链路，不存在时返回 null
+     */
+    public Trace find(String traceId) {
+        for (int i = 0; i < ring.length(); i++) {
+            Trace trace = ring.get(i);
+            if (trace != null && trace.getTraceId().equalsIgnoreCase(traceId)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 已结束的链路总数（含未保留的）
+     */
+    public long getFinishedTraces() {
+        return finishedTraces.get();
+    }
+
+    /**
+     * 累计保留的链路数（含已被覆盖的）
+     */
+    public long getKeptTraces() {
+        return writeIndex.get();
+    }
+
+    public int getMaxSpansPerTrace() {
+        return maxSpansPerTrace;
+    }
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+}
@@ -0,0 +1,198 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 链路追踪入口
+ * 当前跨度保存在线程本地变量中，跨线程（线程池、虚拟线程）需通过 {@link #wrap(Runnable)} 或
+ * {@link TraceExecutors} 传播
+ *
+ * <pre>
+ * try (Span span = Tracer.startSpan("cache.get")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static volatile TraceRecorder recorder = new TraceRecorder();
+
+    private Tracer() {
+    }
+
+    /**
+     * 开启跨度，当前线程无跨度时开启新链路
+     *
+     * @param name 跨度名称，建议使用常量以避免分配
+     * @return 跨度
+     */
+    public static Span startSpan(String name) {
+        Span current = CURRENT.get();
+        Trace trace = current != null
+                ? current.getTrace()
+                : new Trace(TraceIds.nextId(), TraceIds.nextId(), recorder);
+        return push(trace, current, name);
+    }
+
+    /**
+     * 以上游传入的追踪ID开启链路，追踪ID非法时重新生成；当前线程已有跨度时作为其子跨度
+     *
+     * @param name    跨度名称
+     * @param traceId 上游追踪ID（32位十六进制），可为空
+     * @return 跨度
+     */
+    public static Span startTrace(String name, String traceId) {
+        Span current = CURRENT.get();
+        if (current != null) {
+            return push(current.getTrace(), current, name);
+        }
+        Trace trace = TraceIds.isValidTraceId(traceId)
+                ? new Trace(TraceIds.parseHex(traceId, 0, 16), TraceIds.parseHex(traceId, 16, 16), recorder)
+                : new Trace(TraceIds.nextId(), TraceIds.nextId(), recorder);
+        return push(trace, null, name);
+    }
+
+    private static Span push(Trace trace, Span parent, String name) {
+        Span span = new Span(trace, parent, CURRENT.get(), name);
+        CURRENT.set(span);
+        return span;
+    }
+
+    static void restore(Span closing, Span previous) {
+        if (CURRENT.get() == closing) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 当前跨度
+     *
+     * @return 跨度，不在链路中时返回 null
+     */
+    public static Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前追踪ID，用于写入登录日志、操作日志的 trace_id 字段
+     *
+     * @return 追踪ID，不在链路中时返回 null
+     */
+    public static String currentTraceId() {
+        Span current = CURRENT.get();
+        return current == null ? null : current.getTrace().getTraceId();
+    }
+
+    /**
+     * 在跨度中执行，异常会标记到跨度上
+     *
+     * @param name     跨度名称
+     * @param supplier 执行逻辑
+     * @return 执行结果
+     */
+    public static <T> T trace(String name, Supplier<T> supplier) {
+        try (Span span = startSpan(name)) {
+            try {
+                return supplier.get();
+            } catch (RuntimeException | Error e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 在跨度中执行，异常会标记到跨度上
+     *
+     * @param name     跨度名称
+     * @param runnable 执行逻辑
+     */
+    public static void trace(String name, Runnable runnable) {
+        try (Span span = startSpan(name)) {
+            try {
+                runnable.run();
+            } catch (RuntimeException | Error e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 包装任务，使其在执行线程上延续提交时的链路
+     *
+     * @param task 任务
+     * @return 包装后的任务，提交时不在链路中则原样返回
+     */
+    public static Runnable wrap(Runnable task) {
+        Objects.requireNonNull(task);
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                reset(previous);
+            }
+        };
+    }
+
+    /**
+     * 包装任务，使其在执行线程上延续提交时的链路
+     *
+     * @param task 任务
+     * @return 包装后的任务，提交时不在链路中则原样返回
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Objects.requireNonNull(task);
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return task.call();
+            } finally {
+                reset(previous);
+            }
+        };
+    }
+
+    private static void reset(Span previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static TraceRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * 替换链路记录器，仅对之后开启的链路生效
+     *
+     * @param traceRecorder 记录器
+     */
+    public static void setRecorder(TraceRecorder traceRecorder) {
+        recorder = Objects.requireNonNull(traceRecorder);
+    }
+}
@@ -0,0 +1,114 @@
+package com.taoyuan.enjoy.framework.log.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 链路跨度收集、上游追踪ID传递与尾部采样
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class TraceTest {
+
+    private final TraceRecorder original = Tracer.getRecorder();
+
+    @AfterEach
+    void restoreRecorder() {
+        Tracer.setRecorder(original);
+    }
+
+    @Test
+    void keepsSpansAcrossChunksInEndOrder() {
+        Tracer.setRecorder(new TraceRecorder(0L, 0D, 16, 40));
+        Trace trace;
+        try (Span root = Tracer.startSpan("root")) {
+            trace = root.getTrace();
+            for (int i = 0; i < 35; i++) {
+                Tracer.startSpan("child-" + i).close();
+            }
+        }
+        List<Span> spans = trace.getSpans();
+        assertEquals(36, spans.size());
+        assertEquals("child-0", spans.get(0).getName());
+        assertEquals("child-34", spans.get(34).getName());
+        assertEquals("root", spans.get(35).getName());
+        assertEquals(0, trace.getDroppedSpans());
+    }
+
+    @Test
+    void countsSpansBeyondLimitAsDropped() {
+        Tracer.setRecorder(new TraceRecorder(0L, 0D, 16, Trace.CHUNK_SIZE + 2));
+        Trace trace;
+        try (Span root = Tracer.startSpan("root")) {
+            trace = root.getTrace();
+            for (int i = 0; i < 30; i++) {
+                Tracer.startSpan("child").close();
+            }
+        }
+        assertEquals(Trace.CHUNK_SIZE + 2, trace.getSpans().size());
+        assertEquals(31 - Trace.CHUNK_SIZE - 2, trace.getDroppedSpans());
+    }
+
+    @Test
+    void recordsSpansEndedConcurrently() throws Exception {
+        Tracer.setRecorder(new TraceRecorder(0L, 0D, 16, 1000));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Trace trace;
+        try (Span root = Tracer.startSpan("root")) {
+            trace = root.getTrace();
+            CountDownLatch done = new CountDownLatch(400);
+            for (int i = 0; i < 400; i++) {
+                executor.execute(Tracer.wrap(() -> {
+                    Tracer.startSpan("task").close();
+                    done.countDown();
+                }));
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(401, trace.getSpans().size());
+    }
+
+    @Test
+    void continuesValidUpstreamTraceId() {
+        String upstream = "0af7651916cd43dd8448eb211c80319c";
+        try (Span span = Tracer.startTrace("request", upstream)) {
+            assertEquals(upstream, span.getTrace().getTraceId());
+            assertEquals(upstream, Tracer.currentTraceId());
+        }
+        assertNull(Tracer.currentSpan());
+        try (Span span = Tracer.startTrace("request", "not-a-trace-id")) {
+            assertTrue(TraceIds.isValidTraceId(span.getTrace().getTraceId()));
+        }
+    }
+
+    @Test
+    void keepsSlowAndErrorTracesOnly() {
+        TraceRecorder recorder = new TraceRecorder(60_000L, 0D, 16, 8);
+        Tracer.setRecorder(recorder);
+        Tracer.startSpan("fast").close();
+        Trace failed;
+        try (Span span = Tracer.startSpan("failed")) {
+            span.error("boom");
+            failed = span.getTrace();
+        }
+        assertEquals(2, recorder.getFinishedTraces());
+        assertEquals(1, recorder.getKeptTraces());
+        assertSame(failed, recorder.find(failed.getTraceId()));
+        assertNotNull(failed.getRoot());
+    }
+}
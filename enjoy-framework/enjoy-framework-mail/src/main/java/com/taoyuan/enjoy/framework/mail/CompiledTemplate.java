@@ -0,0 +1,176 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的邮件模板：{name} 占位符把模板切分为文本段与参数槽（指向去重后的参数名表），渲染时顺序拼接，不再扫描模板
+ * 参数缺失（或值为 null）时保留占位符原文，与未编译时的替换行为一致；未闭合的 { 按普通文本处理。
+ * {@link #compileHtml} 编译的模板对参数值做 HTML 转义，防止参数注入标签与链接；确需输出 HTML 片段的参数写作 {!name}，
+ * 原样输出。{@link #compile} 用于纯文本（如标题），不转义。
+ * 不可变，可在线程间共享
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class CompiledTemplate {
+
+    /**
+     * 文本段，比参数槽多一个
+     */
+    private final String[] literals;
+    /**
+     * 参数槽对应的参数名下标
+     */
+    private final int[] slots;
+    /**
+     * 参数槽是否原样输出（{!name}）
+     */
+    private final boolean[] raw;
+    /**
+     * 去重后的参数名，按首次出现顺序
+     */
+    private final String[] names;
+    private final boolean html;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, int[] slots, boolean[] raw, String[] names, boolean html) {
+        this.literals = literals;
+        this.slots = slots;
+        this.raw = raw;
+        this.names = names;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译纯文本模板，参数值原样输出
+     */
+    public static CompiledTemplate compile(String source) {
+        return compile(source, false);
+    }
+
+    /**
+     * 编译 HTML 模板，参数值转义后输出，{!name} 原样输出
+     */
+    public static CompiledTemplate compileHtml(String source) {
+        return compile(source, true);
+    }
+
+    private static CompiledTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+        Map<String, Integer> names = new LinkedHashMap<>();
+        int start = 0;
+        int from = 0;
+        while (true) {
+            int open = source.indexOf('{', from);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            int nested = source.lastIndexOf('{', close);
+            if (nested > open) {
+                // {a{b} 取最内层
+                open = nested;
+            }
+            if (close == open + 1) {
+                from = close + 1;
+                continue;
+            }
+            boolean unescaped = source.charAt(open + 1) == '!';
+            if (unescaped && close == open + 2) {
+                from = close + 1;
+                continue;
+            }
+            literals.add(source.substring(start, open));
+            String name = source.substring(unescaped ? open + 2 : open + 1, close);
+            raw.add(unescaped);
+            Integer index = names.putIfAbsent(name, names.size());
+            slots.add(index == null ? names.size() - 1 : index);
+            start = close + 1;
+            from = start;
+        }
+        literals.add(source.substring(start));
+        boolean[] rawSlots = new boolean[raw.size()];
+        for (int i = 0; i < rawSlots.length; i++) {
+            rawSlots[i] = raw.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(), rawSlots, names.keySet().toArray(new String[0]), html);
+    }
+
+    /**
+     * 参数名，去重，按首次出现顺序
+     */
+    public List<String> getNames() {
+        return List.of(names);
+    }
+
+    /**
+     * 文本段总长度，可用于预估渲染结果长度
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+
+    public String render(Map<String, ?> params) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder sb = new StringBuilder(literalLength + slots.length * 16);
+        renderTo(params, sb);
+        return sb.toString();
+    }
+
+    /**
+     * 渲染并追加到 sb，sb 可跨次复用（见 {@link TemplateRenderer}）
+     */
+    public void renderTo(Map<String, ?> params, StringBuilder sb) {
+        if (slots.length == 0) {
+            sb.append(literals[0]);
+            return;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            Object value = params.get(names[slots[i]]);
+            if (value == null) {
+                sb.append(raw[i] ? "{!" : "{").append(names[slots[i]]).append('}');
+            } else if (value instanceof Integer || value instanceof Long) {
+                sb.append(((Number) value).longValue());
+            } else if (!html || raw[i]) {
+                sb.append(value instanceof CharSequence text ? text : String.valueOf(value));
+            } else {
+                escape(value instanceof CharSequence text ? text : String.valueOf(value), sb);
+            }
+        }
+        sb.append(literals[slots.length]);
+    }
+
+    /**
+     * HTML 转义，同时适用于元素内容与带引号的属性值
+     */
+    static void escape(CharSequence text, StringBuilder sb) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 邮箱账号（sys_mail_account）
+ *
+ * @param id             账号ID
+ * @param mail           发件邮箱
+ * @param username       SMTP 用户名
+ * @param password       SMTP 密码
+ * @param host           SMTP 服务器
+ * @param port           SMTP 端口
+ * @param sslEnable      是否 SSL
+ * @param starttlsEnable 是否 STARTTLS
+ * @author enjoy
+ * @version 1.0
+ */
+public record MailAccount(long id, String mail, String username, String password, String host, int port,
+                          boolean sslEnable, boolean starttlsEnable) {
+
+    @Override
+    public String toString() {
+        return "MailAccount[id=" + id + ", mail=" + mail + ", host=" + host + ":" + port + "]";
+    }
+}
@@ -0,0 +1,36 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 一封待发送的邮件，对应 sys_mail_log 的一行；内容在入队时已渲染，重试时不再渲染
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class MailJob {
+
+    long id;
+    long accountId;
+    String fromMail;
+    String toMail;
+    String nickname;
+    String title;
+    String content;
+    int retryCount;
+
+    /**
+     * 本实例持有的租约到期时间（毫秒），到期后记录可能已被其他实例认领，不再发送
+     */
+    long leaseUntil;
+
+    Long userId;
+    Integer userType;
+    long templateId;
+    String templateCode;
+    String templateParams;
+    int sendStatus;
+
+    /**
+     * 入队时即失败的原因（如内容超长），正常入队时为 null
+     */
+    String sendException;
+}
@@ -0,0 +1,205 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 邮件发送配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class MailProperties {
+
+    /**
+     * 发送租约（秒）：入队或认领的记录在租约内归本实例发送，实例宕机后由其他实例重新认领，应远大于单封邮件的发送耗时
+     */
+    private long leaseSeconds = 5 * 60L;
+
+    /**
+     * 扫描到期记录（重试与租约到期）的间隔（毫秒）
+     */
+    private long pollIntervalMillis = 2000L;
+
+    /**
+     * 每次认领的最大条数
+     */
+    private int pollBatchSize = 200;
+
+    /**
+     * 最大重试次数，超过后标记为发送失败
+     */
+    private int maxRetries = 5;
+
+    /**
+     * 首次重试延迟（秒），之后按2倍递增
+     */
+    private long retryInitialDelaySeconds = 30L;
+
+    /**
+     * 重试延迟上限（秒）
+     */
+    private long retryMaxDelaySeconds = 60 * 60L;
+
+    /**
+     * 每个账号每秒发送数
+     */
+    private double ratePerSecond = 5D;
+
+    /**
+     * 每个账号允许的突发发送数
+     */
+    private int burst = 10;
+
+    /**
+     * 每个账号内存队列容量，队列满时留待扫描认领
+     */
+    private int laneCapacity = 10000;
+
+    /**
+     * 账号空闲多久后关闭连接并释放发送线程（秒）
+     */
+    private long laneIdleSeconds = 60L;
+
+    /**
+     * 状态批量写入的条数
+     */
+    private int statusBatchSize = 200;
+
+    /**
+     * 状态写入间隔（毫秒）
+     */
+    private long statusFlushIntervalMillis = 500L;
+
+    /**
+     * SMTP 连接超时（毫秒）
+     */
+    private int connectTimeoutMillis = 10000;
+
+    /**
+     * SMTP 读写超时（毫秒）
+     */
+    private int readTimeoutMillis = 30000;
+
+    /**
+     * 模板缓存版本校验间隔（秒）
+     */
+    private long templateCheckIntervalSeconds = 30L;
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(long leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryInitialDelaySeconds() {
+        return retryInitialDelaySeconds;
+    }
+
+    public void setRetryInitialDelaySeconds(long retryInitialDelaySeconds) {
+        this.retryInitialDelaySeconds = retryInitialDelaySeconds;
+    }
+
+    public long getRetryMaxDelaySeconds() {
+        return retryMaxDelaySeconds;
+    }
+
+    public void setRetryMaxDelaySeconds(long retryMaxDelaySeconds) {
+        this.retryMaxDelaySeconds = retryMaxDelaySeconds;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getLaneCapacity() {
+        return laneCapacity;
+    }
+
+    public void setLaneCapacity(int laneCapacity) {
+        this.laneCapacity = laneCapacity;
+    }
+
+    public long getLaneIdleSeconds() {
+        return laneIdleSeconds;
+    }
+
+    public void setLaneIdleSeconds(long laneIdleSeconds) {
+        this.laneIdleSeconds = laneIdleSeconds;
+    }
+
+    public int getStatusBatchSize() {
+        return statusBatchSize;
+    }
+
+    public void setStatusBatchSize(int statusBatchSize) {
+        this.statusBatchSize = statusBatchSize;
+    }
+
+    public long getStatusFlushIntervalMillis() {
+        return statusFlushIntervalMillis;
+    }
+
+    public void setStatusFlushIntervalMillis(long statusFlushIntervalMillis) {
+        this.statusFlushIntervalMillis = statusFlushIntervalMillis;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public void setReadTimeoutMillis(int readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public long getTemplateCheckIntervalSeconds() {
+        return templateCheckIntervalSeconds;
+    }
+
+    public void setTemplateCheckIntervalSeconds(long templateCheckIntervalSeconds) {
+        this.templateCheckIntervalSeconds = templateCheckIntervalSeconds;
+    }
+}
@@ -0,0 +1,25 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import java.util.Map;
+
+/**
+ * 邮件发送请求
+ *
+ * @param toMail       接收邮箱
+ * @param templateCode 模板编码
+ * @param params       模板参数
+ * @param userId       接收用户ID，可为 null
+ * @param userType     接收用户类型，可为 null
+ * @author enjoy
+ * @version 1.0
+ */
+public record MailRequest(String toMail, String templateCode, Map<String, ?> params, Long userId, Integer userType) {
+
+    public MailRequest {
+        params = params == null ? Map.of() : params;
+    }
+
+    public static MailRequest of(String toMail, String templateCode, Map<String, ?> params) {
+        return new MailRequest(toMail, templateCode, params, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 邮件发送状态（sys_mail_log.send_status）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class MailSendStatus {
+
+    /**
+     * 待发送，含等待重试
+     */
+    public static final int INIT = 0;
+
+    /**
+     * 发送成功
+     */
+    public static final int SUCCESS = 10;
+
+    /**
+     * 发送失败，不再重试
+     */
+    public static final int FAILURE = 20;
+
+    /**
+     * 模板停用，不发送
+     */
+    public static final int IGNORE = 30;
+
+    private MailSendStatus() {
+    }
+}
@@ -0,0 +1,480 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.utils.IdGenerator;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步邮件发送
+ * <ul>
+ *     <li>{@link #send} / {@link #sendAll} 渲染模板、批量写入 sys_mail_log（待发送，持有租约）后立即返回，不等待 SMTP</li>
+ *     <li>每个账号一个发送通道：复用 SMTP 连接，按令牌桶限速，空闲后关闭连接并退出。通道使用平台线程，
+ *     SMTPTransport 的方法为 synchronized，虚拟线程在 SMTP 往返期间会钉住载体线程</li>
+ *     <li>失败按指数退避（带抖动）写入下次发送时间，收件人被永久拒绝时不重试；超过最大重试次数标记为失败</li>
+ *     <li>定时扫描到期记录（重试、队列溢出与其他实例遗留的租约到期记录），以条件更新认领后投递到发送通道</li>
+ *     <li>发送状态由 {@link MailStatusWriter} 批量写入</li>
+ * </ul>
+ * 投递语义为至少一次：SMTP 已接收但状态未写入时实例宕机，租约到期后会再次发送。限速按实例计算
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class MailService {
+
+    private final MailStore store;
+    private final MailProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MailTemplateCache templates;
+    private final Map<Long, CachedAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<Long, AccountLane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private MailStatusWriter statusWriter;
+    private volatile RuntimeException lastError;
+
+    public MailService(DataSource dataSource, MailProperties properties) {
+        this(dataSource, properties, new ObjectMapper());
+    }
+
+    public MailService(DataSource dataSource, MailProperties properties, ObjectMapper objectMapper) {
+        this.store = new MailStore(dataSource);
+        this.properties = Objects.requireNonNull(properties);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.templates = new MailTemplateCache(store,
+                TimeUnit.SECONDS.toMillis(properties.getTemplateCheckIntervalSeconds()));
+    }
+
+    /**
+     * 异步发送一封邮件
+     *
+     * @return 发送日志ID
+     */
+    public long send(MailRequest request) {
+        return sendAll(List.of(request)).get(0);
+    }
+
+    /**
+     * 异步批量发送，日志在同一事务内批量写入；同一批次内每个模板只取一次，复用同一渲染缓冲区
+     *
+     * @return 发送日志ID，与请求顺序一致
+     */
+    public List<Long> sendAll(List<MailRequest> requests) {
+        MailStatusWriter writer = requireStarted();
+        long leaseUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getLeaseSeconds());
+        List<MailJob> jobs = new ArrayList<>(requests.size());
+        Map<String, MailTemplate> resolved = new HashMap<>();
+        TemplateRenderer renderer = new TemplateRenderer();
+        for (MailRequest request : requests) {
+            jobs.add(render(request, resolved, renderer));
+        }
+        store.insertLogs(jobs, leaseUntil);
+        List<Long> ids = new ArrayList<>(jobs.size());
+        for (MailJob job : jobs) {
+            ids.add(job.id);
+            if (job.sendStatus == MailSendStatus.INIT) {
+                job.leaseUntil = leaseUntil;
+                dispatch(job, writer);
+            } else if (job.sendStatus == MailSendStatus.FAILURE) {
+                failedCount.incrementAndGet();
+            }
+        }
+        return ids;
+    }
+
+    private MailJob render(MailRequest request, Map<String, MailTemplate> resolved, TemplateRenderer renderer) {
+        if (request.toMail() == null || request.toMail().isBlank()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "接收邮箱不能为空");
+        }
+        MailTemplate template = resolved.computeIfAbsent(request.templateCode(), templates::get);
+        if (template == null) {
+            throw new BizException(CommonErrorCode.DATA_NOT_FOUND, "邮件模板不存在：" + request.templateCode());
+        }
+        MailAccount account = account(template.accountId());
+        if (account == null) {
+            throw new BizException(CommonErrorCode.DATA_NOT_FOUND, "邮箱账号不存在：" + template.accountId());
+        }
+        MailJob job = new MailJob();
+        job.id = IdGenerator.nextId();
+        job.accountId = account.id();
+        job.fromMail = account.mail();
+        job.toMail = request.toMail().trim();
+        job.nickname = template.nickname();
+        job.title = renderer.render(template.title(), request.params());
+        job.content = renderer.render(template.content(), request.params());
+        job.userId = request.userId();
+        job.userType = request.userType();
+        job.templateId = template.id();
+        job.templateCode = template.code();
+        job.templateParams = toJson(request.params());
+        job.sendStatus = template.enabled() ? MailSendStatus.INIT : MailSendStatus.IGNORE;
+        checkLength(job);
+        return job;
+    }
+
+    /**
+     * 渲染结果超出日志字段长度时记为发送失败并截断保存，不影响同批次其他邮件的写入
+     */
+    private static void checkLength(MailJob job) {
+        String reason = exceeded("邮件标题", job.title, MailStore.MAX_TITLE_LENGTH);
+        if (reason == null) {
+            reason = exceeded("邮件内容", job.content, MailStore.MAX_CONTENT_LENGTH);
+        }
+        if (reason == null) {
+            reason = exceeded("邮件参数", job.templateParams, MailStore.MAX_PARAMS_LENGTH);
+        }
+        if (reason == null) {
+            return;
+        }
+        job.sendStatus = MailSendStatus.FAILURE;
+        job.sendException = reason;
+        job.title = truncate(job.title, MailStore.MAX_TITLE_LENGTH);
+        job.content = truncate(job.content, MailStore.MAX_CONTENT_LENGTH);
+        if (job.templateParams.length() > MailStore.MAX_PARAMS_LENGTH) {
+            // 截断的 JSON 无法解析，不保存
+            job.templateParams = "{}";
+        }
+    }
+
+    private static String exceeded(String name, String text, int maxLength) {
+        return text.length() <= maxLength ? null : name + "超过长度限制：" + text.length() + "/" + maxLength;
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+
+    private MailAccount account(long accountId) {
+        long now = System.currentTimeMillis();
+        CachedAccount cached = accounts.get(accountId);
+        if (cached != null && now - cached.loadedAt() < TimeUnit.SECONDS.toMillis(properties.getTemplateCheckIntervalSeconds())) {
+            return cached.account();
+        }
+        MailAccount account = store.findAccount(accountId);
+        if (account == null) {
+            accounts.remove(accountId);
+        } else {
+            accounts.put(accountId, new CachedAccount(account, now));
+        }
+        return account;
+    }
+
+    private String toJson(Map<String, ?> params) {
+        try {
+            return objectMapper.writeValueAsString(params);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail template params are not serializable", e);
+        }
+    }
+
+    /**
+     * 投递到账号发送通道；通道已满时释放租约，按队列排空所需时间留待扫描认领
+     */
+    private void dispatch(MailJob job, MailStatusWriter writer) {
+        AccountLane lane = lanes.computeIfAbsent(job.accountId, AccountLane::new);
+        if (!lane.offer(job)) {
+            long drainMillis = (long) (lane.size() * 1000D / properties.getRatePerSecond());
+            writer.add(new MailStatusUpdate(job.id, MailSendStatus.INIT, 0L, null, null, job.retryCount,
+                    System.currentTimeMillis() + Math.max(properties.getPollIntervalMillis(), drainMillis)));
+        }
+    }
+
+    /**
+     * 启动扫描与状态写入
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-mail-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        statusWriter = new MailStatusWriter(store, properties.getStatusBatchSize(), scheduler);
+        scheduler.scheduleWithFixedDelay(statusWriter::flush, properties.getStatusFlushIntervalMillis(),
+                properties.getStatusFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::runOnce, properties.getPollIntervalMillis(),
+                properties.getPollIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止发送：中断发送通道并写入已完成的状态，未发送的记录在租约到期后由其他实例或下次启动后发送
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        for (AccountLane lane : lanes.values()) {
+            lane.stop();
+        }
+        lanes.clear();
+        statusWriter.flush();
+        scheduler = null;
+    }
+
+    /**
+     * 认领并投递一批到期记录，异常记录到 {@link #getLastError()}，不影响后续调度
+     */
+    public void runOnce() {
+        MailStatusWriter writer = statusWriter;
+        if (writer == null) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            long leaseUntil = now + TimeUnit.SECONDS.toMillis(properties.getLeaseSeconds());
+            for (MailJob job : store.claimDue(now, leaseUntil, properties.getPollBatchSize())) {
+                job.sendStatus = MailSendStatus.INIT;
+                job.leaseUntil = leaseUntil;
+                dispatch(job, writer);
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e;
+        }
+    }
+
+    /**
+     * 立即写入已完成的状态
+     */
+    public int flushStatuses() {
+        return requireStarted().flush();
+    }
+
+    private MailStatusWriter requireStarted() {
+        MailStatusWriter writer = statusWriter;
+        if (writer == null || scheduler == null) {
+            throw new IllegalStateException("MailService is not started");
+        }
+        return writer;
+    }
+
+    public MailTemplateCache getTemplateCache() {
+        return templates;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * 扫描或状态写入的最近一次异常，成功后清空
+     */
+    public RuntimeException getLastError() {
+        RuntimeException error = lastError;
+        if (error == null && statusWriter != null) {
+            error = statusWriter.getLastError();
+        }
+        return error;
+    }
+
+    /**
+     * 发送结果：成功、失败或按退避重试
+     */
+    private void complete(MailJob job, String messageId, Exception error) {
+        MailStatusWriter writer = statusWriter;
+        if (writer == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (error == null) {
+            sentCount.incrementAndGet();
+            writer.add(new MailStatusUpdate(job.id, MailSendStatus.SUCCESS, now, messageId, null, job.retryCount, 0L));
+            return;
+        }
+        String message = describe(error);
+        if (isPermanent(error) || job.retryCount >= properties.getMaxRetries()) {
+            failedCount.incrementAndGet();
+            writer.add(new MailStatusUpdate(job.id, MailSendStatus.FAILURE, now, null, message, job.retryCount, 0L));
+            return;
+        }
+        retryCount.incrementAndGet();
+        writer.add(new MailStatusUpdate(job.id, MailSendStatus.INIT, 0L, null, message, job.retryCount + 1,
+                now + backoffMillis(job.retryCount)));
+    }
+
+    /**
+     * 第 n 次重试前的延迟：初始延迟 × 2^n，不超过上限，±20% 抖动避免同时重试
+     */
+    private long backoffMillis(int retries) {
+        long initial = TimeUnit.SECONDS.toMillis(properties.getRetryInitialDelaySeconds());
+        long max = TimeUnit.SECONDS.toMillis(properties.getRetryMaxDelaySeconds());
+        long delay = retries >= 30 ? max : Math.min(max, initial << retries);
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8D, 1.2D));
+    }
+
+    /**
+     * 收件地址非法或被服务器以 5xx 拒绝时不再重试
+     */
+    static boolean isPermanent(Exception error) {
+        for (Exception e = error; e != null;
+             e = e instanceof MessagingException messaging ? messaging.getNextException() : null) {
+            if (e instanceof AddressException) {
+                return true;
+            }
+            int code = e instanceof SMTPAddressFailedException address ? address.getReturnCode()
+                    : e instanceof SMTPSendFailedException send ? send.getReturnCode() : 0;
+            if (code >= 500 && code < 600) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Exception error) {
+        StringBuilder sb = new StringBuilder(error.getClass().getSimpleName()).append(": ").append(error.getMessage());
+        if (error instanceof MessagingException messaging && messaging.getNextException() != null
+                && messaging.getNextException() != error) {
+            Exception next = messaging.getNextException();
+            sb.append("; ").append(next.getClass().getSimpleName()).append(": ").append(next.getMessage());
+        }
+        return sb.toString();
+    }
+
+    private record CachedAccount(MailAccount account, long loadedAt) {
+    }
+
+    /**
+     * 账号发送通道：有界队列 + 按需启动的守护线程，线程内持有该账号的 SMTP 连接与令牌桶
+     */
+    private final class AccountLane implements Runnable {
+
+        private final long accountId;
+        private final BlockingQueue<MailJob> queue;
+        private final TokenBucket bucket;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile Thread thread;
+        private volatile boolean stopped;
+
+        AccountLane(long accountId) {
+            this.accountId = accountId;
+            // 队列中的邮件须在租约内发出：容量不超过按限速半个租约可发送的数量
+            int byLease = (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(1D, properties.getRatePerSecond() * properties.getLeaseSeconds() / 2D));
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, Math.min(properties.getLaneCapacity(), byLease)));
+            this.bucket = new TokenBucket(properties.getRatePerSecond(), properties.getBurst());
+        }
+
+        boolean offer(MailJob job) {
+            if (stopped || !queue.offer(job)) {
+                return false;
+            }
+            if (running.compareAndSet(false, true)) {
+                thread = Thread.ofPlatform().daemon().name("enjoy-mail-" + accountId).start(this);
+            }
+            return true;
+        }
+
+        int size() {
+            return queue.size();
+        }
+
+        void stop() {
+            stopped = true;
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            SmtpConnection connection = null;
+            long safetyMillis = properties.getConnectTimeoutMillis() + (long) properties.getReadTimeoutMillis();
+            try {
+                while (!stopped) {
+                    MailJob job = queue.poll(properties.getLaneIdleSeconds(), TimeUnit.SECONDS);
+                    if (job == null) {
+                        running.set(false);
+                        // 退出前再次检查，避免与 offer 竞争导致邮件滞留
+                        if (queue.isEmpty() || !running.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    if (System.currentTimeMillis() + safetyMillis > job.leaseUntil) {
+                        // 租约将到期，可能已被其他实例认领，留待扫描重新认领
+                        continue;
+                    }
+                    throttle();
+                    connection = deliver(job, connection);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (connection != null) {
+                    connection.close();
+                }
+                if (stopped) {
+                    running.set(false);
+                }
+            }
+        }
+
+        private void throttle() throws InterruptedException {
+            for (long wait; (wait = bucket.tryAcquire(System.nanoTime())) > 0; ) {
+                Thread.sleep(Duration.ofNanos(wait));
+            }
+        }
+
+        /**
+         * @return 发送后可继续复用的连接，账号不可用或认证失败时为 null（下次重新加载账号）
+         */
+        private SmtpConnection deliver(MailJob job, SmtpConnection connection) {
+            try {
+                if (connection == null) {
+                    MailAccount account = store.findAccount(accountId);
+                    if (account == null) {
+                        complete(job, null, new IllegalStateException("Mail account " + accountId + " not found"));
+                        return null;
+                    }
+                    connection = new SmtpConnection(account, properties);
+                }
+                complete(job, connection.send(job), null);
+                return connection;
+            } catch (AuthenticationFailedException e) {
+                connection.close();
+                complete(job, null, e);
+                return null;
+            } catch (MessagingException | RuntimeException e) {
+                complete(job, null, e);
+                return connection;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * sys_mail_log 状态变更
+ *
+ * @param id            日志ID
+ * @param sendStatus    发送状态
+ * @param sendTime      发送时间（毫秒），未发送时为0
+ * @param messageId     消息ID
+ * @param exception     异常信息
+ * @param retryCount    已重试次数
+ * @param nextRetryTime 下次发送时间（毫秒），不再发送时为0
+ * @author enjoy
+ * @version 1.0
+ */
+record MailStatusUpdate(long id, int sendStatus, long sendTime, String messageId, String exception, int retryCount,
+                        long nextRetryTime) {
+}
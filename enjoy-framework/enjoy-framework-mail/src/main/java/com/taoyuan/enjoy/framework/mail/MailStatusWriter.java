@@ -0,0 +1,91 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 发送状态批量写入：发送线程只入队，定时或攒够一批时在调度线程上以 JDBC 批量更新
+ * 写入失败的批次放回队列，下次重试；进程退出前未写入的状态丢失时，对应记录在租约到期后重新发送（至少一次）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class MailStatusWriter {
+
+    private final MailStore store;
+    private final int batchSize;
+    private final Executor executor;
+    private final Queue<MailStatusUpdate> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile RuntimeException lastError;
+
+    /**
+     * @param executor 攒够一批时提交写入的执行器
+     */
+    MailStatusWriter(MailStore store, int batchSize, Executor executor) {
+        this.store = store;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = executor;
+    }
+
+    void add(MailStatusUpdate update) {
+        queue.add(update);
+        if (size.incrementAndGet() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * 写入全部已入队的状态
+     *
+     * @return 写入的条数
+     */
+    int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            List<MailStatusUpdate> batch = new ArrayList<>(batchSize);
+            while (true) {
+                for (MailStatusUpdate update; batch.size() < batchSize && (update = queue.poll()) != null; ) {
+                    batch.add(update);
+                }
+                if (batch.isEmpty()) {
+                    lastError = null;
+                    return written;
+                }
+                size.addAndGet(-batch.size());
+                try {
+                    store.updateStatuses(batch);
+                } catch (RuntimeException e) {
+                    queue.addAll(batch);
+                    size.addAndGet(batch.size());
+                    lastError = e;
+                    return written;
+                }
+                written += batch.size();
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int pending() {
+        return size.get();
+    }
+
+    RuntimeException getLastError() {
+        return lastError;
+    }
+}
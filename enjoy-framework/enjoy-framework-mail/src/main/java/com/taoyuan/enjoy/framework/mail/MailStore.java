@@ -0,0 +1,268 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 邮件账号、模板与发送日志的读写（需执行 upgrade_mail_queue.sql）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class MailStore {
+
+    /**
+     * sys_mail_log 字段可保存的字符数（upgrade_mail_queue.sql 加宽后，按 utf8mb4 每字符4字节折算）
+     */
+    static final int MAX_TITLE_LENGTH = 1024;
+    static final int MAX_CONTENT_LENGTH = 4_000_000;
+    static final int MAX_PARAMS_LENGTH = 16_000;
+    private static final int MAX_EXCEPTION_LENGTH = 4096;
+
+    private final DataSource dataSource;
+
+    public MailStore(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+    }
+
+    /**
+     * @return 不存在或已删除时返回 null
+     */
+    public MailAccount findAccount(long id) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id, mail, username, password, host, port,"
+                     + " ssl_enable, starttls_enable FROM sys_mail_account WHERE id = ? AND deleted = 0")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new MailAccount(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getInt(6), rs.getBoolean(7), rs.getBoolean(8));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query sys_mail_account", e);
+        }
+    }
+
+    /**
+     * 按编码加载并编译模板
+     *
+     * @return 不存在或已删除时返回 null
+     */
+    public MailTemplate findTemplate(String code) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id, code, account_id, nickname, status, update_time,"
+                     + " title, content FROM sys_mail_template WHERE code = ? AND deleted = 0 ORDER BY id")) {
+            ps.setString(1, code);
+            ps.setMaxRows(1);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new MailTemplate(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                        rs.getInt(5) == 0, millis(rs.getTimestamp(6)), CompiledTemplate.compile(rs.getString(7)),
+                        CompiledTemplate.compileHtml(rs.getString(8)));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query sys_mail_template", e);
+        }
+    }
+
+    /**
+     * 模板的缓存版本
+     *
+     * @return 不存在或已删除时返回 null
+     */
+    public Version findTemplateVersion(String code) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id, update_time FROM sys_mail_template"
+                     + " WHERE code = ? AND deleted = 0 ORDER BY id")) {
+            ps.setString(1, code);
+            ps.setMaxRows(1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new Version(rs.getLong(1), millis(rs.getTimestamp(2))) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query sys_mail_template", e);
+        }
+    }
+
+    /**
+     * 批量写入发送日志，ID 须已分配，各字段长度由调用方保证不超过上限
+     */
+    void insertLogs(List<MailJob> jobs, long nextRetryTime) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_mail_log (id, user_id, user_type,"
+                    + " to_mail, account_id, from_mail, template_id, template_code, template_nickname, template_title,"
+                    + " template_content, template_params, send_status, send_exception, retry_count, next_retry_time)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)")) {
+                for (MailJob job : jobs) {
+                    ps.setLong(1, job.id);
+                    ps.setObject(2, job.userId, Types.BIGINT);
+                    ps.setObject(3, job.userType, Types.TINYINT);
+                    ps.setString(4, job.toMail);
+                    ps.setLong(5, job.accountId);
+                    ps.setString(6, job.fromMail);
+                    ps.setLong(7, job.templateId);
+                    ps.setString(8, job.templateCode);
+                    ps.setString(9, job.nickname);
+                    ps.setString(10, job.title);
+                    ps.setString(11, job.content);
+                    ps.setString(12, job.templateParams);
+                    ps.setInt(13, job.sendStatus);
+                    ps.setString(14, job.sendException);
+                    ps.setTimestamp(15, job.sendStatus == MailSendStatus.INIT ? new Timestamp(nextRetryTime) : null);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to insert sys_mail_log", e);
+        }
+    }
+
+    /**
+     * 认领到期的待发送记录：逐条以原 next_retry_time 为条件改写为租约到期时间，并发认领时只有一个实例成功
+     *
+     * @param now        当前时间（毫秒）
+     * @param leaseUntil 租约到期时间（毫秒）
+     * @param limit      最多认领条数
+     */
+    List<MailJob> claimDue(long now, long leaseUntil, int limit) {
+        try (Connection conn = dataSource.getConnection()) {
+            List<Due> due = new ArrayList<>();
+            try (PreparedStatement ps = conn.prepareStatement("SELECT id, next_retry_time FROM sys_mail_log"
+                    + " WHERE send_status = 0 AND next_retry_time <= ? AND deleted = 0 ORDER BY next_retry_time")) {
+                ps.setTimestamp(1, new Timestamp(now));
+                ps.setMaxRows(limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        due.add(new Due(rs.getLong(1), rs.getTimestamp(2)));
+                    }
+                }
+            }
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            List<Long> claimed = new ArrayList<>(due.size());
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE sys_mail_log SET next_retry_time = ?"
+                    + " WHERE id = ? AND send_status = 0 AND next_retry_time = ?")) {
+                for (Due row : due) {
+                    ps.setTimestamp(1, new Timestamp(leaseUntil));
+                    ps.setLong(2, row.id());
+                    // 原样传回读取的值，避免精度不同导致条件不成立
+                    ps.setTimestamp(3, row.nextRetryTime());
+                    if (ps.executeUpdate() == 1) {
+                        claimed.add(row.id());
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return claimed.isEmpty() ? List.of() : loadJobs(conn, claimed);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to claim sys_mail_log", e);
+        }
+    }
+
+    private static List<MailJob> loadJobs(Connection conn, List<Long> ids) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id, account_id, from_mail, to_mail, template_nickname,"
+                + " template_title, template_content, retry_count FROM sys_mail_log WHERE id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        List<MailJob> jobs = new ArrayList<>(ids.size());
+        try (PreparedStatement ps = conn.prepareStatement(sql.append(')').toString())) {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setLong(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    MailJob job = new MailJob();
+                    job.id = rs.getLong(1);
+                    job.accountId = rs.getLong(2);
+                    job.fromMail = rs.getString(3);
+                    job.toMail = rs.getString(4);
+                    job.nickname = rs.getString(5);
+                    job.title = rs.getString(6);
+                    job.content = rs.getString(7);
+                    job.retryCount = rs.getInt(8);
+                    jobs.add(job);
+                }
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * 批量更新发送状态，同一事务提交
+     */
+    void updateStatuses(List<MailStatusUpdate> updates) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE sys_mail_log SET send_status = ?, send_time = ?,"
+                    + " send_message_id = ?, send_exception = ?, retry_count = ?, next_retry_time = ? WHERE id = ?")) {
+                for (MailStatusUpdate update : updates) {
+                    ps.setInt(1, update.sendStatus());
+                    ps.setTimestamp(2, update.sendTime() > 0 ? new Timestamp(update.sendTime()) : null);
+                    ps.setString(3, update.messageId());
+                    ps.setString(4, truncate(update.exception(), MAX_EXCEPTION_LENGTH));
+                    ps.setInt(5, update.retryCount());
+                    ps.setTimestamp(6, update.nextRetryTime() > 0 ? new Timestamp(update.nextRetryTime()) : null);
+                    ps.setLong(7, update.id());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to update sys_mail_log", e);
+        }
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp == null ? 0L : timestamp.getTime();
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text == null || text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+
+    private record Due(long id, Timestamp nextRetryTime) {
+    }
+
+    /**
+     * 模板版本
+     *
+     * @param id         模板ID
+     * @param updateTime 更新时间（毫秒）
+     */
+    public record Version(long id, long updateTime) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 邮件模板（sys_mail_template），标题与内容已编译
+ *
+ * @param id         模板ID
+ * @param code       模板编码
+ * @param accountId  发送账号ID
+ * @param nickname   发件人名称
+ * @param enabled    是否启用（status = 0）
+ * @param updateTime 更新时间（毫秒），与 ID 一起作为缓存版本
+ * @param title      标题，纯文本
+ * @param content    内容，HTML，参数值转义后输出
+ * @author enjoy
+ * @version 1.0
+ */
+public record MailTemplate(long id, String code, long accountId, String nickname, boolean enabled, long updateTime,
+                           CompiledTemplate title, CompiledTemplate content) {
+}
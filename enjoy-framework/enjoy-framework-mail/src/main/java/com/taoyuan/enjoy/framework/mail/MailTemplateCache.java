@@ -0,0 +1,73 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已编译模板缓存，按（模板ID, update_time）判定版本
+ * 命中且距上次校验不足校验间隔时直接使用；超过间隔时只查询版本，版本变化才重新加载并编译
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class MailTemplateCache {
+
+    private final MailStore store;
+    private final long checkIntervalMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param store               读写
+     * @param checkIntervalMillis 版本校验间隔（毫秒）
+     */
+    public MailTemplateCache(MailStore store, long checkIntervalMillis) {
+        this.store = Objects.requireNonNull(store);
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    /**
+     * @return 模板不存在时返回 null
+     */
+    public MailTemplate get(String code) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(code);
+        if (entry != null) {
+            if (now - entry.checkedAt < checkIntervalMillis) {
+                return entry.template;
+            }
+            MailStore.Version version = store.findTemplateVersion(code);
+            if (version != null && version.id() == entry.template.id()
+                    && version.updateTime() == entry.template.updateTime()) {
+                entry.checkedAt = now;
+                return entry.template;
+            }
+        }
+        MailTemplate template = store.findTemplate(code);
+        if (template == null) {
+            entries.remove(code);
+            return null;
+        }
+        entries.put(code, new Entry(template, now));
+        return template;
+    }
+
+    public void invalidate(String code) {
+        entries.remove(code);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+
+        final MailTemplate template;
+        volatile long checkedAt;
+
+        Entry(MailTemplate template, long checkedAt) {
+            this.template = template;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
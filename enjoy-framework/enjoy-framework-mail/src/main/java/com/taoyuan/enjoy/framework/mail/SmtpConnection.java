@@ -0,0 +1,114 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个账号的 SMTP 连接，跨邮件复用；断开或出错后下次发送时重连。由单个发送通道使用，非线程安全
+ * 连续发送时不做连接探测（isConnected 会发送 NOOP，每封多一次往返），空闲超过探测间隔后才探测
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class SmtpConnection implements AutoCloseable {
+
+    /**
+     * 空闲超过该时长后发送前探测连接（纳秒）
+     */
+    private static final long PROBE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final MailAccount account;
+    private final Session session;
+    private Transport transport;
+    private long lastUsedAt;
+
+    SmtpConnection(MailAccount account, MailProperties properties) {
+        this.account = account;
+        Properties props = new Properties();
+        String protocol = account.sslEnable() ? "smtps" : "smtp";
+        props.setProperty("mail.transport.protocol", protocol);
+        String prefix = "mail." + protocol + ".";
+        props.setProperty(prefix + "host", account.host());
+        props.setProperty(prefix + "port", String.valueOf(account.port()));
+        props.setProperty(prefix + "auth", String.valueOf(account.password() != null && !account.password().isEmpty()));
+        props.setProperty(prefix + "starttls.enable", String.valueOf(account.starttlsEnable()));
+        props.setProperty(prefix + "starttls.required", String.valueOf(account.starttlsEnable()));
+        props.setProperty(prefix + "connectiontimeout", String.valueOf(properties.getConnectTimeoutMillis()));
+        props.setProperty(prefix + "timeout", String.valueOf(properties.getReadTimeoutMillis()));
+        props.setProperty(prefix + "writetimeout", String.valueOf(properties.getReadTimeoutMillis()));
+        this.session = Session.getInstance(props);
+    }
+
+    MailAccount account() {
+        return account;
+    }
+
+    /**
+     * 发送一封邮件
+     *
+     * @return Message-ID
+     */
+    String send(MailJob job) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        try {
+            message.setFrom(job.nickname == null || job.nickname.isEmpty()
+                    ? new InternetAddress(job.fromMail)
+                    : new InternetAddress(job.fromMail, job.nickname, StandardCharsets.UTF_8.name()));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(job.toMail, true));
+        message.setSubject(job.title, StandardCharsets.UTF_8.name());
+        message.setText(job.content, StandardCharsets.UTF_8.name(), "html");
+        message.saveChanges();
+        Transport connected = connect();
+        try {
+            connected.sendMessage(message, message.getAllRecipients());
+            lastUsedAt = System.nanoTime();
+        } catch (SendFailedException e) {
+            // 收件人被拒绝，会话已复位，连接可继续使用
+            lastUsedAt = System.nanoTime();
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            // 连接状态未知，下次重连
+            close();
+            throw e;
+        }
+        return message.getMessageID();
+    }
+
+    private Transport connect() throws MessagingException {
+        if (transport != null
+                && (System.nanoTime() - lastUsedAt < PROBE_AFTER_IDLE_NANOS || transport.isConnected())) {
+            return transport;
+        }
+        close();
+        Transport created = session.getTransport();
+        created.connect(account.host(), account.port(), account.username(), account.password());
+        transport = created;
+        lastUsedAt = System.nanoTime();
+        return created;
+    }
+
+    @Override
+    public void close() {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                // 连接已不可用
+            }
+            transport = null;
+        }
+    }
+}
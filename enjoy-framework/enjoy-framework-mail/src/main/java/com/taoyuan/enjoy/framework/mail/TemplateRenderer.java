@@ -0,0 +1,54 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 复用缓冲区的模板渲染器：连续渲染时只在生成结果字符串时分配内存，适合批量通知一次渲染全部收件人。
+ * 非线程安全，每个批次或线程各自创建
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class TemplateRenderer {
+
+    /**
+     * 渲染超长内容后缓冲区超过该容量时丢弃，避免长期持有大数组
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private StringBuilder buffer;
+
+    public TemplateRenderer() {
+        this(1024);
+    }
+
+    public TemplateRenderer(int initialCapacity) {
+        this.buffer = new StringBuilder(initialCapacity);
+    }
+
+    public String render(CompiledTemplate template, Map<String, ?> params) {
+        StringBuilder sb = buffer;
+        sb.setLength(0);
+        template.renderTo(params, sb);
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(Math.max(1024, template.getLiteralLength() * 2));
+        }
+        return result;
+    }
+
+    /**
+     * 按收件人参数批量渲染
+     *
+     * @return 渲染结果，与参数顺序一致
+     */
+    public List<String> renderAll(CompiledTemplate template, List<? extends Map<String, ?>> params) {
+        List<String> results = new ArrayList<>(params.size());
+        for (Map<String, ?> param : params) {
+            results.add(render(template, param));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,53 @@
+package com.taoyuan.enjoy.framework.mail;
+
+/**
+ * 令牌桶：按固定速率补充令牌，最多累积 burst 个；由单个发送通道使用，非线程安全
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param ratePerSecond 每秒令牌数
+     * @param burst         桶容量
+     */
+    TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System.nanoTime());
+    }
+
+    /**
+     * @param ratePerSecond 每秒令牌数
+     * @param burst         桶容量
+     * @param nowNanos      当前时间（纳秒），桶在此时装满
+     */
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0D || burst < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        this.tokensPerNano = ratePerSecond / 1_000_000_000D;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * 取一个令牌
+     *
+     * @return 需要等待的纳秒数，为0时已取得令牌；大于0时等待后再次调用
+     */
+    long tryAcquire(long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - refilledAt) * tokensPerNano);
+        refilledAt = nowNanos;
+        if (tokens >= 1D) {
+            tokens -= 1D;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1D - tokens) / tokensPerNano));
+    }
+}
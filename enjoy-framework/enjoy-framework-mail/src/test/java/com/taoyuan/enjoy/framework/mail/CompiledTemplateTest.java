@@ -0,0 +1,42 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 模板渲染：HTML 模板转义参数值，{!name} 原样输出，纯文本模板不转义
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class CompiledTemplateTest {
+
+    @Test
+    void htmlTemplateEscapesValues() {
+        CompiledTemplate template = CompiledTemplate.compileHtml("<a href=\"{link}\">{name}</a>");
+        assertEquals("<a href=\"&quot; onclick=&#39;x&#39;\">&lt;script&gt;&amp;</a>",
+                template.render(Map.of("link", "\" onclick='x'", "name", "<script>&")));
+    }
+
+    @Test
+    void rawMarkerOutputsValueAsIs() {
+        CompiledTemplate template = CompiledTemplate.compileHtml("<p>{name}</p>{!footer}");
+        assertEquals(List.of("name", "footer"), template.getNames());
+        assertEquals("<p>&lt;b&gt;</p><i>f</i>", template.render(Map.of("name", "<b>", "footer", "<i>f</i>")));
+    }
+
+    @Test
+    void plainTemplateDoesNotEscape() {
+        assertEquals("验证码 <b>&", CompiledTemplate.compile("验证码 {name}").render(Map.of("name", "<b>&")));
+    }
+
+    @Test
+    void missingParamKeepsPlaceholder() {
+        CompiledTemplate template = CompiledTemplate.compileHtml("{a}-{!b}-{}-{!}-{x{c}");
+        assertEquals("{a}-{!b}-{}-{!}-{x1", template.render(Map.of("c", 1)));
+    }
+}
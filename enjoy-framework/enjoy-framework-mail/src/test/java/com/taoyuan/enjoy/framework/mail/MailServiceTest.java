@@ -0,0 +1,354 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 异步发送：连接本地 SMTP 替身（RCPT 含 PERM 时 550，含 TEMP 时前两次 451），检查投递内容与发送状态、
+ * 连接复用、限速、通道溢出与租约到期后的认领
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class MailServiceTest {
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final List<Long> deliveredAt = new CopyOnWriteArrayList<>();
+    private final AtomicInteger tempFailures = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    /**
+     * 不为 null 时 DATA 的应答等待放行，用于占住发送通道
+     */
+    private volatile CountDownLatch hold;
+    private ServerSocket server;
+    private JdbcDataSource dataSource;
+    private MailProperties properties;
+    private MailService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new ServerSocket(0);
+        Thread.ofPlatform().daemon().start(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread.ofPlatform().daemon().start(() -> serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:mail" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_mail_account (id bigint PRIMARY KEY, mail varchar(255), username varchar(255),"
+                    + " password varchar(255), host varchar(255), port int, ssl_enable boolean DEFAULT false,"
+                    + " starttls_enable boolean DEFAULT false, deleted bigint DEFAULT 0)");
+            st.execute("CREATE TABLE sys_mail_template (id bigint PRIMARY KEY, code varchar(63), account_id bigint,"
+                    + " nickname varchar(255), title varchar(255), content varchar(10240), status tinyint,"
+                    + " update_time timestamp DEFAULT current_timestamp, deleted bigint DEFAULT 0)");
+            st.execute("CREATE TABLE sys_mail_log (id bigint PRIMARY KEY, user_id bigint, user_type tinyint,"
+                    + " to_mail varchar(255) NOT NULL, account_id bigint NOT NULL, from_mail varchar(255) NOT NULL,"
+                    + " template_id bigint NOT NULL, template_code varchar(63) NOT NULL, template_nickname varchar(255),"
+                    + " template_title varchar(1024) NOT NULL, template_content mediumtext NOT NULL,"
+                    + " template_params text NOT NULL, send_status tinyint DEFAULT 0 NOT NULL, send_time timestamp,"
+                    + " send_message_id varchar(255), send_exception varchar(4096), retry_count int DEFAULT 0 NOT NULL,"
+                    + " next_retry_time timestamp, deleted bigint DEFAULT 0)");
+            st.execute("INSERT INTO sys_mail_account VALUES (1, 'a@x.com', 'a@x.com', '', '127.0.0.1', "
+                    + server.getLocalPort() + ", false, false, 0)");
+            st.execute("INSERT INTO sys_mail_template (id, code, account_id, nickname, title, content, status) VALUES"
+                    + " (13, 'login', 1, 'enjoy', '验证码 {name}',"
+                    + " '<p>{code}，{name}</p><a href=\"{link}\">link</a>{!footer}', 0),"
+                    + " (15, 'off', 1, 'enjoy', 't', 'c', 1)");
+        }
+        properties = new MailProperties();
+        properties.setRatePerSecond(50D);
+        properties.setPollIntervalMillis(100L);
+        properties.setStatusFlushIntervalMillis(50L);
+        properties.setRetryInitialDelaySeconds(1L);
+        service = new MailService(dataSource, properties);
+        service.start();
+    }
+
+    private void restart(Consumer<MailProperties> customizer) {
+        service.stop();
+        customizer.accept(properties);
+        service = new MailService(dataSource, properties);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.stop();
+        server.close();
+    }
+
+    private void serve(Socket socket) {
+        try (socket; BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.ISO_8859_1));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+            out.write("220 stub ESMTP\r\n");
+            out.flush();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO")) {
+                    out.write("250-stub\r\n250 8BITMIME\r\n");
+                } else if (command.startsWith("RCPT") && command.contains("PERM")) {
+                    out.write("550 5.1.1 no such user\r\n");
+                } else if (command.startsWith("RCPT") && command.contains("TEMP") && tempFailures.getAndIncrement() < 2) {
+                    out.write("451 4.7.1 try later\r\n");
+                } else if (command.startsWith("DATA")) {
+                    out.write("354 go\r\n");
+                    out.flush();
+                    StringBuilder data = new StringBuilder();
+                    while (!(line = in.readLine()).equals(".")) {
+                        data.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+                    }
+                    delivered.add(data.toString());
+                    deliveredAt.add(System.nanoTime());
+                    CountDownLatch latch = hold;
+                    if (latch != null && !latch.await(10, TimeUnit.SECONDS)) {
+                        return;
+                    }
+                    out.write("250 queued\r\n");
+                } else if (command.startsWith("QUIT")) {
+                    out.write("221 bye\r\n");
+                    out.flush();
+                    return;
+                } else {
+                    out.write("250 OK\r\n");
+                }
+                out.flush();
+            }
+        } catch (IOException ignored) {
+            // 客户端断开
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int awaitStatus(long id) throws Exception {
+        return awaitStatus(id, 15_000L);
+    }
+
+    private int awaitStatus(long id, long timeoutMillis) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try (Connection conn = dataSource.getConnection();
+             Statement st = conn.createStatement()) {
+            while (true) {
+                try (ResultSet rs = st.executeQuery("SELECT send_status FROM sys_mail_log WHERE id = " + id)) {
+                    rs.next();
+                    if (rs.getInt(1) != MailSendStatus.INIT || System.currentTimeMillis() > deadline) {
+                        return rs.getInt(1);
+                    }
+                }
+                Thread.sleep(50L);
+            }
+        }
+    }
+
+    private int retryCount(long id) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT retry_count FROM sys_mail_log WHERE id = " + id)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void sendsEscapedHtmlWithPlainTitle() throws Exception {
+        long id = service.send(MailRequest.of("u@x.com", "login", Map.of("code", 1234, "name", "<b>&",
+                "link", "\"><script>", "footer", "<i>f</i>")));
+        assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()),
+                new ByteArrayInputStream(delivered.get(0).getBytes(StandardCharsets.ISO_8859_1)));
+        assertEquals("验证码 <b>&", message.getSubject());
+        assertEquals("<p>1234，&lt;b&gt;&amp;</p><a href=\"&quot;&gt;&lt;script&gt;\">link</a><i>f</i>",
+                ((String) message.getContent()).strip());
+    }
+
+    @Test
+    void sendAllDeliversEveryRequest() throws Exception {
+        List<Long> ids = service.sendAll(List.of(MailRequest.of("u1@x.com", "login", Map.of("name", "a")),
+                MailRequest.of("u2@x.com", "login", Map.of("name", "b"))));
+        for (long id : ids) {
+            assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        }
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    void permanentRejectionIsNotRetried() throws Exception {
+        long id = service.send(MailRequest.of("perm@x.com", "login", Map.of()));
+        assertEquals(MailSendStatus.FAILURE, awaitStatus(id));
+        assertEquals(0, retryCount(id));
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void temporaryRejectionIsRetried() throws Exception {
+        long id = service.send(MailRequest.of("temp@x.com", "login", Map.of()));
+        assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        assertEquals(2, retryCount(id));
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    void oversizedRequestFailsAlone() throws Exception {
+        String longName = "n".repeat(MailStore.MAX_TITLE_LENGTH);
+        String longParam = "p".repeat(1000);
+        List<Long> ids = service.sendAll(List.of(MailRequest.of("u1@x.com", "login", Map.of("name", longName)),
+                MailRequest.of("u2@x.com", "login", Map.of("name", "b", "footer", longParam))));
+        assertEquals(MailSendStatus.FAILURE, awaitStatus(ids.get(0)));
+        assertEquals(MailSendStatus.SUCCESS, awaitStatus(ids.get(1)));
+        assertEquals(1, delivered.size());
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT send_exception, template_params FROM sys_mail_log WHERE id = "
+                     + ids.get(0) + " OR id = " + ids.get(1) + " ORDER BY id")) {
+            rs.next();
+            assertTrue(rs.getString(1).startsWith("邮件标题超过长度限制"), rs.getString(1));
+            rs.next();
+            assertEquals(Map.of("name", "b", "footer", longParam), new ObjectMapper().readValue(rs.getString(2), Map.class));
+        }
+    }
+
+    @Test
+    void connectionIsReusedAcrossSends() throws Exception {
+        List<MailRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(MailRequest.of("u" + i + "@x.com", "login", Map.of("name", "n" + i)));
+        }
+        for (long id : service.sendAll(requests)) {
+            assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        }
+        assertEquals(5, delivered.size());
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void sendRateIsLimitedPerAccount() throws Exception {
+        restart(p -> {
+            p.setRatePerSecond(10D);
+            p.setBurst(1);
+        });
+        List<MailRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(MailRequest.of("u" + i + "@x.com", "login", Map.of()));
+        }
+        for (long id : service.sendAll(requests)) {
+            assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        }
+        // 突发1封，其余5封每封间隔100ms
+        long elapsed = deliveredAt.get(deliveredAt.size() - 1) - deliveredAt.get(0);
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(450), "elapsed " + elapsed);
+    }
+
+    @Test
+    void laneOverflowIsPickedUpByPoller() throws Exception {
+        restart(p -> p.setLaneCapacity(1));
+        hold = new CountDownLatch(1);
+        List<MailRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(MailRequest.of("u" + i + "@x.com", "login", Map.of()));
+        }
+        List<Long> ids = service.sendAll(requests);
+        // 通道被第一封占住，溢出的记录释放租约，等待扫描
+        long deadline = System.currentTimeMillis() + 5_000L;
+        int released = 0;
+        while (released < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50L);
+            released = countReleased();
+        }
+        assertTrue(released >= 3, "released " + released);
+        hold.countDown();
+        hold = null;
+        for (long id : ids) {
+            assertEquals(MailSendStatus.SUCCESS, awaitStatus(id));
+        }
+        assertEquals(5, delivered.size());
+    }
+
+    /**
+     * 待发送且下次发送时间早于租约的记录数
+     */
+    private int countReleased() throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM sys_mail_log"
+                     + " WHERE send_status = 0 AND next_retry_time < ?")) {
+            ps.setTimestamp(1, new Timestamp(System.currentTimeMillis() + 60_000L));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    @Test
+    void expiredLeaseIsReclaimed() throws Exception {
+        long now = System.currentTimeMillis();
+        // 宕机实例遗留的已到期租约，与另一实例持有中的租约
+        insertPending(101L, "orphan@x.com", now - 1_000L);
+        insertPending(102L, "leased@x.com", now + 300_000L);
+        assertEquals(MailSendStatus.SUCCESS, awaitStatus(101L));
+        Thread.sleep(300L);
+        service.flushStatuses();
+        assertEquals(MailSendStatus.INIT, awaitStatus(102L, 0L));
+        assertEquals(1, delivered.size());
+        assertTrue(delivered.get(0).contains("orphan@x.com"));
+    }
+
+    private void insertPending(long id, String toMail, long nextRetryTime) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_mail_log (id, to_mail, account_id,"
+                     + " from_mail, template_id, template_code, template_title, template_content, template_params,"
+                     + " send_status, next_retry_time) VALUES (?, ?, 1, 'a@x.com', 13, 'login', 't', 'c', '{}', 0, ?)")) {
+            ps.setLong(1, id);
+            ps.setString(2, toMail);
+            ps.setTimestamp(3, new Timestamp(nextRetryTime));
+            ps.executeUpdate();
+        }
+    }
+
+    @Test
+    void disabledTemplateIsIgnored() throws Exception {
+        long id = service.send(MailRequest.of("u@x.com", "off", Map.of()));
+        service.flushStatuses();
+        assertEquals(MailSendStatus.IGNORE, awaitStatus(id));
+        assertTrue(delivered.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 复用缓冲区渲染：连续渲染互不影响，批量结果与参数顺序一致，渲染超长内容后仍可继续使用
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class TemplateRendererTest {
+
+    private final CompiledTemplate template = CompiledTemplate.compileHtml("<p>{name}：{code}</p>");
+
+    @Test
+    void rendersEachRecipientInOrder() {
+        TemplateRenderer renderer = new TemplateRenderer(8);
+        assertEquals(List.of("<p>张三：1001</p>", "<p>&lt;b&gt;：{code}</p>", "<p>王五：3</p>"),
+                renderer.renderAll(template, List.of(Map.of("name", "张三", "code", 1001L),
+                        Map.of("name", "<b>"), Map.of("name", "王五", "code", 3))));
+    }
+
+    @Test
+    void matchesSingleRenderAfterLargeContent() {
+        TemplateRenderer renderer = new TemplateRenderer();
+        String large = "x".repeat(100_000);
+        assertEquals(template.render(Map.of("name", large, "code", 1)),
+                renderer.render(template, Map.of("name", large, "code", 1)));
+        assertEquals("<p>a：2</p>", renderer.render(template, Map.of("name", "a", "code", 2)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.taoyuan.enjoy.framework.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 令牌桶：突发用尽后按速率补充，空闲后最多累积 burst 个
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class TokenBucketTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void burstThenSteadyRate() {
+        TokenBucket bucket = new TokenBucket(10D, 2, 0L);
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(100 * MS, bucket.tryAcquire(0L), 1D);
+        assertEquals(50 * MS, bucket.tryAcquire(50 * MS), 1D);
+        assertEquals(0L, bucket.tryAcquire(100 * MS + 1));
+        assertEquals(100 * MS, bucket.tryAcquire(100 * MS + 1), 1D);
+    }
+
+    @Test
+    void idleTimeAccumulatesUpToBurst() {
+        TokenBucket bucket = new TokenBucket(10D, 3, 0L);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, bucket.tryAcquire(0L));
+        }
+        long later = TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, bucket.tryAcquire(later));
+        }
+        assertEquals(100 * MS, bucket.tryAcquire(later), 1D);
+    }
+
+    @Test
+    void sendsAtConfiguredRateOverTime() {
+        TokenBucket bucket = new TokenBucket(5D, 1, 0L);
+        long now = 0L;
+        int sent = 0;
+        while (now < TimeUnit.MILLISECONDS.toNanos(10_100)) {
+            long wait = bucket.tryAcquire(now);
+            if (wait == 0L) {
+                sent++;
+            } else {
+                now += wait;
+            }
+        }
+        // 初始1个 + 10秒内补充的50个
+        assertEquals(51, sent);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0D, 1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1D, 0, 0L));
+    }
+}
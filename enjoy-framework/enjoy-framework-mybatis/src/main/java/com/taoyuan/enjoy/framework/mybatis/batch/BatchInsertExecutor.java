@@ -0,0 +1,308 @@
+package com.taoyuan.enjoy.framework.mybatis.batch;
+
+import com.taoyuan.enjoy.framework.common.utils.IdGenerator;
+import com.taoyuan.enjoy.framework.mybatis.pagination.SqlScanner;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 批量插入执行器
+ * 复用 Mapper 中已有的单行 INSERT 语句，按分块改写为多行 {@code INSERT ... VALUES (...), (...)}，
+ * 可选追加 {@code ON DUPLICATE KEY UPDATE col = VALUES(col)}。开启 fillId 且语句显式插入主键列（keyProperty 出现在参数映射中）时，
+ * 主键为空的行预先用 {@link IdGenerator} 填充；语句不插入主键列（自增主键）且声明了 useGeneratedKeys 时，
+ * 按行顺序回读数据库生成的主键。动态SQL导致各行语句不同时按相邻的相同语句分组。
+ * 直接使用会话的连接执行，事务由调用方控制；执行后清空会话一级缓存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class BatchInsertExecutor {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final BatchInsertProperties properties;
+
+    public BatchInsertExecutor() {
+        this(new BatchInsertProperties());
+    }
+
+    public BatchInsertExecutor(BatchInsertProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 批量插入
+     *
+     * @param session     会话
+     * @param statementId 单行 INSERT 语句ID
+     * @param rows        数据
+     * @return 结果
+     */
+    public BatchResult insert(SqlSession session, String statementId, Collection<?> rows) throws SQLException {
+        return execute(session, statementId, rows, null);
+    }
+
+    /**
+     * 批量插入或更新（MySQL ON DUPLICATE KEY UPDATE）
+     *
+     * @param session       会话
+     * @param statementId   单行 INSERT 语句ID
+     * @param rows          数据
+     * @param updateColumns 唯一键冲突时更新的列
+     * @return 结果
+     */
+    public BatchResult upsert(SqlSession session, String statementId, Collection<?> rows,
+                              String... updateColumns) throws SQLException {
+        if (updateColumns.length == 0) {
+            throw new IllegalArgumentException("updateColumns is required");
+        }
+        StringBuilder clause = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        for (int i = 0; i < updateColumns.length; i++) {
+            String column = updateColumns[i];
+            if (!IDENTIFIER.matcher(column).matches()) {
+                throw new IllegalArgumentException("Illegal column name: " + column);
+            }
+            clause.append(i == 0 ? "" : ", ").append(column).append(" = VALUES(").append(column).append(')');
+        }
+        return execute(session, statementId, rows, clause.toString());
+    }
+
+    private BatchResult execute(SqlSession session, String statementId, Collection<?> rows,
+                                String upsertClause) throws SQLException {
+        BatchResult result = new BatchResult();
+        if (rows.isEmpty()) {
+            return result;
+        }
+        Configuration configuration = session.getConfiguration();
+        MappedStatement ms = configuration.getMappedStatement(statementId);
+        if (ms.getSqlCommandType() != SqlCommandType.INSERT) {
+            throw new IllegalArgumentException(statementId + " is not an INSERT statement");
+        }
+        String[] keyProperties = ms.getKeyProperties();
+        String keyProperty = keyProperties != null && keyProperties.length > 0 ? keyProperties[0] : null;
+        // ON DUPLICATE KEY UPDATE 时更新行也会返回主键，无法与输入行一一对应，不回读
+        boolean generatedKeys = keyProperty != null && upsertClause == null && ms.getKeyGenerator() instanceof Jdbc3KeyGenerator;
+        Connection connection = session.getConnection();
+
+        Template template = null;
+        List<BoundSql> pending = new ArrayList<>();
+        for (Object row : rows) {
+            BoundSql boundSql = ms.getBoundSql(row);
+            boolean keyBound = keyProperty != null && hasMapping(boundSql, keyProperty);
+            if (keyBound && properties.isFillId()) {
+                // 绑定参数时才读取属性值，此时填充仍会写入语句
+                fillId(configuration, row, keyProperty);
+            }
+            if (template == null || !template.sql.equals(boundSql.getSql())) {
+                flush(connection, configuration, template, pending, result);
+                template = Template.parse(boundSql, upsertClause, properties,
+                        generatedKeys && !keyBound ? keyProperty : null);
+            }
+            pending.add(boundSql);
+            if (pending.size() >= template.maxRows) {
+                flush(connection, configuration, template, pending, result);
+            }
+        }
+        flush(connection, configuration, template, pending, result);
+        session.clearCache();
+        return result;
+    }
+
+    private void flush(Connection connection, Configuration configuration, Template template,
+                       List<BoundSql> pending, BatchResult result) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int affected;
+        String sql = template.sqlFor(pending.size());
+        try (PreparedStatement ps = template.generatedKey == null ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (BoundSql boundSql : pending) {
+                index = bind(ps, index, configuration, boundSql);
+            }
+            affected = ps.executeUpdate();
+            if (template.generatedKey != null) {
+                assignKeys(ps, configuration, pending, template.generatedKey);
+            }
+        }
+        result.add(pending.size(), affected, System.nanoTime() - start);
+        pending.clear();
+    }
+
+    private static boolean hasMapping(BoundSql boundSql, String property) {
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (property.equals(mapping.getProperty())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 多行 INSERT 的自增主键按 VALUES 顺序返回，依次回填到各行
+     */
+    private static void assignKeys(PreparedStatement ps, Configuration configuration, List<BoundSql> pending,
+                                   String keyProperty) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            for (BoundSql boundSql : pending) {
+                if (!keys.next()) {
+                    return;
+                }
+                MetaObject meta = configuration.newMetaObject(boundSql.getParameterObject());
+                if (!meta.hasSetter(keyProperty)) {
+                    continue;
+                }
+                TypeHandler<?> handler = configuration.getTypeHandlerRegistry().getTypeHandler(meta.getSetterType(keyProperty));
+                meta.setValue(keyProperty, handler == null ? keys.getObject(1) : handler.getResult(keys, 1));
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int bind(PreparedStatement ps, int index, Configuration configuration,
+                            BoundSql boundSql) throws SQLException {
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String name = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(name)) {
+                value = boundSql.getAdditionalParameter(name);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(name);
+            }
+            JdbcType jdbcType = mapping.getJdbcType();
+            if (value == null && jdbcType == null) {
+                jdbcType = configuration.getJdbcTypeForNull();
+            }
+            TypeHandler typeHandler = mapping.getTypeHandler();
+            typeHandler.setParameter(ps, index++, value, jdbcType);
+        }
+        return index;
+    }
+
+    private static void fillId(Configuration configuration, Object row, String keyProperty) {
+        MetaObject meta = configuration.newMetaObject(row);
+        if (!meta.hasSetter(keyProperty) || meta.getValue(keyProperty) != null) {
+            return;
+        }
+        Class<?> type = meta.getSetterType(keyProperty);
+        if (type == Long.class || type == long.class) {
+            meta.setValue(keyProperty, IdGenerator.nextId());
+        } else if (type == String.class) {
+            meta.setValue(keyProperty, String.valueOf(IdGenerator.nextId()));
+        }
+    }
+
+    /**
+     * 单行 INSERT 模板：VALUES 前缀、单行元组与尾部子句
+     */
+    private static final class Template {
+
+        private final String sql;
+        private final String prefix;
+        private final String tuple;
+        private final String suffix;
+        private final int maxRows;
+        /**
+         * 需回读数据库生成值的主键属性，为 null 时不回读
+         */
+        private final String generatedKey;
+        private String fullChunkSql;
+
+        private Template(String sql, String prefix, String tuple, String suffix, int maxRows, String generatedKey) {
+            this.sql = sql;
+            this.prefix = prefix;
+            this.tuple = tuple;
+            this.suffix = suffix;
+            this.maxRows = maxRows;
+            this.generatedKey = generatedKey;
+        }
+
+        static Template parse(BoundSql boundSql, String upsertClause, BatchInsertProperties properties,
+                              String generatedKey) {
+            String sql = boundSql.getSql();
+            int valuesPos = SqlScanner.indexOfKeyword(sql, "VALUES", 0);
+            int open = valuesPos < 0 ? -1 : sql.indexOf('(', valuesPos);
+            int close = open < 0 ? -1 : matchingParen(sql, open);
+            if (close < 0) {
+                throw new IllegalStateException("Not a single-row INSERT ... VALUES statement: " + sql);
+            }
+            String prefix = sql.substring(0, open);
+            String suffix = sql.substring(close + 1).trim();
+            if (prefix.indexOf('?') >= 0 || suffix.indexOf('?') >= 0) {
+                throw new IllegalStateException("Placeholders outside VALUES cannot be batched: " + sql);
+            }
+            if (upsertClause != null) {
+                if (!suffix.isEmpty()) {
+                    throw new IllegalStateException("Statement already has a trailing clause: " + suffix);
+                }
+                suffix = upsertClause;
+            } else if (!suffix.isEmpty()) {
+                suffix = " " + suffix;
+            }
+            int params = Math.max(1, boundSql.getParameterMappings().size());
+            int maxRows = Math.max(1, Math.min(properties.getChunkSize(), properties.getMaxParameters() / params));
+            return new Template(sql, prefix, sql.substring(open, close + 1), suffix, maxRows, generatedKey);
+        }
+
+        String sqlFor(int rows) {
+            if (rows == maxRows && fullChunkSql != null) {
+                return fullChunkSql;
+            }
+            StringBuilder sb = new StringBuilder(prefix.length() + (tuple.length() + 2) * rows + suffix.length());
+            sb.append(prefix);
+            for (int i = 0; i < rows; i++) {
+                sb.append(i == 0 ? "" : ", ").append(tuple);
+            }
+            String built = sb.append(suffix).toString();
+            if (rows == maxRows) {
+                fullChunkSql = built;
+            }
+            return built;
+        }
+
+        private static int matchingParen(String sql, int open) {
+            int depth = 0;
+            boolean quoted = false;
+            for (int i = open; i < sql.length(); i++) {
+                char c = sql.charAt(i);
+                if (c == '\'') {
+                    quoted = !quoted;
+                } else if (!quoted && c == '(') {
+                    depth++;
+                } else if (!quoted && c == ')' && --depth == 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
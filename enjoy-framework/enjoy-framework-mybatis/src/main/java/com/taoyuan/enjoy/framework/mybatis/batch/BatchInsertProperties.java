@@ -0,0 +1,49 @@
+package com.taoyuan.enjoy.framework.mybatis.batch;
+
+/**
+ * 批量插入配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class BatchInsertProperties {
+
+    /**
+     * 每条多行 INSERT 最多包含的行数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 单条语句最多绑定参数数（MySQL 预编译上限 65535），行数按此再收紧
+     */
+    private int maxParameters = 65_535;
+
+    /**
+     * 主键为空时是否用 IdGenerator 预先填充；只对显式插入主键列的语句生效，自增主键表保持关闭
+     */
+    private boolean fillId = false;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    public void setMaxParameters(int maxParameters) {
+        this.maxParameters = maxParameters;
+    }
+
+    public boolean isFillId() {
+        return fillId;
+    }
+
+    public void setFillId(boolean fillId) {
+        this.fillId = fillId;
+    }
+}
@@ -0,0 +1,67 @@
+package com.taoyuan.enjoy.framework.mybatis.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量插入结果
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class BatchResult {
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private int rows;
+    private long affected;
+    private long totalNanos;
+
+    void add(int chunkRows, int chunkAffected, long nanos) {
+        chunks.add(new Chunk(chunkRows, chunkAffected, nanos));
+        rows += chunkRows;
+        affected += chunkAffected;
+        totalNanos += nanos;
+    }
+
+    /**
+     * 提交的行数
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * 数据库返回的影响行数之和（ON DUPLICATE KEY UPDATE 时更新的行计为 2）
+     */
+    public long getAffected() {
+        return affected;
+    }
+
+    public long getTotalMillis() {
+        return totalNanos / 1_000_000L;
+    }
+
+    /**
+     * 各分块耗时
+     */
+    public List<Chunk> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{rows=" + rows + ", chunks=" + chunks.size() + ", affected=" + affected
+                + ", totalMillis=" + getTotalMillis() + '}';
+    }
+
+    /**
+     * 分块统计
+     *
+     * @param rows     行数
+     * @param affected 影响行数
+     * @param nanos    执行耗时（纳秒）
+     */
+    public record Chunk(int rows, int affected, long nanos) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.function.Supplier;
+
+/**
+ * 数据权限上下文
+ * 当前线程没有用户时查询一律按无权限处理，系统任务等受信任的调用需显式放在 {@link #ignore} 范围内执行
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class DataPermissionContext {
+
+    private static final ThreadLocal<Boolean> IGNORED = new ThreadLocal<>();
+
+    private DataPermissionContext() {
+    }
+
+    /**
+     * 在不做数据权限过滤的范围内执行，可嵌套
+     *
+     * @param action 受信任的调用
+     * @return 调用结果
+     */
+    public static <T> T ignore(Supplier<T> action) {
+        Boolean previous = IGNORED.get();
+        IGNORED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                IGNORED.remove();
+            } else {
+                IGNORED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 在不做数据权限过滤的范围内执行，可嵌套
+     *
+     * @param action 受信任的调用
+     */
+    public static void ignore(Runnable action) {
+        ignore(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 当前线程是否处于不过滤范围内
+     */
+    public static boolean isIgnored() {
+        return IGNORED.get() != null;
+    }
+}
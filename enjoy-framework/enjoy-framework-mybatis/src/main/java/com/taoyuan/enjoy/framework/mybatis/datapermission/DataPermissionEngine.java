@@ -0,0 +1,119 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据权限引擎
+ * 按 (租户, 用户) 缓存角色数据，按 (表, 别名) 缓存编译后的条件，查询路径上只有两次哈希查找。
+ * 用户角色变更调用 {@link #invalidateUser}；角色或规则变更影响面不确定，调用 {@link #invalidateAll}
+ * 递增全局版本，旧条目在下次访问时重新加载
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class DataPermissionEngine {
+
+    private final DataPermissionSource source;
+    private final DataPermissionCompiler compiler;
+    private final int maxCachedUsers;
+    private final Map<UserKey, UserEntry> users = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    /**
+     * 用户失效次数，加载期间发生失效时不缓存加载结果
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DataPermissionEngine(DataPermissionSource source, DataPermissionProperties properties) {
+        this.source = Objects.requireNonNull(source);
+        this.compiler = new DataPermissionCompiler(properties);
+        this.maxCachedUsers = Math.max(1, properties.getMaxCachedUsers());
+    }
+
+    /**
+     * 获取用户在某张表上的数据权限条件
+     *
+     * @param subject 当前用户
+     * @param table   表名
+     * @param alias   表别名，可为空
+     * @return 条件
+     */
+    public DataPermissionPredicate predicate(DataPermissionSubject subject, String table, String alias) {
+        UserEntry entry = entry(subject);
+        String key = alias == null || alias.isEmpty() ? table : table + ' ' + alias;
+        DataPermissionPredicate predicate = entry.predicates.get(key);
+        if (predicate == null) {
+            predicate = entry.predicates.computeIfAbsent(key,
+                    k -> compiler.compile(subject, entry.roles, table, alias));
+        }
+        return predicate;
+    }
+
+    /**
+     * 用户角色或部门变更
+     */
+    public void invalidateUser(Long tenantId, Long userId) {
+        invalidations.incrementAndGet();
+        users.remove(new UserKey(tenantId, userId));
+    }
+
+    /**
+     * 角色数据范围、规则或角色规则关联变更
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 当前缓存的用户数
+     */
+    public int cachedUsers() {
+        return users.size();
+    }
+
+    private UserEntry entry(DataPermissionSubject subject) {
+        UserKey key = new UserKey(subject.tenantId(), subject.userId());
+        long current = generation.get();
+        UserEntry entry = users.get(key);
+        if (entry != null && entry.generation == current && Objects.equals(entry.deptId, subject.deptId())) {
+            return entry;
+        }
+        long stamp = invalidations.get();
+        List<RoleDataPermission> roles = source.loadRoles(subject.tenantId(), subject.userId());
+        entry = new UserEntry(current, subject.deptId(), roles == null ? List.of() : List.copyOf(roles));
+        if (users.size() >= maxCachedUsers) {
+            Iterator<UserKey> it = users.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        users.put(key, entry);
+        // 失效先计数再移除：计数变化说明加载的角色可能早于失效，撤回刚放入的条目
+        if (invalidations.get() != stamp) {
+            users.remove(key, entry);
+        }
+        return entry;
+    }
+
+    private record UserKey(Long tenantId, Long userId) {
+    }
+
+    private static final class UserEntry {
+
+        private final long generation;
+        private final Long deptId;
+        private final List<RoleDataPermission> roles;
+        private final Map<String, DataPermissionPredicate> predicates = new ConcurrentHashMap<>();
+
+        private UserEntry(long generation, Long deptId, List<RoleDataPermission> roles) {
+            this.generation = generation;
+            this.deptId = deptId;
+            this.roles = roles;
+        }
+    }
+}
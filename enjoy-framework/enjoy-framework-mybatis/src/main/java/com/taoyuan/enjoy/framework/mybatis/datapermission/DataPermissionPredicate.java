@@ -0,0 +1,28 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.List;
+
+/**
+ * 编译后的数据权限条件：带占位符的SQL片段及按顺序排列的绑定参数
+ *
+ * @param sql    SQL片段，不含前导 AND；为空表示不限制
+ * @param params 绑定参数
+ * @author enjoy
+ * @version 1.0
+ */
+public record DataPermissionPredicate(String sql, List<Object> params) {
+
+    /**
+     * 不限制
+     */
+    public static final DataPermissionPredicate ALLOW_ALL = new DataPermissionPredicate(null, List.of());
+
+    /**
+     * 无任何数据权限
+     */
+    public static final DataPermissionPredicate DENY_ALL = new DataPermissionPredicate("1 = 0", List.of());
+
+    public boolean isAllowAll() {
+        return sql == null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 数据权限配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class DataPermissionProperties {
+
+    /**
+     * 默认部门字段
+     */
+    private String deptColumn = "dept_id";
+
+    /**
+     * 默认用户字段
+     */
+    private String userColumn = "user_id";
+
+    /**
+     * 按表覆盖部门字段，表名 -> 字段名；字段名为空字符串表示该表无部门字段（部门类范围按无权限处理）
+     */
+    private Map<String, String> tableDeptColumns = new HashMap<>();
+
+    /**
+     * 按表覆盖用户字段，表名 -> 字段名；字段名为空字符串表示该表无用户字段
+     */
+    private Map<String, String> tableUserColumns = new HashMap<>();
+
+    /**
+     * 编译缓存最多保存的用户数
+     */
+    private int maxCachedUsers = 10000;
+
+    public String getDeptColumn() {
+        return deptColumn;
+    }
+
+    public void setDeptColumn(String deptColumn) {
+        this.deptColumn = deptColumn;
+    }
+
+    public String getUserColumn() {
+        return userColumn;
+    }
+
+    public void setUserColumn(String userColumn) {
+        this.userColumn = userColumn;
+    }
+
+    public Map<String, String> getTableDeptColumns() {
+        return tableDeptColumns;
+    }
+
+    public void setTableDeptColumns(Map<String, String> tableDeptColumns) {
+        this.tableDeptColumns = tableDeptColumns;
+    }
+
+    public Map<String, String> getTableUserColumns() {
+        return tableUserColumns;
+    }
+
+    public void setTableUserColumns(Map<String, String> tableUserColumns) {
+        this.tableUserColumns = tableUserColumns;
+    }
+
+    public int getMaxCachedUsers() {
+        return maxCachedUsers;
+    }
+
+    public void setMaxCachedUsers(int maxCachedUsers) {
+        this.maxCachedUsers = maxCachedUsers;
+    }
+
+    String deptColumnOf(String table) {
+        return tableDeptColumns.getOrDefault(table, deptColumn);
+    }
+
+    String userColumnOf(String table) {
+        return tableUserColumns.getOrDefault(table, userColumn);
+    }
+}
@@ -0,0 +1,106 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+/**
+ * 数据权限规则，对应 sys_data_permission_rule 的一行
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class DataPermissionRule {
+
+    public static final String TYPE_DEPT = "DEPT";
+    public static final String TYPE_USER = "USER";
+    public static final String TYPE_ROLE = "ROLE";
+    public static final String TYPE_CUSTOM = "CUSTOM";
+
+    /**
+     * 规则ID
+     */
+    private Long id;
+
+    /**
+     * 表名
+     */
+    private String tableName;
+
+    /**
+     * 字段名
+     */
+    private String columnName;
+
+    /**
+     * 规则类型：DEPT / USER / ROLE / CUSTOM
+     */
+    private String ruleType;
+
+    /**
+     * 规则值，JSON数组，如 [1, 2, "#{deptId}"]
+     */
+    private String ruleValue;
+
+    /**
+     * 规则表达式，CUSTOM 类型使用，可引用 #{userId} / #{deptId} / #{tenantId}
+     */
+    private String ruleExpression;
+
+    /**
+     * 状态：1-正常，0-停用
+     */
+    private Integer status;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public String getRuleType() {
+        return ruleType;
+    }
+
+    public void setRuleType(String ruleType) {
+        this.ruleType = ruleType;
+    }
+
+    public String getRuleValue() {
+        return ruleValue;
+    }
+
+    public void setRuleValue(String ruleValue) {
+        this.ruleValue = ruleValue;
+    }
+
+    public String getRuleExpression() {
+        return ruleExpression;
+    }
+
+    public void setRuleExpression(String ruleExpression) {
+        this.ruleExpression = ruleExpression;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+}
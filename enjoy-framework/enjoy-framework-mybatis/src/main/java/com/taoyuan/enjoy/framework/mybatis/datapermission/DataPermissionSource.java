@@ -0,0 +1,22 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.List;
+
+/**
+ * 数据权限来源，由业务模块实现（查询用户的启用角色及其关联规则）
+ * 只在编译缓存未命中时调用
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface DataPermissionSource {
+
+    /**
+     * 加载用户的角色数据权限
+     *
+     * @param tenantId 租户ID
+     * @param userId   用户ID
+     * @return 角色数据权限，无角色返回空列表
+     */
+    List<RoleDataPermission> loadRoles(Long tenantId, Long userId);
+}
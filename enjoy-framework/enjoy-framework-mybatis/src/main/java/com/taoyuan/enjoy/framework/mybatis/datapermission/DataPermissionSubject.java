@@ -0,0 +1,13 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+/**
+ * 数据权限主体，即当前查询的用户
+ *
+ * @param tenantId 租户ID
+ * @param userId   用户ID
+ * @param deptId   所属部门ID，可为空
+ * @author enjoy
+ * @version 1.0
+ */
+public record DataPermissionSubject(Long tenantId, Long userId, Long deptId) {
+}
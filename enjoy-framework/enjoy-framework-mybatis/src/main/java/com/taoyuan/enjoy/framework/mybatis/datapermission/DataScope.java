@@ -0,0 +1,45 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+/**
+ * 角色数据范围，对应 sys_role.data_scope
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum DataScope {
+
+    /**
+     * 全部数据
+     */
+    ALL,
+
+    /**
+     * 本部门
+     */
+    DEPT,
+
+    /**
+     * 本部门及子部门
+     */
+    DEPT_AND_CHILD,
+
+    /**
+     * 仅本人
+     */
+    SELF,
+
+    /**
+     * 自定义部门，取 data_scope_dept_ids
+     */
+    CUSTOM;
+
+    /**
+     * 解析数据库中的取值，空值按 SELF 处理（与表默认值一致）
+     */
+    public static DataScope of(String value) {
+        if (value == null || value.isEmpty()) {
+            return SELF;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
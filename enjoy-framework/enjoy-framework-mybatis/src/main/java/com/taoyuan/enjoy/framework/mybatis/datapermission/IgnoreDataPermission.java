@@ -0,0 +1,20 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 不做数据权限过滤
+ * 标注在 Mapper 方法或 Mapper 接口上，用于系统任务等受信任的查询；无法标注的调用使用 {@link DataPermissionContext#ignore}
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IgnoreDataPermission {
+}
@@ -0,0 +1,65 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 角色的数据权限：sys_role 的 data_scope / data_scope_dept_ids 及经 sys_role_data_permission 关联的规则
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class RoleDataPermission {
+
+    /**
+     * 角色ID
+     */
+    private Long roleId;
+
+    /**
+     * 数据范围：ALL / DEPT / DEPT_AND_CHILD / SELF / CUSTOM
+     */
+    private String dataScope;
+
+    /**
+     * 自定义数据范围的部门，逗号分隔
+     */
+    private String dataScopeDeptIds;
+
+    /**
+     * 关联的启用规则
+     */
+    private List<DataPermissionRule> rules = new ArrayList<>();
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public void setRoleId(Long roleId) {
+        this.roleId = roleId;
+    }
+
+    public String getDataScope() {
+        return dataScope;
+    }
+
+    public void setDataScope(String dataScope) {
+        this.dataScope = dataScope;
+    }
+
+    public String getDataScopeDeptIds() {
+        return dataScopeDeptIds;
+    }
+
+    public void setDataScopeDeptIds(String dataScopeDeptIds) {
+        this.dataScopeDeptIds = dataScopeDeptIds;
+    }
+
+    public List<DataPermissionRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<DataPermissionRule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,100 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 改写 BoundSql 的公共方法：替换SQL文本并在指定位置插入附加绑定参数
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class BoundSqls {
+
+    private BoundSqls() {
+    }
+
+    /**
+     * 复制 BoundSql，替换SQL并在第 index 个参数位置插入附加参数
+     *
+     * @param configuration 配置
+     * @param source        原 BoundSql
+     * @param sql           新SQL
+     * @param index         插入位置（新增占位符之前的占位符数量）
+     * @param values        附加参数值，不能为 null
+     * @param namePrefix    附加参数名前缀，同一语句的多次插入需不同
+     * @return 新 BoundSql
+     */
+    static BoundSql rewrite(Configuration configuration, BoundSql source, String sql, int index,
+                            List<Object> values, String namePrefix) {
+        List<ParameterMapping> mappings = new ArrayList<>(source.getParameterMappings().size() + values.size());
+        mappings.addAll(source.getParameterMappings());
+        for (int i = 0; i < values.size(); i++) {
+            mappings.add(index + i,
+                    new ParameterMapping.Builder(configuration, namePrefix + i, values.get(i).getClass()).build());
+        }
+        BoundSql rewritten = new BoundSql(configuration, sql, mappings, source.getParameterObject());
+        source.getAdditionalParameters().forEach(rewritten::setAdditionalParameter);
+        for (int i = 0; i < values.size(); i++) {
+            rewritten.setAdditionalParameter(namePrefix + i, values.get(i));
+        }
+        return rewritten;
+    }
+
+    /**
+     * 复制 BoundSql，只替换SQL
+     */
+    static BoundSql rewrite(Configuration configuration, BoundSql source, String sql) {
+        return rewrite(configuration, source, sql, 0, List.of(), "");
+    }
+
+    /**
+     * 按参数映射顺序解析绑定参数值，取值规则与 DefaultParameterHandler 一致
+     */
+    static List<Object> parameterValues(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(mappings.size());
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            String name = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(name)) {
+                value = boundSql.getAdditionalParameter(name);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(name);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 指定位置之前的占位符数量，跳过字符串字面量中的问号
+     */
+    static int placeholdersBefore(String sql, int end) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < end; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
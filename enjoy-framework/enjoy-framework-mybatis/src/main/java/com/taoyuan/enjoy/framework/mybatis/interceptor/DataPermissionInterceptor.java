@@ -0,0 +1,155 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionContext;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionEngine;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionPredicate;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionSubject;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.IgnoreDataPermission;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 数据权限拦截器
+ * 查询语句中写入标记 {@code /*DATA_SCOPE:表名 别名*}{@code /}（别名可省略），标记需位于 WHERE 条件之后，
+ * 例如 {@code WHERE u.deleted = 0 /*DATA_SCOPE:sys_user u*}{@code /}；
+ * 拦截器把标记替换为 {@code AND (条件)}，条件的值以绑定参数追加；同一语句中的每个标记（UNION 各分支、子查询）都会替换。
+ * 没有标记的语句直接放行；当前无用户时按无权限处理（{@code AND (1 = 0)}），系统任务等受信任的查询须标注 {@link IgnoreDataPermission}
+ * 或在 {@link DataPermissionContext#ignore} 范围内执行
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class DataPermissionInterceptor implements Interceptor {
+
+    public static final String MARKER_PREFIX = "/*DATA_SCOPE:";
+    private static final String MARKER_SUFFIX = "*/";
+    private static final String PARAM_PREFIX = "__dataScope_";
+
+    private final DataPermissionEngine engine;
+    private final Supplier<DataPermissionSubject> subjectSupplier;
+    private final Map<String, Boolean> ignoredStatements = new ConcurrentHashMap<>();
+
+    /**
+     * @param engine          数据权限引擎
+     * @param subjectSupplier 当前用户，返回 null 表示无用户（查询不到任何数据）
+     */
+    public DataPermissionInterceptor(DataPermissionEngine engine, Supplier<DataPermissionSubject> subjectSupplier) {
+        this.engine = Objects.requireNonNull(engine);
+        this.subjectSupplier = Objects.requireNonNull(subjectSupplier);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        Object parameter = args[1];
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        String sql = boundSql.getSql();
+        int start = sql.indexOf(MARKER_PREFIX);
+        if (start < 0) {
+            return invocation.proceed();
+        }
+        List<int[]> markers = new ArrayList<>(2);
+        while (start >= 0) {
+            int end = sql.indexOf(MARKER_SUFFIX, start + MARKER_PREFIX.length());
+            if (end < 0) {
+                throw new IllegalStateException("Unclosed data scope marker in " + ms.getId());
+            }
+            markers.add(new int[]{start, end});
+            start = sql.indexOf(MARKER_PREFIX, end + MARKER_SUFFIX.length());
+        }
+        boolean ignored = DataPermissionContext.isIgnored() || isIgnored(ms);
+        DataPermissionSubject subject = ignored ? null : subjectSupplier.get();
+        BoundSql rewritten = boundSql;
+        // 从后往前替换，前面标记的位置与占位符计数不受影响
+        for (int i = markers.size() - 1; i >= 0; i--) {
+            int[] marker = markers.get(i);
+            DataPermissionPredicate predicate;
+            if (ignored) {
+                predicate = DataPermissionPredicate.ALLOW_ALL;
+            } else if (subject == null) {
+                predicate = DataPermissionPredicate.DENY_ALL;
+            } else {
+                String[] target = sql.substring(marker[0] + MARKER_PREFIX.length(), marker[1]).trim().split("\\s+");
+                predicate = engine.predicate(subject, target[0], target.length > 1 ? target[1] : null);
+            }
+            rewritten = rewrite(ms.getConfiguration(), rewritten, marker[0], marker[1] + MARKER_SUFFIX.length(),
+                    predicate, PARAM_PREFIX + i + '_');
+        }
+        Executor executor = (Executor) invocation.getTarget();
+        RowBounds rowBounds = (RowBounds) args[2];
+        CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, rewritten);
+        return executor.query(ms, parameter, rowBounds, (ResultHandler<?>) args[3], cacheKey, rewritten);
+    }
+
+    private boolean isIgnored(MappedStatement ms) {
+        Boolean ignored = ignoredStatements.get(ms.getId());
+        if (ignored == null) {
+            ignored = ignoredStatements.computeIfAbsent(ms.getId(), id -> resolveIgnored(ms));
+        }
+        return ignored;
+    }
+
+    /**
+     * 按语句ID（Mapper全限定名.方法名）查找 Mapper 接口与方法上的 {@link IgnoreDataPermission}
+     */
+    private static boolean resolveIgnored(MappedStatement ms) {
+        String id = ms.getId();
+        int dot = id.lastIndexOf('.');
+        if (dot < 0) {
+            return false;
+        }
+        Class<?> mapper;
+        try {
+            mapper = Resources.classForName(id.substring(0, dot));
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        if (mapper.isAnnotationPresent(IgnoreDataPermission.class)) {
+            return true;
+        }
+        String name = id.substring(dot + 1);
+        for (Method method : mapper.getMethods()) {
+            if (method.getName().equals(name) && method.isAnnotationPresent(IgnoreDataPermission.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BoundSql rewrite(Configuration configuration, BoundSql boundSql, int start, int end,
+                                    DataPermissionPredicate predicate, String paramPrefix) {
+        String sql = boundSql.getSql();
+        StringBuilder newSql = new StringBuilder(sql.length() + 64).append(sql, 0, start);
+        if (!predicate.isAllowAll()) {
+            newSql.append(" AND (").append(predicate.sql()).append(')');
+        }
+        newSql.append(sql, end, sql.length());
+        return BoundSqls.rewrite(configuration, boundSql, newSql.toString(),
+                BoundSqls.placeholdersBefore(sql, start), predicate.params(), paramPrefix);
+    }
+}
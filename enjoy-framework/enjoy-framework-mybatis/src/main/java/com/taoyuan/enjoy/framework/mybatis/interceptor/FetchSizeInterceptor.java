@@ -0,0 +1,55 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * 流式查询 fetchSize 拦截器
+ * 在 {@link #run(int, Runnable)} 范围内创建的语句使用指定的 fetchSize，覆盖映射文件中的配置，
+ * 用于导出等需要逐行读取结果集的场景。MySQL 逐行流式读取取 {@link Integer#MIN_VALUE}，
+ * 流式读取期间同一连接不能执行其他语句，因此范围内的查询不能包含嵌套查询
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class FetchSizeInterceptor implements Interceptor {
+
+    private static final ThreadLocal<Integer> FETCH_SIZE = new ThreadLocal<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Integer fetchSize = FETCH_SIZE.get();
+        if (fetchSize != null && result instanceof Statement statement) {
+            statement.setFetchSize(fetchSize);
+        }
+        return result;
+    }
+
+    /**
+     * 以指定 fetchSize 执行
+     *
+     * @param fetchSize fetchSize
+     * @param action    查询
+     */
+    public static void run(int fetchSize, Runnable action) {
+        Integer previous = FETCH_SIZE.get();
+        FETCH_SIZE.set(fetchSize);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                FETCH_SIZE.remove();
+            } else {
+                FETCH_SIZE.set(previous);
+            }
+        }
+    }
+}
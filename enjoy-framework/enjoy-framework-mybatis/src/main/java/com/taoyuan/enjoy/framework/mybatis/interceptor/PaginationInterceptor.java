@@ -0,0 +1,329 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.common.enums.CountModeEnum;
+import com.taoyuan.enjoy.framework.common.model.PageRequest;
+import com.taoyuan.enjoy.framework.log.trace.Span;
+import com.taoyuan.enjoy.framework.log.trace.Tracer;
+import com.taoyuan.enjoy.framework.mybatis.pagination.CountCache;
+import com.taoyuan.enjoy.framework.mybatis.pagination.CountSqlBuilder;
+import com.taoyuan.enjoy.framework.mybatis.pagination.KeysetCursor;
+import com.taoyuan.enjoy.framework.mybatis.pagination.KeysetSpec;
+import com.taoyuan.enjoy.framework.mybatis.pagination.OrderByItem;
+import com.taoyuan.enjoy.framework.mybatis.pagination.PaginationProperties;
+import com.taoyuan.enjoy.framework.mybatis.pagination.SqlScanner;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 分页拦截器
+ * 查询参数为 {@link PageRequest}（或 @Param 参数中含有 PageRequest）时生效：
+ * 页码模式追加 LIMIT offset, size；游标模式把上一页末行的排序键改写为 WHERE 条件并追加 LIMIT size，
+ * 翻页代价与页数无关。总数按 {@link CountModeEnum} 统计，游标模式只在首页统计；
+ * 统计SQL由 {@link CountSqlBuilder} 推导，结果按 (租户, 统计SQL, 参数) 短时缓存。
+ * 多取一行判断是否有下一页，结果回填到 PageRequest。
+ * 需注册在数据权限拦截器之前（MyBatis 后注册的插件先执行），以便统计与分页基于已追加数据权限的SQL
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class PaginationInterceptor implements Interceptor {
+
+    private static final String KEYSET_PARAM_PREFIX = "__keyset_";
+    private static final String LIMIT_PARAM_PREFIX = "__limit_";
+    private static final String SPAN_NAME = "sql";
+
+    private final CountSqlBuilder countSqlBuilder;
+    private final CountCache countCache;
+    private final int countCap;
+    private final Supplier<Long> tenantIdSupplier;
+
+    public PaginationInterceptor() {
+        this(new PaginationProperties(), () -> null);
+    }
+
+    /**
+     * @param properties       分页配置
+     * @param tenantIdSupplier 当前租户，用于隔离总数缓存
+     */
+    public PaginationInterceptor(PaginationProperties properties, Supplier<Long> tenantIdSupplier) {
+        this.countSqlBuilder = new CountSqlBuilder(properties);
+        this.countCache = new CountCache(properties.getCountCacheTtlMillis(), properties.getCountCacheMaxEntries());
+        this.countCap = Math.max(1, properties.getCountCap());
+        this.tenantIdSupplier = Objects.requireNonNull(tenantIdSupplier);
+    }
+
+    /**
+     * 总数缓存，数据批量变更后可清空
+     */
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        Object parameter = args[1];
+        PageRequest page = ms.getSqlCommandType() == SqlCommandType.SELECT ? findPageRequest(parameter) : null;
+        if (page == null) {
+            return invocation.proceed();
+        }
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        Executor executor = (Executor) invocation.getTarget();
+        ResultHandler<?> resultHandler = (ResultHandler<?>) args[3];
+        return page.isKeyset()
+                ? keysetPage(executor, ms, parameter, resultHandler, boundSql, page)
+                : offsetPage(executor, ms, parameter, resultHandler, boundSql, page);
+    }
+
+    private List<Object> offsetPage(Executor executor, MappedStatement ms, Object parameter,
+                                    ResultHandler<?> resultHandler, BoundSql boundSql, PageRequest page) throws SQLException {
+        String sql = boundSql.getSql();
+        if (SqlScanner.indexOfKeyword(sql, "LIMIT", 0) >= 0) {
+            throw new IllegalStateException("Paged statement must not contain LIMIT: " + ms.getId());
+        }
+        Long total = count(executor, ms, boundSql, sql, page);
+        page.setTotal(total);
+        if (total != null && page.getCountMode() == CountModeEnum.EXACT && !page.isTotalCapped() && page.getOffset() >= total) {
+            page.setHasNext(false);
+            return new ArrayList<>();
+        }
+        Configuration configuration = ms.getConfiguration();
+        String pageSql = sql + " LIMIT ?, ?";
+        BoundSql pageBoundSql = BoundSqls.rewrite(configuration, boundSql, pageSql,
+                boundSql.getParameterMappings().size(), List.of(page.getOffset(), page.getPageSize() + 1), LIMIT_PARAM_PREFIX);
+        List<Object> rows = query(executor, ms, parameter, resultHandler, pageBoundSql);
+        page.setHasNext(rows.size() > page.getPageSize());
+        return page.isHasNext() ? new ArrayList<>(rows.subList(0, page.getPageSize())) : rows;
+    }
+
+    private List<Object> keysetPage(Executor executor, MappedStatement ms, Object parameter,
+                                    ResultHandler<?> resultHandler, BoundSql boundSql, PageRequest page) throws SQLException {
+        Configuration configuration = ms.getConfiguration();
+        KeysetSpec spec = KeysetSpec.parse(boundSql.getSql());
+        String body = spec.getBody();
+        boolean firstPage = page.getCursor() == null || page.getCursor().isEmpty();
+        page.setTotal(firstPage ? count(executor, ms, boundSql, boundSql.getSql(), page) : null);
+
+        BoundSql seekBoundSql = boundSql;
+        String pageSql;
+        if (firstPage) {
+            pageSql = boundSql.getSql() + " LIMIT ?";
+        } else {
+            Object[] values = KeysetCursor.decode(page.getCursor(), spec.getFingerprint(), spec.getItems().size());
+            List<Object> params = new ArrayList<>();
+            String condition = spec.seekCondition(values, params);
+            int wherePos = SqlScanner.indexOfKeyword(body, "WHERE", 0);
+            String seekBody;
+            if (wherePos >= 0) {
+                int whereEnd = SqlScanner.keywordEnd(body, wherePos, "WHERE");
+                seekBody = body.substring(0, whereEnd) + " (" + body.substring(whereEnd).trim() + ") AND " + condition;
+            } else {
+                seekBody = body.stripTrailing() + " WHERE " + condition;
+            }
+            pageSql = seekBody + ' ' + spec.getOrderBy() + " LIMIT ?";
+            seekBoundSql = BoundSqls.rewrite(configuration, boundSql, pageSql,
+                    BoundSqls.placeholdersBefore(body, body.length()), params, KEYSET_PARAM_PREFIX);
+        }
+        BoundSql pageBoundSql = BoundSqls.rewrite(configuration, seekBoundSql, pageSql,
+                seekBoundSql.getParameterMappings().size(), List.of(page.getPageSize() + 1), LIMIT_PARAM_PREFIX);
+        List<Object> rows = query(executor, ms, parameter, resultHandler, pageBoundSql);
+        boolean hasNext = rows.size() > page.getPageSize();
+        page.setHasNext(hasNext);
+        if (!hasNext) {
+            page.setNextCursor(null);
+            return rows;
+        }
+        rows = new ArrayList<>(rows.subList(0, page.getPageSize()));
+        page.setNextCursor(KeysetCursor.encode(spec.getFingerprint(), keyValues(ms, rows.get(rows.size() - 1), spec)));
+        return rows;
+    }
+
+    private static List<Object> query(Executor executor, MappedStatement ms, Object parameter,
+                                      ResultHandler<?> resultHandler, BoundSql boundSql) throws SQLException {
+        CacheKey cacheKey = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+        return executor.query(ms, parameter, RowBounds.DEFAULT, resultHandler, cacheKey, boundSql);
+    }
+
+    /**
+     * 统计总数，NONE 返回 null；估算失败（非 MySQL 或无执行计划权限）时退回精确统计
+     *
+     * @param listSql 不含 LIMIT 的列表SQL
+     */
+    private Long count(Executor executor, MappedStatement ms, BoundSql boundSql, String listSql,
+                       PageRequest page) throws SQLException {
+        CountModeEnum mode = page.getCountMode();
+        page.setTotalCapped(false);
+        if (mode == CountModeEnum.NONE) {
+            return null;
+        }
+        Configuration configuration = ms.getConfiguration();
+        if (mode == CountModeEnum.ESTIMATED) {
+            try {
+                return queryForLong(executor, ms, BoundSqls.rewrite(configuration, boundSql,
+                        "EXPLAIN " + stripOrderBy(listSql)), true);
+            } catch (SQLException e) {
+                mode = CountModeEnum.EXACT;
+            }
+        }
+        CountSqlBuilder.CountSql countSql = countSqlBuilder.build(listSql);
+        BoundSql countBoundSql = mode == CountModeEnum.CAPPED
+                ? BoundSqls.rewrite(configuration, boundSql, countSql.capped(), boundSql.getParameterMappings().size(),
+                List.of(countCap + 1), LIMIT_PARAM_PREFIX)
+                : BoundSqls.rewrite(configuration, boundSql, countSql.exact());
+
+        Long total = null;
+        CountCache.Key key = null;
+        long now = System.currentTimeMillis();
+        if (countCache.isEnabled()) {
+            key = new CountCache.Key(tenantIdSupplier.get(), countBoundSql.getSql(),
+                    BoundSqls.parameterValues(configuration, countBoundSql));
+            total = countCache.get(key, now);
+        }
+        if (total == null) {
+            total = queryForLong(executor, ms, countBoundSql, false);
+            if (key != null) {
+                countCache.put(key, total, now);
+            }
+        }
+        if (mode == CountModeEnum.CAPPED && total > countCap) {
+            page.setTotalCapped(true);
+            return (long) countCap;
+        }
+        return total;
+    }
+
+    private static long queryForLong(Executor executor, MappedStatement ms, BoundSql boundSql,
+                                     boolean explain) throws SQLException {
+        Span span = Tracer.currentSpan() == null ? null : Tracer.startSpan(SPAN_NAME);
+        try {
+            if (span != null) {
+                span.tag(ms.getId() + (explain ? ".explain" : ".count"));
+            }
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement ps = connection.prepareStatement(boundSql.getSql())) {
+                if (ms.getTimeout() != null) {
+                    ps.setQueryTimeout(ms.getTimeout());
+                }
+                new DefaultParameterHandler(ms, boundSql.getParameterObject(), boundSql).setParameters(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return 0L;
+                    }
+                    if (!explain) {
+                        return rs.getLong(1);
+                    }
+                    // 驱动表的预估行数 × 过滤比例
+                    return Math.round(rs.getLong("rows") * rs.getDouble("filtered") / 100.0);
+                }
+            }
+        } catch (SQLException e) {
+            if (span != null) {
+                span.error(e);
+            }
+            throw e;
+        } finally {
+            if (span != null) {
+                span.close();
+            }
+        }
+    }
+
+    private static String stripOrderBy(String sql) {
+        int orderPos = SqlScanner.lastIndexOfKeyword(sql, "ORDER BY");
+        return orderPos < 0 ? sql : sql.substring(0, orderPos);
+    }
+
+    private static Object[] keyValues(MappedStatement ms, Object row, KeysetSpec spec) {
+        List<OrderByItem> items = spec.getItems();
+        Object[] values = new Object[items.size()];
+        MetaObject meta = row instanceof Map ? null : ms.getConfiguration().newMetaObject(row);
+        for (int i = 0; i < items.size(); i++) {
+            String column = items.get(i).columnName();
+            if (row instanceof Map<?, ?> map) {
+                values[i] = mapValue(map, column);
+            } else {
+                values[i] = meta.getValue(propertyOf(ms, column));
+            }
+        }
+        return values;
+    }
+
+    private static Object mapValue(Map<?, ?> map, String column) {
+        Object value = map.get(column);
+        if (value == null) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (column.equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return value;
+    }
+
+    private static String propertyOf(MappedStatement ms, String column) {
+        for (ResultMap resultMap : ms.getResultMaps()) {
+            for (ResultMapping mapping : resultMap.getResultMappings()) {
+                if (column.equalsIgnoreCase(mapping.getColumn())) {
+                    return mapping.getProperty();
+                }
+            }
+        }
+        StringBuilder property = new StringBuilder(column.length());
+        boolean upper = false;
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c == '_') {
+                upper = property.length() > 0;
+            } else {
+                property.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return property.toString();
+    }
+
+    private static PageRequest findPageRequest(Object parameter) {
+        if (parameter instanceof PageRequest page) {
+            return page;
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            for (Object value : map.values()) {
+                if (value instanceof PageRequest page) {
+                    return page;
+                }
+            }
+        }
+        return null;
+    }
+}
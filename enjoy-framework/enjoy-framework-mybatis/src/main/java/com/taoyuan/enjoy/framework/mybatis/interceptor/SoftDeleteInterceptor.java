@@ -0,0 +1,185 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.common.enums.DeletedEnum;
+import com.taoyuan.enjoy.framework.mybatis.pagination.SqlScanner;
+import com.taoyuan.enjoy.framework.mybatis.softdelete.SoftDeleteProperties;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 逻辑删除过滤拦截器
+ * 主表（第一个顶层 FROM 的表）在配置表中、且主查询的 ON / WHERE 条件未自行约束主表 deleted 字段时，追加 {@code 别名.deleted = 0}；
+ * 查询列、子查询及其他表对 deleted 的引用不影响判断。
+ * 与 (业务键, deleted) 唯一索引及以 deleted 结尾的普通索引前缀匹配。连接表、UNION 查询不处理。
+ * 改写结果按原SQL缓存。需注册在分页拦截器之后、数据权限拦截器之前
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SoftDeleteInterceptor implements Interceptor {
+
+    private static final Pattern FROM_TABLE = Pattern.compile(
+            "\\s*`?([A-Za-z_][A-Za-z0-9_]*)`?(?:\\s+(?:AS\\s+)?`?([A-Za-z_][A-Za-z0-9_]*)`?)?", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NOT_ALIAS = Set.of("WHERE", "LEFT", "RIGHT", "INNER", "JOIN", "CROSS", "ORDER",
+            "GROUP", "LIMIT", "HAVING", "FOR", "UNION", "STRAIGHT_JOIN", "FULL", "NATURAL", "USE", "FORCE", "IGNORE");
+    private static final String[] WHERE_TERMINATORS = {"GROUP BY", "HAVING", "ORDER BY", "LIMIT", "FOR UPDATE"};
+    private static final int MAX_CACHED = 2000;
+
+    private final Set<String> tables;
+    private final String column;
+    private final Map<String, String> rewritten = new ConcurrentHashMap<>();
+
+    public SoftDeleteInterceptor(SoftDeleteProperties properties) {
+        this.tables = properties.getTables().stream().map(t -> t.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.column = properties.getColumn();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT || tables.isEmpty()) {
+            return invocation.proceed();
+        }
+        Object parameter = args[1];
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        String sql = boundSql.getSql();
+        String newSql = rewritten.get(sql);
+        if (newSql == null) {
+            newSql = rewrite(sql);
+            if (rewritten.size() >= MAX_CACHED) {
+                rewritten.clear();
+            }
+            rewritten.put(sql, newSql);
+        }
+        if (newSql.equals(sql)) {
+            return invocation.proceed();
+        }
+        BoundSql filtered = BoundSqls.rewrite(ms.getConfiguration(), boundSql, newSql);
+        Executor executor = (Executor) invocation.getTarget();
+        RowBounds rowBounds = (RowBounds) args[2];
+        CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, filtered);
+        return executor.query(ms, parameter, rowBounds, (ResultHandler<?>) args[3], cacheKey, filtered);
+    }
+
+    private String rewrite(String sql) {
+        if (SqlScanner.indexOfKeyword(sql, "UNION", 0) >= 0) {
+            return sql;
+        }
+        int fromPos = SqlScanner.indexOfKeyword(sql, "FROM", 0);
+        if (fromPos < 0) {
+            return sql;
+        }
+        int fromEnd = SqlScanner.keywordEnd(sql, fromPos, "FROM");
+        Matcher matcher = FROM_TABLE.matcher(sql);
+        matcher.region(fromEnd, sql.length());
+        if (!matcher.lookingAt() || !tables.contains(matcher.group(1).toLowerCase(Locale.ROOT))) {
+            return sql;
+        }
+        String alias = matcher.group(2);
+        if (alias == null || NOT_ALIAS.contains(alias.toUpperCase(Locale.ROOT))) {
+            alias = matcher.group(1);
+        }
+        String condition = alias + '.' + column + " = " + DeletedEnum.NO.getCode();
+
+        int boundary = sql.length();
+        for (String keyword : WHERE_TERMINATORS) {
+            int pos = SqlScanner.indexOfKeyword(sql, keyword, fromEnd);
+            if (pos >= 0 && pos < boundary) {
+                boundary = pos;
+            }
+        }
+        if (constrains(withoutSubqueries(sql.substring(Math.min(matcher.end(), boundary), boundary)), alias)) {
+            return sql;
+        }
+        int wherePos = SqlScanner.indexOfKeyword(sql, "WHERE", fromEnd);
+        StringBuilder sb = new StringBuilder(sql.length() + condition.length() + 16);
+        if (wherePos >= 0 && wherePos < boundary) {
+            int whereEnd = SqlScanner.keywordEnd(sql, wherePos, "WHERE");
+            sb.append(sql, 0, whereEnd).append(' ').append(condition)
+                    .append(" AND (").append(sql.substring(whereEnd, boundary).trim()).append(')');
+        } else {
+            sb.append(sql.substring(0, boundary).stripTrailing()).append(" WHERE ").append(condition);
+        }
+        if (boundary < sql.length()) {
+            sb.append(' ').append(sql, boundary, sql.length());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 连接条件与 WHERE 中是否引用了主表的 deleted（别名限定或不限定）
+     */
+    private boolean constrains(String clauses, String alias) {
+        Pattern reference = Pattern.compile("(?:(?<![A-Za-z0-9_.`])|(?<![A-Za-z0-9_])`?" + Pattern.quote(alias) + "`?\\.)`?"
+                + Pattern.quote(column) + "`?(?![A-Za-z0-9_])", Pattern.CASE_INSENSITIVE);
+        return reference.matcher(clauses).find();
+    }
+
+    /**
+     * 去掉引号内的文本与子查询，子查询中的 deleted 约束的是其他表
+     */
+    private static String withoutSubqueries(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = text.indexOf(c, i + 1);
+                i = end < 0 ? text.length() : end;
+                sb.append(' ');
+            } else if (c == '(' && SqlScanner.keywordEnd(text, skipWhitespace(text, i + 1), "SELECT") > 0) {
+                i = closingParen(text, i);
+                sb.append(' ');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int skipWhitespace(String text, int pos) {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int closingParen(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = text.indexOf(c, i + 1);
+                i = end < 0 ? text.length() : end;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+}
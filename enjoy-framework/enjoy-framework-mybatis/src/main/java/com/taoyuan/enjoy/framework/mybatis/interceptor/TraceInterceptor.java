@@ -0,0 +1,55 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.log.trace.Span;
+import com.taoyuan.enjoy.framework.log.trace.Tracer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * SQL链路追踪拦截器
+ * 每条 MyBatis 语句记录为一个跨度，标签为 MappedStatement ID；不在链路中的调用直接放行
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class TraceInterceptor implements Interceptor {
+
+    private static final String SPAN_NAME = "sql";
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (Tracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        try (Span span = Tracer.startSpan(SPAN_NAME)) {
+            span.tag(ms.getId());
+            try {
+                return invocation.proceed();
+            } catch (InvocationTargetException e) {
+                span.error(e.getTargetException());
+                throw e;
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+}
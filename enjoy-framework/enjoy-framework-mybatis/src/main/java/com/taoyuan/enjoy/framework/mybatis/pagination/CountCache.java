@@ -0,0 +1,74 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分页总数短时缓存
+ * 键为 (租户, 统计SQL, 绑定参数)，同一筛选条件在有效期内翻页、刷新不再重复 COUNT；
+ * 有效期内新增的数据不会反映在总数上，适合后台列表
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class CountCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public CountCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * @return 缓存的总数，未命中或已过期返回 null
+     */
+    public Long get(Key key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.total;
+    }
+
+    public void put(Key key, long total, long nowMillis) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt <= nowMillis);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(total, nowMillis + ttlMillis));
+    }
+
+    /**
+     * 清空，批量导入、删除后可调用
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param tenantId 租户ID，可为空
+     * @param sql      统计SQL
+     * @param params   绑定参数
+     */
+    public record Key(Long tenantId, String sql, List<Object> params) {
+    }
+
+    private record Entry(long total, long expiresAt) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 统计SQL推导
+ * 普通单层查询把查询列替换为 COUNT(*)，去掉 ORDER BY；开启 optimizeJoin 时再去掉未被引用、且按被连接表唯一键关联的 LEFT JOIN；
+ * 含 DISTINCT / GROUP BY / HAVING / UNION 或查询列中有占位符的查询退回子查询包装。
+ * 封顶统计在内层加 LIMIT，扫描到上限即停止。推导结果按原SQL缓存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class CountSqlBuilder {
+
+    private static final Pattern LEFT_JOIN = Pattern.compile(
+            "LEFT\\s+(?:OUTER\\s+)?JOIN\\s+([A-Za-z0-9_.`]+)(?:\\s+(?:AS\\s+)?([A-Za-z_][A-Za-z0-9_]*))?\\s+ON\\b(.*)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern COLUMN_EQUALS = Pattern.compile(
+            "`?([A-Za-z_][A-Za-z0-9_]*)`?\\s*\\.\\s*`?([A-Za-z_][A-Za-z0-9_]*)`?\\s*=\\s*"
+                    + "`?([A-Za-z_][A-Za-z0-9_]*)`?\\s*\\.\\s*`?([A-Za-z_][A-Za-z0-9_]*)`?");
+    private static final String[] JOIN_QUALIFIERS = {"LEFT", "RIGHT", "INNER", "OUTER", "CROSS", "FULL", "NATURAL"};
+    private static final String[] COMPLEX = {"GROUP BY", "HAVING", "UNION"};
+
+    private final boolean optimizeJoin;
+    private final Set<String> uniqueKeys;
+    private final int maxCached;
+    private final Map<String, CountSql> cache = new ConcurrentHashMap<>();
+
+    public CountSqlBuilder(PaginationProperties properties) {
+        this.optimizeJoin = properties.isOptimizeJoin();
+        this.uniqueKeys = new HashSet<>();
+        for (String key : properties.getJoinUniqueKeys()) {
+            uniqueKeys.add(key.toLowerCase());
+        }
+        this.maxCached = Math.max(1, properties.getCountSqlCacheMaxEntries());
+    }
+
+    /**
+     * 推导统计SQL
+     *
+     * @param sql 列表查询SQL（不含 LIMIT）
+     * @return 精确统计与封顶统计SQL，封顶SQL末尾多一个 LIMIT 占位符
+     */
+    public CountSql build(String sql) {
+        CountSql countSql = cache.get(sql);
+        if (countSql == null) {
+            countSql = derive(sql);
+            if (cache.size() >= maxCached) {
+                cache.clear();
+            }
+            cache.put(sql, countSql);
+        }
+        return countSql;
+    }
+
+    private CountSql derive(String sql) {
+        String body = sql;
+        int orderPos = SqlScanner.lastIndexOfKeyword(sql, "ORDER BY");
+        if (orderPos >= 0 && sql.indexOf('?', orderPos) < 0) {
+            body = sql.substring(0, orderPos);
+        }
+        int fromPos = simpleFromPosition(body);
+        if (fromPos < 0) {
+            return new CountSql("SELECT COUNT(*) FROM (" + body + ") count_tmp",
+                    "SELECT COUNT(*) FROM (" + body + " LIMIT ?) count_tmp");
+        }
+        String from = body.substring(fromPos);
+        if (optimizeJoin) {
+            from = removeUnusedLeftJoins(from, uniqueKeys);
+        }
+        return new CountSql("SELECT COUNT(*) " + from, "SELECT COUNT(*) FROM (SELECT 1 " + from + " LIMIT ?) count_tmp");
+    }
+
+    /**
+     * 可直接替换查询列时返回顶层 FROM 的位置，否则返回 -1
+     */
+    private static int simpleFromPosition(String body) {
+        String trimmed = body.stripLeading();
+        if (SqlScanner.keywordEnd(trimmed, 0, "SELECT") < 0) {
+            return -1;
+        }
+        for (String keyword : COMPLEX) {
+            if (SqlScanner.indexOfKeyword(body, keyword, 0) >= 0) {
+                return -1;
+            }
+        }
+        int selectPos = SqlScanner.indexOfKeyword(body, "SELECT", 0);
+        int selectEnd = SqlScanner.keywordEnd(body, selectPos, "SELECT");
+        if (SqlScanner.keywordEnd(body, skipWhitespace(body, selectEnd), "DISTINCT") > 0) {
+            return -1;
+        }
+        int fromPos = SqlScanner.indexOfKeyword(body, "FROM", selectEnd);
+        if (fromPos < 0 || body.substring(selectEnd, fromPos).indexOf('?') >= 0) {
+            return -1;
+        }
+        return fromPos;
+    }
+
+    /**
+     * 去掉没有被其他部分引用、不含参数且至多匹配一行的 LEFT JOIN，从后往前处理以便连带去掉链式连接
+     *
+     * @param uniqueKeys 唯一键列名（小写）
+     */
+    static String removeUnusedLeftJoins(String from, Set<String> uniqueKeys) {
+        int wherePos = SqlScanner.indexOfKeyword(from, "WHERE", 0);
+        int regionEnd = wherePos < 0 ? from.length() : wherePos;
+        List<int[]> segments = joinSegments(from, regionEnd);
+        String result = from;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            int[] segment = segments.get(i);
+            String text = result.substring(segment[0], segment[1]);
+            Matcher matcher = LEFT_JOIN.matcher(text.trim());
+            if (!matcher.matches() || text.indexOf('?') >= 0) {
+                continue;
+            }
+            String alias = matcher.group(2) != null ? matcher.group(2) : matcher.group(1).replace("`", "");
+            if (!joinsOnUniqueKey(matcher.group(3), alias, uniqueKeys)) {
+                continue;
+            }
+            String rest = result.substring(0, segment[0]) + ' ' + result.substring(segment[1]);
+            Pattern reference = Pattern.compile("(?<![A-Za-z0-9_])`?" + Pattern.quote(alias) + "`?\\.",
+                    Pattern.CASE_INSENSITIVE);
+            if (!reference.matcher(rest).find()) {
+                result = rest;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ON 条件是否为若干 AND 连接的条件，且其中之一是 被连接表.唯一键 = 其他表.列，即每行至多匹配被连接表的一行
+     */
+    private static boolean joinsOnUniqueKey(String on, String alias, Set<String> uniqueKeys) {
+        on = unwrap(on);
+        if (SqlScanner.indexOfKeyword(on, "OR", 0) >= 0) {
+            return false;
+        }
+        int start = 0;
+        while (true) {
+            int and = SqlScanner.indexOfKeyword(on, "AND", start);
+            String condition = unwrap(on.substring(start, and < 0 ? on.length() : and));
+            Matcher matcher = COLUMN_EQUALS.matcher(condition);
+            if (matcher.matches()) {
+                boolean left = matcher.group(1).equalsIgnoreCase(alias);
+                boolean right = matcher.group(3).equalsIgnoreCase(alias);
+                if (left != right && uniqueKeys.contains((left ? matcher.group(2) : matcher.group(4)).toLowerCase())) {
+                    return true;
+                }
+            }
+            if (and < 0) {
+                return false;
+            }
+            start = SqlScanner.keywordEnd(on, and, "AND");
+        }
+    }
+
+    /**
+     * 去掉包住整个条件的括号
+     */
+    private static String unwrap(String condition) {
+        String text = condition.trim();
+        while (text.startsWith("(") && closingParen(text) == text.length() - 1) {
+            text = text.substring(1, text.length() - 1).trim();
+        }
+        return text;
+    }
+
+    private static int closingParen(String text) {
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<int[]> joinSegments(String from, int regionEnd) {
+        List<Integer> starts = new ArrayList<>();
+        int pos = SqlScanner.indexOfKeyword(from, "JOIN", 0);
+        while (pos >= 0 && pos < regionEnd) {
+            starts.add(qualifiedStart(from, pos));
+            pos = SqlScanner.indexOfKeyword(from, "JOIN", pos + 4);
+        }
+        List<int[]> segments = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            int end = i + 1 < starts.size() ? starts.get(i + 1) : regionEnd;
+            segments.add(new int[]{starts.get(i), end});
+        }
+        return segments;
+    }
+
+    /**
+     * JOIN 关键字前的 LEFT / OUTER 等修饰词一并计入连接段
+     */
+    private static int qualifiedStart(String sql, int joinPos) {
+        int start = joinPos;
+        while (true) {
+            int wordEnd = start;
+            while (wordEnd > 0 && Character.isWhitespace(sql.charAt(wordEnd - 1))) {
+                wordEnd--;
+            }
+            int wordStart = wordEnd;
+            while (wordStart > 0 && Character.isLetter(sql.charAt(wordStart - 1))) {
+                wordStart--;
+            }
+            String word = sql.substring(wordStart, wordEnd).toUpperCase();
+            boolean qualifier = false;
+            for (String candidate : JOIN_QUALIFIERS) {
+                if (candidate.equals(word)) {
+                    qualifier = true;
+                    break;
+                }
+            }
+            if (!qualifier) {
+                return start;
+            }
+            start = wordStart;
+        }
+    }
+
+    private static int skipWhitespace(String sql, int pos) {
+        while (pos < sql.length() && Character.isWhitespace(sql.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 统计SQL
+     *
+     * @param exact  精确统计
+     * @param capped 封顶统计，末尾参数为上限 + 1
+     */
+    public record CountSql(String exact, String capped) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 游标编解码
+ * 游标对调用方不透明：版本号 + 排序规格指纹 + 末行排序键的类型化取值，Base64URL 编码。
+ * 游标值只作为绑定参数使用，篡改只会改变翻页起点，不会越过数据权限
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class KeysetCursor {
+
+    private static final int VERSION = 1;
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_DECIMAL = 'B';
+    private static final byte TYPE_TIMESTAMP = 'T';
+    private static final byte TYPE_DATE_TIME = 'D';
+    private static final byte TYPE_DATE = 'd';
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * 编码
+     *
+     * @param fingerprint 排序规格指纹
+     * @param values      末行排序键取值
+     * @return 游标
+     */
+    public static String encode(int fingerprint, Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + values.length * 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(fingerprint);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解码
+     *
+     * @param cursor      游标
+     * @param fingerprint 当前查询的排序规格指纹
+     * @param size        排序键数量
+     * @return 排序键取值
+     */
+    public static Object[] decode(String cursor, int fingerprint, int size) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION || in.readInt() != fingerprint || in.readByte() != size) {
+                throw invalid();
+            }
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = readValue(in);
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof String s) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(s);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeUTF(d.toPlainString());
+        } else if (value instanceof Date d) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(d.getTime());
+            out.writeInt(d instanceof Timestamp t ? t.getNanos() : 0);
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(TYPE_DATE_TIME);
+            out.writeUTF(t.toString());
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(TYPE_DATE);
+            out.writeUTF(d.toString());
+        } else {
+            throw new IllegalStateException("Unsupported keyset value: "
+                    + (value == null ? "null" : value.getClass().getName()) + ", sort keys must be NOT NULL");
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_LONG -> in.readLong();
+            case TYPE_STRING -> in.readUTF();
+            case TYPE_DECIMAL -> new BigDecimal(in.readUTF());
+            case TYPE_TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case TYPE_DATE_TIME -> LocalDateTime.parse(in.readUTF());
+            case TYPE_DATE -> LocalDate.parse(in.readUTF());
+            default -> throw invalid();
+        };
+    }
+
+    private static BizException invalid() {
+        return new BizException(CommonErrorCode.PARAM_ERROR, "无效的分页游标");
+    }
+}
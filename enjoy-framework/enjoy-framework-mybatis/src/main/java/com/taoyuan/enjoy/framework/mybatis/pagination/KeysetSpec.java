@@ -0,0 +1,127 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 游标分页规格
+ * 由查询末尾的顶层 ORDER BY 解析得到，排序项须为普通列且组合唯一（通常以主键收尾，如 create_time DESC, id DESC）。
+ * 排序方向一致时生成行值比较 {@code (k1, k2) < (?, ?)}，方向混合时展开为等价的 OR 条件（整体加括号）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class KeysetSpec {
+
+    private static final Pattern ITEM = Pattern.compile(
+            "(`?[A-Za-z_][A-Za-z0-9_]*`?(?:\\.`?[A-Za-z_][A-Za-z0-9_]*`?)?)(?:\\s+(ASC|DESC))?", Pattern.CASE_INSENSITIVE);
+    private static final String[] UNSUPPORTED = {"GROUP BY", "HAVING", "UNION", "LIMIT"};
+
+    private final String body;
+    private final String orderBy;
+    private final List<OrderByItem> items;
+    private final int fingerprint;
+
+    private KeysetSpec(String body, String orderBy, List<OrderByItem> items) {
+        this.body = body;
+        this.orderBy = orderBy;
+        this.items = items;
+        this.fingerprint = items.toString().hashCode();
+    }
+
+    /**
+     * 解析查询
+     *
+     * @param sql 查询SQL
+     * @return 规格
+     * @throws IllegalStateException 查询不满足游标分页条件
+     */
+    public static KeysetSpec parse(String sql) {
+        int orderPos = SqlScanner.lastIndexOfKeyword(sql, "ORDER BY");
+        if (orderPos < 0) {
+            throw new IllegalStateException("Keyset pagination requires a top-level ORDER BY");
+        }
+        String body = sql.substring(0, orderPos);
+        for (String keyword : UNSUPPORTED) {
+            if (SqlScanner.indexOfKeyword(sql, keyword, 0) >= 0) {
+                throw new IllegalStateException("Keyset pagination does not support top-level " + keyword);
+            }
+        }
+        String clause = sql.substring(SqlScanner.keywordEnd(sql, orderPos, "ORDER BY")).trim();
+        List<OrderByItem> items = new ArrayList<>();
+        for (String part : SqlScanner.splitTopLevel(clause)) {
+            Matcher matcher = ITEM.matcher(part);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Keyset sort key must be a plain column: " + part);
+            }
+            items.add(new OrderByItem(matcher.group(1), "DESC".equalsIgnoreCase(matcher.group(2))));
+        }
+        return new KeysetSpec(body, sql.substring(orderPos), List.copyOf(items));
+    }
+
+    /**
+     * 去掉 ORDER BY 的查询主体
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * ORDER BY 子句（含关键字）
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public List<OrderByItem> getItems() {
+        return items;
+    }
+
+    /**
+     * 排序规格指纹，写入游标防止跨查询复用
+     */
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 生成翻页条件，params 按占位符顺序追加
+     *
+     * @param values 上一页末行的排序键取值
+     * @param params 输出参数
+     * @return 条件SQL
+     */
+    public String seekCondition(Object[] values, List<Object> params) {
+        boolean uniform = items.stream().allMatch(item -> item.descending() == items.get(0).descending());
+        if (uniform) {
+            String op = items.get(0).descending() ? " < " : " > ";
+            for (Object value : values) {
+                params.add(value);
+            }
+            if (items.size() == 1) {
+                return items.get(0).column() + op + "?";
+            }
+            StringBuilder columns = new StringBuilder("(");
+            for (int i = 0; i < items.size(); i++) {
+                columns.append(i == 0 ? "" : ", ").append(items.get(i).column());
+            }
+            return columns.append(')').append(op).append('(')
+                    .append("?, ".repeat(items.size() - 1)).append("?)").toString();
+        }
+        // 整体加括号，与查询原有条件以 AND 连接时不受 OR 优先级影响
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < items.size(); i++) {
+            sb.append(i == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                sb.append(items.get(j).column()).append(" = ? AND ");
+                params.add(values[j]);
+            }
+            OrderByItem item = items.get(i);
+            sb.append(item.column()).append(item.descending() ? " < ?" : " > ?").append(')');
+            params.add(values[i]);
+        }
+        return sb.append(')').toString();
+    }
+}
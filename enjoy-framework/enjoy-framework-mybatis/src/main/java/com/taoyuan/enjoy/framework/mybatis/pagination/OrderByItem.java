@@ -0,0 +1,21 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+/**
+ * 排序项
+ *
+ * @param column     排序列（可带表别名，如 l.create_time）
+ * @param descending 是否降序
+ * @author enjoy
+ * @version 1.0
+ */
+public record OrderByItem(String column, boolean descending) {
+
+    /**
+     * 去掉表别名的列名
+     */
+    public String columnName() {
+        int dot = column.lastIndexOf('.');
+        String name = dot < 0 ? column : column.substring(dot + 1);
+        return name.replace("`", "");
+    }
+}
@@ -0,0 +1,92 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 分页配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class PaginationProperties {
+
+    /**
+     * 统计SQL是否去掉未被引用的 LEFT JOIN；只去掉 ON 条件以被连接表的唯一键等值关联（至多匹配一行）的连接，
+     * 一对多连接会放大行数，始终保留
+     */
+    private boolean optimizeJoin = false;
+
+    /**
+     * 判定一对一连接时视为唯一键的列名（不区分大小写）
+     */
+    private Set<String> joinUniqueKeys = new HashSet<>(Set.of("id"));
+
+    /**
+     * 封顶统计的上限，超过时返回上限并标记 totalCapped
+     */
+    private int countCap = 10_000;
+
+    /**
+     * 总数缓存时间（毫秒），0 表示不缓存
+     */
+    private long countCacheTtlMillis = 10_000L;
+
+    /**
+     * 总数缓存最多条目数
+     */
+    private int countCacheMaxEntries = 10_000;
+
+    /**
+     * 推导出的统计SQL最多缓存条数
+     */
+    private int countSqlCacheMaxEntries = 2_000;
+
+    public boolean isOptimizeJoin() {
+        return optimizeJoin;
+    }
+
+    public void setOptimizeJoin(boolean optimizeJoin) {
+        this.optimizeJoin = optimizeJoin;
+    }
+
+    public Set<String> getJoinUniqueKeys() {
+        return joinUniqueKeys;
+    }
+
+    public void setJoinUniqueKeys(Set<String> joinUniqueKeys) {
+        this.joinUniqueKeys = joinUniqueKeys;
+    }
+
+    public int getCountCap() {
+        return countCap;
+    }
+
+    public void setCountCap(int countCap) {
+        this.countCap = countCap;
+    }
+
+    public long getCountCacheTtlMillis() {
+        return countCacheTtlMillis;
+    }
+
+    public void setCountCacheTtlMillis(long countCacheTtlMillis) {
+        this.countCacheTtlMillis = countCacheTtlMillis;
+    }
+
+    public int getCountCacheMaxEntries() {
+        return countCacheMaxEntries;
+    }
+
+    public void setCountCacheMaxEntries(int countCacheMaxEntries) {
+        this.countCacheMaxEntries = countCacheMaxEntries;
+    }
+
+    public int getCountSqlCacheMaxEntries() {
+        return countSqlCacheMaxEntries;
+    }
+
+    public void setCountSqlCacheMaxEntries(int countSqlCacheMaxEntries) {
+        this.countSqlCacheMaxEntries = countSqlCacheMaxEntries;
+    }
+}
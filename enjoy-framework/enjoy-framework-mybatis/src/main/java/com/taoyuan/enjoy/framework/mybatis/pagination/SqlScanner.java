@@ -0,0 +1,140 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 轻量SQL扫描
+ * 只识别括号层级、引号与注释，用于定位顶层子句（WHERE / ORDER BY / LIMIT 等），不做完整语法解析
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class SqlScanner {
+
+    private SqlScanner() {
+    }
+
+    /**
+     * 查找顶层关键字第一次出现的位置
+     *
+     * @param sql     SQL
+     * @param keyword 关键字，多个单词以单个空格分隔，如 "ORDER BY"
+     * @param from    起始位置
+     * @return 位置，未找到返回 -1
+     */
+    public static int indexOfKeyword(String sql, String keyword, int from) {
+        return scan(sql, keyword, from, true);
+    }
+
+    /**
+     * 查找顶层关键字最后一次出现的位置
+     */
+    public static int lastIndexOfKeyword(String sql, String keyword) {
+        return scan(sql, keyword, 0, false);
+    }
+
+    /**
+     * 关键字在指定位置匹配时的结束位置（含中间任意空白），不匹配返回 -1
+     */
+    public static int keywordEnd(String sql, int pos, String keyword) {
+        int i = pos;
+        for (int k = 0; k < keyword.length(); k++) {
+            char kc = keyword.charAt(k);
+            if (kc == ' ') {
+                if (i >= sql.length() || !Character.isWhitespace(sql.charAt(i))) {
+                    return -1;
+                }
+                while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                continue;
+            }
+            if (i >= sql.length() || Character.toUpperCase(sql.charAt(i)) != kc) {
+                return -1;
+            }
+            i++;
+        }
+        if (i < sql.length() && isIdentifierPart(sql.charAt(i))) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * 按顶层逗号切分
+     */
+    public static List<String> splitTopLevel(String text) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(text.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start).trim());
+        return parts;
+    }
+
+    private static int scan(String sql, String keyword, int from, boolean first) {
+        int found = -1;
+        int depth = 0;
+        for (int i = from; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(sql, i);
+            } else if (c == '/' && i + 1 < sql.length() && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))
+                    && keywordEnd(sql, i, keyword) > 0) {
+                found = i;
+                if (first) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+}
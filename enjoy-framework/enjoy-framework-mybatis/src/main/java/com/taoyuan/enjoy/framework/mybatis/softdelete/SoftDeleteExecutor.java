@@ -0,0 +1,135 @@
+package com.taoyuan.enjoy.framework.mybatis.softdelete;
+
+import com.taoyuan.enjoy.framework.common.enums.DeletedEnum;
+import org.apache.ibatis.session.SqlSession;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 批量逻辑删除
+ * 以集合语句直接更新删除标记，不先查后写：按ID删除分块生成 {@code UPDATE ... WHERE id IN (...) AND deleted = 0}，
+ * 按条件删除生成单条 {@code UPDATE ... WHERE deleted = 0 AND (条件)}。
+ * 使用会话连接执行，事务由调用方控制
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class SoftDeleteExecutor {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final SoftDeleteProperties properties;
+    private final String column;
+    private final String idColumn;
+
+    public SoftDeleteExecutor(SoftDeleteProperties properties) {
+        this.properties = properties;
+        this.column = requireIdentifier(properties.getColumn());
+        this.idColumn = requireIdentifier(properties.getIdColumn());
+    }
+
+    /**
+     * 按ID逻辑删除
+     *
+     * @param session 会话
+     * @param table   表名
+     * @param ids     主键
+     * @param updater 操作人，可为空
+     * @return 删除行数（已删除的行不计）
+     */
+    public int deleteByIds(SqlSession session, String table, Collection<? extends Number> ids,
+                           String updater) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        requireIdentifier(table);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        Connection connection = session.getConnection();
+        List<Number> chunk = new ArrayList<>(Math.min(chunkSize, ids.size()));
+        int deleted = 0;
+        for (Number id : ids) {
+            chunk.add(id);
+            if (chunk.size() == chunkSize) {
+                deleted += deleteChunk(connection, table, chunk, updater);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleted += deleteChunk(connection, table, chunk, updater);
+        }
+        session.clearCache();
+        return deleted;
+    }
+
+    /**
+     * 按条件逻辑删除
+     *
+     * @param session 会话
+     * @param table   表名
+     * @param where   条件SQL（使用 ? 占位），如 "tenant_id = ? AND user_id = ?"
+     * @param updater 操作人，可为空
+     * @param params  条件参数
+     * @return 删除行数
+     */
+    public int deleteWhere(SqlSession session, String table, String where, String updater,
+                           Object... params) throws SQLException {
+        requireIdentifier(table);
+        StringBuilder sql = new StringBuilder(128);
+        List<Object> values = new ArrayList<>(params.length + 2);
+        appendUpdate(sql, values, table, updater);
+        sql.append(" WHERE ").append(column).append(" = ").append(DeletedEnum.NO.getCode())
+                .append(" AND (").append(where).append(')');
+        values.addAll(List.of(params));
+        int deleted = executeUpdate(session.getConnection(), sql.toString(), values);
+        session.clearCache();
+        return deleted;
+    }
+
+    private int deleteChunk(Connection connection, String table, List<Number> ids, String updater) throws SQLException {
+        StringBuilder sql = new StringBuilder(96 + ids.size() * 3);
+        List<Object> values = new ArrayList<>(ids.size() + 2);
+        appendUpdate(sql, values, table, updater);
+        sql.append(" WHERE ").append(idColumn).append(" IN (").append("?, ".repeat(ids.size() - 1)).append("?) AND ")
+                .append(column).append(" = ").append(DeletedEnum.NO.getCode());
+        values.addAll(ids);
+        return executeUpdate(connection, sql.toString(), values);
+    }
+
+    private void appendUpdate(StringBuilder sql, List<Object> values, String table, String updater) {
+        sql.append("UPDATE ").append(table).append(" SET ").append(column).append(" = ");
+        switch (properties.getMode()) {
+            case FLAG -> sql.append(DeletedEnum.YES.getCode());
+            case ID -> sql.append(idColumn);
+            case TIMESTAMP -> {
+                sql.append('?');
+                values.add(System.currentTimeMillis());
+            }
+        }
+        if (updater != null) {
+            sql.append(", updater = ?");
+            values.add(updater);
+        }
+    }
+
+    private static int executeUpdate(Connection connection, String sql, List<Object> values) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.size(); i++) {
+                ps.setObject(i + 1, values.get(i));
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    static String requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Illegal identifier: " + name);
+        }
+        return name;
+    }
+}
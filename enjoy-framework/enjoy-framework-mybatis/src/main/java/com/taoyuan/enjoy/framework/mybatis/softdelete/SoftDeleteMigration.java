@@ -0,0 +1,85 @@
+package com.taoyuan.enjoy.framework.mybatis.softdelete;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 逻辑删除字段迁移（MySQL）
+ * 把现有表的 {@code deleted bit(1)} 改为 {@code bigint}，并按目标方式回填已删除行；
+ * 唯一索引中的 deleted 列无需重建。回填前每个业务键至多一条已删除记录，回填后各行取值互不相同
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class SoftDeleteMigration {
+
+    private static final String COLUMN_COMMENT = "是否删除：0-未删除，非0-已删除";
+
+    private SoftDeleteMigration() {
+    }
+
+    /**
+     * 生成单表迁移SQL
+     *
+     * @param table      表名
+     * @param properties 逻辑删除配置
+     * @return 按顺序执行的SQL
+     */
+    public static List<String> migrationSql(String table, SoftDeleteProperties properties) {
+        String t = SoftDeleteExecutor.requireIdentifier(table);
+        String column = SoftDeleteExecutor.requireIdentifier(properties.getColumn());
+        String idColumn = SoftDeleteExecutor.requireIdentifier(properties.getIdColumn());
+        List<String> sql = new ArrayList<>(2);
+        sql.add("ALTER TABLE `" + t + "` MODIFY COLUMN `" + column + "` bigint NOT NULL DEFAULT 0 COMMENT '"
+                + COLUMN_COMMENT + "'");
+        switch (properties.getMode()) {
+            case ID -> sql.add("UPDATE `" + t + "` SET `" + column + "` = `" + idColumn + "` WHERE `" + column + "` <> 0");
+            case TIMESTAMP -> sql.add("UPDATE `" + t + "` SET `" + column
+                    + "` = CAST(UNIX_TIMESTAMP(update_time) * 1000 AS UNSIGNED) WHERE `" + column + "` <> 0");
+            case FLAG -> {
+                // 取值不变
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * 查找当前库中删除标记仍为 bit 类型的表
+     */
+    public static List<String> findLegacyTables(Connection connection, SoftDeleteProperties properties) throws SQLException {
+        String sql = "SELECT TABLE_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()"
+                + " AND COLUMN_NAME = ? AND DATA_TYPE = 'bit' ORDER BY TABLE_NAME";
+        List<String> tables = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, properties.getColumn());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 迁移当前库中所有仍为 bit 类型的表
+     *
+     * @return 已迁移的表
+     */
+    public static List<String> migrate(Connection connection, SoftDeleteProperties properties) throws SQLException {
+        List<String> tables = findLegacyTables(connection, properties);
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                for (String sql : migrationSql(table, properties)) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,25 @@
+package com.taoyuan.enjoy.framework.mybatis.softdelete;
+
+/**
+ * 逻辑删除写入方式
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum SoftDeleteMode {
+
+    /**
+     * deleted = 1，每个唯一业务键只能保留一条已删除记录（原有方式）
+     */
+    FLAG,
+
+    /**
+     * deleted = 主键ID，已删除记录互不冲突，推荐
+     */
+    ID,
+
+    /**
+     * deleted = 删除时间（毫秒时间戳），同一毫秒内重复删除同一业务键会冲突
+     */
+    TIMESTAMP
+}
@@ -0,0 +1,78 @@
+package com.taoyuan.enjoy.framework.mybatis.softdelete;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 逻辑删除配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class SoftDeleteProperties {
+
+    /**
+     * 写入方式
+     */
+    private SoftDeleteMode mode = SoftDeleteMode.ID;
+
+    /**
+     * 删除标记字段
+     */
+    private String column = "deleted";
+
+    /**
+     * 主键字段
+     */
+    private String idColumn = "id";
+
+    /**
+     * 查询时自动追加 deleted = 0 的表
+     */
+    private Set<String> tables = new HashSet<>();
+
+    /**
+     * 按ID批量删除时每条语句最多的ID数
+     */
+    private int chunkSize = 1000;
+
+    public SoftDeleteMode getMode() {
+        return mode;
+    }
+
+    public void setMode(SoftDeleteMode mode) {
+        this.mode = mode;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public void setColumn(String column) {
+        this.column = column;
+    }
+
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    public void setIdColumn(String idColumn) {
+        this.idColumn = idColumn;
+    }
+
+    public Set<String> getTables() {
+        return tables;
+    }
+
+    public void setTables(Set<String> tables) {
+        this.tables = tables;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
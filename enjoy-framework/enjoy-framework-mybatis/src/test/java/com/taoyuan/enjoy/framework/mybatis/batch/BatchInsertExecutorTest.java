@@ -0,0 +1,167 @@
+package com.taoyuan.enjoy.framework.mybatis.batch;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多行插入分块、自增主键回读与显式主键填充
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class BatchInsertExecutorTest {
+
+    interface ConfigMapper {
+
+        @Insert("INSERT INTO sys_config (name, config_value) VALUES (#{name}, #{value})")
+        @Options(useGeneratedKeys = true, keyProperty = "id")
+        int insertAuto(Config config);
+
+        @Insert("INSERT INTO sys_config (id, name, config_value) VALUES (#{id}, #{name}, #{value})")
+        @Options(keyProperty = "id")
+        int insertWithId(Config config);
+
+        @Insert("INSERT INTO sys_config (name, config_value) VALUES (#{name}, #{value})")
+        int insertPlain(Config config);
+    }
+
+    public static class Config {
+
+        private Long id;
+        private String name;
+        private String value;
+
+        Config(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static final String NS = ConfigMapper.class.getName() + ".";
+
+    private JdbcDataSource dataSource;
+    private SqlSessionFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_config (id bigint AUTO_INCREMENT PRIMARY KEY, name varchar(64) UNIQUE, config_value varchar(64))");
+        }
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(ConfigMapper.class);
+        factory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static List<Config> rows(int count) {
+        List<Config> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Config("k" + i, "v" + i));
+        }
+        return rows;
+    }
+
+    @Test
+    void readsAutoIncrementKeysInsteadOfFillingIds() throws Exception {
+        BatchInsertProperties properties = new BatchInsertProperties();
+        properties.setChunkSize(4);
+        properties.setFillId(true);
+        List<Config> rows = rows(10);
+        try (SqlSession session = factory.openSession()) {
+            BatchResult result = new BatchInsertExecutor(properties).insert(session, NS + "insertAuto", rows);
+            session.commit();
+            assertEquals(10, result.getRows());
+            assertEquals(3, result.getChunks().size());
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i + 1L, rows.get(i).getId());
+        }
+        assertEquals("v7", valueOf(8L));
+    }
+
+    @Test
+    void fillsIdsOnlyWhenStatementBindsTheKey() throws Exception {
+        BatchInsertProperties properties = new BatchInsertProperties();
+        properties.setFillId(true);
+        List<Config> rows = rows(3);
+        try (SqlSession session = factory.openSession()) {
+            new BatchInsertExecutor(properties).insert(session, NS + "insertWithId", rows);
+            session.commit();
+        }
+        for (Config row : rows) {
+            assertNotNull(row.getId());
+            assertTrue(row.getId() > 1_000_000L, "snowflake id expected: " + row.getId());
+            assertEquals(row.getValue(), valueOf(row.getId()));
+        }
+    }
+
+    @Test
+    void leavesKeysAloneByDefault() throws Exception {
+        List<Config> rows = rows(3);
+        try (SqlSession session = factory.openSession()) {
+            assertEquals(3, new BatchInsertExecutor().insert(session, NS + "insertPlain", rows).getAffected());
+            session.commit();
+        }
+        for (Config row : rows) {
+            assertNull(row.getId());
+        }
+        assertEquals("v0", valueOf(1L));
+    }
+
+    @Test
+    void upsertUpdatesExistingRows() throws Exception {
+        try (SqlSession session = factory.openSession()) {
+            BatchInsertExecutor executor = new BatchInsertExecutor();
+            executor.insert(session, NS + "insertPlain", rows(2));
+            List<Config> changed = List.of(new Config("k0", "changed"), new Config("k9", "new"));
+            executor.upsert(session, NS + "insertPlain", changed, "config_value");
+            session.commit();
+        }
+        assertEquals("changed", valueOf(1L));
+        assertEquals("v1", valueOf(2L));
+    }
+
+    private String valueOf(long id) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT config_value FROM sys_config WHERE id = " + id)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
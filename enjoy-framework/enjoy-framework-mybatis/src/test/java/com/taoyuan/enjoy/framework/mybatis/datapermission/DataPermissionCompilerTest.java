@@ -0,0 +1,105 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 数据范围与规则编译出的条件及绑定参数
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class DataPermissionCompilerTest {
+
+    private static final DataPermissionSubject SUBJECT = new DataPermissionSubject(1L, 100L, 10L);
+
+    private final DataPermissionCompiler compiler = new DataPermissionCompiler(new DataPermissionProperties());
+
+    private DataPermissionPredicate compile(DataPermissionSubject subject, RoleDataPermission... roles) {
+        return compiler.compile(subject, List.of(roles), "sys_user", "u");
+    }
+
+    @Test
+    void compilesDataScopes() {
+        assertEquals(new DataPermissionPredicate("u.user_id = ?", List.of(100L)), compile(SUBJECT, role("SELF", null)));
+        assertEquals(new DataPermissionPredicate("u.dept_id = ?", List.of(10L)), compile(SUBJECT, role("DEPT", null)));
+        assertEquals(new DataPermissionPredicate(
+                        "u.dept_id IN (SELECT id FROM sys_dept WHERE id = ? OR FIND_IN_SET(?, ancestors))", List.of(10L, "10")),
+                compile(SUBJECT, role("DEPT_AND_CHILD", null)));
+        assertEquals(new DataPermissionPredicate("u.dept_id IN (?, ?)", List.of(10L, 20L)),
+                compile(SUBJECT, role("CUSTOM", "10, ,20")));
+        assertTrue(compile(SUBJECT, role("ALL", null)).isAllowAll());
+    }
+
+    @Test
+    void missingSubjectAttributesDenyAll() {
+        DataPermissionSubject noDept = new DataPermissionSubject(1L, 100L, null);
+        assertEquals(DataPermissionPredicate.DENY_ALL, compile(noDept, role("DEPT", null)));
+        assertEquals(DataPermissionPredicate.DENY_ALL, compile(noDept, role("DEPT_AND_CHILD", null)));
+        assertEquals(DataPermissionPredicate.DENY_ALL, compile(SUBJECT, role("CUSTOM", "")));
+        assertEquals(DataPermissionPredicate.DENY_ALL, compile(SUBJECT));
+    }
+
+    @Test
+    void compilesCustomRuleExpression() {
+        RoleDataPermission role = role("ALL", null);
+        role.getRules().add(rule("CUSTOM", null, null, "u.tenant_id = #{tenantId} AND u.create_by <> #{userId}"));
+        assertEquals(new DataPermissionPredicate("(u.tenant_id = ? AND u.create_by <> ?)", List.of(1L, 100L)),
+                compile(SUBJECT, role));
+    }
+
+    @Test
+    void unresolvedCustomPlaceholderDeniesAll() {
+        RoleDataPermission role = role("ALL", null);
+        role.getRules().add(rule("CUSTOM", null, null, "u.dept_id = #{deptId} OR u.create_by = #{userId}"));
+        DataPermissionPredicate predicate = compile(new DataPermissionSubject(1L, 100L, null), role);
+        assertEquals(DataPermissionPredicate.DENY_ALL, predicate);
+    }
+
+    @Test
+    void scopeAndRulesIntersectWithinRole() {
+        RoleDataPermission role = role("DEPT", null);
+        role.getRules().add(rule("USER", "create_by", "[\"#{userId}\", 5]", null));
+        DataPermissionRule disabled = rule("DEPT", "dept_id", "[99]", null);
+        disabled.setStatus(0);
+        role.getRules().add(disabled);
+        DataPermissionRule otherTable = rule("DEPT", "dept_id", "[98]", null);
+        otherTable.setTableName("sys_dept");
+        role.getRules().add(otherTable);
+        assertEquals(new DataPermissionPredicate("u.dept_id = ? AND u.create_by IN (?, ?)", List.of(10L, 100L, 5L)),
+                compile(SUBJECT, role));
+    }
+
+    @Test
+    void rolesMergeAsUnion() {
+        assertEquals(new DataPermissionPredicate("(u.user_id = ?) OR (u.dept_id = ?)", List.of(100L, 10L)),
+                compile(SUBJECT, role("SELF", null), role("DEPT", null)));
+        // 相同条件只保留一份
+        assertEquals(new DataPermissionPredicate("u.dept_id = ?", List.of(10L)),
+                compile(SUBJECT, role("DEPT", null), role("CUSTOM", "10")));
+        assertTrue(compile(SUBJECT, role("SELF", null), role("ALL", null)).isAllowAll());
+    }
+
+    private static RoleDataPermission role(String scope, String deptIds) {
+        RoleDataPermission role = new RoleDataPermission();
+        role.setRoleId(7L);
+        role.setDataScope(scope);
+        role.setDataScopeDeptIds(deptIds);
+        return role;
+    }
+
+    private static DataPermissionRule rule(String type, String column, String value, String expression) {
+        DataPermissionRule rule = new DataPermissionRule();
+        rule.setId(3L);
+        rule.setTableName("sys_user");
+        rule.setRuleType(type);
+        rule.setColumnName(column);
+        rule.setRuleValue(value);
+        rule.setRuleExpression(expression);
+        return rule;
+    }
+}
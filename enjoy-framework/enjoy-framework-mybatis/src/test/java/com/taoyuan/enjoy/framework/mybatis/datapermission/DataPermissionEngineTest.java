@@ -0,0 +1,85 @@
+package com.taoyuan.enjoy.framework.mybatis.datapermission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 角色缓存：失效后重新加载，加载期间的失效不被旧数据覆盖
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class DataPermissionEngineTest {
+
+    private static final DataPermissionSubject SUBJECT = new DataPermissionSubject(1L, 100L, 10L);
+
+    private final AtomicReference<String> scope = new AtomicReference<>("ALL");
+    private final AtomicInteger loads = new AtomicInteger();
+    private Runnable duringLoad = () -> {
+    };
+    private final DataPermissionEngine engine = new DataPermissionEngine((tenantId, userId) -> {
+        loads.incrementAndGet();
+        RoleDataPermission role = new RoleDataPermission();
+        role.setRoleId(7L);
+        role.setDataScope(scope.get());
+        duringLoad.run();
+        return List.of(role);
+    }, new DataPermissionProperties());
+
+    @Test
+    void cachesUntilInvalidated() {
+        assertEquals(DataPermissionPredicate.ALLOW_ALL, engine.predicate(SUBJECT, "sys_user", "u"));
+        scope.set("SELF");
+        assertEquals(DataPermissionPredicate.ALLOW_ALL, engine.predicate(SUBJECT, "sys_user", "u"));
+        assertEquals(1, loads.get());
+        engine.invalidateUser(1L, 100L);
+        assertEquals("u.user_id = ?", engine.predicate(SUBJECT, "sys_user", "u").sql());
+        assertEquals(2, loads.get());
+        scope.set("DEPT");
+        engine.invalidateAll();
+        assertEquals("u.dept_id = ?", engine.predicate(SUBJECT, "sys_user", "u").sql());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotLost() {
+        // 加载读到旧角色后、放入缓存前，角色被撤销并失效
+        duringLoad = () -> {
+            duringLoad = () -> {
+            };
+            scope.set("SELF");
+            engine.invalidateUser(1L, 100L);
+        };
+        assertEquals(DataPermissionPredicate.ALLOW_ALL, engine.predicate(SUBJECT, "sys_user", "u"));
+        assertEquals(0, engine.cachedUsers());
+        assertEquals("u.user_id = ?", engine.predicate(SUBJECT, "sys_user", "u").sql());
+        assertEquals(1, engine.cachedUsers());
+    }
+
+    @Test
+    void concurrentLoadsAndInvalidationsSettleOnLatestRoles() throws InterruptedException {
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    engine.predicate(SUBJECT, "sys_user", "u");
+                }
+            });
+            readers[i].start();
+        }
+        for (int j = 0; j < 200; j++) {
+            scope.set(j % 2 == 0 ? "SELF" : "ALL");
+            engine.invalidateUser(1L, 100L);
+        }
+        scope.set("DEPT");
+        engine.invalidateUser(1L, 100L);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals("u.dept_id = ?", engine.predicate(SUBJECT, "sys_user", "u").sql());
+    }
+}
@@ -0,0 +1,145 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionContext;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionEngine;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionProperties;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.DataPermissionSubject;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.IgnoreDataPermission;
+import com.taoyuan.enjoy.framework.mybatis.datapermission.RoleDataPermission;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 数据权限改写：无用户时拒绝、受信任调用放行、角色范围过滤（含多标记语句）与配置校验
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class DataPermissionInterceptorTest {
+
+    interface UserMapper {
+
+        @Select("SELECT id FROM sys_user u WHERE u.deleted = 0 /*DATA_SCOPE:sys_user u*/ ORDER BY id")
+        List<Long> list();
+
+        @IgnoreDataPermission
+        @Select("SELECT id FROM sys_user u WHERE u.deleted = 0 /*DATA_SCOPE:sys_user u*/ ORDER BY id")
+        List<Long> listAll();
+
+        @Select("SELECT id FROM sys_user u WHERE u.dept_id = #{dept} /*DATA_SCOPE:sys_user u*/"
+                + " UNION SELECT id FROM sys_user u WHERE u.dept_id = #{other} /*DATA_SCOPE:sys_user u*/ ORDER BY id")
+        List<Long> listUnion(@Param("dept") long dept, @Param("other") long other);
+    }
+
+    private final AtomicReference<DataPermissionSubject> subject = new AtomicReference<>();
+    private final Map<Long, List<RoleDataPermission>> roles = new HashMap<>();
+    private SqlSessionFactory factory;
+    private DataPermissionEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:dp" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_user (id bigint PRIMARY KEY, dept_id bigint, user_id bigint, deleted int DEFAULT 0)");
+            st.execute("INSERT INTO sys_user (id, dept_id, user_id) VALUES (1, 10, 100), (2, 10, 200), (3, 20, 300)");
+        }
+        engine = new DataPermissionEngine((tenantId, userId) -> roles.getOrDefault(userId, List.of()),
+                new DataPermissionProperties());
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(new DataPermissionInterceptor(engine, subject::get));
+        configuration.addMapper(UserMapper.class);
+        factory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private List<Long> list() {
+        try (SqlSession session = factory.openSession()) {
+            return session.getMapper(UserMapper.class).list();
+        }
+    }
+
+    @Test
+    void noSubjectFailsClosed() {
+        assertEquals(List.of(), list());
+    }
+
+    @Test
+    void trustedCallsCanOptOut() {
+        assertEquals(List.of(1L, 2L, 3L), DataPermissionContext.ignore(this::list));
+        assertEquals(List.of(), list());
+        try (SqlSession session = factory.openSession()) {
+            assertEquals(List.of(1L, 2L, 3L), session.getMapper(UserMapper.class).listAll());
+        }
+    }
+
+    @Test
+    void appliesRoleScopes() {
+        roles.put(100L, List.of(role("SELF", null)));
+        roles.put(200L, List.of(role("DEPT", null)));
+        roles.put(300L, List.of(role("CUSTOM", "10, 20")));
+        roles.put(400L, List.of());
+        subject.set(new DataPermissionSubject(0L, 100L, 10L));
+        assertEquals(List.of(1L), list());
+        subject.set(new DataPermissionSubject(0L, 200L, 10L));
+        assertEquals(List.of(1L, 2L), list());
+        subject.set(new DataPermissionSubject(0L, 300L, 20L));
+        assertEquals(List.of(1L, 2L, 3L), list());
+        subject.set(new DataPermissionSubject(0L, 400L, 20L));
+        assertEquals(List.of(), list());
+    }
+
+    @Test
+    void filtersEveryMarkedBranch() {
+        roles.put(100L, List.of(role("SELF", null)));
+        subject.set(new DataPermissionSubject(0L, 100L, 10L));
+        try (SqlSession session = factory.openSession()) {
+            assertEquals(List.of(1L), session.getMapper(UserMapper.class).listUnion(10L, 20L));
+            assertEquals(List.of(1L), session.getMapper(UserMapper.class).listUnion(20L, 10L));
+        }
+        subject.set(null);
+        try (SqlSession session = factory.openSession()) {
+            assertEquals(List.of(), session.getMapper(UserMapper.class).listUnion(10L, 20L));
+        }
+    }
+
+    @Test
+    void rejectsInvalidRoleConfiguration() {
+        roles.put(100L, List.of(role("CUSTOM", "10,abc")));
+        roles.put(200L, List.of(role("EVERYTHING", null)));
+        BizException badIds = assertThrows(BizException.class,
+                () -> engine.predicate(new DataPermissionSubject(0L, 100L, 10L), "sys_user", "u"));
+        assertTrue(badIds.getMessage().contains("角色[7]") && badIds.getMessage().contains("'abc'"), badIds.getMessage());
+        BizException badScope = assertThrows(BizException.class,
+                () -> engine.predicate(new DataPermissionSubject(0L, 200L, 10L), "sys_user", "u"));
+        assertTrue(badScope.getMessage().contains("EVERYTHING"), badScope.getMessage());
+    }
+
+    private static RoleDataPermission role(String scope, String deptIds) {
+        RoleDataPermission role = new RoleDataPermission();
+        role.setRoleId(7L);
+        role.setDataScope(scope);
+        role.setDataScopeDeptIds(deptIds);
+        return role;
+    }
+}
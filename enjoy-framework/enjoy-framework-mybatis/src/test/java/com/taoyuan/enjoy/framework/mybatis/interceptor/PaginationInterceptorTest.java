@@ -0,0 +1,148 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.common.enums.CountModeEnum;
+import com.taoyuan.enjoy.framework.common.model.PageRequest;
+import com.taoyuan.enjoy.framework.mybatis.pagination.PaginationProperties;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 页码与游标分页在真实查询上的结果
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class PaginationInterceptorTest {
+
+    interface LogMapper {
+
+        @Select("SELECT id, score FROM sys_log WHERE deleted = 0 ORDER BY score DESC, id ASC")
+        List<Map<String, Object>> page(PageRequest page);
+
+        @Select("SELECT id FROM sys_log WHERE deleted = 0 ORDER BY score DESC, id ASC")
+        List<Long> all();
+    }
+
+    private SqlSessionFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:page" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE sys_log (id bigint PRIMARY KEY, score int NOT NULL, deleted int DEFAULT 0)");
+            }
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_log (id, score, deleted) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= 47; i++) {
+                    ps.setLong(1, i);
+                    // 大量重复分值，验证混合方向下的并列行不丢不重
+                    ps.setInt(2, i % 5);
+                    ps.setInt(3, i % 10 == 0 ? 1 : 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(new PaginationInterceptor(new PaginationProperties(), () -> 0L));
+        configuration.addMapper(LogMapper.class);
+        factory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    void keysetWalksEveryRowOnceInOrder() {
+        try (SqlSession session = factory.openSession()) {
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            List<Long> expected = mapper.all();
+            List<Long> walked = new ArrayList<>();
+            PageRequest page = new PageRequest();
+            page.setKeyset(true);
+            page.setPageSize(6);
+            int pages = 0;
+            do {
+                for (Map<String, Object> row : mapper.page(page)) {
+                    walked.add(((Number) row.get("ID")).longValue());
+                }
+                if (pages == 0) {
+                    assertEquals(43L, page.getTotal());
+                } else {
+                    assertNull(page.getTotal());
+                }
+                page.setCursor(page.getNextCursor());
+                pages++;
+            } while (page.isHasNext());
+            assertEquals(expected, walked);
+            assertEquals(8, pages);
+            assertNull(page.getNextCursor());
+        }
+    }
+
+    @Test
+    void offsetPagesAndCapsCount() {
+        try (SqlSession session = factory.openSession()) {
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            PageRequest page = new PageRequest();
+            page.setPageNo(8);
+            page.setPageSize(6);
+            assertEquals(1, mapper.page(page).size());
+            assertEquals(43L, page.getTotal());
+            assertFalse(page.isHasNext());
+        }
+    }
+
+    @Test
+    void noCountStillReportsNextPage() {
+        try (SqlSession session = factory.openSession()) {
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            PageRequest page = new PageRequest();
+            page.setCountMode(CountModeEnum.NONE);
+            page.setPageNo(7);
+            page.setPageSize(6);
+            assertEquals(6, mapper.page(page).size());
+            assertNull(page.getTotal());
+            assertTrue(page.isHasNext());
+            page.setPageNo(8);
+            assertEquals(1, mapper.page(page).size());
+            assertNull(page.getTotal());
+            assertFalse(page.isHasNext());
+        }
+    }
+
+    @Test
+    void cappedCountStopsAtCap() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setCountCap(20);
+        Configuration configuration = new Configuration(factory.getConfiguration().getEnvironment());
+        configuration.addInterceptor(new PaginationInterceptor(properties, () -> 0L));
+        configuration.addMapper(LogMapper.class);
+        try (SqlSession session = new SqlSessionFactoryBuilder().build(configuration).openSession()) {
+            PageRequest page = new PageRequest();
+            page.setCountMode(CountModeEnum.CAPPED);
+            assertEquals(10, session.getMapper(LogMapper.class).page(page).size());
+            assertEquals(20L, page.getTotal());
+            assertTrue(page.isTotalCapped());
+            assertTrue(page.isHasNext());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.taoyuan.enjoy.framework.mybatis.interceptor;
+
+import com.taoyuan.enjoy.framework.mybatis.softdelete.SoftDeleteProperties;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 逻辑删除过滤：仅主表自身条件约束 deleted 时跳过，查询列、连接表、子查询中的 deleted 不影响
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class SoftDeleteInterceptorTest {
+
+    interface UserMapper {
+
+        @Select("SELECT id FROM sys_user ORDER BY id")
+        List<Long> list();
+
+        @Select("SELECT id, deleted FROM sys_user ORDER BY id")
+        List<Map<String, Object>> listWithColumn();
+
+        @Select("SELECT u.id FROM sys_user u WHERE u.deleted = 1 ORDER BY u.id")
+        List<Long> listDeleted();
+
+        @Select("SELECT id FROM sys_user WHERE deleted IN (0, 1) ORDER BY id")
+        List<Long> listAll();
+
+        @Select("SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id AND d.deleted = 0 ORDER BY u.id")
+        List<Long> listJoined();
+
+        @Select("SELECT u.id FROM sys_user u WHERE u.dept_id IN (SELECT id FROM sys_dept WHERE deleted = 0) ORDER BY u.id")
+        List<Long> listInDept();
+
+        @Select("SELECT u.id FROM sys_user u WHERE u.name = 'deleted' ORDER BY u.id")
+        List<Long> listNamed();
+    }
+
+    private SqlSessionFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sd" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_user (id bigint PRIMARY KEY, dept_id bigint, name varchar(32), deleted int DEFAULT 0)");
+            st.execute("CREATE TABLE sys_dept (id bigint PRIMARY KEY, deleted int DEFAULT 0)");
+            st.execute("INSERT INTO sys_user VALUES (1, 10, 'deleted', 0), (2, 10, 'deleted', 1), (3, 20, 'a', 0)");
+            st.execute("INSERT INTO sys_dept VALUES (10, 0), (20, 1)");
+        }
+        SoftDeleteProperties properties = new SoftDeleteProperties();
+        properties.setTables(Set.of("sys_user"));
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(new SoftDeleteInterceptor(properties));
+        configuration.addMapper(UserMapper.class);
+        factory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private <T> T query(Function<UserMapper, T> call) {
+        try (SqlSession session = factory.openSession()) {
+            return call.apply(session.getMapper(UserMapper.class));
+        }
+    }
+
+    @Test
+    void filtersDeletedRows() {
+        assertEquals(List.of(1L, 3L), query(UserMapper::list));
+    }
+
+    @Test
+    void selectedColumnDoesNotDisableFilter() {
+        assertEquals(2, query(UserMapper::listWithColumn).size());
+    }
+
+    @Test
+    void ownConditionOnMainTableIsRespected() {
+        assertEquals(List.of(2L), query(UserMapper::listDeleted));
+        assertEquals(List.of(1L, 2L, 3L), query(UserMapper::listAll));
+    }
+
+    @Test
+    void joinedTableConditionDoesNotDisableFilter() {
+        assertEquals(List.of(1L, 3L), query(UserMapper::listJoined));
+    }
+
+    @Test
+    void subqueryConditionDoesNotDisableFilter() {
+        assertEquals(List.of(1L), query(UserMapper::listInDept));
+    }
+
+    @Test
+    void quotedTextDoesNotDisableFilter() {
+        assertEquals(List.of(1L), query(UserMapper::listNamed));
+    }
+}
@@ -0,0 +1,81 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 统计SQL推导：列替换、子查询包装与一对一 LEFT JOIN 的裁剪
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class CountSqlBuilderTest {
+
+    private static CountSqlBuilder builder(boolean optimizeJoin) {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setOptimizeJoin(optimizeJoin);
+        return new CountSqlBuilder(properties);
+    }
+
+    /**
+     * 统计SQL，连续空白折叠为一个空格
+     */
+    private static String exact(CountSqlBuilder builder, String sql) {
+        return builder.build(sql).exact().trim().replaceAll("\\s+", " ");
+    }
+
+    @Test
+    void replacesSelectListAndDropsOrderBy() {
+        CountSqlBuilder.CountSql sql = builder(false).build("SELECT u.id, u.name FROM sys_user u WHERE u.status = ? ORDER BY u.id DESC");
+        assertEquals("SELECT COUNT(*) FROM sys_user u WHERE u.status = ? ", sql.exact());
+        assertEquals("SELECT COUNT(*) FROM (SELECT 1 FROM sys_user u WHERE u.status = ?  LIMIT ?) count_tmp", sql.capped());
+    }
+
+    @Test
+    void wrapsComplexQueries() {
+        assertEquals("SELECT COUNT(*) FROM (SELECT DISTINCT dept_id FROM sys_user) count_tmp",
+                exact(builder(false), "SELECT DISTINCT dept_id FROM sys_user"));
+        assertEquals("SELECT COUNT(*) FROM (SELECT dept_id, count(*) FROM sys_user GROUP BY dept_id) count_tmp",
+                exact(builder(false), "SELECT dept_id, count(*) FROM sys_user GROUP BY dept_id"));
+    }
+
+    @Test
+    void keepsJoinsByDefault() {
+        String sql = "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id";
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id", exact(builder(false), sql));
+    }
+
+    @Test
+    void dropsOnlyUnreferencedToOneJoins() {
+        CountSqlBuilder builder = builder(true);
+        assertEquals("SELECT COUNT(*) FROM sys_user u WHERE u.status = 1",
+                exact(builder, "SELECT u.id, d.name FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id WHERE u.status = 1"));
+        assertEquals("SELECT COUNT(*) FROM sys_user u",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON (u.dept_id = d.id AND d.deleted = 0) "
+                        + "LEFT JOIN sys_user m ON m.id = d.leader_id"));
+        // 一对多：用户的角色关联可能有多行
+        String oneToMany = "SELECT u.id FROM sys_user u LEFT JOIN sys_user_role ur ON ur.user_id = u.id";
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_user_role ur ON ur.user_id = u.id",
+                exact(builder, oneToMany));
+        // 被 WHERE 引用、带参数、OR 条件、USING 均保留
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id WHERE d.status = 1",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id WHERE d.status = 1"));
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id AND d.tenant_id = ?",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id AND d.tenant_id = ?"));
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id OR d.code = u.dept_code",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON d.id = u.dept_id OR d.code = u.dept_code"));
+        assertEquals("SELECT COUNT(*) FROM sys_user u LEFT JOIN sys_dept d USING (id)",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_dept d USING (id)"));
+    }
+
+    @Test
+    void uniqueKeysAreConfigurable() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setOptimizeJoin(true);
+        properties.getJoinUniqueKeys().add("USER_ID");
+        CountSqlBuilder builder = new CountSqlBuilder(properties);
+        assertEquals("SELECT COUNT(*) FROM sys_user u",
+                exact(builder, "SELECT u.id FROM sys_user u LEFT JOIN sys_user_profile p ON p.user_id = u.id"));
+    }
+}
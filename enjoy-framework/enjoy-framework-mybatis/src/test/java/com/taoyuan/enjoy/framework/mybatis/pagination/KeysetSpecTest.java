@@ -0,0 +1,71 @@
+package com.taoyuan.enjoy.framework.mybatis.pagination;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 游标分页的排序解析、翻页条件与游标编解码
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class KeysetSpecTest {
+
+    @Test
+    void uniformDirectionUsesRowValueComparison() {
+        KeysetSpec spec = KeysetSpec.parse("SELECT * FROM sys_log l WHERE l.deleted = 0 ORDER BY l.create_time DESC, l.id DESC");
+        assertEquals("SELECT * FROM sys_log l WHERE l.deleted = 0 ", spec.getBody());
+        assertEquals(List.of(new OrderByItem("l.create_time", true), new OrderByItem("l.id", true)), spec.getItems());
+        List<Object> params = new ArrayList<>();
+        assertEquals("(l.create_time, l.id) < (?, ?)", spec.seekCondition(new Object[]{"t", 5L}, params));
+        assertEquals(List.of("t", 5L), params);
+    }
+
+    @Test
+    void mixedDirectionExpandsToOr() {
+        KeysetSpec spec = KeysetSpec.parse("SELECT * FROM t ORDER BY a DESC, b, id ASC");
+        List<Object> params = new ArrayList<>();
+        assertEquals("((a < ?) OR (a = ? AND b > ?) OR (a = ? AND b = ? AND id > ?))",
+                spec.seekCondition(new Object[]{1L, 2L, 3L}, params));
+        assertEquals(List.of(1L, 1L, 2L, 1L, 2L, 3L), params);
+    }
+
+    @Test
+    void rejectsUnsupportedQueries() {
+        assertThrows(IllegalStateException.class, () -> KeysetSpec.parse("SELECT * FROM t"));
+        assertThrows(IllegalStateException.class, () -> KeysetSpec.parse("SELECT a FROM t GROUP BY a ORDER BY a"));
+        assertThrows(IllegalStateException.class, () -> KeysetSpec.parse("SELECT * FROM t ORDER BY a LIMIT 5"));
+        assertThrows(IllegalStateException.class, () -> KeysetSpec.parse("SELECT * FROM t ORDER BY lower(a)"));
+    }
+
+    @Test
+    void cursorRoundTripsTypedValues() {
+        Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05.123456789");
+        Object[] values = {42L, "名字", new BigDecimal("1.50"), timestamp,
+                LocalDateTime.of(2024, 1, 2, 3, 4), LocalDate.of(2024, 1, 2)};
+        String cursor = KeysetCursor.encode(7, values);
+        Object[] decoded = KeysetCursor.decode(cursor, 7, values.length);
+        assertArrayEquals(values, decoded);
+    }
+
+    @Test
+    void rejectsForeignOrTamperedCursor() {
+        String cursor = KeysetCursor.encode(7, new Object[]{1L});
+        assertThrows(BizException.class, () -> KeysetCursor.decode(cursor, 8, 1));
+        assertThrows(BizException.class, () -> KeysetCursor.decode(cursor, 7, 2));
+        assertThrows(BizException.class, () -> KeysetCursor.decode(cursor.substring(0, cursor.length() - 3), 7, 1));
+        assertThrows(BizException.class, () -> KeysetCursor.decode("!!", 7, 1));
+        assertThrows(IllegalStateException.class, () -> KeysetCursor.encode(7, new Object[]{null}));
+    }
+}
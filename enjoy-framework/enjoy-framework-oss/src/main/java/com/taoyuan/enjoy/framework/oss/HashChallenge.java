@@ -0,0 +1,28 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import java.util.List;
+
+/**
+ * 秒传持有证明挑战
+ * 客户端按顺序读取文件中的各个区间，计算 SHA-256(随机数 || 区间1 || 区间2 ...)，以十六进制小写提交给
+ * {@link OssFileService#uploadByHash}。区间由服务端随机选取，只知道摘要而没有文件内容时无法作答。
+ * 只能使用一次，过期作废
+ *
+ * @param id         挑战ID
+ * @param nonce      随机数（十六进制），按字节参与摘要
+ * @param ranges     需读取的区间，按顺序参与摘要
+ * @param expireTime 过期时间（毫秒时间戳）
+ * @author enjoy
+ * @version 1.0
+ */
+public record HashChallenge(String id, String nonce, List<Range> ranges, long expireTime) {
+
+    /**
+     * 文件区间
+     *
+     * @param offset 起始位置
+     * @param length 字节数
+     */
+    public record Range(long offset, long length) {
+    }
+}
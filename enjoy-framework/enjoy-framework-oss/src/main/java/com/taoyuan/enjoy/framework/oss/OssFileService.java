@@ -0,0 +1,694 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.utils.DateUtils;
+import com.taoyuan.enjoy.framework.common.utils.IdGenerator;
+import com.taoyuan.enjoy.framework.oss.storage.ObjectStorage;
+import com.taoyuan.enjoy.framework.oss.storage.StoragePart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件服务
+ * <ul>
+ *     <li>流式上传 {@link #upload}：按分片大小读入池化缓冲，边读边算 SHA-256；不足一片时单次写入，
+ *     否则走分片上传，多个分片在虚拟线程上并行写往存储，读取下一片与上传前几片重叠进行。
+ *     堆内存占用受共享缓冲池限制，与文件大小无关</li>
+ *     <li>分片上传 {@link #initiate} / {@link #uploadPart} / {@link #complete}：客户端切片，支持并行与断点续传，
+ *     分片请求体直接流向存储</li>
+ * </ul>
+ * 分片上传会话保存在内存中，进程重启后需重新上传；存储端残留的未完成分片由 {@link #cleanExpiredSessions()}
+ * 或存储自身的生命周期规则清理。
+ * 开启去重时同租户相同内容只保留一个对象，重复上传的副本在落库后删除，也可先以摘要秒传：
+ * {@link #hashChallenge} 取随机区间挑战，{@link #uploadByHash} 提交持有证明；
+ * 配置 {@link TenantStorageUsage} 时上传前按租户配额预留空间，流式上传按分片逐步预留
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class OssFileService {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ObjectStorage storage;
+    private final OssObjectStore store;
+    private final OssProperties properties;
+    private final TenantStorageUsage usage;
+    private final PartBufferPool buffers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, PendingChallenge> challenges = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param storage    存储后端
+     * @param store      sys_oss 读写，为 null 时不落库
+     * @param properties 配置
+     */
+    public OssFileService(ObjectStorage storage, OssObjectStore store, OssProperties properties) {
+        this(storage, store, properties, null);
+    }
+
+    /**
+     * @param storage    存储后端
+     * @param store      sys_oss 读写，为 null 时不落库
+     * @param properties 配置
+     * @param usage      租户存储用量，为 null 时不检查配额
+     */
+    public OssFileService(ObjectStorage storage, OssObjectStore store, OssProperties properties,
+                          TenantStorageUsage usage) {
+        this.storage = Objects.requireNonNull(storage);
+        this.store = store;
+        this.properties = Objects.requireNonNull(properties);
+        this.usage = usage;
+        this.buffers = new PartBufferPool(properties.getPartSize(), properties.getMaxBufferedParts());
+    }
+
+    /**
+     * 流式上传，长度未知的流也可上传
+     *
+     * @param tenantId     租户ID
+     * @param originalName 原文件名
+     * @param in           内容，读到末尾，不关闭
+     */
+    public OssObject upload(long tenantId, String originalName, InputStream in) throws IOException {
+        String key = newKey(originalName);
+        MessageDigest digest = UploadSession.newDigest();
+        TenantStorageUsage.Reservation reservation = reserve(tenantId, 0L);
+        try {
+            long size = write(key, in, digest, reservation);
+            return save(tenantId, key, originalName, size, HEX.formatHex(digest.digest()), reservation);
+        } finally {
+            release(reservation);
+        }
+    }
+
+    /**
+     * 不足一片时单次写入，否则分片上传
+     *
+     * @return 文件大小
+     */
+    private long write(String key, InputStream in, MessageDigest digest, TenantStorageUsage.Reservation reservation)
+            throws IOException {
+        byte[] first = acquireBuffer();
+        try {
+            int n = readFully(in, first);
+            checkSize(n);
+            extend(reservation, n);
+            digest.update(first, 0, n);
+            if (n < first.length) {
+                storage.put(key, new ByteArrayInputStream(first, 0, n), n);
+                return n;
+            }
+            byte[] buffer = first;
+            first = null;
+            return uploadMultipart(key, in, buffer, digest, reservation);
+        } finally {
+            if (first != null) {
+                buffers.release(first);
+            }
+        }
+    }
+
+    /**
+     * 分片上传读取循环：主线程读入下一片的同时，已读满的分片在虚拟线程上上传
+     *
+     * @param first 已读满的第一片，所有权转交给本方法
+     * @return 文件大小
+     */
+    private long uploadMultipart(String key, InputStream in, byte[] first, MessageDigest digest,
+                                 TenantStorageUsage.Reservation reservation) throws IOException {
+        String uploadId;
+        try {
+            uploadId = storage.initiateMultipart(key);
+        } catch (IOException | RuntimeException e) {
+            buffers.release(first);
+            throw e;
+        }
+        Semaphore inflight = new Semaphore(Math.max(1, properties.getUploadParallelism()));
+        List<Future<StoragePart>> futures = new ArrayList<>();
+        try {
+            byte[] buffer = first;
+            int length = buffer.length;
+            long total = 0;
+            for (int partNumber = 1; ; partNumber++) {
+                total += length;
+                submitPart(key, uploadId, partNumber, buffer, length, inflight, futures);
+                if (length < buffer.length) {
+                    break;
+                }
+                failFast(futures);
+                buffer = acquireBuffer();
+                try {
+                    length = readFully(in, buffer);
+                    checkSize(total + length);
+                    extend(reservation, length);
+                } catch (IOException | RuntimeException e) {
+                    buffers.release(buffer);
+                    throw e;
+                }
+                if (length == 0) {
+                    buffers.release(buffer);
+                    break;
+                }
+                digest.update(buffer, 0, length);
+            }
+            List<StoragePart> parts = new ArrayList<>(futures.size());
+            for (Future<StoragePart> future : futures) {
+                parts.add(await(future));
+            }
+            storage.completeMultipart(key, uploadId, parts);
+            return total;
+        } catch (IOException | RuntimeException e) {
+            for (Future<StoragePart> future : futures) {
+                future.cancel(true);
+            }
+            try {
+                storage.abortMultipart(key, uploadId);
+            } catch (IOException | RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private void submitPart(String key, String uploadId, int partNumber, byte[] buffer, int length,
+                            Semaphore inflight, List<Future<StoragePart>> futures) throws IOException {
+        try {
+            inflight.acquire();
+        } catch (InterruptedException e) {
+            buffers.release(buffer);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for part upload slot");
+        }
+        futures.add(executor.submit(() -> {
+            try {
+                return storage.uploadPart(key, uploadId, partNumber, new ByteArrayInputStream(buffer, 0, length),
+                        length);
+            } finally {
+                buffers.release(buffer);
+                inflight.release();
+            }
+        }));
+    }
+
+    /**
+     * 已失败的分片立即中止整个上传，不再继续读取
+     */
+    private static void failFast(List<Future<StoragePart>> futures) throws IOException {
+        for (Future<StoragePart> future : futures) {
+            if (future.isDone()) {
+                await(future);
+            }
+        }
+    }
+
+    private static StoragePart await(Future<StoragePart> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for part upload");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 开始分片上传
+     *
+     * @param tenantId     租户ID
+     * @param originalName 原文件名
+     * @param size         文件大小
+     */
+    public UploadSession initiate(long tenantId, String originalName, long size) throws IOException {
+        if (size <= 0) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "文件大小必须大于0");
+        }
+        checkSize(size);
+        cleanExpiredSessions();
+        TenantStorageUsage.Reservation reservation = reserve(tenantId, size);
+        try {
+            String key = newKey(originalName);
+            String uploadId = storage.initiateMultipart(key);
+            UploadSession session = new UploadSession(Long.toString(IdGenerator.nextId()), tenantId, key,
+                    originalName, size, properties.getPartSize(), uploadId, System.currentTimeMillis());
+            session.reservation = reservation;
+            sessions.put(session.getId(), session);
+            return session;
+        } catch (IOException | RuntimeException e) {
+            release(reservation);
+            throw e;
+        }
+    }
+
+    /**
+     * 获取会话用于续传，已上传分片以存储端列举结果为准
+     */
+    public UploadSession resume(long tenantId, String sessionId) throws IOException {
+        UploadSession session = session(tenantId, sessionId);
+        session.resetParts(storage.listParts(session.getKey(), session.uploadId()));
+        return session;
+    }
+
+    /**
+     * 上传一个分片，请求体直接流向存储；同一分片可重复上传
+     *
+     * @param in 分片内容，读取该分片应有的字节数，不关闭
+     */
+    public StoragePart uploadPart(long tenantId, String sessionId, int partNumber, InputStream in) throws IOException {
+        UploadSession session = session(tenantId, sessionId);
+        long length = session.partLength(partNumber);
+        MessageDigest inline = session.beginInlineHash(partNumber);
+        try {
+            InputStream body = inline == null ? in : new DigestInputStream(in, inline);
+            StoragePart part = storage.uploadPart(session.getKey(), session.uploadId(), partNumber, body, length);
+            session.addPart(part);
+            if (inline != null) {
+                session.commitInlineHash(inline, part);
+            }
+            return part;
+        } finally {
+            if (inline != null) {
+                session.endInlineHash();
+            }
+        }
+    }
+
+    /**
+     * 合并分片并保存文件记录
+     */
+    public OssObject complete(long tenantId, String sessionId) throws IOException {
+        UploadSession session = session(tenantId, sessionId);
+        List<StoragePart> parts = session.parts();
+        if (parts.size() != session.getPartCount()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "分片未上传完整："
+                    + parts.size() + "/" + session.getPartCount());
+        }
+        storage.completeMultipart(session.getKey(), session.uploadId(), parts);
+        if (!sessions.remove(sessionId, session)) {
+            throw new BizException(CommonErrorCode.DATA_NOT_FOUND, "上传会话不存在或已过期");
+        }
+        try {
+            UploadSession.HashProgress progress = session.hashProgress(parts);
+            MessageDigest digest = progress.digest();
+            if (progress.hashedBytes() < session.getSize()) {
+                // 未能顺序累计的部分从存储回读
+                storage.transferTo(session.getKey(), progress.hashedBytes(), -1L, new DigestChannel(digest));
+            }
+            return save(tenantId, session.getKey(), session.getOriginalName(), session.getSize(),
+                    HEX.formatHex(digest.digest()), session.reservation);
+        } finally {
+            release(session.reservation);
+        }
+    }
+
+    /**
+     * 秒传第一步：生成持有证明挑战。无论本租户是否已有相同内容都返回挑战，响应不透露内容是否存在
+     *
+     * @param contentHash 内容 SHA-256（十六进制）
+     * @param size        文件大小
+     * @return 未开启去重时返回 null，客户端应正常上传
+     */
+    public HashChallenge hashChallenge(long tenantId, String contentHash, long size) {
+        if (!properties.isDeduplicate()) {
+            return null;
+        }
+        if (contentHash == null || contentHash.length() != 64 || !isHex(contentHash)) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "内容摘要格式错误");
+        }
+        if (size < 0) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "文件大小错误");
+        }
+        checkSize(size);
+        long now = System.currentTimeMillis();
+        if (challenges.size() >= properties.getMaxHashChallenges()) {
+            cleanExpiredChallenges(now);
+            if (challenges.size() >= properties.getMaxHashChallenges()) {
+                throw BizException.of(CommonErrorCode.TOO_MANY_REQUESTS);
+            }
+        }
+        byte[] nonce = new byte[16];
+        random.nextBytes(nonce);
+        long rangeLength = Math.min(properties.getHashChallengeRangeBytes(), size);
+        List<HashChallenge.Range> ranges = new ArrayList<>(properties.getHashChallengeRanges());
+        for (int i = 0; rangeLength > 0 && i < properties.getHashChallengeRanges(); i++) {
+            long offset = size == rangeLength ? 0L : random.nextLong(size - rangeLength + 1);
+            ranges.add(new HashChallenge.Range(offset, rangeLength));
+        }
+        HashChallenge challenge = new HashChallenge(Long.toString(IdGenerator.nextId()), HEX.formatHex(nonce),
+                List.copyOf(ranges), now + TimeUnit.SECONDS.toMillis(properties.getHashChallengeTtlSeconds()));
+        challenges.put(challenge.id(), new PendingChallenge(tenantId, contentHash.toLowerCase(Locale.ROOT), size,
+                nonce, challenge));
+        return challenge;
+    }
+
+    /**
+     * 秒传第二步：校验持有证明，本租户已有相同内容且证明正确时直接引用，不传输内容。
+     * 内容不存在与证明错误的结果相同，去重只在租户内进行
+     *
+     * @param challengeId 挑战ID，校验后作废
+     * @param proof       SHA-256(随机数 || 各区间内容)（十六进制），见 {@link HashChallenge}
+     * @return 不能秒传时返回 null，客户端应正常上传
+     */
+    public OssObject uploadByHash(long tenantId, String originalName, String challengeId, String proof)
+            throws IOException {
+        PendingChallenge pending = challengeId == null ? null : challenges.get(challengeId);
+        if (pending == null || pending.tenantId() != tenantId || !challenges.remove(challengeId, pending)
+                || pending.challenge().expireTime() < System.currentTimeMillis()) {
+            throw new BizException(CommonErrorCode.DATA_NOT_FOUND, "秒传校验不存在或已过期");
+        }
+        if (proof == null || proof.length() != 64 || !isHex(proof)) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "持有证明格式错误");
+        }
+        OssObjectStore objects = requireStore();
+        String fileName = objects.findBlob(tenantId, storage.getService(), pending.contentHash(), pending.size());
+        if (fileName == null || !MessageDigest.isEqual(expectedProof(fileName, pending), HEX.parseHex(proof))) {
+            return null;
+        }
+        TenantStorageUsage.Reservation reservation = reserve(tenantId, pending.size());
+        try {
+            OssObject object = newObject(tenantId, null, originalName, pending.size(), pending.contentHash());
+            if (!objects.insertIfPresent(object)) {
+                return null;
+            }
+            commit(reservation, pending.size());
+            return object;
+        } finally {
+            release(reservation);
+        }
+    }
+
+    private byte[] expectedProof(String fileName, PendingChallenge pending) throws IOException {
+        MessageDigest digest = UploadSession.newDigest();
+        digest.update(pending.nonce());
+        DigestChannel channel = new DigestChannel(digest);
+        for (HashChallenge.Range range : pending.challenge().ranges()) {
+            storage.transferTo(fileName, range.offset(), range.length(), channel);
+        }
+        return digest.digest();
+    }
+
+    private void cleanExpiredChallenges(long now) {
+        challenges.values().removeIf(pending -> pending.challenge().expireTime() < now);
+    }
+
+    /**
+     * 放弃分片上传
+     */
+    public void abort(long tenantId, String sessionId) throws IOException {
+        UploadSession session = session(tenantId, sessionId);
+        if (sessions.remove(sessionId, session)) {
+            release(session.reservation);
+            storage.abortMultipart(session.getKey(), session.uploadId());
+        }
+    }
+
+    /**
+     * 放弃超过有效期的分片上传会话
+     *
+     * @return 清理的会话数
+     */
+    public int cleanExpiredSessions() {
+        cleanExpiredChallenges(System.currentTimeMillis());
+        long deadline = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(properties.getSessionTtlSeconds());
+        int cleaned = 0;
+        for (UploadSession session : sessions.values()) {
+            if (session.getCreateTime() < deadline && sessions.remove(session.getId(), session)) {
+                release(session.reservation);
+                try {
+                    storage.abortMultipart(session.getKey(), session.uploadId());
+                } catch (IOException | RuntimeException e) {
+                    // 存储端残留由生命周期规则兜底
+                }
+                cleaned++;
+            }
+        }
+        return cleaned;
+    }
+
+    /**
+     * 下载文件的一段
+     *
+     * @param offset 起始位置
+     * @param length 字节数，-1 表示到末尾
+     * @param target 目标通道，为 SocketChannel 且使用本地存储时零拷贝
+     * @return 写入的字节数
+     */
+    public long download(OssObject object, long offset, long length, WritableByteChannel target) throws IOException {
+        return storage.transferTo(object.getFileName(), offset, length, target);
+    }
+
+    /**
+     * 删除文件记录与对象
+     *
+     * @return 文件是否存在
+     */
+    public boolean delete(long tenantId, long id) throws IOException {
+        OssObjectStore objects = requireStore();
+        TenantStorageUsage.Reservation reservation = reserve(tenantId, 0L);
+        try {
+            if (properties.isDeduplicate()) {
+                OssObjectStore.Removal removal = objects.remove(tenantId, id);
+                if (removal == null) {
+                    return false;
+                }
+                commit(reservation, -removal.object().getFileSize());
+                // 仍被其他记录引用的内容保留
+                if (removal.lastReference()) {
+                    storage.delete(removal.object().getFileName());
+                }
+                return true;
+            }
+            OssObject object = objects.findById(tenantId, id);
+            if (object == null || !objects.delete(tenantId, id)) {
+                return false;
+            }
+            commit(reservation, -object.getFileSize());
+            storage.delete(object.getFileName());
+            return true;
+        } finally {
+            release(reservation);
+        }
+    }
+
+    /**
+     * 落库并结算预留；去重时已有相同内容则删除刚写入的对象，记录指向已有对象
+     */
+    private OssObject save(long tenantId, String key, String originalName, long size, String hash,
+                           TenantStorageUsage.Reservation reservation) throws IOException {
+        OssObject object = newObject(tenantId, key, originalName, size, hash);
+        if (store != null) {
+            boolean duplicate;
+            try {
+                if (properties.isDeduplicate()) {
+                    duplicate = store.insertReferencing(object);
+                } else {
+                    store.insert(object);
+                    duplicate = false;
+                }
+            } catch (RuntimeException e) {
+                try {
+                    storage.delete(key);
+                } catch (IOException | RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            if (duplicate) {
+                try {
+                    storage.delete(key);
+                } catch (IOException | RuntimeException e) {
+                    // 记录已指向已有对象，残留副本不影响使用
+                }
+            }
+        }
+        commit(reservation, size);
+        return object;
+    }
+
+    private OssObject newObject(long tenantId, String key, String originalName, long size, String hash) {
+        OssObject object = new OssObject();
+        object.setId(IdGenerator.nextId());
+        object.setTenantId(tenantId);
+        object.setFileName(key);
+        object.setOriginalName(originalName == null ? "" : originalName);
+        object.setFileSuffix(suffix(originalName));
+        object.setUrl(key == null ? null : storage.url(key));
+        object.setFileSize(size);
+        object.setService(storage.getService());
+        object.setContentHash(hash);
+        return object;
+    }
+
+    private TenantStorageUsage.Reservation reserve(long tenantId, long bytes) {
+        return usage == null ? null : usage.reserve(tenantId, bytes);
+    }
+
+    private static void extend(TenantStorageUsage.Reservation reservation, long bytes) {
+        if (reservation != null) {
+            reservation.extend(bytes);
+        }
+    }
+
+    private static void commit(TenantStorageUsage.Reservation reservation, long bytes) {
+        if (reservation != null) {
+            reservation.commit(bytes);
+        }
+    }
+
+    /**
+     * 结算后调用无效果
+     */
+    private static void release(TenantStorageUsage.Reservation reservation) {
+        if (reservation != null) {
+            reservation.release();
+        }
+    }
+
+    private static boolean isHex(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private OssObjectStore requireStore() {
+        if (store == null) {
+            throw new IllegalStateException("OssObjectStore is not configured");
+        }
+        return store;
+    }
+
+    private UploadSession session(long tenantId, String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null || session.getTenantId() != tenantId) {
+            throw new BizException(CommonErrorCode.DATA_NOT_FOUND, "上传会话不存在或已过期");
+        }
+        return session;
+    }
+
+    private void checkSize(long size) {
+        if (properties.getMaxFileSize() > 0 && size > properties.getMaxFileSize()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "文件大小超过限制");
+        }
+    }
+
+    private byte[] acquireBuffer() throws InterruptedIOException {
+        try {
+            return buffers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for upload buffer");
+        }
+    }
+
+    private String newKey(String originalName) {
+        String suffix = suffix(originalName);
+        String prefix = properties.getKeyPrefix();
+        return (prefix == null || prefix.isBlank() ? "" : prefix.endsWith("/") ? prefix : prefix + "/")
+                + DateUtils.datePath() + "/" + IdGenerator.nextId() + (suffix.isEmpty() ? "" : "." + suffix);
+    }
+
+    /**
+     * 后缀名：小写字母数字，最长10个字符（sys_oss.file_suffix），不合法时为空
+     */
+    static String suffix(String originalName) {
+        if (originalName == null) {
+            return "";
+        }
+        int dot = originalName.lastIndexOf('.');
+        if (dot < 0 || dot == originalName.length() - 1) {
+            return "";
+        }
+        String suffix = originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (suffix.length() > 10) {
+            return "";
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            char c = suffix.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return "";
+            }
+        }
+        return suffix;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int n = 0;
+        while (n < buffer.length) {
+            int read = in.read(buffer, n, buffer.length - n);
+            if (read < 0) {
+                break;
+            }
+            n += read;
+        }
+        return n;
+    }
+
+    /**
+     * 待校验的秒传挑战
+     */
+    private record PendingChallenge(long tenantId, String contentHash, long size, byte[] nonce,
+                                    HashChallenge challenge) {
+    }
+
+    /**
+     * 把写入的内容累计到摘要
+     */
+    private static final class DigestChannel implements WritableByteChannel {
+
+        private final MessageDigest digest;
+
+        DigestChannel(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            digest.update(src);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
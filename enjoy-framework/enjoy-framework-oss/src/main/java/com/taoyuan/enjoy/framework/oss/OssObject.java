@@ -0,0 +1,112 @@
+package com.taoyuan.enjoy.framework.oss;
+
+/**
+ * 已存储的文件（对应 sys_oss）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class OssObject {
+
+    private Long id;
+
+    private Long tenantId;
+
+    /**
+     * 对象键
+     */
+    private String fileName;
+
+    private String originalName;
+
+    /**
+     * 后缀名，不含点，小写
+     */
+    private String fileSuffix;
+
+    private String url;
+
+    private Long fileSize;
+
+    /**
+     * 服务商标识
+     */
+    private String service;
+
+    /**
+     * 内容 SHA-256（十六进制），上传时边传边算
+     */
+    private String contentHash;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getOriginalName() {
+        return originalName;
+    }
+
+    public void setOriginalName(String originalName) {
+        this.originalName = originalName;
+    }
+
+    public String getFileSuffix() {
+        return fileSuffix;
+    }
+
+    public void setFileSuffix(String fileSuffix) {
+        this.fileSuffix = fileSuffix;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
@@ -0,0 +1,359 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.utils.IdGenerator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * sys_oss 读写
+ * 去重模式下（upgrade_oss_dedup.sql）文件记录通过 content_hash 引用 sys_oss_blob 内容块：
+ * 引用时对内容块 ref_count 做条件自增，不存在时登记新内容块，并发登记由唯一索引裁决后重试；
+ * 删除时自减，归零的内容块在同一事务内删除，由调用方删除存储对象
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class OssObjectStore {
+
+    private static final String COLUMNS = "id, tenant_id, file_name, original_name, file_suffix, url, file_size, service";
+
+    /**
+     * 并发登记同一内容块时的重试次数
+     */
+    private static final int REFERENCE_ATTEMPTS = 3;
+
+    private final DataSource dataSource;
+
+    public OssObjectStore(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+    }
+
+    /**
+     * 写入记录，ID 须已分配
+     */
+    public void insert(OssObject object) {
+        try (Connection conn = dataSource.getConnection()) {
+            insert(conn, object, false);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to insert sys_oss", e);
+        }
+    }
+
+    /**
+     * 写入记录并引用内容块，ID 与 contentHash 须已设置
+     *
+     * @return 是否引用了已有内容块，此时 object 的 fileName、url 已改为已有对象，调用方应删除新上传的对象
+     */
+    public boolean insertReferencing(OssObject object) {
+        return reference(object, true);
+    }
+
+    /**
+     * 已有相同内容时直接写入记录（秒传），ID、contentHash、fileSize 须已设置
+     *
+     * @return 是否存在相同内容，不存在时不写入
+     */
+    public boolean insertIfPresent(OssObject object) {
+        return reference(object, false);
+    }
+
+    /**
+     * 租户内相同内容块的对象键
+     *
+     * @return 不存在时返回 null
+     */
+    public String findBlob(long tenantId, String service, String contentHash, long fileSize) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT file_name FROM sys_oss_blob WHERE tenant_id = ?"
+                     + " AND service = ? AND content_hash = ? AND file_size = ? AND ref_count > 0")) {
+            ps.setLong(1, tenantId);
+            ps.setString(2, service);
+            ps.setString(3, contentHash);
+            ps.setLong(4, fileSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query sys_oss_blob", e);
+        }
+    }
+
+    private boolean reference(OssObject object, boolean register) {
+        Objects.requireNonNull(object.getContentHash(), "contentHash");
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    boolean existing = incrementBlob(conn, object);
+                    if (!existing && !register) {
+                        conn.rollback();
+                        return false;
+                    }
+                    if (!existing && !insertBlob(conn, object)) {
+                        // 并发登记了同一内容块，重新引用
+                        conn.rollback();
+                        if (attempt == REFERENCE_ATTEMPTS) {
+                            throw new IllegalStateException("Failed to reference sys_oss_blob " + object.getContentHash());
+                        }
+                        continue;
+                    }
+                    insert(conn, object, true);
+                    conn.commit();
+                    return existing;
+                }
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to insert sys_oss", e);
+        }
+    }
+
+    /**
+     * 已有内容块时引用计数加一，并把对象键与地址改为已有对象
+     */
+    private static boolean incrementBlob(Connection conn, OssObject object) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE sys_oss_blob SET ref_count = ref_count + 1"
+                + " WHERE tenant_id = ? AND service = ? AND content_hash = ? AND file_size = ? AND ref_count > 0")) {
+            bindBlobKey(ps, object);
+            ps.setLong(4, object.getFileSize());
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement("SELECT file_name, url FROM sys_oss_blob"
+                + " WHERE tenant_id = ? AND service = ? AND content_hash = ?")) {
+            bindBlobKey(ps, object);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                object.setFileName(rs.getString(1));
+                object.setUrl(rs.getString(2));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return 唯一索引冲突时返回 false
+     */
+    private static boolean insertBlob(Connection conn, OssObject object) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_oss_blob (id, tenant_id, service,"
+                + " content_hash, file_name, url, file_size, ref_count) VALUES (?, ?, ?, ?, ?, ?, ?, 1)")) {
+            ps.setLong(1, IdGenerator.nextId());
+            ps.setLong(2, object.getTenantId());
+            ps.setString(3, object.getService());
+            ps.setString(4, object.getContentHash());
+            ps.setString(5, object.getFileName());
+            ps.setString(6, object.getUrl());
+            ps.setLong(7, object.getFileSize());
+            ps.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static void insert(Connection conn, OssObject object, boolean withHash) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_oss (" + COLUMNS
+                + (withHash ? ", content_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)" : ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)"))) {
+            ps.setLong(1, object.getId());
+            ps.setLong(2, object.getTenantId());
+            ps.setString(3, object.getFileName());
+            ps.setString(4, object.getOriginalName());
+            ps.setString(5, object.getFileSuffix());
+            ps.setString(6, object.getUrl());
+            ps.setLong(7, object.getFileSize());
+            ps.setString(8, object.getService());
+            if (withHash) {
+                ps.setString(9, object.getContentHash());
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * @return 不存在或已删除时返回 null
+     */
+    public OssObject findById(long tenantId, long id) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT " + COLUMNS
+                     + " FROM sys_oss WHERE id = ? AND tenant_id = ? AND deleted = 0")) {
+            ps.setLong(1, id);
+            ps.setLong(2, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                OssObject object = new OssObject();
+                object.setId(rs.getLong(1));
+                object.setTenantId(rs.getLong(2));
+                object.setFileName(rs.getString(3));
+                object.setOriginalName(rs.getString(4));
+                object.setFileSuffix(rs.getString(5));
+                object.setUrl(rs.getString(6));
+                object.setFileSize(rs.getLong(7));
+                object.setService(rs.getString(8));
+                return object;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query sys_oss", e);
+        }
+    }
+
+    /**
+     * 逻辑删除，按 ID 方式写入 deleted = id（upgrade_soft_delete.sql）
+     *
+     * @return 是否删除了记录
+     */
+    public boolean delete(long tenantId, long id) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "UPDATE sys_oss SET deleted = id WHERE id = ? AND tenant_id = ? AND deleted = 0")) {
+            ps.setLong(1, id);
+            ps.setLong(2, tenantId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to delete sys_oss", e);
+        }
+    }
+
+    /**
+     * 去重模式下逻辑删除记录并释放内容块引用
+     *
+     * @return 不存在或已删除时返回 null
+     */
+    public Removal remove(long tenantId, long id) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                OssObject object;
+                String hash;
+                try (PreparedStatement ps = conn.prepareStatement("SELECT file_name, file_size, service, content_hash"
+                        + " FROM sys_oss WHERE id = ? AND tenant_id = ? AND deleted = 0 FOR UPDATE")) {
+                    ps.setLong(1, id);
+                    ps.setLong(2, tenantId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return null;
+                        }
+                        object = new OssObject();
+                        object.setId(id);
+                        object.setTenantId(tenantId);
+                        object.setFileName(rs.getString(1));
+                        object.setFileSize(rs.getLong(2));
+                        object.setService(rs.getString(3));
+                        hash = rs.getString(4);
+                        object.setContentHash(hash);
+                    }
+                }
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "UPDATE sys_oss SET deleted = id WHERE id = ? AND tenant_id = ? AND deleted = 0")) {
+                    ps.setLong(1, id);
+                    ps.setLong(2, tenantId);
+                    ps.executeUpdate();
+                }
+                // 升级前的记录不引用内容块，独占对象
+                boolean lastReference = hash == null || decrementBlob(conn, object);
+                conn.commit();
+                return new Removal(object, lastReference);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to delete sys_oss", e);
+        }
+    }
+
+    /**
+     * @return 引用是否归零（内容块已删除）
+     */
+    private static boolean decrementBlob(Connection conn, OssObject object) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE sys_oss_blob SET ref_count = ref_count - 1"
+                + " WHERE tenant_id = ? AND service = ? AND content_hash = ?")) {
+            bindBlobKey(ps, object);
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM sys_oss_blob"
+                + " WHERE tenant_id = ? AND service = ? AND content_hash = ? AND ref_count <= 0")) {
+            bindBlobKey(ps, object);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * 各租户未删除文件的总大小
+     */
+    public Map<Long, Long> sumFileSizeByTenant() {
+        Map<Long, Long> sizes = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT tenant_id, SUM(file_size) FROM sys_oss WHERE deleted = 0 GROUP BY tenant_id");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                sizes.put(rs.getLong(1), rs.getLong(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to sum sys_oss", e);
+        }
+        return sizes;
+    }
+
+    /**
+     * 单个租户未删除文件的总大小
+     */
+    public long sumFileSize(long tenantId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT SUM(file_size) FROM sys_oss WHERE tenant_id = ? AND deleted = 0")) {
+            ps.setLong(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to sum sys_oss", e);
+        }
+    }
+
+    private static void bindBlobKey(PreparedStatement ps, OssObject object) throws SQLException {
+        ps.setLong(1, object.getTenantId());
+        ps.setString(2, object.getService());
+        ps.setString(3, object.getContentHash());
+    }
+
+    /**
+     * 唯一索引冲突：MySQL 错误码 1062，H2、PostgreSQL SQLState 23505
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    /**
+     * 删除结果
+     *
+     * @param object        被删除的记录（fileName、fileSize、service、contentHash）
+     * @param lastReference 是否为最后一个引用，为 true 时调用方应删除存储对象
+     */
+    public record Removal(OssObject object, boolean lastReference) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.taoyuan.enjoy.framework.oss;
+
+/**
+ * 文件上传配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class OssProperties {
+
+    /**
+     * 对象键前缀，对象键为 前缀/yyyyMMdd/ID.后缀
+     */
+    private String keyPrefix = "";
+
+    /**
+     * 分片大小（字节），S3 要求除最后一片外不小于 5MB；流式上传不超过该大小时单次写入
+     */
+    private int partSize = 8 * 1024 * 1024;
+
+    /**
+     * 单个流式上传同时写往存储的分片数
+     */
+    private int uploadParallelism = 4;
+
+    /**
+     * 全部流式上传共用的分片缓冲数上限，堆内存占用不超过 partSize × maxBufferedParts
+     */
+    private int maxBufferedParts = 32;
+
+    /**
+     * 单个文件大小上限（字节），不大于0时不限制
+     */
+    private long maxFileSize = 0L;
+
+    /**
+     * 分片上传会话有效期（秒），过期未完成的会话被放弃并清理分片
+     */
+    private long sessionTtlSeconds = 24 * 60 * 60L;
+
+    /**
+     * 是否按内容去重，需执行 upgrade_oss_dedup.sql
+     */
+    private boolean deduplicate = true;
+
+    /**
+     * 秒传挑战的区间数
+     */
+    private int hashChallengeRanges = 4;
+
+    /**
+     * 秒传挑战每个区间的字节数
+     */
+    private int hashChallengeRangeBytes = 4096;
+
+    /**
+     * 秒传挑战有效期（秒）
+     */
+    private long hashChallengeTtlSeconds = 5 * 60L;
+
+    /**
+     * 同时有效的秒传挑战数上限
+     */
+    private int maxHashChallenges = 10_000;
+
+    /**
+     * 租户存储用量与数据库对账的间隔（秒），同时刷新套餐配额
+     */
+    private long usageReconcileIntervalSeconds = 10 * 60L;
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(int partSize) {
+        this.partSize = partSize;
+    }
+
+    public int getUploadParallelism() {
+        return uploadParallelism;
+    }
+
+    public void setUploadParallelism(int uploadParallelism) {
+        this.uploadParallelism = uploadParallelism;
+    }
+
+    public int getMaxBufferedParts() {
+        return maxBufferedParts;
+    }
+
+    public void setMaxBufferedParts(int maxBufferedParts) {
+        this.maxBufferedParts = maxBufferedParts;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public long getSessionTtlSeconds() {
+        return sessionTtlSeconds;
+    }
+
+    public void setSessionTtlSeconds(long sessionTtlSeconds) {
+        this.sessionTtlSeconds = sessionTtlSeconds;
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public int getHashChallengeRanges() {
+        return hashChallengeRanges;
+    }
+
+    public void setHashChallengeRanges(int hashChallengeRanges) {
+        this.hashChallengeRanges = hashChallengeRanges;
+    }
+
+    public int getHashChallengeRangeBytes() {
+        return hashChallengeRangeBytes;
+    }
+
+    public void setHashChallengeRangeBytes(int hashChallengeRangeBytes) {
+        this.hashChallengeRangeBytes = hashChallengeRangeBytes;
+    }
+
+    public long getHashChallengeTtlSeconds() {
+        return hashChallengeTtlSeconds;
+    }
+
+    public void setHashChallengeTtlSeconds(long hashChallengeTtlSeconds) {
+        this.hashChallengeTtlSeconds = hashChallengeTtlSeconds;
+    }
+
+    public int getMaxHashChallenges() {
+        return maxHashChallenges;
+    }
+
+    public void setMaxHashChallenges(int maxHashChallenges) {
+        this.maxHashChallenges = maxHashChallenges;
+    }
+
+    public long getUsageReconcileIntervalSeconds() {
+        return usageReconcileIntervalSeconds;
+    }
+
+    public void setUsageReconcileIntervalSeconds(long usageReconcileIntervalSeconds) {
+        this.usageReconcileIntervalSeconds = usageReconcileIntervalSeconds;
+    }
+}
@@ -0,0 +1,37 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 分片缓冲池
+ * 所有流式上传共用固定数量的分片缓冲，取不到时阻塞，以此限制上传占用的堆内存；缓冲复用，避免反复分配大数组
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class PartBufferPool {
+
+    private final int bufferSize;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        if (bufferSize <= 0 || maxBuffers <= 0) {
+            throw new IllegalArgumentException("bufferSize and maxBuffers must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.permits = new Semaphore(maxBuffers, true);
+    }
+
+    byte[] acquire() throws InterruptedException {
+        permits.acquire();
+        byte[] buffer = free.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    void release(byte[] buffer) {
+        free.offer(buffer);
+        permits.release();
+    }
+}
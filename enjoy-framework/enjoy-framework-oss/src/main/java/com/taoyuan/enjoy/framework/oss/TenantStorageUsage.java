@@ -0,0 +1,312 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 租户存储用量计数与配额检查
+ * 每个租户在内存中维护已用字节数（已落库 + 上传中预留），上传前预留、落库后按实际大小结算、删除时扣减，
+ * 配额检查为一次 CAS，无需汇总 sys_oss。配额取自租户套餐 sys_tenant_package.max_storage_size，空值或负数不限制。
+ * 定时对账以 sys_oss 汇总结果校正计数并刷新配额：对账期间有预留或变更的租户本轮跳过，避免把进行中的变更计入两次。
+ * 多实例部署时其他实例的变更在对账后才可见，配额可能被短暂超出
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TenantStorageUsage {
+
+    /**
+     * 不限制
+     */
+    public static final long UNLIMITED = -1L;
+
+    private final DataSource dataSource;
+    private final OssObjectStore store;
+    private final OssProperties properties;
+    private final Map<Long, Usage> usages = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile RuntimeException lastError;
+
+    public TenantStorageUsage(DataSource dataSource, OssProperties properties) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.store = new OssObjectStore(dataSource);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    /**
+     * 预留空间，超出配额时抛出异常；删除文件时以0字节预留，结算时传入负数
+     *
+     * @param tenantId 租户ID
+     * @param bytes    预留字节数
+     */
+    public Reservation reserve(long tenantId, long bytes) {
+        Usage usage = usage(tenantId);
+        usage.begin();
+        try {
+            usage.reserve(bytes);
+        } catch (RuntimeException e) {
+            usage.settle(0L, 0L);
+            throw e;
+        }
+        return new Reservation(usage, bytes);
+    }
+
+    /**
+     * 已用字节数（含上传中预留）
+     */
+    public long getUsed(long tenantId) {
+        return usage(tenantId).total.get();
+    }
+
+    /**
+     * 配额字节数，不限制时为 {@link #UNLIMITED}
+     */
+    public long getQuota(long tenantId) {
+        return usage(tenantId).quota;
+    }
+
+    /**
+     * 剩余可用字节数，不限制时为 Long.MAX_VALUE
+     */
+    public long getRemaining(long tenantId) {
+        Usage usage = usage(tenantId);
+        long quota = usage.quota;
+        return quota < 0 ? Long.MAX_VALUE : Math.max(0L, quota - usage.total.get());
+    }
+
+    private Usage usage(long tenantId) {
+        Usage usage = usages.get(tenantId);
+        if (usage != null) {
+            return usage;
+        }
+        Usage loaded = new Usage(store.sumFileSize(tenantId), loadQuota(tenantId));
+        usage = usages.putIfAbsent(tenantId, loaded);
+        return usage == null ? loaded : usage;
+    }
+
+    /**
+     * 与数据库对账并刷新配额
+     *
+     * @return 校正了计数的租户数
+     */
+    public int reconcile() {
+        Map<Long, Snapshot> before = new HashMap<>();
+        usages.forEach((tenantId, usage) -> before.put(tenantId, usage.snapshot()));
+        Map<Long, Long> sizes = store.sumFileSizeByTenant();
+        Map<Long, Long> quotas = loadQuotas();
+        int corrected = 0;
+        for (Map.Entry<Long, Snapshot> entry : before.entrySet()) {
+            Usage usage = usages.get(entry.getKey());
+            usage.quota = quotas.getOrDefault(entry.getKey(), UNLIMITED);
+            long size = sizes.getOrDefault(entry.getKey(), 0L);
+            if (usage.correct(entry.getValue(), size)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * 启动定时对账
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-oss-usage-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getUsageReconcileIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(this::runOnce, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定时对账
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 执行一次对账，异常记录到 {@link #getLastError()}，不影响后续调度
+     */
+    public void runOnce() {
+        try {
+            reconcile();
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e;
+        }
+    }
+
+    public RuntimeException getLastError() {
+        return lastError;
+    }
+
+    private long loadQuota(long tenantId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT p.max_storage_size FROM sys_tenant t"
+                     + " JOIN sys_tenant_package p ON p.id = t.package_id"
+                     + " WHERE t.id = ? AND t.deleted = 0 AND p.deleted = 0")) {
+            ps.setLong(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? quota(rs.getLong(1), rs.wasNull()) : UNLIMITED;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load storage quota of tenant " + tenantId, e);
+        }
+    }
+
+    private Map<Long, Long> loadQuotas() {
+        Map<Long, Long> quotas = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT t.id, p.max_storage_size FROM sys_tenant t"
+                     + " JOIN sys_tenant_package p ON p.id = t.package_id WHERE t.deleted = 0 AND p.deleted = 0");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                long tenantId = rs.getLong(1);
+                long quota = rs.getLong(2);
+                quotas.put(tenantId, quota(quota, rs.wasNull()));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load storage quotas", e);
+        }
+        return quotas;
+    }
+
+    private static long quota(long value, boolean isNull) {
+        return isNull || value < 0 ? UNLIMITED : value;
+    }
+
+    /**
+     * 单个租户的计数
+     * total 为已落库与预留之和，配额检查与结算都在 total 上 CAS；inflight 为未结算的预留数（含0字节预留）；
+     * modCount 在预留与结算时递增，对账据此判断查询期间是否有变更
+     */
+    private static final class Usage {
+
+        final AtomicLong total;
+        final AtomicInteger inflight = new AtomicInteger();
+        final AtomicLong modCount = new AtomicLong();
+        volatile long quota;
+
+        Usage(long used, long quota) {
+            this.total = new AtomicLong(used);
+            this.quota = quota;
+        }
+
+        void begin() {
+            inflight.incrementAndGet();
+            modCount.incrementAndGet();
+        }
+
+        void reserve(long bytes) {
+            modCount.incrementAndGet();
+            while (true) {
+                long current = total.get();
+                long limit = quota;
+                if (bytes > 0 && limit >= 0 && current + bytes > limit) {
+                    throw new BizException(CommonErrorCode.FORBIDDEN, "存储空间不足：已用" + current + "字节，配额"
+                            + limit + "字节");
+                }
+                if (total.compareAndSet(current, current + bytes)) {
+                    return;
+                }
+            }
+        }
+
+        void settle(long reserved, long actual) {
+            total.addAndGet(actual - reserved);
+            inflight.decrementAndGet();
+            modCount.incrementAndGet();
+        }
+
+        Snapshot snapshot() {
+            long mod = modCount.get();
+            return new Snapshot(mod, inflight.get(), total.get());
+        }
+
+        /**
+         * 查询前后都没有进行中的预留且没有变更时，以数据库结果校正
+         */
+        boolean correct(Snapshot before, long size) {
+            if (before.inflight() != 0 || before.total() == size) {
+                return false;
+            }
+            if (modCount.get() != before.modCount() || inflight.get() != 0) {
+                return false;
+            }
+            return total.compareAndSet(before.total(), size);
+        }
+    }
+
+    private record Snapshot(long modCount, int inflight, long total) {
+    }
+
+    /**
+     * 一次上传或删除的预留，由单个线程使用；结算或释放后再调用无效果
+     */
+    public static final class Reservation {
+
+        private final Usage usage;
+        private long reserved;
+        private boolean done;
+
+        private Reservation(Usage usage, long reserved) {
+            this.usage = usage;
+            this.reserved = reserved;
+        }
+
+        /**
+         * 追加预留，超出配额时抛出异常，已预留的部分保留到结算或释放
+         */
+        public void extend(long bytes) {
+            if (done) {
+                throw new IllegalStateException("Reservation already settled");
+            }
+            usage.reserve(bytes);
+            reserved += bytes;
+        }
+
+        public long getReserved() {
+            return reserved;
+        }
+
+        /**
+         * 按实际落库的字节数结算，删除时为负数
+         */
+        public void commit(long actualBytes) {
+            if (!done) {
+                done = true;
+                usage.settle(reserved, actualBytes);
+            }
+        }
+
+        /**
+         * 放弃预留
+         */
+        public void release() {
+            commit(0L);
+        }
+    }
+}
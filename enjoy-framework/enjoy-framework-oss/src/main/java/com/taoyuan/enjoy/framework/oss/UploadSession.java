@@ -0,0 +1,197 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.oss.storage.StoragePart;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分片上传会话
+ * 客户端按 {@link #getPartSize()} 切片，分片可乱序、并行、重复上传，已上传的分片以存储端为准（续传时重新列举）。
+ * 分片按顺序到达时边传边累计整体 SHA-256；乱序或重传导致无法顺序累计的部分在合并后从存储回读补算
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class UploadSession {
+
+    private final String id;
+    private final long tenantId;
+    private final String key;
+    private final String originalName;
+    private final long size;
+    private final int partSize;
+    private final String uploadId;
+    private final long createTime;
+    private final Map<Integer, StoragePart> parts = new ConcurrentSkipListMap<>();
+
+    /**
+     * 按文件大小预留的租户空间，完成或放弃时结算
+     */
+    TenantStorageUsage.Reservation reservation;
+
+    /**
+     * 顺序累计的摘要：已累计到第 hashedParts 片，hashedEtags[i] 为累计时第 i + 1 片的标识
+     */
+    private final ReentrantLock hashLock = new ReentrantLock();
+    private MessageDigest digest;
+    private int hashedParts;
+    private final String[] hashedEtags;
+
+    UploadSession(String id, long tenantId, String key, String originalName, long size, int partSize,
+                  String uploadId, long createTime) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.key = key;
+        this.originalName = originalName;
+        this.size = size;
+        this.partSize = partSize;
+        this.uploadId = uploadId;
+        this.createTime = createTime;
+        this.digest = newDigest();
+        this.hashedEtags = new String[getPartCount()];
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * 对象键
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getOriginalName() {
+        return originalName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public int getPartCount() {
+        return (int) ((size + partSize - 1) / partSize);
+    }
+
+    /**
+     * 已上传的分片号，升序
+     */
+    public List<Integer> getUploadedParts() {
+        return new ArrayList<>(parts.keySet());
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    String uploadId() {
+        return uploadId;
+    }
+
+    /**
+     * 分片应有的大小
+     */
+    long partLength(int partNumber) {
+        if (partNumber < 1 || partNumber > getPartCount()) {
+            throw new BizException(CommonErrorCode.PARAM_ERROR, "分片号超出范围：" + partNumber);
+        }
+        return partNumber < getPartCount() ? partSize : size - (long) partSize * (partNumber - 1);
+    }
+
+    void addPart(StoragePart part) {
+        parts.put(part.partNumber(), part);
+    }
+
+    void resetParts(List<StoragePart> stored) {
+        parts.clear();
+        for (StoragePart part : stored) {
+            parts.put(part.partNumber(), part);
+        }
+    }
+
+    List<StoragePart> parts() {
+        return new ArrayList<>(parts.values());
+    }
+
+    /**
+     * 该分片恰好是下一个待累计的分片且没有其他分片正在累计时，返回摘要副本并持有累计锁
+     *
+     * @return 不能顺序累计时返回 null
+     */
+    MessageDigest beginInlineHash(int partNumber) {
+        if (!hashLock.tryLock()) {
+            return null;
+        }
+        if (partNumber != hashedParts + 1) {
+            hashLock.unlock();
+            return null;
+        }
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            hashLock.unlock();
+            return null;
+        }
+    }
+
+    /**
+     * 分片写入成功后提交累计结果，须在 {@link #beginInlineHash(int)} 返回非 null 的线程上调用
+     */
+    void commitInlineHash(MessageDigest advanced, StoragePart part) {
+        digest = advanced;
+        hashedEtags[part.partNumber() - 1] = part.etag();
+        hashedParts = part.partNumber();
+    }
+
+    void endInlineHash() {
+        hashLock.unlock();
+    }
+
+    /**
+     * 取得顺序累计的摘要与有效的分片数：累计时的分片标识与最终分片不一致（分片被重传为不同内容）时从头计算
+     *
+     * @param finalParts 合并用的分片，按分片号排序
+     * @return 摘要及其已覆盖的字节数
+     */
+    HashProgress hashProgress(List<StoragePart> finalParts) {
+        hashLock.lock();
+        try {
+            for (int i = 0; i < hashedParts; i++) {
+                if (!finalParts.get(i).etag().equals(hashedEtags[i])) {
+                    return new HashProgress(newDigest(), 0L);
+                }
+            }
+            return new HashProgress(digest, (long) hashedParts * partSize);
+        } finally {
+            hashLock.unlock();
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record HashProgress(MessageDigest digest, long hashedBytes) {
+    }
+}
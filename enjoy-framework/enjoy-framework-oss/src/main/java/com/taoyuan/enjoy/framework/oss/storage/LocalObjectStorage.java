@@ -0,0 +1,259 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+import com.taoyuan.enjoy.framework.common.utils.IdGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * 本地文件系统存储
+ * 对象存放在 根目录/对象键；写入经 FileChannel.transferFrom 直接落盘，先写临时文件再原子改名，读取方不会看到半个文件。
+ * 分片写在 根目录/.multipart/上传ID/ 下，文件名为 "分片号.CRC32C"，合并时在文件通道间拷贝（由内核完成）。
+ * 下载用 FileChannel.transferTo，目标为 SocketChannel 或 FileChannel 时为零拷贝（sendfile / copy_file_range），
+ * 其他通道由 JDK 经直接缓冲区中转
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class LocalObjectStorage implements ObjectStorage {
+
+    public static final String SERVICE = "local";
+
+    private static final String MULTIPART_DIR = ".multipart";
+
+    private final Path root;
+    private final String baseUrl;
+
+    /**
+     * @param root    根目录
+     * @param baseUrl 访问地址前缀，如 https://static.example.com/files
+     */
+    public LocalObjectStorage(Path root, String baseUrl) throws IOException {
+        this.root = Files.createDirectories(root).toRealPath();
+        this.baseUrl = baseUrl == null ? "" : baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public String getService() {
+        return SERVICE;
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = writeTemp(target.getParent(), in, size);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String initiateMultipart(String key) throws IOException {
+        resolve(key);
+        String uploadId = Long.toString(IdGenerator.nextId());
+        Files.createDirectories(partsDir(uploadId));
+        return uploadId;
+    }
+
+    @Override
+    public StoragePart uploadPart(String key, String uploadId, int partNumber, InputStream in, long size)
+            throws IOException {
+        if (partNumber < 1) {
+            throw new IllegalArgumentException("Illegal part number: " + partNumber);
+        }
+        Path dir = existingPartsDir(uploadId);
+        CRC32C crc = new CRC32C();
+        Path temp = writeTemp(dir, new CheckedInputStream(in, crc), size);
+        try {
+            String etag = Long.toHexString(crc.getValue());
+            // 同一分片号重写时移除旧文件
+            for (StoragePart part : listParts(dir)) {
+                if (part.partNumber() == partNumber && !part.etag().equals(etag)) {
+                    Files.deleteIfExists(dir.resolve(partNumber + "." + part.etag()));
+                }
+            }
+            Files.move(temp, dir.resolve(partNumber + "." + etag), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return new StoragePart(partNumber, etag, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public List<StoragePart> listParts(String key, String uploadId) throws IOException {
+        return listParts(existingPartsDir(uploadId));
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId, List<StoragePart> parts) throws IOException {
+        Path dir = existingPartsDir(uploadId);
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                for (StoragePart part : parts) {
+                    Path file = dir.resolve(part.partNumber() + "." + part.etag());
+                    if (!Files.exists(file)) {
+                        throw new IOException("Part " + part.partNumber() + " of upload " + uploadId
+                                + " not found or etag mismatch");
+                    }
+                    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long size = in.size();
+                        for (long done = 0; done < size; ) {
+                            done += in.transferTo(done, size - done, out);
+                        }
+                        position += size;
+                    }
+                }
+                out.truncate(position);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        deleteRecursively(dir);
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) throws IOException {
+        deleteRecursively(partsDir(uploadId));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Files.size(path) : -1L;
+    }
+
+    @Override
+    public long transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long end = length < 0 ? channel.size() : Math.min(channel.size(), offset + length);
+            long position = offset;
+            while (position < end) {
+                long n = channel.transferTo(position, end - position, target);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+            }
+            return position - offset;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    /**
+     * 写入目录下的临时文件，由调用方改名
+     *
+     * @return 临时文件
+     */
+    private static Path writeTemp(Path dir, InputStream in, long size) throws IOException {
+        Path temp = Files.createTempFile(dir, ".upload-", ".tmp");
+        try {
+            long written = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(in);
+                while (written < size) {
+                    long n = out.transferFrom(source, written, size - written);
+                    if (n <= 0) {
+                        break;
+                    }
+                    written += n;
+                }
+            }
+            if (written != size) {
+                throw new IOException("Unexpected end of stream: expected " + size + " bytes, got " + written);
+            }
+            return temp;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static List<StoragePart> listParts(Path dir) throws IOException {
+        List<StoragePart> parts = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.indexOf('.');
+                if (dot <= 0) {
+                    continue;
+                }
+                parts.add(new StoragePart(Integer.parseInt(name.substring(0, dot)), name.substring(dot + 1),
+                        Files.size(file)));
+            }
+        }
+        parts.sort(Comparator.comparingInt(StoragePart::partNumber));
+        return parts;
+    }
+
+    private Path resolve(String key) {
+        Objects.requireNonNull(key);
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root) || path.startsWith(root.resolve(MULTIPART_DIR))) {
+            throw new IllegalArgumentException("Illegal object key: " + key);
+        }
+        return path;
+    }
+
+    private Path partsDir(String uploadId) {
+        for (int i = 0; i < uploadId.length(); i++) {
+            if (!Character.isDigit(uploadId.charAt(i))) {
+                throw new IllegalArgumentException("Illegal upload id: " + uploadId);
+            }
+        }
+        return root.resolve(MULTIPART_DIR).resolve(uploadId);
+    }
+
+    private Path existingPartsDir(String uploadId) throws IOException {
+        Path dir = partsDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new NoSuchFileException(dir.toString(), null, "No such upload: " + uploadId);
+        }
+        return dir;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * 对象存储后端
+ * 写入均为流式，实现不得把整个对象读入堆内存；分片上传的语义与 S3 Multipart Upload 一致：
+ * 分片号从1开始，除最后一片外各分片大小相同，完成前分片不可见。实现须线程安全，同一上传的不同分片可并行写入
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface ObjectStorage {
+
+    /**
+     * 服务商标识，写入 sys_oss.service
+     */
+    String getService();
+
+    /**
+     * 单次写入对象
+     *
+     * @param key  对象键
+     * @param in   内容，读取 size 个字节，不关闭
+     * @param size 字节数
+     */
+    void put(String key, InputStream in, long size) throws IOException;
+
+    /**
+     * 开始分片上传
+     *
+     * @return 上传ID
+     */
+    String initiateMultipart(String key) throws IOException;
+
+    /**
+     * 写入一个分片，同一分片号重复写入时覆盖
+     *
+     * @param in   内容，读取 size 个字节，不关闭
+     * @param size 字节数
+     */
+    StoragePart uploadPart(String key, String uploadId, int partNumber, InputStream in, long size) throws IOException;
+
+    /**
+     * 已写入的分片，按分片号排序，用于断点续传
+     */
+    List<StoragePart> listParts(String key, String uploadId) throws IOException;
+
+    /**
+     * 按分片号顺序合并为对象
+     */
+    void completeMultipart(String key, String uploadId, List<StoragePart> parts) throws IOException;
+
+    /**
+     * 放弃分片上传并清理已写入的分片
+     */
+    void abortMultipart(String key, String uploadId) throws IOException;
+
+    /**
+     * 对象大小
+     *
+     * @return 对象不存在时返回 -1
+     */
+    long size(String key) throws IOException;
+
+    /**
+     * 把对象的一段写入通道
+     *
+     * @param offset 起始位置
+     * @param length 字节数，-1 表示到末尾
+     * @param target 目标通道，不关闭
+     * @return 写入的字节数
+     */
+    long transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException;
+
+    /**
+     * 删除对象，对象不存在时不报错
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * 对象访问地址
+     */
+    String url(String key);
+}
@@ -0,0 +1,30 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 按配置创建存储后端
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class ObjectStorages {
+
+    private ObjectStorages() {
+    }
+
+    /**
+     * configKey 为 local 时创建本地存储（根目录 endpoint/bucketName），其余按 S3 兼容协议访问
+     */
+    public static ObjectStorage create(OssConfig config) throws IOException {
+        if (LocalObjectStorage.SERVICE.equalsIgnoreCase(config.getConfigKey())) {
+            Path root = Path.of(config.getEndpoint());
+            if (config.getBucketName() != null && !config.getBucketName().isBlank()) {
+                root = root.resolve(config.getBucketName());
+            }
+            return new LocalObjectStorage(root, config.getDomain());
+        }
+        return new S3ObjectStorage(config);
+    }
+}
@@ -0,0 +1,115 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+/**
+ * 对象存储配置（对应 sys_oss_config）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class OssConfig {
+
+    /**
+     * 配置key，同时作为服务商标识写入 sys_oss.service；为 local 时使用本地文件系统
+     */
+    private String configKey;
+
+    private String accessKey;
+
+    private String secretKey;
+
+    /**
+     * 桶名称，本地存储时为根目录下的子目录
+     */
+    private String bucketName;
+
+    /**
+     * 对象键前缀
+     */
+    private String prefix;
+
+    /**
+     * 访问站点，如 127.0.0.1:9000；本地存储时为根目录
+     */
+    private String endpoint;
+
+    /**
+     * 自定义域名，用于生成访问地址
+     */
+    private String domain;
+
+    private boolean https;
+
+    private String region;
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public void setConfigKey(String configKey) {
+        this.configKey = configKey;
+    }
+
+    public String getAccessKey() {
+        return accessKey;
+    }
+
+    public void setAccessKey(String accessKey) {
+        this.accessKey = accessKey;
+    }
+
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    public void setSecretKey(String secretKey) {
+        this.secretKey = secretKey;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public void setBucketName(String bucketName) {
+        this.bucketName = bucketName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public void setDomain(String domain) {
+        this.domain = domain;
+    }
+
+    public boolean isHttps() {
+        return https;
+    }
+
+    public void setHttps(boolean https) {
+        this.https = https;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+}
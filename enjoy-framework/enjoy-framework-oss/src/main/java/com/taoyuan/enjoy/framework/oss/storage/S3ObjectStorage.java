@@ -0,0 +1,308 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * S3 兼容存储（AWS S3、MinIO 等），基于 JDK HttpClient 与 SigV4 签名，无需 SDK
+ * 使用路径风格地址（endpoint/桶/对象键）；上传体以 InputStream 按固定长度流式发送，不签名请求体（UNSIGNED-PAYLOAD），
+ * 生产环境应启用 HTTPS。下载按 Range 请求，响应流经缓冲区写入目标通道
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class S3ObjectStorage implements ObjectStorage {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final String service;
+    private final String endpoint;
+    private final String bucket;
+    private final String baseUrl;
+    private final S3Signer signer;
+    private final HttpClient client;
+
+    public S3ObjectStorage(OssConfig config) {
+        this(config, HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build());
+    }
+
+    public S3ObjectStorage(OssConfig config, HttpClient client) {
+        this.service = Objects.requireNonNull(config.getConfigKey());
+        String host = Objects.requireNonNull(config.getEndpoint());
+        if (!host.startsWith("http://") && !host.startsWith("https://")) {
+            host = (config.isHttps() ? "https://" : "http://") + host;
+        }
+        this.endpoint = host.endsWith("/") ? host.substring(0, host.length() - 1) : host;
+        this.bucket = Objects.requireNonNull(config.getBucketName());
+        String domain = config.getDomain();
+        this.baseUrl = domain == null || domain.isBlank()
+                ? endpoint + "/" + bucket
+                : domain.endsWith("/") ? domain.substring(0, domain.length() - 1) : domain;
+        String region = config.getRegion() == null || config.getRegion().isBlank() ? "us-east-1" : config.getRegion();
+        this.signer = new S3Signer(config.getAccessKey(), config.getSecretKey(), region);
+        this.client = client;
+    }
+
+    @Override
+    public String getService() {
+        return service;
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size) throws IOException {
+        send("PUT", key, null, body(in, size), S3Signer.UNSIGNED_PAYLOAD);
+    }
+
+    @Override
+    public String initiateMultipart(String key) throws IOException {
+        String xml = send("POST", key, "uploads", HttpRequest.BodyPublishers.noBody(), S3Signer.EMPTY_PAYLOAD).body();
+        String uploadId = Xml.text(xml, "UploadId", 0);
+        if (uploadId == null) {
+            throw new IOException("No UploadId in response: " + xml);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public StoragePart uploadPart(String key, String uploadId, int partNumber, InputStream in, long size)
+            throws IOException {
+        HttpResponse<String> response = send("PUT", key, "partNumber=" + partNumber + "&uploadId="
+                + S3Signer.encode(uploadId, false), body(in, size), S3Signer.UNSIGNED_PAYLOAD);
+        String etag = response.headers().firstValue("ETag")
+                .orElseThrow(() -> new IOException("No ETag for part " + partNumber));
+        return new StoragePart(partNumber, etag, size);
+    }
+
+    @Override
+    public List<StoragePart> listParts(String key, String uploadId) throws IOException {
+        List<StoragePart> parts = new ArrayList<>();
+        String marker = null;
+        while (true) {
+            String query = "uploadId=" + S3Signer.encode(uploadId, false)
+                    + (marker == null ? "" : "&part-number-marker=" + marker);
+            String xml = send("GET", key, query, HttpRequest.BodyPublishers.noBody(), S3Signer.EMPTY_PAYLOAD).body();
+            for (int from = xml.indexOf("<Part>"); from >= 0; from = xml.indexOf("<Part>", from + 1)) {
+                parts.add(new StoragePart(Integer.parseInt(Xml.text(xml, "PartNumber", from)),
+                        Xml.text(xml, "ETag", from), Long.parseLong(Xml.text(xml, "Size", from))));
+            }
+            if (!"true".equals(Xml.text(xml, "IsTruncated", 0))) {
+                return parts;
+            }
+            marker = Xml.text(xml, "NextPartNumberMarker", 0);
+        }
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId, List<StoragePart> parts) throws IOException {
+        StringBuilder xml = new StringBuilder(64 + parts.size() * 96).append("<CompleteMultipartUpload>");
+        for (StoragePart part : parts) {
+            xml.append("<Part><PartNumber>").append(part.partNumber()).append("</PartNumber><ETag>")
+                    .append(Xml.escape(part.etag())).append("</ETag></Part>");
+        }
+        byte[] body = xml.append("</CompleteMultipartUpload>").toString().getBytes(StandardCharsets.UTF_8);
+        String result = send("POST", key, "uploadId=" + S3Signer.encode(uploadId, false),
+                HttpRequest.BodyPublishers.ofByteArray(body), S3Signer.sha256Hex(body)).body();
+        // 合并失败时服务端可能返回 200 且响应体为 Error
+        if (result.contains("<Error>")) {
+            throw new IOException("Complete multipart upload failed: " + result);
+        }
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) throws IOException {
+        HttpResponse<String> response = exchange("DELETE", key, "uploadId=" + S3Signer.encode(uploadId, false),
+                HttpRequest.BodyPublishers.noBody(), S3Signer.EMPTY_PAYLOAD, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300 && response.statusCode() != 404) {
+            throw failure("DELETE", key, response.statusCode(), response.body());
+        }
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        HttpResponse<Void> response = exchange("HEAD", key, null, HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return -1L;
+        }
+        if (response.statusCode() >= 300) {
+            throw failure("HEAD", key, response.statusCode(), "");
+        }
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+    }
+
+    @Override
+    public long transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException {
+        if (length == 0) {
+            return 0L;
+        }
+        URI uri = uri(key, null);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).GET();
+        if (offset > 0 || length > 0) {
+            builder.header("Range", "bytes=" + offset + "-" + (length > 0 ? String.valueOf(offset + length - 1) : ""));
+        }
+        signer.sign("GET", uri, S3Signer.EMPTY_PAYLOAD).forEach(builder::header);
+        HttpResponse<InputStream> response = call(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream in = response.body()) {
+            if (response.statusCode() >= 300) {
+                throw failure("GET", key, response.statusCode(), new String(in.readNBytes(4096), StandardCharsets.UTF_8));
+            }
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+            long total = 0;
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                wrapper.clear().limit(n);
+                while (wrapper.hasRemaining()) {
+                    target.write(wrapper);
+                }
+                total += n;
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = exchange("DELETE", key, null, HttpRequest.BodyPublishers.noBody(),
+                S3Signer.EMPTY_PAYLOAD, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300 && response.statusCode() != 404) {
+            throw failure("DELETE", key, response.statusCode(), response.body());
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/" + S3Signer.encode(key, true);
+    }
+
+    private HttpResponse<String> send(String method, String key, String query, HttpRequest.BodyPublisher body,
+                                      String payloadHash) throws IOException {
+        HttpResponse<String> response = exchange(method, key, query, body, payloadHash,
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw failure(method, key, response.statusCode(), response.body());
+        }
+        return response;
+    }
+
+    private <T> HttpResponse<T> exchange(String method, String key, String query, HttpRequest.BodyPublisher body,
+                                         String payloadHash, HttpResponse.BodyHandler<T> handler) throws IOException {
+        URI uri = uri(key, query);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).method(method, body);
+        for (Map.Entry<String, String> header : signer.sign(method, uri, payloadHash).entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return call(builder.build(), handler);
+    }
+
+    private <T> HttpResponse<T> call(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return client.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted: " + request.method() + " " + request.uri());
+        }
+    }
+
+    private URI uri(String key, String query) {
+        return URI.create(endpoint + "/" + S3Signer.encode(bucket, false) + "/" + S3Signer.encode(key, true)
+                + (query == null ? "" : "?" + query));
+    }
+
+    private static HttpRequest.BodyPublisher body(InputStream in, long size) {
+        InputStream bounded = new BoundedInputStream(in, size);
+        return HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(() -> bounded), size);
+    }
+
+    private static IOException failure(String method, String key, int status, String body) {
+        String code = Xml.text(body, "Code", 0);
+        String message = Xml.text(body, "Message", 0);
+        return new IOException(method + " " + key + " failed: HTTP " + status
+                + (code == null ? "" : " " + code) + (message == null ? "" : " " + message));
+    }
+
+    /**
+     * 最多读取 limit 个字节，关闭时不关闭底层流
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * S3 响应只需按标签取值，不引入 XML 解析器
+     */
+    private static final class Xml {
+
+        static String text(String xml, String tag, int from) {
+            if (xml == null) {
+                return null;
+            }
+            int start = xml.indexOf("<" + tag + ">", from);
+            if (start < 0) {
+                return null;
+            }
+            start += tag.length() + 2;
+            int end = xml.indexOf("</" + tag + ">", start);
+            return end < 0 ? null : unescape(xml.substring(start, end));
+        }
+
+        static String escape(String text) {
+            return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+        }
+
+        private static String unescape(String text) {
+            if (text.indexOf('&') < 0) {
+                return text;
+            }
+            return text.replace("&quot;", "\"").replace("&apos;", "'").replace("&lt;", "<").replace("&gt;", ">")
+                    .replace("&#34;", "\"").replace("&amp;", "&");
+        }
+    }
+}
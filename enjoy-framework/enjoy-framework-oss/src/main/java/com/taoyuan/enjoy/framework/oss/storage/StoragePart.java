@@ -0,0 +1,13 @@
+package com.taoyuan.enjoy.framework.oss.storage;
+
+/**
+ * 已写入的分片
+ *
+ * @param partNumber 分片号，从1开始
+ * @param etag       分片标识，合并时回传给存储
+ * @param size       字节数
+ * @author enjoy
+ * @version 1.0
+ */
+public record StoragePart(int partNumber, String etag, long size) {
+}
@@ -0,0 +1,170 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.oss.storage.LocalObjectStorage;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件上传：流式上传按分片并行写入，客户端分片可乱序、续传，相同内容只保留一个对象；
+ * 秒传须持有文件内容才能引用已有对象，内容不存在与证明错误的响应相同，挑战只能使用一次
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class OssFileServiceTest {
+
+    @TempDir
+    Path root;
+
+    private OssFileService service;
+    private OssObject uploaded;
+    private byte[] content;
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:oss" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_oss (id bigint PRIMARY KEY, tenant_id bigint, file_name varchar(255),"
+                    + " original_name varchar(255), file_suffix varchar(32), url varchar(512), file_size bigint,"
+                    + " service varchar(32), content_hash char(64), deleted bigint DEFAULT 0)");
+            st.execute("CREATE TABLE sys_oss_blob (id bigint PRIMARY KEY, tenant_id bigint, service varchar(32),"
+                    + " content_hash char(64), file_name varchar(255), url varchar(512), file_size bigint,"
+                    + " ref_count int DEFAULT 1, UNIQUE (tenant_id, service, content_hash))");
+        }
+        OssProperties properties = new OssProperties();
+        properties.setDeduplicate(true);
+        properties.setPartSize(16 * 1024);
+        service = new OssFileService(new LocalObjectStorage(root, "/files"), new OssObjectStore(dataSource), properties);
+        content = new byte[100_000];
+        new Random(1).nextBytes(content);
+        hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        uploaded = service.upload(1L, "a.bin", new ByteArrayInputStream(content));
+    }
+
+    private byte[] download(OssObject object) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.download(object, 0L, -1L, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    @Test
+    void streamingUploadWritesAllParts() throws Exception {
+        assertEquals(hash, uploaded.getContentHash());
+        assertEquals(content.length, uploaded.getFileSize());
+        assertArrayEquals(content, download(uploaded));
+        OssObject small = service.upload(1L, "s.txt", new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        assertArrayEquals(new byte[]{1, 2, 3}, download(small));
+    }
+
+    @Test
+    void clientPartsMayArriveOutOfOrderAndResume() throws Exception {
+        byte[] data = Arrays.copyOf(content, 50_000);
+        UploadSession session = service.initiate(1L, "c.bin", data.length);
+        assertEquals(4, session.getPartCount());
+        for (int part = session.getPartCount(); part >= 2; part--) {
+            int offset = (part - 1) * session.getPartSize();
+            service.uploadPart(1L, session.getId(), part, new ByteArrayInputStream(data, offset,
+                    Math.min(session.getPartSize(), data.length - offset)));
+        }
+        assertThrows(BizException.class, () -> service.complete(1L, session.getId()));
+        assertThrows(BizException.class, () -> service.resume(2L, session.getId()));
+        assertEquals(List.of(2, 3, 4), service.resume(1L, session.getId()).getUploadedParts());
+        service.uploadPart(1L, session.getId(), 1, new ByteArrayInputStream(data, 0, session.getPartSize()));
+        OssObject object = service.complete(1L, session.getId());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)), object.getContentHash());
+        assertArrayEquals(data, download(object));
+    }
+
+    @Test
+    void duplicateContentSharesOneObject() throws Exception {
+        OssObject copy = service.upload(1L, "copy.bin", new ByteArrayInputStream(content));
+        assertEquals(uploaded.getFileName(), copy.getFileName());
+        assertTrue(service.delete(1L, uploaded.getId()));
+        assertArrayEquals(content, download(copy));
+        assertTrue(service.delete(1L, copy.getId()));
+        assertFalse(Files.exists(root.resolve(copy.getFileName())));
+        assertFalse(service.delete(1L, copy.getId()));
+    }
+
+    private static String prove(HashChallenge challenge, byte[] data) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(HexFormat.of().parseHex(challenge.nonce()));
+        for (HashChallenge.Range range : challenge.ranges()) {
+            digest.update(data, (int) range.offset(), (int) range.length());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Test
+    void correctProofReferencesExistingContent() throws Exception {
+        HashChallenge challenge = service.hashChallenge(1L, hash, content.length);
+        OssObject object = service.uploadByHash(1L, "b.bin", challenge.id(), prove(challenge, content));
+        assertNotNull(object);
+        assertEquals(hash, object.getContentHash());
+    }
+
+    @Test
+    void hashAloneIsNotEnough() throws Exception {
+        HashChallenge challenge = service.hashChallenge(1L, hash, content.length);
+        byte[] guess = content.clone();
+        guess[(int) challenge.ranges().get(0).offset()] ^= 1;
+        assertNull(service.uploadByHash(1L, "b.bin", challenge.id(), prove(challenge, guess)));
+    }
+
+    @Test
+    void missingContentLooksLikeWrongProof() throws Exception {
+        byte[] other = new byte[content.length];
+        HashChallenge challenge = service.hashChallenge(1L, "0".repeat(64), other.length);
+        assertNotNull(challenge);
+        assertEquals(challenge.ranges().size(), service.hashChallenge(1L, hash, content.length).ranges().size());
+        assertNull(service.uploadByHash(1L, "b.bin", challenge.id(), prove(challenge, other)));
+    }
+
+    @Test
+    void challengeIsSingleUse() throws Exception {
+        HashChallenge challenge = service.hashChallenge(1L, hash, content.length);
+        String proof = prove(challenge, content);
+        assertNull(service.uploadByHash(1L, "b.bin", challenge.id(), "0".repeat(64)));
+        assertThrows(BizException.class, () -> service.uploadByHash(1L, "b.bin", challenge.id(), proof));
+    }
+
+    @Test
+    void challengeBelongsToTenant() throws Exception {
+        HashChallenge challenge = service.hashChallenge(1L, hash, content.length);
+        String proof = prove(challenge, content);
+        assertThrows(BizException.class, () -> service.uploadByHash(2L, "b.bin", challenge.id(), proof));
+        assertNotNull(service.uploadByHash(1L, "b.bin", challenge.id(), proof));
+    }
+
+    @Test
+    void otherTenantCannotReferenceContent() throws Exception {
+        HashChallenge challenge = service.hashChallenge(2L, hash, content.length);
+        assertNull(service.uploadByHash(2L, "b.bin", challenge.id(), prove(challenge, content)));
+    }
+}
@@ -0,0 +1,242 @@
+package com.taoyuan.enjoy.framework.oss;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.oss.storage.LocalObjectStorage;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 租户存储用量：超配额拒绝，预留在结算或释放后归位，删除扣减，去重命中按记录计一次，
+ * 对账跳过有进行中预留的租户；每个场景结束时计数与 sys_oss 汇总一致
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class TenantStorageUsageTest {
+
+    private static final long TENANT = 1L;
+    private static final int SIZE = 30_000;
+
+    @TempDir
+    Path root;
+
+    private JdbcDataSource dataSource;
+    private TenantStorageUsage usage;
+    private OssFileService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:usage" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_oss (id bigint PRIMARY KEY, tenant_id bigint, file_name varchar(255),"
+                    + " original_name varchar(255), file_suffix varchar(32), url varchar(512), file_size bigint,"
+                    + " service varchar(32), content_hash char(64), deleted bigint DEFAULT 0)");
+            st.execute("CREATE TABLE sys_oss_blob (id bigint PRIMARY KEY, tenant_id bigint, service varchar(32),"
+                    + " content_hash char(64), file_name varchar(255), url varchar(512), file_size bigint,"
+                    + " ref_count int DEFAULT 1, UNIQUE (tenant_id, service, content_hash))");
+            st.execute("CREATE TABLE sys_tenant_package (id bigint PRIMARY KEY, max_storage_size bigint, deleted bigint DEFAULT 0)");
+            st.execute("CREATE TABLE sys_tenant (id bigint PRIMARY KEY, package_id bigint, deleted bigint DEFAULT 0)");
+            st.execute("INSERT INTO sys_tenant_package (id, max_storage_size) VALUES (1, " + 10 * SIZE + "), (2, NULL)");
+            st.execute("INSERT INTO sys_tenant (id, package_id) VALUES (1, 1), (2, 2)");
+        }
+        OssProperties properties = new OssProperties();
+        properties.setDeduplicate(true);
+        properties.setPartSize(16 * 1024);
+        usage = new TenantStorageUsage(dataSource, properties);
+        service = new OssFileService(new LocalObjectStorage(root, "/files"), new OssObjectStore(dataSource),
+                properties, usage);
+    }
+
+    private long storedSize(long tenantId) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(SUM(file_size), 0) FROM sys_oss"
+                     + " WHERE deleted = 0 AND tenant_id = " + tenantId)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static byte[] randomContent(int seed) {
+        byte[] content = new byte[SIZE];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    @Test
+    void rejectsUploadOverQuota() throws Exception {
+        assertEquals(10L * SIZE, usage.getQuota(TENANT));
+        assertEquals(TenantStorageUsage.UNLIMITED, usage.getQuota(2L));
+        for (int i = 0; i < 10; i++) {
+            service.upload(TENANT, i + ".bin", new ByteArrayInputStream(randomContent(i)));
+        }
+        assertEquals(0L, usage.getRemaining(TENANT));
+        BizException e = assertThrows(BizException.class,
+                () -> service.upload(TENANT, "x.bin", new ByteArrayInputStream(randomContent(99))));
+        assertEquals(CommonErrorCode.FORBIDDEN.getCode(), e.getCode());
+        assertThrows(BizException.class, () -> service.initiate(TENANT, "x.bin", 1));
+        // 被拒绝的上传不占用空间
+        assertEquals(10L * SIZE, usage.getUsed(TENANT));
+        assertEquals(storedSize(TENANT), usage.getUsed(TENANT));
+        service.upload(2L, "y.bin", new ByteArrayInputStream(randomContent(99)));
+    }
+
+    @Test
+    void concurrentSessionsReserveUpToQuota() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UploadSession>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        return service.initiate(TENANT, "s.bin", SIZE);
+                    } catch (BizException e) {
+                        return null;
+                    }
+                }));
+            }
+            List<UploadSession> sessions = new ArrayList<>();
+            for (Future<UploadSession> future : futures) {
+                if (future.get() != null) {
+                    sessions.add(future.get());
+                }
+            }
+            assertEquals(10, sessions.size());
+            assertEquals(10L * SIZE, usage.getUsed(TENANT));
+            for (UploadSession session : sessions) {
+                service.abort(TENANT, session.getId());
+            }
+            assertEquals(0L, usage.getUsed(TENANT));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentReservationsSettleExactly() throws Exception {
+        AtomicLong committed = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 500; i++) {
+                        TenantStorageUsage.Reservation reservation;
+                        try {
+                            reservation = usage.reserve(TENANT, 1000);
+                        } catch (BizException e) {
+                            continue;
+                        }
+                        try {
+                            reservation.extend(random.nextInt(500));
+                            assertTrue(usage.getUsed(TENANT) <= usage.getQuota(TENANT));
+                            if (random.nextBoolean()) {
+                                long actual = random.nextInt(1000);
+                                reservation.commit(actual);
+                                committed.addAndGet(actual);
+                            }
+                        } catch (BizException e) {
+                            // 追加预留超出配额，已预留部分随释放归还
+                        } finally {
+                            reservation.release();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(committed.get(), usage.getUsed(TENANT));
+    }
+
+    @Test
+    void deleteSettlesUsage() throws Exception {
+        OssObject first = service.upload(TENANT, "a.bin", new ByteArrayInputStream(randomContent(1)));
+        service.upload(TENANT, "b.bin", new ByteArrayInputStream(randomContent(2)));
+        assertEquals(2L * SIZE, usage.getUsed(TENANT));
+        assertTrue(service.delete(TENANT, first.getId()));
+        assertEquals(SIZE, usage.getUsed(TENANT));
+        // 重复删除不再扣减
+        assertFalse(service.delete(TENANT, first.getId()));
+        assertEquals(storedSize(TENANT), usage.getUsed(TENANT));
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT deleted FROM sys_oss WHERE id = " + first.getId())) {
+            rs.next();
+            assertEquals(first.getId(), rs.getLong(1));
+        }
+    }
+
+    @Test
+    void dedupHitsCountOncePerRecord() throws Exception {
+        byte[] content = randomContent(1);
+        service.upload(TENANT, "a.bin", new ByteArrayInputStream(content));
+        OssObject copy = service.upload(TENANT, "b.bin", new ByteArrayInputStream(content));
+        assertEquals(2L * SIZE, usage.getUsed(TENANT));
+        String hash = copy.getContentHash();
+        HashChallenge wrong = service.hashChallenge(TENANT, hash, SIZE);
+        assertNull(service.uploadByHash(TENANT, "c.bin", wrong.id(), "0".repeat(64)));
+        assertEquals(2L * SIZE, usage.getUsed(TENANT));
+        HashChallenge challenge = service.hashChallenge(TENANT, hash, SIZE);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(HexFormat.of().parseHex(challenge.nonce()));
+        for (HashChallenge.Range range : challenge.ranges()) {
+            digest.update(content, (int) range.offset(), (int) range.length());
+        }
+        assertNotNull(service.uploadByHash(TENANT, "c.bin", challenge.id(),
+                HexFormat.of().formatHex(digest.digest())));
+        assertEquals(3L * SIZE, usage.getUsed(TENANT));
+        assertEquals(storedSize(TENANT), usage.getUsed(TENANT));
+        assertTrue(service.delete(TENANT, copy.getId()));
+        assertEquals(2L * SIZE, usage.getUsed(TENANT));
+        assertEquals(0, usage.reconcile());
+    }
+
+    @Test
+    void reconcileSkipsTenantWithUploadInFlight() throws Exception {
+        service.upload(TENANT, "a.bin", new ByteArrayInputStream(randomContent(1)));
+        // 其他实例写入的记录
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO sys_oss (id, tenant_id, file_name, file_size, service) VALUES (1, 1, 'x', 500, 'local')");
+        }
+        TenantStorageUsage.Reservation reservation = usage.reserve(TENANT, 700);
+        assertEquals(0, usage.reconcile());
+        assertEquals(SIZE + 700L, usage.getUsed(TENANT));
+        reservation.release();
+        assertEquals(1, usage.reconcile());
+        assertEquals(SIZE + 500L, usage.getUsed(TENANT));
+        assertEquals(0, usage.reconcile());
+    }
+}
@@ -0,0 +1,236 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import com.taoyuan.enjoy.framework.common.utils.ThreadLocalPool;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * JWT签名算法
+ * 密钥在创建时解析一次，Mac/Signature 实例按线程预初始化并复用，签名校验过程不再做密钥解析
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public abstract class JwtAlgorithm {
+
+    private static final int MAX_SHARED_ENGINES = 256;
+
+    private final String name;
+    private final String headerSegment;
+
+    private JwtAlgorithm(String name) {
+        this.name = name;
+        String header = "{\"alg\":\"" + name + "\",\"typ\":\"JWT\"}";
+        this.headerSegment = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * HMAC-SHA256 对称签名
+     *
+     * @param secret 密钥，至少32字节
+     * @return 算法
+     */
+    public static JwtAlgorithm hs256(byte[] secret) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("HS256 secret must be at least 32 bytes");
+        }
+        return new Hmac("HS256", "HmacSHA256", secret.clone());
+    }
+
+    /**
+     * RSA-SHA256 非对称签名，仅校验的节点可不提供私钥
+     *
+     * @param privateKey 私钥，可为空
+     * @param publicKey  公钥
+     * @return 算法
+     */
+    public static JwtAlgorithm rs256(PrivateKey privateKey, PublicKey publicKey) {
+        return new Rsa("RS256", "SHA256withRSA", privateKey, Objects.requireNonNull(publicKey));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 头部的 Base64URL 编码，校验时直接与令牌头部比较，避免算法混淆
+     *
+     * @return 头部编码
+     */
+    public String getHeaderSegment() {
+        return headerSegment;
+    }
+
+    /**
+     * 签名
+     *
+     * @param data 待签名数据
+     * @param len  数据长度
+     * @return 签名
+     */
+    abstract byte[] sign(byte[] data, int len);
+
+    /**
+     * 校验签名
+     *
+     * @param data      待校验数据
+     * @param len       数据长度
+     * @param signature 签名
+     * @param sigLen    签名长度
+     * @return 是否通过
+     */
+    abstract boolean verify(byte[] data, int len, byte[] signature, int sigLen);
+
+    /**
+     * 签名的最大字节数
+     */
+    abstract int maxSignatureLength();
+
+    private static final class Hmac extends JwtAlgorithm {
+
+        private final ThreadLocalPool<MacEngine> engines;
+
+        private Hmac(String name, String jcaName, byte[] secret) {
+            super(name);
+            SecretKeySpec key = new SecretKeySpec(secret, jcaName);
+            this.engines = new ThreadLocalPool<>(() -> new MacEngine(jcaName, key), MAX_SHARED_ENGINES);
+            // 立即初始化一次，密钥或算法不可用时尽早失败
+            engines.release(engines.acquire());
+        }
+
+        @Override
+        byte[] sign(byte[] data, int len) {
+            MacEngine engine = engines.acquire();
+            try {
+                engine.mac.update(data, 0, len);
+                return engine.mac.doFinal();
+            } finally {
+                engines.release(engine);
+            }
+        }
+
+        @Override
+        boolean verify(byte[] data, int len, byte[] signature, int sigLen) {
+            MacEngine engine = engines.acquire();
+            try {
+                engine.mac.update(data, 0, len);
+                engine.mac.doFinal(engine.out, 0);
+                if (sigLen != engine.out.length) {
+                    return false;
+                }
+                int diff = 0;
+                for (int i = 0; i < sigLen; i++) {
+                    diff |= engine.out[i] ^ signature[i];
+                }
+                return diff == 0;
+            } catch (GeneralSecurityException e) {
+                return false;
+            } finally {
+                engines.release(engine);
+            }
+        }
+
+        @Override
+        int maxSignatureLength() {
+            return 64;
+        }
+    }
+
+    private static final class MacEngine {
+
+        private final Mac mac;
+        private final byte[] out;
+
+        private MacEngine(String jcaName, SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance(jcaName);
+                this.mac.init(key);
+                this.out = new byte[mac.getMacLength()];
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + jcaName, e);
+            }
+        }
+    }
+
+    /**
+     * RSA 签名与校验分池：Signature 实例创建时即以对应密钥 initSign/initVerify，
+     * sign()/verify() 完成后实例自动回到初始化后的状态，可直接复用；使用中出错的实例丢弃
+     */
+    private static final class Rsa extends JwtAlgorithm {
+
+        private final ThreadLocalPool<Signature> signers;
+        private final ThreadLocalPool<Signature> verifiers;
+
+        private Rsa(String name, String jcaName, PrivateKey privateKey, PublicKey publicKey) {
+            super(name);
+            this.signers = privateKey == null ? null : new ThreadLocalPool<>(() -> {
+                try {
+                    Signature signature = Signature.getInstance(jcaName);
+                    signature.initSign(privateKey);
+                    return signature;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to initialize " + jcaName, e);
+                }
+            }, MAX_SHARED_ENGINES);
+            this.verifiers = new ThreadLocalPool<>(() -> {
+                try {
+                    Signature signature = Signature.getInstance(jcaName);
+                    signature.initVerify(publicKey);
+                    return signature;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to initialize " + jcaName, e);
+                }
+            }, MAX_SHARED_ENGINES);
+            // 立即初始化一次，密钥或算法不可用时尽早失败
+            if (signers != null) {
+                signers.release(signers.acquire());
+            }
+            verifiers.release(verifiers.acquire());
+        }
+
+        @Override
+        byte[] sign(byte[] data, int len) {
+            if (signers == null) {
+                throw new IllegalStateException("No private key configured, this node can only verify tokens");
+            }
+            Signature engine = signers.acquire();
+            try {
+                engine.update(data, 0, len);
+                byte[] signature = engine.sign();
+                signers.release(engine);
+                return signature;
+            } catch (GeneralSecurityException | RuntimeException e) {
+                signers.discard(engine);
+                throw new IllegalStateException("Token signing failed", e);
+            }
+        }
+
+        @Override
+        boolean verify(byte[] data, int len, byte[] signature, int sigLen) {
+            Signature engine = verifiers.acquire();
+            try {
+                engine.update(data, 0, len);
+                boolean valid = engine.verify(signature, 0, sigLen);
+                verifiers.release(engine);
+                return valid;
+            } catch (GeneralSecurityException | RuntimeException e) {
+                verifiers.discard(engine);
+                return false;
+            }
+        }
+
+        @Override
+        int maxSignatureLength() {
+            return 1024;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+/**
+ * JWT声明
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class JwtClaims {
+
+    /**
+     * 令牌ID（jti）
+     */
+    private final String tokenId;
+
+    /**
+     * 令牌类型：access / refresh（typ）
+     */
+    private final String tokenType;
+
+    /**
+     * 用户ID（sub）
+     */
+    private final long userId;
+
+    /**
+     * 租户ID（tid）
+     */
+    private final long tenantId;
+
+    /**
+     * 用户名（unm）
+     */
+    private final String username;
+
+    /**
+     * 用户类型（uty）
+     */
+    private final String userType;
+
+    /**
+     * 客户端ID（cid）
+     */
+    private final String clientId;
+
+    /**
+     * 签发时间，秒（iat）
+     */
+    private final long issuedAt;
+
+    /**
+     * 过期时间，秒（exp）
+     */
+    private final long expiresAt;
+
+    public JwtClaims(String tokenId, String tokenType, long userId, long tenantId, String username,
+                     String userType, String clientId, long issuedAt, long expiresAt) {
+        this.tokenId = tokenId;
+        this.tokenType = tokenType;
+        this.userId = userId;
+        this.tenantId = tenantId;
+        this.username = username;
+        this.userType = userType;
+        this.clientId = clientId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * 是否已过期
+     *
+     * @param nowSeconds      当前时间（秒）
+     * @param clockSkewSeconds 允许的时钟偏差（秒）
+     * @return 是否过期
+     */
+    public boolean isExpired(long nowSeconds, long clockSkewSeconds) {
+        return expiresAt + clockSkewSeconds <= nowSeconds;
+    }
+}
@@ -0,0 +1,394 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import com.taoyuan.enjoy.framework.common.constant.SecurityConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JWT载荷编解码
+ * 解析时直接在 Base64URL 解码后的字节上扫描已知声明，不构建 JSON 树；未知字段（含嵌套对象、数组）直接跳过
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class JwtClaimsCodec {
+
+    private static final int[] BASE64URL = new int[128];
+
+    private static final int KEY_JTI = key('j', 't', 'i');
+    private static final int KEY_TYP = key('t', 'y', 'p');
+    private static final int KEY_SUB = key('s', 'u', 'b');
+    private static final int KEY_TID = key('t', 'i', 'd');
+    private static final int KEY_UNM = key('u', 'n', 'm');
+    private static final int KEY_UTY = key('u', 't', 'y');
+    private static final int KEY_CID = key('c', 'i', 'd');
+    private static final int KEY_IAT = key('i', 'a', 't');
+    private static final int KEY_EXP = key('e', 'x', 'p');
+
+    private static final byte[] ACCESS = SecurityConstants.TOKEN_TYPE_ACCESS.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REFRESH = SecurityConstants.TOKEN_TYPE_REFRESH.getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private JwtClaimsCodec() {
+    }
+
+    private static int key(char a, char b, char c) {
+        return (a << 16) | (b << 8) | c;
+    }
+
+    /**
+     * Base64URL（无填充）解码
+     *
+     * @param src  源字符
+     * @param from 起始位置（含）
+     * @param to   结束位置（不含）
+     * @param dst  目标缓冲，长度需不小于 (to - from) * 3 / 4
+     * @return 解码后的字节数，非法输入返回 -1
+     */
+    static int decodeBase64Url(CharSequence src, int from, int to, byte[] dst) {
+        int remainder = (to - from) & 3;
+        if (remainder == 1) {
+            return -1;
+        }
+        int out = 0;
+        int i = from;
+        int fullEnd = to - remainder;
+        while (i < fullEnd) {
+            int b0 = value(src.charAt(i++));
+            int b1 = value(src.charAt(i++));
+            int b2 = value(src.charAt(i++));
+            int b3 = value(src.charAt(i++));
+            if ((b0 | b1 | b2 | b3) < 0) {
+                return -1;
+            }
+            int bits = (b0 << 18) | (b1 << 12) | (b2 << 6) | b3;
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+            dst[out++] = (byte) bits;
+        }
+        if (remainder > 0) {
+            int b0 = value(src.charAt(i++));
+            int b1 = value(src.charAt(i++));
+            int b2 = remainder == 3 ? value(src.charAt(i)) : 0;
+            if ((b0 | b1 | b2) < 0) {
+                return -1;
+            }
+            int bits = (b0 << 18) | (b1 << 12) | (b2 << 6);
+            dst[out++] = (byte) (bits >> 16);
+            if (remainder == 3) {
+                dst[out++] = (byte) (bits >> 8);
+            }
+        }
+        return out;
+    }
+
+    private static int value(char c) {
+        return c < 128 ? BASE64URL[c] : -1;
+    }
+
+    /**
+     * 生成载荷 JSON
+     */
+    static byte[] encode(JwtClaims claims) {
+        StringBuilder sb = new StringBuilder(192);
+        sb.append("{\"jti\":");
+        appendString(sb, claims.getTokenId());
+        sb.append(",\"typ\":");
+        appendString(sb, claims.getTokenType());
+        sb.append(",\"sub\":\"").append(claims.getUserId()).append('"');
+        sb.append(",\"tid\":").append(claims.getTenantId());
+        if (claims.getUsername() != null) {
+            sb.append(",\"unm\":");
+            appendString(sb, claims.getUsername());
+        }
+        if (claims.getUserType() != null) {
+            sb.append(",\"uty\":");
+            appendString(sb, claims.getUserType());
+        }
+        if (claims.getClientId() != null) {
+            sb.append(",\"cid\":");
+            appendString(sb, claims.getClientId());
+        }
+        sb.append(",\"iat\":").append(claims.getIssuedAt());
+        sb.append(",\"exp\":").append(claims.getExpiresAt());
+        sb.append('}');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * 解析载荷 JSON
+     *
+     * @param buf 载荷字节
+     * @param len 长度
+     * @return 声明，格式非法或缺少必需声明（jti、typ、sub、exp）时返回 null
+     */
+    static JwtClaims decode(byte[] buf, int len) {
+        Cursor c = new Cursor(buf, len);
+        String tokenId = null;
+        String tokenType = null;
+        String username = null;
+        String userType = null;
+        String clientId = null;
+        long userId = Long.MIN_VALUE;
+        long tenantId = 0L;
+        long issuedAt = 0L;
+        long expiresAt = Long.MIN_VALUE;
+
+        if (!c.expect('{')) {
+            return null;
+        }
+        if (!c.peekIs('}')) {
+            do {
+                if (!c.expect('"')) {
+                    return null;
+                }
+                int keyStart = c.pos;
+                if (!c.skipStringBody()) {
+                    return null;
+                }
+                int keyLen = c.pos - 1 - keyStart;
+                if (!c.expect(':')) {
+                    return null;
+                }
+                int k = keyLen == 3 ? (buf[keyStart] << 16) | (buf[keyStart + 1] << 8) | buf[keyStart + 2] : -1;
+                c.skipWhitespace();
+                if (k == KEY_JTI) {
+                    tokenId = c.readString();
+                } else if (k == KEY_TYP) {
+                    tokenType = c.readTokenType();
+                } else if (k == KEY_UNM) {
+                    username = c.readString();
+                } else if (k == KEY_UTY) {
+                    userType = c.readString();
+                } else if (k == KEY_CID) {
+                    clientId = c.readString();
+                } else if (k == KEY_SUB) {
+                    userId = c.readLong();
+                } else if (k == KEY_TID) {
+                    tenantId = c.readLong();
+                } else if (k == KEY_IAT) {
+                    issuedAt = c.readLong();
+                } else if (k == KEY_EXP) {
+                    expiresAt = c.readLong();
+                } else if (!c.skipValue()) {
+                    return null;
+                }
+                if (c.failed) {
+                    return null;
+                }
+            } while (c.consumeIf(','));
+        }
+        if (!c.expect('}') || tokenId == null || tokenType == null
+                || userId == Long.MIN_VALUE || expiresAt == Long.MIN_VALUE) {
+            return null;
+        }
+        return new JwtClaims(tokenId, tokenType, userId, tenantId, username, userType, clientId, issuedAt, expiresAt);
+    }
+
+    /**
+     * 字节游标
+     */
+    private static final class Cursor {
+
+        private final byte[] buf;
+        private final int len;
+        private int pos;
+        private boolean failed;
+
+        private Cursor(byte[] buf, int len) {
+            this.buf = buf;
+            this.len = len;
+        }
+
+        void skipWhitespace() {
+            while (pos < len && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\n' || buf[pos] == '\r')) {
+                pos++;
+            }
+        }
+
+        boolean expect(char ch) {
+            skipWhitespace();
+            if (pos < len && buf[pos] == ch) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean peekIs(char ch) {
+            skipWhitespace();
+            return pos < len && buf[pos] == ch;
+        }
+
+        boolean consumeIf(char ch) {
+            return peekIs(ch) && expect(ch);
+        }
+
+        /**
+         * 跳过字符串内容（起始引号已消费），结束后位于结束引号之后
+         */
+        boolean skipStringBody() {
+            while (pos < len) {
+                byte b = buf[pos++];
+                if (b == '\\') {
+                    pos++;
+                } else if (b == '"') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String readString() {
+            if (!expect('"')) {
+                failed = true;
+                return null;
+            }
+            int start = pos;
+            boolean escaped = false;
+            while (pos < len) {
+                byte b = buf[pos];
+                if (b == '\\') {
+                    escaped = true;
+                    pos += 2;
+                } else if (b == '"') {
+                    String raw = new String(buf, start, pos - start, StandardCharsets.UTF_8);
+                    pos++;
+                    return escaped ? unescape(raw) : raw;
+                } else {
+                    pos++;
+                }
+            }
+            failed = true;
+            return null;
+        }
+
+        String readTokenType() {
+            if (!expect('"')) {
+                failed = true;
+                return null;
+            }
+            int start = pos;
+            if (!skipStringBody()) {
+                failed = true;
+                return null;
+            }
+            int valueLen = pos - 1 - start;
+            if (Arrays.equals(buf, start, start + valueLen, ACCESS, 0, ACCESS.length)) {
+                return SecurityConstants.TOKEN_TYPE_ACCESS;
+            }
+            if (Arrays.equals(buf, start, start + valueLen, REFRESH, 0, REFRESH.length)) {
+                return SecurityConstants.TOKEN_TYPE_REFRESH;
+            }
+            return new String(buf, start, valueLen, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 读取整数，兼容数字与数字字符串两种写法
+         */
+        long readLong() {
+            boolean quoted = consumeIf('"');
+            boolean negative = pos < len && buf[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            int start = pos;
+            long value = 0L;
+            while (pos < len && buf[pos] >= '0' && buf[pos] <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10) {
+                    failed = true;
+                    return 0L;
+                }
+                value = value * 10 + (buf[pos++] - '0');
+            }
+            if (pos == start || (quoted && !expect('"'))) {
+                failed = true;
+                return 0L;
+            }
+            return negative ? -value : value;
+        }
+
+        boolean skipValue() {
+            skipWhitespace();
+            if (pos >= len) {
+                return false;
+            }
+            byte b = buf[pos];
+            if (b == '"') {
+                pos++;
+                return skipStringBody();
+            }
+            if (b == '{' || b == '[') {
+                int depth = 0;
+                while (pos < len) {
+                    byte ch = buf[pos++];
+                    if (ch == '"') {
+                        if (!skipStringBody()) {
+                            return false;
+                        }
+                    } else if (ch == '{' || ch == '[') {
+                        depth++;
+                    } else if ((ch == '}' || ch == ']') && --depth == 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int start = pos;
+            while (pos < len && buf[pos] != ',' && buf[pos] != '}' && buf[pos] != ' ') {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private static String unescape(String raw) {
+            StringBuilder sb = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char ch = raw.charAt(i);
+                if (ch != '\\' || i + 1 >= raw.length()) {
+                    sb.append(ch);
+                    continue;
+                }
+                char next = raw.charAt(++i);
+                switch (next) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (i + 4 < raw.length()) {
+                            sb.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                            i += 4;
+                        }
+                    }
+                    default -> sb.append(next);
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import com.taoyuan.enjoy.framework.common.constant.SecurityConstants;
+
+/**
+ * JWT配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class JwtProperties {
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private long accessTokenTtlSeconds = SecurityConstants.DEFAULT_ACCESS_TOKEN_TTL_SECONDS;
+
+    /**
+     * 刷新令牌有效期（秒）
+     */
+    private long refreshTokenTtlSeconds = SecurityConstants.DEFAULT_REFRESH_TOKEN_TTL_SECONDS;
+
+    /**
+     * 允许的时钟偏差（秒）
+     */
+    private long clockSkewSeconds = 30L;
+
+    /**
+     * 已验签令牌缓存容量，0 表示关闭缓存
+     */
+    private int verifiedCacheSize = 16384;
+
+    /**
+     * 已验签令牌缓存分段数
+     */
+    private int verifiedCacheSegments = 16;
+
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
+    }
+
+    public void setAccessTokenTtlSeconds(long accessTokenTtlSeconds) {
+        this.accessTokenTtlSeconds = accessTokenTtlSeconds;
+    }
+
+    public long getRefreshTokenTtlSeconds() {
+        return refreshTokenTtlSeconds;
+    }
+
+    public void setRefreshTokenTtlSeconds(long refreshTokenTtlSeconds) {
+        this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
+    }
+
+    public long getClockSkewSeconds() {
+        return clockSkewSeconds;
+    }
+
+    public void setClockSkewSeconds(long clockSkewSeconds) {
+        this.clockSkewSeconds = clockSkewSeconds;
+    }
+
+    public int getVerifiedCacheSize() {
+        return verifiedCacheSize;
+    }
+
+    public void setVerifiedCacheSize(int verifiedCacheSize) {
+        this.verifiedCacheSize = verifiedCacheSize;
+    }
+
+    public int getVerifiedCacheSegments() {
+        return verifiedCacheSegments;
+    }
+
+    public void setVerifiedCacheSegments(int verifiedCacheSegments) {
+        this.verifiedCacheSegments = verifiedCacheSegments;
+    }
+}
@@ -0,0 +1,267 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import com.taoyuan.enjoy.framework.common.constant.SecurityConstants;
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.model.LoginUser;
+import com.taoyuan.enjoy.framework.common.utils.ThreadLocalPool;
+import com.taoyuan.enjoy.framework.security.revocation.TokenRevocationService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JWT双令牌签发与校验
+ * 校验在请求热路径上执行：令牌字符直接写入复用的字节缓冲，签名与载荷在缓冲上完成解码和校验，
+ * 已验签的令牌进入 {@link VerifiedTokenCache}，重复请求只需检查过期时间与吊销状态
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class JwtTokenService {
+
+    /**
+     * 令牌最大长度，超出直接拒绝
+     */
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final int MAX_SHARED_BUFFERS = 256;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtAlgorithm algorithm;
+    private final JwtProperties properties;
+    private final VerifiedTokenCache verifiedCache;
+    private final ThreadLocalPool<VerifyBuffers> buffers;
+    private final TokenRevocationService revocationService;
+
+    public JwtTokenService(JwtAlgorithm algorithm, JwtProperties properties) {
+        this(algorithm, properties, null);
+    }
+
+    /**
+     * @param algorithm         签名算法
+     * @param properties        配置
+     * @param revocationService 吊销服务，为空时不做吊销检查
+     */
+    public JwtTokenService(JwtAlgorithm algorithm, JwtProperties properties, TokenRevocationService revocationService) {
+        this.algorithm = Objects.requireNonNull(algorithm);
+        this.properties = Objects.requireNonNull(properties);
+        this.revocationService = revocationService;
+        this.verifiedCache = properties.getVerifiedCacheSize() > 0
+                ? new VerifiedTokenCache(properties.getVerifiedCacheSize(), properties.getVerifiedCacheSegments())
+                : null;
+        int sigLen = algorithm.maxSignatureLength();
+        this.buffers = new ThreadLocalPool<>(() -> new VerifyBuffers(sigLen), MAX_SHARED_BUFFERS);
+    }
+
+    /**
+     * 签发访问令牌与刷新令牌
+     *
+     * @param user 登录用户
+     * @return 令牌对
+     */
+    public TokenPair issue(LoginUser user) {
+        long now = nowSeconds();
+        long tenantId = user.getTenantId() == null ? 0L : user.getTenantId();
+        JwtClaims access = new JwtClaims(newTokenId(), SecurityConstants.TOKEN_TYPE_ACCESS, user.getUserId(), tenantId,
+                user.getUsername(), user.getUserType(), user.getClientId(), now, now + properties.getAccessTokenTtlSeconds());
+        JwtClaims refresh = new JwtClaims(newTokenId(), SecurityConstants.TOKEN_TYPE_REFRESH, user.getUserId(), tenantId,
+                user.getUsername(), user.getUserType(), user.getClientId(), now, now + properties.getRefreshTokenTtlSeconds());
+        return new TokenPair(sign(access), sign(refresh), access, refresh);
+    }
+
+    /**
+     * 使用刷新令牌换发新的令牌对，旧的刷新令牌随即吊销
+     * 吊销是原子的"不存在才写入"，同一刷新令牌被并发重放时只有一个调用换发成功，其余按未认证拒绝
+     *
+     * @param refreshToken 刷新令牌
+     * @return 新令牌对
+     */
+    public TokenPair refresh(String refreshToken) {
+        if (revocationService == null) {
+            throw new IllegalStateException("Refresh token rotation requires a TokenRevocationService");
+        }
+        JwtClaims claims = verify(refreshToken, SecurityConstants.TOKEN_TYPE_REFRESH);
+        if (!revoke(refreshToken, claims)) {
+            throw BizException.of(CommonErrorCode.UNAUTHORIZED);
+        }
+        return issue(toLoginUser(claims));
+    }
+
+    /**
+     * 吊销令牌（登出、强制下线），令牌本身无效时忽略
+     *
+     * @param token 令牌
+     */
+    public void revoke(String token) {
+        JwtClaims claims = verifiedCache != null ? verifiedCache.get(token) : null;
+        if (claims == null && token != null && token.length() <= MAX_TOKEN_LENGTH) {
+            claims = verifySignature(token);
+        }
+        if (claims != null) {
+            revoke(token, claims);
+        }
+    }
+
+    private boolean revoke(String token, JwtClaims claims) {
+        if (verifiedCache != null) {
+            verifiedCache.remove(token);
+        }
+        return revocationService != null && revocationService.revoke(claims.getTokenId(), claims.getExpiresAt());
+    }
+
+    /**
+     * 校验访问令牌
+     *
+     * @param token 访问令牌（不含 Bearer 前缀）
+     * @return 声明
+     */
+    public JwtClaims verifyAccessToken(String token) {
+        return verify(token, SecurityConstants.TOKEN_TYPE_ACCESS);
+    }
+
+    /**
+     * 校验令牌，失败时抛出 {@link CommonErrorCode#UNAUTHORIZED}
+     *
+     * @param token        令牌
+     * @param expectedType 期望的令牌类型
+     * @return 声明
+     */
+    public JwtClaims verify(String token, String expectedType) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            throw BizException.of(CommonErrorCode.UNAUTHORIZED);
+        }
+        long now = nowSeconds();
+        JwtClaims claims = verifiedCache != null ? verifiedCache.get(token) : null;
+        if (claims == null) {
+            claims = verifySignature(token);
+            if (claims == null) {
+                throw BizException.of(CommonErrorCode.UNAUTHORIZED);
+            }
+            if (verifiedCache != null && !claims.isExpired(now, properties.getClockSkewSeconds())) {
+                verifiedCache.put(token, claims);
+            }
+        }
+        if (claims.isExpired(now, properties.getClockSkewSeconds()) || !expectedType.equals(claims.getTokenType())) {
+            throw BizException.of(CommonErrorCode.UNAUTHORIZED);
+        }
+        if (revocationService != null && revocationService.isRevoked(claims.getTokenId(), claims.getExpiresAt())) {
+            throw BizException.of(CommonErrorCode.UNAUTHORIZED);
+        }
+        return claims;
+    }
+
+    /**
+     * 从认证请求头中截取令牌
+     *
+     * @param authorization Authorization 请求头
+     * @return 令牌，格式不符时返回 null
+     */
+    public static String resolveToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, SecurityConstants.TOKEN_PREFIX, 0,
+                SecurityConstants.TOKEN_PREFIX.length())) {
+            return null;
+        }
+        return authorization.substring(SecurityConstants.TOKEN_PREFIX.length()).trim();
+    }
+
+    /**
+     * 声明转登录用户
+     *
+     * @param claims 声明
+     * @return 登录用户
+     */
+    public LoginUser toLoginUser(JwtClaims claims) {
+        LoginUser user = new LoginUser();
+        user.setUserId(claims.getUserId());
+        user.setTenantId(claims.getTenantId());
+        user.setUsername(claims.getUsername());
+        user.setUserType(claims.getUserType());
+        user.setClientId(claims.getClientId());
+        user.setTokenId(claims.getTokenId());
+        user.setExpireTime(claims.getExpiresAt() * 1000L);
+        return user;
+    }
+
+    private JwtClaims verifySignature(String token) {
+        String header = algorithm.getHeaderSegment();
+        int firstDot = header.length();
+        if (token.length() <= firstDot || token.charAt(firstDot) != '.' || !token.startsWith(header)) {
+            return null;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+        VerifyBuffers buf = buffers.acquire();
+        try {
+            byte[] input = buf.input(secondDot);
+            for (int i = 0; i < secondDot; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            int sigChars = token.length() - secondDot - 1;
+            if (sigChars * 3 / 4 > buf.signature.length) {
+                return null;
+            }
+            int sigLen = JwtClaimsCodec.decodeBase64Url(token, secondDot + 1, token.length(), buf.signature);
+            if (sigLen < 0 || !algorithm.verify(input, secondDot, buf.signature, sigLen)) {
+                return null;
+            }
+            byte[] payload = buf.payload(secondDot - firstDot);
+            int payloadLen = JwtClaimsCodec.decodeBase64Url(token, firstDot + 1, secondDot, payload);
+            return payloadLen < 0 ? null : JwtClaimsCodec.decode(payload, payloadLen);
+        } finally {
+            buffers.release(buf);
+        }
+    }
+
+    private String sign(JwtClaims claims) {
+        String signingInput = algorithm.getHeaderSegment() + '.' + ENCODER.encodeToString(JwtClaimsCodec.encode(claims));
+        byte[] data = signingInput.getBytes(StandardCharsets.US_ASCII);
+        return signingInput + '.' + ENCODER.encodeToString(algorithm.sign(data, data.length));
+    }
+
+    private static String newTokenId() {
+        UUID uuid = UUID.randomUUID();
+        return Long.toHexString(uuid.getMostSignificantBits()) + Long.toHexString(uuid.getLeastSignificantBits());
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    /**
+     * 校验过程中复用的缓冲区
+     */
+    private static final class VerifyBuffers {
+
+        private byte[] input = new byte[512];
+        private byte[] payload = new byte[512];
+        private final byte[] signature;
+
+        private VerifyBuffers(int maxSignatureLength) {
+            this.signature = new byte[maxSignatureLength];
+        }
+
+        byte[] input(int len) {
+            if (input.length < len) {
+                input = new byte[Math.max(len, input.length * 2)];
+            }
+            return input;
+        }
+
+        byte[] payload(int encodedLen) {
+            if (payload.length < encodedLen) {
+                payload = new byte[Math.max(encodedLen, payload.length * 2)];
+            }
+            return payload;
+        }
+    }
+}
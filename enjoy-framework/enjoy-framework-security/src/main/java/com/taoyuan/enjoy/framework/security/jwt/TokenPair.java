@@ -0,0 +1,45 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+/**
+ * 访问令牌 + 刷新令牌
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class TokenPair {
+
+    private final String accessToken;
+    private final String refreshToken;
+    private final JwtClaims accessClaims;
+    private final JwtClaims refreshClaims;
+
+    public TokenPair(String accessToken, String refreshToken, JwtClaims accessClaims, JwtClaims refreshClaims) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.accessClaims = accessClaims;
+        this.refreshClaims = refreshClaims;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public JwtClaims getAccessClaims() {
+        return accessClaims;
+    }
+
+    public JwtClaims getRefreshClaims() {
+        return refreshClaims;
+    }
+
+    /**
+     * 访问令牌过期时间（秒）
+     */
+    public long getExpiresAt() {
+        return accessClaims.getExpiresAt();
+    }
+}
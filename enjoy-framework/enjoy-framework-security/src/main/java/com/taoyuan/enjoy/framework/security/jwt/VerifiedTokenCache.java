@@ -0,0 +1,91 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 已验签令牌缓存（分段LRU）
+ * 同一令牌在有效期内重复请求时跳过签名校验；按令牌哈希分段加锁，降低高并发下的锁竞争。
+ * 命中后仍需由调用方检查过期时间与吊销状态
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class VerifiedTokenCache {
+
+    private final Segment[] segments;
+    private final int mask;
+
+    /**
+     * @param capacity 总容量
+     * @param segments 分段数，向上取整为2的幂
+     */
+    public VerifiedTokenCache(int capacity, int segments) {
+        if (capacity <= 0 || segments <= 0) {
+            throw new IllegalArgumentException("capacity and segments must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, segments - 1)) << 1;
+        int perSegment = Math.max(1, capacity / size);
+        this.segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+        this.mask = size - 1;
+    }
+
+    public JwtClaims get(String token) {
+        return segmentFor(token).get(token);
+    }
+
+    public void put(String token, JwtClaims claims) {
+        segmentFor(token).put(token, claims);
+    }
+
+    public void remove(String token) {
+        segmentFor(token).remove(token);
+    }
+
+    /**
+     * 清空缓存（如密钥轮换时）
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(String token) {
+        int h = token.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Segment {
+
+        private final LinkedHashMap<String, JwtClaims> map;
+
+        private Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized JwtClaims get(String token) {
+            return map.get(token);
+        }
+
+        synchronized void put(String token, JwtClaims claims) {
+            map.put(token, claims);
+        }
+
+        synchronized void remove(String token) {
+            map.remove(token);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+}
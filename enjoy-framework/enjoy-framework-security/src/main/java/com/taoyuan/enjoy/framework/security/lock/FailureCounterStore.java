@@ -0,0 +1,45 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+/**
+ * 登录失败计数存储（滑动窗口）
+ * 默认为本地分片内存实现 {@link ShardedFailureCounterStore}；多节点部署时可替换为共享实现（如 Redis 按时间片 INCR），
+ * 使同一账号在各节点上的失败次数合并计算
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface FailureCounterStore {
+
+    /**
+     * 记录一次失败
+     *
+     * @param key       计数键
+     * @param nowMillis 当前时间
+     * @return 记录后窗口内的失败次数
+     */
+    int increment(String key, long nowMillis);
+
+    /**
+     * 窗口内的失败次数
+     *
+     * @param key       计数键
+     * @param nowMillis 当前时间
+     * @return 失败次数
+     */
+    int count(String key, long nowMillis);
+
+    /**
+     * 清零（登录成功或解锁）
+     *
+     * @param key 计数键
+     */
+    void reset(String key);
+
+    /**
+     * 清理已过期的计数，由 {@link LoginLockEngine} 定时调用；依赖存储自身过期（如 Redis TTL）的实现无需处理
+     *
+     * @param nowMillis 当前时间
+     */
+    default void sweep(long nowMillis) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+/**
+ * 登录失败统计维度
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum LockDimension {
+
+    /**
+     * 用户名
+     */
+    USER("U:"),
+
+    /**
+     * 登录标识（手机号/邮箱）
+     */
+    IDENTIFIER("I:"),
+
+    /**
+     * 客户端IP
+     */
+    IP("P:");
+
+    private final String keyPrefix;
+
+    LockDimension(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * 生成计数键
+     *
+     * @param value 维度值
+     * @return 计数键
+     */
+    public String key(String value) {
+        return keyPrefix + value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+/**
+ * 锁定状态变更事件，对应 sys_login_log 中 log_type 为 LOCK / UNLOCK 的记录
+ *
+ * @param logType     LOCK / UNLOCK
+ * @param dimension   触发维度
+ * @param value       维度值（用户名、登录标识或IP）
+ * @param reason      锁定或解锁原因
+ * @param eventTime   事件时间（毫秒）
+ * @param lockedUntil 锁定截止时间（毫秒），解锁事件为 0
+ * @author enjoy
+ * @version 1.0
+ */
+public record LockEvent(String logType, LockDimension dimension, String value, String reason,
+                        long eventTime, long lockedUntil) {
+
+    public static final String LOG_TYPE_LOCK = "LOCK";
+    public static final String LOG_TYPE_UNLOCK = "UNLOCK";
+
+    public boolean isLock() {
+        return LOG_TYPE_LOCK.equals(logType);
+    }
+}
@@ -0,0 +1,20 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+/**
+ * 锁定状态变更的持久化
+ * 只在锁定、解锁发生时调用，业务模块据此写入 sys_login_log（lock_reason / lock_time 等字段）；
+ * 普通的登录失败不经过此接口
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LockEventWriter {
+
+    /**
+     * 写入状态变更
+     *
+     * @param event 事件
+     */
+    void write(LockEvent event);
+}
@@ -0,0 +1,239 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.lang.AccountStatus;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录失败锁定引擎
+ * 按用户名、登录标识、IP三个维度做滑动窗口计数，失败次数恰好达到阈值的那一次触发锁定并写入 LOCK 事件；
+ * 超过阈值的计数（其他节点已触发）只在本地标记锁定，不重复写库。锁定到期后由触发节点写入 UNLOCK 事件：
+ * 再次检查该键时立即写入，否则由 {@link #start()} 启动的定时清理写入，同时清理过期计数。
+ * 本地锁定状态数量有上限（maxLocks），登录判断只读本地状态与计数，不扫描 sys_login_log
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class LoginLockEngine {
+
+    private static final LockDimension[] DIMENSIONS = LockDimension.values();
+    private static final String AUTO_UNLOCK_REASON = "锁定到期自动解锁";
+
+    private final LoginLockProperties properties;
+    private final FailureCounterStore counterStore;
+    private final LockEventWriter eventWriter;
+    private final Map<String, LockState> locks = new ConcurrentHashMap<>();
+    private volatile long nextInlineSweepAt;
+    private ScheduledExecutorService scheduler;
+
+    public LoginLockEngine(LoginLockProperties properties, LockEventWriter eventWriter) {
+        this(properties, new ShardedFailureCounterStore(properties.getWindowSeconds() * 1000L,
+                properties.getWindowBuckets(), properties.getShards(), properties.getMaxKeysPerShard()), eventWriter);
+    }
+
+    /**
+     * @param properties   配置
+     * @param counterStore 计数存储，多节点时传入共享实现
+     * @param eventWriter  状态变更写入
+     */
+    public LoginLockEngine(LoginLockProperties properties, FailureCounterStore counterStore, LockEventWriter eventWriter) {
+        this.properties = Objects.requireNonNull(properties);
+        this.counterStore = Objects.requireNonNull(counterStore);
+        this.eventWriter = Objects.requireNonNull(eventWriter);
+    }
+
+    /**
+     * 启动定时清理
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-login-lock-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> sweep(System.currentTimeMillis()), properties.getSweepIntervalSeconds(),
+                properties.getSweepIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定时清理
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 解除已到期的锁定（触发节点写入 UNLOCK 事件）并清理过期计数
+     *
+     * @param nowMillis 当前时间
+     */
+    public void sweep(long nowMillis) {
+        for (Map.Entry<String, LockState> entry : locks.entrySet()) {
+            LockState state = entry.getValue();
+            if (state.lockedUntil <= nowMillis) {
+                expire(entry.getKey(), state, nowMillis);
+            }
+        }
+        counterStore.sweep(nowMillis);
+    }
+
+    /**
+     * 本地锁定状态数量
+     */
+    public int getLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * 登录前检查，任一维度被锁定即返回 LOCKED
+     *
+     * @param username   用户名，可为空
+     * @param identifier 登录标识，可为空
+     * @param ip         客户端IP，可为空
+     * @return 账号状态
+     */
+    public AccountStatus check(String username, String identifier, String ip) {
+        long now = System.currentTimeMillis();
+        for (LockDimension dimension : DIMENSIONS) {
+            String value = valueOf(dimension, username, identifier, ip);
+            if (value != null && isLocked(dimension, value, now)) {
+                return AccountStatus.LOCKED;
+            }
+        }
+        return AccountStatus.NORMAL;
+    }
+
+    /**
+     * 登录前检查，被锁定时抛出异常
+     */
+    public void assertNotLocked(String username, String identifier, String ip) {
+        if (check(username, identifier, ip) == AccountStatus.LOCKED) {
+            throw new BizException(CommonErrorCode.FORBIDDEN, "登录失败次数过多，账号已被临时锁定");
+        }
+    }
+
+    /**
+     * 记录一次登录失败
+     *
+     * @return 记录后的账号状态
+     */
+    public AccountStatus onFailure(String username, String identifier, String ip) {
+        long now = System.currentTimeMillis();
+        AccountStatus status = AccountStatus.NORMAL;
+        for (LockDimension dimension : DIMENSIONS) {
+            String value = valueOf(dimension, username, identifier, ip);
+            int threshold = properties.threshold(dimension);
+            if (value == null || threshold <= 0) {
+                continue;
+            }
+            int count = counterStore.increment(dimension.key(value), now);
+            if (count >= threshold) {
+                lock(dimension, value, now, count == threshold,
+                        "窗口内连续登录失败" + count + "次（" + dimension + "）");
+                status = AccountStatus.LOCKED;
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 登录成功，清除用户名与登录标识的失败计数（IP计数保留，防止单IP轮换账号撞库）
+     */
+    public void onSuccess(String username, String identifier) {
+        if (username != null) {
+            counterStore.reset(LockDimension.USER.key(username));
+        }
+        if (identifier != null) {
+            counterStore.reset(LockDimension.IDENTIFIER.key(identifier));
+        }
+    }
+
+    /**
+     * 人工解锁
+     *
+     * @param dimension 维度
+     * @param value     维度值
+     * @param reason    解锁原因
+     */
+    public void unlock(LockDimension dimension, String value, String reason) {
+        String key = dimension.key(value);
+        counterStore.reset(key);
+        locks.remove(key);
+        eventWriter.write(new LockEvent(LockEvent.LOG_TYPE_UNLOCK, dimension, value, reason,
+                System.currentTimeMillis(), 0L));
+    }
+
+    private boolean isLocked(LockDimension dimension, String value, long now) {
+        String key = dimension.key(value);
+        LockState state = locks.get(key);
+        if (state != null) {
+            if (state.lockedUntil > now) {
+                return true;
+            }
+            expire(key, state, now);
+            return false;
+        }
+        // 计数达到阈值但本地无锁定状态：其他节点已触发锁定（共享计数存储）
+        int threshold = properties.threshold(dimension);
+        if (threshold > 0 && counterStore.count(key, now) >= threshold) {
+            lock(dimension, value, now, false, null);
+            return true;
+        }
+        return false;
+    }
+
+    private void lock(LockDimension dimension, String value, long now, boolean owner, String reason) {
+        String key = dimension.key(value);
+        if (locks.size() >= properties.getMaxLocks() && !locks.containsKey(key)) {
+            if (now >= nextInlineSweepAt) {
+                // 已满时每秒最多清理一次，避免每次锁定都全量遍历
+                nextInlineSweepAt = now + 1000L;
+                sweep(now);
+            }
+            if (locks.size() >= properties.getMaxLocks()) {
+                // 不淘汰仍有效的锁定：该键在窗口内的失败计数仍达到阈值，check 时据此判定锁定
+                return;
+            }
+        }
+        long until = now + properties.lockMillis(dimension);
+        LockState previous = locks.putIfAbsent(key, new LockState(dimension, value, until, owner));
+        if (previous == null && owner) {
+            eventWriter.write(new LockEvent(LockEvent.LOG_TYPE_LOCK, dimension, value, reason, now, until));
+        }
+    }
+
+    private void expire(String key, LockState state, long now) {
+        if (locks.remove(key, state)) {
+            counterStore.reset(key);
+            if (state.owner) {
+                eventWriter.write(new LockEvent(LockEvent.LOG_TYPE_UNLOCK, state.dimension, state.value,
+                        AUTO_UNLOCK_REASON, now, 0L));
+            }
+        }
+    }
+
+    private static String valueOf(LockDimension dimension, String username, String identifier, String ip) {
+        String value = switch (dimension) {
+            case USER -> username;
+            case IDENTIFIER -> identifier;
+            case IP -> ip;
+        };
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private record LockState(LockDimension dimension, String value, long lockedUntil, boolean owner) {
+    }
+}
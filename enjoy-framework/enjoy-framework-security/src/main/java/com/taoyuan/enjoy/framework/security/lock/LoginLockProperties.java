@@ -0,0 +1,166 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+/**
+ * 登录失败锁定配置
+ * 阈值为 0 表示不按该维度锁定；锁定时长应不小于统计窗口，否则解锁后窗口内的旧失败会立即再次触发锁定
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class LoginLockProperties {
+
+    /**
+     * 统计窗口（秒）
+     */
+    private long windowSeconds = 15 * 60L;
+
+    /**
+     * 窗口切分的时间片数量
+     */
+    private int windowBuckets = 15;
+
+    /**
+     * 本地计数分片数
+     */
+    private int shards = 16;
+
+    /**
+     * 每个分片最多跟踪的键数
+     */
+    private int maxKeysPerShard = 4096;
+
+    /**
+     * 同一用户名的失败阈值
+     */
+    private int userThreshold = 5;
+
+    /**
+     * 同一登录标识（手机号/邮箱）的失败阈值
+     */
+    private int identifierThreshold = 10;
+
+    /**
+     * 同一IP的失败阈值
+     */
+    private int ipThreshold = 50;
+
+    /**
+     * 用户名、登录标识锁定时长（秒）
+     */
+    private long accountLockSeconds = 30 * 60L;
+
+    /**
+     * IP锁定时长（秒）
+     */
+    private long ipLockSeconds = 15 * 60L;
+
+    /**
+     * 本地最多保存的锁定状态数，满时先清理到期锁定，仍满则该锁定只由窗口内的失败计数维持
+     */
+    private int maxLocks = 65536;
+
+    /**
+     * 定时清理到期锁定与过期计数的间隔（秒）
+     */
+    private long sweepIntervalSeconds = 60L;
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public int getWindowBuckets() {
+        return windowBuckets;
+    }
+
+    public void setWindowBuckets(int windowBuckets) {
+        this.windowBuckets = windowBuckets;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public int getMaxKeysPerShard() {
+        return maxKeysPerShard;
+    }
+
+    public void setMaxKeysPerShard(int maxKeysPerShard) {
+        this.maxKeysPerShard = maxKeysPerShard;
+    }
+
+    public int getUserThreshold() {
+        return userThreshold;
+    }
+
+    public void setUserThreshold(int userThreshold) {
+        this.userThreshold = userThreshold;
+    }
+
+    public int getIdentifierThreshold() {
+        return identifierThreshold;
+    }
+
+    public void setIdentifierThreshold(int identifierThreshold) {
+        this.identifierThreshold = identifierThreshold;
+    }
+
+    public int getIpThreshold() {
+        return ipThreshold;
+    }
+
+    public void setIpThreshold(int ipThreshold) {
+        this.ipThreshold = ipThreshold;
+    }
+
+    public long getAccountLockSeconds() {
+        return accountLockSeconds;
+    }
+
+    public void setAccountLockSeconds(long accountLockSeconds) {
+        this.accountLockSeconds = accountLockSeconds;
+    }
+
+    public long getIpLockSeconds() {
+        return ipLockSeconds;
+    }
+
+    public void setIpLockSeconds(long ipLockSeconds) {
+        this.ipLockSeconds = ipLockSeconds;
+    }
+
+    public int getMaxLocks() {
+        return maxLocks;
+    }
+
+    public void setMaxLocks(int maxLocks) {
+        this.maxLocks = maxLocks;
+    }
+
+    public long getSweepIntervalSeconds() {
+        return sweepIntervalSeconds;
+    }
+
+    public void setSweepIntervalSeconds(long sweepIntervalSeconds) {
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+
+    int threshold(LockDimension dimension) {
+        return switch (dimension) {
+            case USER -> userThreshold;
+            case IDENTIFIER -> identifierThreshold;
+            case IP -> ipThreshold;
+        };
+    }
+
+    long lockMillis(LockDimension dimension) {
+        return (dimension == LockDimension.IP ? ipLockSeconds : accountLockSeconds) * 1000L;
+    }
+}
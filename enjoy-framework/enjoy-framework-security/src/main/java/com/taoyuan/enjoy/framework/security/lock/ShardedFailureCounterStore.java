@@ -0,0 +1,182 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地分片滑动窗口计数
+ * 窗口切分为若干时间片，每个键一个定长环形数组，计数与过期都在数组内完成，不依赖数据库范围扫描。
+ * 每个分片有条目上限，只淘汰整个窗口内无失败的过期条目，绝不丢弃仍在窗口内的计数；
+ * 撞库攻击产生大量IP/账号键使分片清理后仍满时，新键的失败计入该分片的汇总窗口，由所有溢出的键共同累计，
+ * 溢出期间这些键更早达到阈值（宁可误锁，不放过）。满分片每个时间片最多做一次清理扫描，其余由 {@link #sweep(long)} 定时完成
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ShardedFailureCounterStore implements FailureCounterStore {
+
+    private final Shard[] shards;
+    private final int mask;
+    private final int buckets;
+    private final long bucketMillis;
+    private final long windowMillis;
+    private final LongAdder overflowed = new LongAdder();
+
+    /**
+     * @param windowMillis     窗口长度（毫秒）
+     * @param buckets          时间片数量
+     * @param shardCount       分片数，向上取整为2的幂
+     * @param maxKeysPerShard  每个分片最多保存的键数
+     */
+    public ShardedFailureCounterStore(long windowMillis, int buckets, int shardCount, int maxKeysPerShard) {
+        if (windowMillis <= 0 || buckets <= 0 || shardCount <= 0 || maxKeysPerShard <= 0) {
+            throw new IllegalArgumentException("Invalid failure counter settings");
+        }
+        int size = shardCount == 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(maxKeysPerShard, buckets);
+        }
+        this.mask = size - 1;
+        this.buckets = buckets;
+        this.bucketMillis = Math.max(1L, windowMillis / buckets);
+        this.windowMillis = bucketMillis * buckets;
+    }
+
+    @Override
+    public int increment(String key, long nowMillis) {
+        Shard shard = shardFor(key);
+        Window window = shard.windows.get(key);
+        if (window == null) {
+            window = shard.admit(key, nowMillis, bucketMillis, windowMillis);
+            if (window == shard.overflow) {
+                overflowed.increment();
+            }
+        }
+        return window.increment(nowMillis / bucketMillis, nowMillis);
+    }
+
+    /**
+     * 窗口内的失败次数；未单独跟踪的键返回 0（溢出期间的失败只体现在 {@link #increment} 的返回值中）
+     */
+    @Override
+    public int count(String key, long nowMillis) {
+        Window window = shardFor(key).windows.get(key);
+        return window == null ? 0 : window.sum(nowMillis / bucketMillis);
+    }
+
+    @Override
+    public void reset(String key) {
+        shardFor(key).windows.remove(key);
+    }
+
+    /**
+     * 清理整个窗口内无失败的条目
+     */
+    @Override
+    public void sweep(long nowMillis) {
+        for (Shard shard : shards) {
+            shard.sweep(nowMillis, bucketMillis, windowMillis);
+        }
+    }
+
+    /**
+     * 当前跟踪的键数量
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.windows.size();
+        }
+        return size;
+    }
+
+    /**
+     * 分片已满、计入汇总窗口的失败次数
+     */
+    public long getOverflowed() {
+        return overflowed.sum();
+    }
+
+    private Shard shardFor(String key) {
+        int h = key.hashCode();
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Shard {
+
+        private final Map<String, Window> windows = new ConcurrentHashMap<>();
+        private final int maxKeys;
+        /**
+         * 分片已满时新键共用的汇总窗口
+         */
+        private final Window overflow;
+        private long nextSweepAt;
+
+        private Shard(int maxKeys, int buckets) {
+            this.maxKeys = maxKeys;
+            this.overflow = new Window(buckets, 0L);
+        }
+
+        /**
+         * 为新键分配窗口；分片已满时先清理过期条目（每个时间片最多一次），仍满则返回汇总窗口
+         */
+        synchronized Window admit(String key, long nowMillis, long bucketMillis, long windowMillis) {
+            Window window = windows.get(key);
+            if (window != null) {
+                return window;
+            }
+            if (windows.size() >= maxKeys && nowMillis >= nextSweepAt) {
+                sweep(nowMillis, bucketMillis, windowMillis);
+            }
+            if (windows.size() >= maxKeys) {
+                return overflow;
+            }
+            window = new Window(overflow.stamps.length, nowMillis);
+            windows.put(key, window);
+            return window;
+        }
+
+        synchronized void sweep(long nowMillis, long bucketMillis, long windowMillis) {
+            long expiredBefore = nowMillis - windowMillis;
+            windows.values().removeIf(window -> window.lastTouched < expiredBefore);
+            nextSweepAt = nowMillis + bucketMillis;
+        }
+    }
+
+    private static final class Window {
+
+        private final long[] stamps;
+        private final int[] counts;
+        private volatile long lastTouched;
+
+        private Window(int buckets, long nowMillis) {
+            this.stamps = new long[buckets];
+            this.counts = new int[buckets];
+            this.lastTouched = nowMillis;
+        }
+
+        synchronized int increment(long bucketIndex, long nowMillis) {
+            int slot = (int) (bucketIndex % stamps.length);
+            if (stamps[slot] != bucketIndex) {
+                stamps[slot] = bucketIndex;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+            lastTouched = nowMillis;
+            return sum(bucketIndex);
+        }
+
+        synchronized int sum(long bucketIndex) {
+            int total = 0;
+            long oldest = bucketIndex - stamps.length;
+            for (int i = 0; i < stamps.length; i++) {
+                if (stamps[i] > oldest && stamps[i] <= bucketIndex) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
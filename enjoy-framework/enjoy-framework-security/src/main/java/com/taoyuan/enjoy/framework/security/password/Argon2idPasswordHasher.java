@@ -0,0 +1,151 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Argon2id 密码哈希
+ * 输出 PHC 格式：$argon2id$v=19$m=内存KiB,t=迭代次数,p=并行度$盐$哈希
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class Argon2idPasswordHasher implements PasswordHasher {
+
+    private static final String PREFIX = "$argon2id$";
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final int memoryKib;
+    private final int iterations;
+    private final int parallelism;
+    private final int hashLength;
+    private final int saltLength;
+    private final SecureRandom random = new SecureRandom();
+
+    public Argon2idPasswordHasher(int memoryKib, int iterations, int parallelism, int hashLength, int saltLength) {
+        if (memoryKib < 8 * parallelism || iterations < 1 || parallelism < 1 || hashLength < 16 || saltLength < 8) {
+            throw new IllegalArgumentException("Invalid Argon2id parameters");
+        }
+        this.memoryKib = memoryKib;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+        this.hashLength = hashLength;
+        this.saltLength = saltLength;
+    }
+
+    @Override
+    public boolean supports(String encoded) {
+        return encoded != null && encoded.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(CharSequence rawPassword) {
+        byte[] salt = new byte[saltLength];
+        random.nextBytes(salt);
+        byte[] hash = generate(rawPassword, salt, memoryKib, iterations, parallelism, hashLength);
+        return PREFIX + "v=19$m=" + memoryKib + ",t=" + iterations + ",p=" + parallelism
+                + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encoded) {
+        Phc phc = Phc.parse(encoded);
+        if (phc == null) {
+            return false;
+        }
+        byte[] actual = generate(rawPassword, phc.salt, phc.memoryKib, phc.iterations, phc.parallelism, phc.hash.length);
+        return MessageDigest.isEqual(actual, phc.hash);
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        Phc phc = Phc.parse(encoded);
+        return phc == null || phc.memoryKib < memoryKib || phc.iterations < iterations
+                || phc.parallelism != parallelism || phc.hash.length < hashLength || phc.salt.length < saltLength;
+    }
+
+    private static byte[] generate(CharSequence rawPassword, byte[] salt, int memoryKib, int iterations,
+                                   int parallelism, int hashLength) {
+        Argon2Parameters params = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withMemoryAsKB(memoryKib)
+                .withIterations(iterations)
+                .withParallelism(parallelism)
+                .withSalt(salt)
+                .build();
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(params);
+        byte[] password = toBytes(rawPassword);
+        byte[] out = new byte[hashLength];
+        try {
+            generator.generateBytes(password, out);
+        } finally {
+            Arrays.fill(password, (byte) 0);
+        }
+        return out;
+    }
+
+    static byte[] toBytes(CharSequence rawPassword) {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword));
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        if (buffer.hasArray()) {
+            Arrays.fill(buffer.array(), (byte) 0);
+        }
+        return bytes;
+    }
+
+    /**
+     * PHC 字符串解析结果
+     */
+    private record Phc(int memoryKib, int iterations, int parallelism, byte[] salt, byte[] hash) {
+
+        static Phc parse(String encoded) {
+            if (encoded == null || !encoded.startsWith(PREFIX)) {
+                return null;
+            }
+            String[] parts = encoded.split("\\$");
+            if (parts.length != 6 || !"v=19".equals(parts[2])) {
+                return null;
+            }
+            int m = 0;
+            int t = 0;
+            int p = 0;
+            for (String param : parts[3].split(",")) {
+                int eq = param.indexOf('=');
+                if (eq != 1) {
+                    return null;
+                }
+                int value;
+                try {
+                    value = Integer.parseInt(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                switch (param.charAt(0)) {
+                    case 'm' -> m = value;
+                    case 't' -> t = value;
+                    case 'p' -> p = value;
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            try {
+                Phc phc = new Phc(m, t, p, DECODER.decode(parts[4]), DECODER.decode(parts[5]));
+                return m > 0 && t > 0 && p > 0 && phc.hash.length > 0 ? phc : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+import org.bouncycastle.crypto.generators.OpenBSDBCrypt;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * BCrypt 密码哈希，输出 $2b$cost$... 格式；兼容校验 $2a$ / $2y$
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    private static final int SALT_LENGTH = 16;
+
+    private final int cost;
+    private final SecureRandom random = new SecureRandom();
+
+    public BCryptPasswordHasher(int cost) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31");
+        }
+        this.cost = cost;
+    }
+
+    @Override
+    public boolean supports(String encoded) {
+        return encoded != null && encoded.length() == 60
+                && (encoded.startsWith("$2b$") || encoded.startsWith("$2a$") || encoded.startsWith("$2y$"));
+    }
+
+    @Override
+    public String hash(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        char[] password = toChars(rawPassword);
+        try {
+            return OpenBSDBCrypt.generate("2b", password, salt, cost);
+        } finally {
+            Arrays.fill(password, '\0');
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encoded) {
+        if (!supports(encoded)) {
+            return false;
+        }
+        char[] password = toChars(rawPassword);
+        try {
+            return OpenBSDBCrypt.checkPassword(encoded, password);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } finally {
+            Arrays.fill(password, '\0');
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        if (!supports(encoded)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(encoded, 4, 6, 10) < cost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static char[] toChars(CharSequence rawPassword) {
+        char[] chars = new char[rawPassword.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = rawPassword.charAt(i);
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,72 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * 旧版密码校验：sys_user.password 为 摘要(格式化后的明文与盐) 的十六进制串，盐单独保存在 sys_user.salt。
+ * 只用于校验存量数据，校验成功后由 {@link PasswordHashService} 重新哈希为当前算法，新密码不再使用该格式
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class LegacySaltedPasswordHasher {
+
+    private final String digest;
+    private final String format;
+    private final int iterations;
+
+    /**
+     * @param digest     摘要算法，如 MD5、SHA-256
+     * @param format     摘要输入格式，{password} 与 {salt} 分别替换为明文与盐
+     * @param iterations 摘要次数，第二次起对上一次的摘要结果再次摘要
+     */
+    public LegacySaltedPasswordHasher(String digest, String format, int iterations) {
+        this.digest = Objects.requireNonNull(digest);
+        this.format = Objects.requireNonNull(format);
+        if (!format.contains("{password}") || iterations < 1) {
+            throw new IllegalArgumentException("Invalid legacy password format: " + format + ", iterations " + iterations);
+        }
+        this.iterations = iterations;
+        // 启动时暴露不支持的算法
+        newDigest();
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword 明文密码
+     * @param encoded     sys_user.password
+     * @param salt        sys_user.salt，可为 null
+     * @return 是否匹配
+     */
+    public boolean matches(CharSequence rawPassword, String encoded, String salt) {
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(encoded);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        MessageDigest md = newDigest();
+        if (expected.length != md.getDigestLength()) {
+            return false;
+        }
+        String input = format.replace("{salt}", salt == null ? "" : salt).replace("{password}", rawPassword);
+        byte[] actual = md.digest(input.getBytes(StandardCharsets.UTF_8));
+        for (int i = 1; i < iterations; i++) {
+            actual = md.digest(actual);
+        }
+        return MessageDigest.isEqual(actual, expected);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported legacy password digest: " + digest, e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+/**
+ * 密码哈希配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class PasswordHashProperties {
+
+    /**
+     * 新密码使用的算法：ARGON2ID / BCRYPT
+     */
+    private String algorithm = "ARGON2ID";
+
+    /**
+     * Argon2id 内存开销（KiB）
+     */
+    private int argon2MemoryKib = 19 * 1024;
+
+    /**
+     * Argon2id 迭代次数
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Argon2id 并行度
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * Argon2id 输出长度（字节）
+     */
+    private int argon2HashLength = 32;
+
+    /**
+     * 盐长度（字节）
+     */
+    private int saltLength = 16;
+
+    /**
+     * BCrypt 代价因子
+     */
+    private int bcryptCost = 10;
+
+    /**
+     * 旧版密码的摘要算法（如 MD5、SHA-256），为空时不校验旧版密码
+     */
+    private String legacyDigest = "MD5";
+
+    /**
+     * 旧版密码的摘要输入格式，{password} 与 {salt}（sys_user.salt）分别替换为明文与盐
+     */
+    private String legacyFormat = "{password}{salt}";
+
+    /**
+     * 旧版密码的摘要次数
+     */
+    private int legacyIterations = 1;
+
+    /**
+     * 哈希线程数，默认为CPU核数的一半（至少1）；内存型算法单次占用 argon2MemoryKib 内存
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * 等待队列容量，队列满时直接拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 排队时间上限（毫秒），超出后任务不再执行直接失败，避免为已超时的请求计算哈希
+     */
+    private long maxQueueMillis = 1000L;
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getArgon2MemoryKib() {
+        return argon2MemoryKib;
+    }
+
+    public void setArgon2MemoryKib(int argon2MemoryKib) {
+        this.argon2MemoryKib = argon2MemoryKib;
+    }
+
+    public int getArgon2Iterations() {
+        return argon2Iterations;
+    }
+
+    public void setArgon2Iterations(int argon2Iterations) {
+        this.argon2Iterations = argon2Iterations;
+    }
+
+    public int getArgon2Parallelism() {
+        return argon2Parallelism;
+    }
+
+    public void setArgon2Parallelism(int argon2Parallelism) {
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    public int getArgon2HashLength() {
+        return argon2HashLength;
+    }
+
+    public void setArgon2HashLength(int argon2HashLength) {
+        this.argon2HashLength = argon2HashLength;
+    }
+
+    public int getSaltLength() {
+        return saltLength;
+    }
+
+    public void setSaltLength(int saltLength) {
+        this.saltLength = saltLength;
+    }
+
+    public int getBcryptCost() {
+        return bcryptCost;
+    }
+
+    public void setBcryptCost(int bcryptCost) {
+        this.bcryptCost = bcryptCost;
+    }
+
+    public String getLegacyDigest() {
+        return legacyDigest;
+    }
+
+    public void setLegacyDigest(String legacyDigest) {
+        this.legacyDigest = legacyDigest;
+    }
+
+    public String getLegacyFormat() {
+        return legacyFormat;
+    }
+
+    public void setLegacyFormat(String legacyFormat) {
+        this.legacyFormat = legacyFormat;
+    }
+
+    public int getLegacyIterations() {
+        return legacyIterations;
+    }
+
+    public void setLegacyIterations(int legacyIterations) {
+        this.legacyIterations = legacyIterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxQueueMillis() {
+        return maxQueueMillis;
+    }
+
+    public void setMaxQueueMillis(long maxQueueMillis) {
+        this.maxQueueMillis = maxQueueMillis;
+    }
+}
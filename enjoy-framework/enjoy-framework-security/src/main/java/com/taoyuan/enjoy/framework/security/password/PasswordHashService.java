@@ -0,0 +1,238 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码哈希服务
+ * 哈希计算在专用的有界线程池中执行，登录高峰时不会占满请求线程：
+ * 队列满立即拒绝，排队超过 maxQueueMillis 的任务不再计算直接失败，两者均返回 {@link CommonErrorCode#TOO_MANY_REQUESTS}。
+ * 校验成功且哈希参数低于当前配置时，顺带生成新哈希供调用方回写（登录时透明升级）；
+ * 存量的 摘要+sys_user.salt 格式密码由 {@link LegacySaltedPasswordHasher} 校验，成功后同样升级
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class PasswordHashService implements AutoCloseable {
+
+    private final PasswordHasher encoder;
+    private final List<PasswordHasher> hashers;
+    private final LegacySaltedPasswordHasher legacy;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueNanos;
+    private final String dummyHash;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    public PasswordHashService(PasswordHashProperties properties) {
+        Objects.requireNonNull(properties);
+        PasswordHasher argon2 = new Argon2idPasswordHasher(properties.getArgon2MemoryKib(),
+                properties.getArgon2Iterations(), properties.getArgon2Parallelism(),
+                properties.getArgon2HashLength(), properties.getSaltLength());
+        PasswordHasher bcrypt = new BCryptPasswordHasher(properties.getBcryptCost());
+        this.encoder = "BCRYPT".equalsIgnoreCase(properties.getAlgorithm()) ? bcrypt : argon2;
+        this.hashers = List.of(argon2, bcrypt);
+        String legacyDigest = properties.getLegacyDigest();
+        this.legacy = legacyDigest == null || legacyDigest.isEmpty() ? null
+                : new LegacySaltedPasswordHasher(legacyDigest, properties.getLegacyFormat(), properties.getLegacyIterations());
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxQueueMillis());
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> {
+            Thread thread = new Thread(r, "enjoy-password-hash-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = encoder.hash("enjoy-dummy-password");
+    }
+
+    /**
+     * 计算新密码的哈希
+     *
+     * @param rawPassword 明文密码
+     * @return 哈希
+     */
+    public String hash(CharSequence rawPassword) {
+        return execute(() -> encoder.hash(rawPassword));
+    }
+
+    /**
+     * 校验密码；用户不存在时传入 null，仍按相同代价计算一次，避免通过响应时间枚举用户名
+     *
+     * @param rawPassword 明文密码
+     * @param encoded     已保存的哈希，可为 null
+     * @return 校验结果
+     */
+    public VerifyResult verify(CharSequence rawPassword, String encoded) {
+        return verify(rawPassword, encoded, null);
+    }
+
+    /**
+     * 校验密码，兼容旧版 摘要+盐 格式；旧版密码校验成功时返回新哈希，
+     * 调用方把 {@link VerifyResult#rehashedTo()} 写回 sys_user.password 并清空 sys_user.salt
+     *
+     * @param rawPassword 明文密码
+     * @param encoded     已保存的哈希，可为 null
+     * @param salt        sys_user.salt，新格式密码忽略，可为 null
+     * @return 校验结果
+     */
+    public VerifyResult verify(CharSequence rawPassword, String encoded, String salt) {
+        return execute(() -> {
+            PasswordHasher hasher = encoded == null ? null : find(encoded);
+            if (hasher == null) {
+                if (encoded != null && legacy != null && legacy.matches(rawPassword, encoded, salt)) {
+                    return new VerifyResult(true, encoder.hash(rawPassword));
+                }
+                encoder.matches(rawPassword, dummyHash);
+                return VerifyResult.MISMATCH;
+            }
+            if (!hasher.matches(rawPassword, encoded)) {
+                return VerifyResult.MISMATCH;
+            }
+            if (hasher != encoder || encoder.needsRehash(encoded)) {
+                return new VerifyResult(true, encoder.hash(rawPassword));
+            }
+            return VerifyResult.MATCH;
+        });
+    }
+
+    private PasswordHasher find(String encoded) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(encoded)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
+    private <T> T execute(Callable<T> work) {
+        long enqueued = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                long waited = start - enqueued;
+                queueNanos.add(waited);
+                maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+                if (waited > maxQueueNanos) {
+                    expired.increment();
+                    throw BizException.of(CommonErrorCode.TOO_MANY_REQUESTS);
+                }
+                try {
+                    return work.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - start);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw BizException.of(CommonErrorCode.TOO_MANY_REQUESTS);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BizException bizException) {
+                throw bizException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * 已完成的哈希计算次数
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * 因队列已满被拒绝的次数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 因排队超时被丢弃的次数
+     */
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    /**
+     * 当前排队数量
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 平均排队时间（微秒）
+     */
+    public long getAverageQueueMicros() {
+        long count = completed.sum() + expired.sum();
+        return count == 0 ? 0L : queueNanos.sum() / count / 1000L;
+    }
+
+    /**
+     * 最长排队时间（微秒）
+     */
+    public long getMaxQueueMicros() {
+        return maxQueueWaitNanos.get() / 1000L;
+    }
+
+    /**
+     * 平均哈希耗时（微秒）
+     */
+    public long getAverageHashMicros() {
+        long count = completed.sum();
+        return count == 0 ? 0L : hashNanos.sum() / count / 1000L;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 校验结果
+     *
+     * @param matched    是否匹配
+     * @param rehashedTo 需要回写的新哈希，无需升级时为 null
+     */
+    public record VerifyResult(boolean matched, String rehashedTo) {
+
+        static final VerifyResult MATCH = new VerifyResult(true, null);
+        static final VerifyResult MISMATCH = new VerifyResult(false, null);
+
+        /**
+         * 是否需要把 {@link #rehashedTo()} 写回 sys_user.password（旧版密码同时清空 sys_user.salt）
+         */
+        public boolean needsUpdate() {
+            return rehashedTo != null;
+        }
+    }
+}
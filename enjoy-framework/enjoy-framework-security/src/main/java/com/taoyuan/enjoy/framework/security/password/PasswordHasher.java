@@ -0,0 +1,44 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+/**
+ * 密码哈希算法
+ * 哈希结果为自描述字符串（算法、参数、盐一并编码），sys_user.password 单列即可保存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface PasswordHasher {
+
+    /**
+     * 是否能处理该哈希（按前缀判断）
+     *
+     * @param encoded 已保存的哈希
+     * @return 是否支持
+     */
+    boolean supports(String encoded);
+
+    /**
+     * 计算哈希
+     *
+     * @param rawPassword 明文密码
+     * @return 哈希
+     */
+    String hash(CharSequence rawPassword);
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword 明文密码
+     * @param encoded     已保存的哈希
+     * @return 是否匹配
+     */
+    boolean matches(CharSequence rawPassword, String encoded);
+
+    /**
+     * 已保存的哈希参数是否低于当前配置，需要重新哈希
+     *
+     * @param encoded 已保存的哈希
+     * @return 是否需要重新哈希
+     */
+    boolean needsRehash(String encoded);
+}
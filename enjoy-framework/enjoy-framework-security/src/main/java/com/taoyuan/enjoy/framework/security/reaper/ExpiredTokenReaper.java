@@ -0,0 +1,211 @@
+package com.taoyuan.enjoy.framework.security.reaper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 过期令牌 / 授权码清理任务
+ * 按 idx_expires_time 以 (expires_time, id) 为游标分批定位过期记录，再按主键删除，每批单独提交；
+ * 根据语句耗时自适应调整批大小（超出目标耗时减半，明显低于目标时缓慢增大），
+ * 并按耗时比例与每秒行数上限休眠，避免长事务和锁竞争影响在线登录
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ExpiredTokenReaper {
+
+    /**
+     * 默认清理的表：OAuth2 访问令牌与授权码
+     */
+    public static final List<String> DEFAULT_TABLES = List.of("sys_oauth2_access_token", "sys_oauth2_code");
+
+    private final DataSource dataSource;
+    private final ReaperProperties properties;
+    private final Map<String, ReaperStats> stats = new LinkedHashMap<>();
+    private final Map<String, Integer> batchSizes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public ExpiredTokenReaper(DataSource dataSource, ReaperProperties properties) {
+        this(dataSource, properties, DEFAULT_TABLES);
+    }
+
+    /**
+     * @param dataSource 数据源
+     * @param properties 配置
+     * @param tables     需清理的表，须包含 id 与 expires_time 列且 expires_time 上有索引
+     */
+    public ExpiredTokenReaper(DataSource dataSource, ReaperProperties properties, List<String> tables) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.properties = Objects.requireNonNull(properties);
+        for (String table : tables) {
+            stats.put(table, new ReaperStats(table));
+            batchSizes.put(table, properties.getInitialBatchSize());
+        }
+    }
+
+    /**
+     * 启动定时清理
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-token-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce, properties.getIntervalSeconds(),
+                properties.getIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定时清理，正在执行的批次完成后退出
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 执行一轮清理
+     */
+    public void runOnce() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getMaxRunSeconds());
+        for (String table : stats.keySet()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            ReaperStats tableStats = stats.get(table);
+            try {
+                reapTable(table, tableStats, deadline);
+            } catch (SQLException e) {
+                tableStats.recordError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            tableStats.recordRun(batchSizes.get(table));
+        }
+    }
+
+    private void reapTable(String table, ReaperStats tableStats, long deadline)
+            throws SQLException, InterruptedException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis()
+                - TimeUnit.SECONDS.toMillis(properties.getGraceSeconds()));
+        Timestamp cursorTime = null;
+        long cursorId = 0L;
+        int batchSize = batchSizes.get(table);
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            long start = System.nanoTime();
+            int limit = batchSize;
+            List<Long> ids = new ArrayList<>(limit);
+            Timestamp lastTime = null;
+            int deleted;
+            long elapsed;
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(true);
+                try (PreparedStatement ps = conn.prepareStatement(selectSql(table, cursorTime != null))) {
+                    int i = 1;
+                    ps.setTimestamp(i++, cutoff);
+                    if (cursorTime != null) {
+                        ps.setTimestamp(i++, cursorTime);
+                        ps.setTimestamp(i++, cursorTime);
+                        ps.setLong(i++, cursorId);
+                    }
+                    ps.setInt(i, limit);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getLong(1));
+                            lastTime = rs.getTimestamp(2);
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    break;
+                }
+                try (PreparedStatement ps = conn.prepareStatement(deleteSql(table, ids.size()))) {
+                    int i = 1;
+                    for (Long id : ids) {
+                        ps.setLong(i++, id);
+                    }
+                    ps.setTimestamp(i, cutoff);
+                    deleted = ps.executeUpdate();
+                }
+                elapsed = System.nanoTime() - start;
+            }
+            tableStats.recordBatch(deleted, elapsed);
+            batchSize = adapt(batchSize, elapsed);
+            batchSizes.put(table, batchSize);
+            // 连接已归还连接池后再休眠，避免清理期间长期占用连接
+            pause(tableStats, deleted, elapsed);
+            if (ids.size() < limit) {
+                break;
+            }
+            cursorTime = lastTime;
+            cursorId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int adapt(int batchSize, long elapsedNanos) {
+        long target = TimeUnit.MILLISECONDS.toNanos(properties.getTargetStatementMillis());
+        if (elapsedNanos > target) {
+            return Math.max(properties.getMinBatchSize(), batchSize / 2);
+        }
+        if (elapsedNanos < target / 2) {
+            return Math.min(properties.getMaxBatchSize(), batchSize + batchSize / 4 + 1);
+        }
+        return batchSize;
+    }
+
+    private void pause(ReaperStats tableStats, int rows, long elapsedNanos) throws InterruptedException {
+        long ratioPause = (long) (elapsedNanos * properties.getPauseRatio());
+        long ratePause = properties.getMaxRowsPerSecond() > 0
+                ? rows * 1_000_000_000L / properties.getMaxRowsPerSecond() - elapsedNanos
+                : 0L;
+        long pause = Math.max(ratioPause, ratePause);
+        if (pause > 0) {
+            TimeUnit.NANOSECONDS.sleep(pause);
+            tableStats.recordPause(pause);
+        }
+    }
+
+    private static String selectSql(String table, boolean withCursor) {
+        return "SELECT id, expires_time FROM " + table + " WHERE expires_time < ?"
+                + (withCursor ? " AND (expires_time > ? OR (expires_time = ? AND id > ?))" : "")
+                + " ORDER BY expires_time, id LIMIT ?";
+    }
+
+    private static String deleteSql(String table, int size) {
+        StringBuilder sb = new StringBuilder(64 + size * 2).append("DELETE FROM ").append(table).append(" WHERE id IN (");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.append(") AND expires_time < ?").toString();
+    }
+
+    /**
+     * 各表的清理统计
+     *
+     * @return 统计列表
+     */
+    public List<ReaperStats> getStats() {
+        return Collections.unmodifiableList(new ArrayList<>(stats.values()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.taoyuan.enjoy.framework.security.reaper;
+
+/**
+ * 过期令牌清理配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ReaperProperties {
+
+    /**
+     * 两轮清理之间的间隔（秒）
+     */
+    private long intervalSeconds = 300L;
+
+    /**
+     * 过期后保留的宽限期（秒），避免删除刚过期、可能仍在处理中的记录
+     */
+    private long graceSeconds = 60L;
+
+    /**
+     * 初始批大小
+     */
+    private int initialBatchSize = 200;
+
+    /**
+     * 最小批大小
+     */
+    private int minBatchSize = 20;
+
+    /**
+     * 最大批大小
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * 单条删除语句的目标耗时（毫秒），超出则缩小批次
+     */
+    private long targetStatementMillis = 50L;
+
+    /**
+     * 每秒最多删除的行数
+     */
+    private int maxRowsPerSecond = 2000;
+
+    /**
+     * 每批之后的休眠时间与语句耗时之比，给在线事务让出锁与IO
+     */
+    private double pauseRatio = 1.0D;
+
+    /**
+     * 单轮清理的最长时间（秒），超出后留给下一轮
+     */
+    private long maxRunSeconds = 60L;
+
+    public long getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public void setIntervalSeconds(long intervalSeconds) {
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public long getGraceSeconds() {
+        return graceSeconds;
+    }
+
+    public void setGraceSeconds(long graceSeconds) {
+        this.graceSeconds = graceSeconds;
+    }
+
+    public int getInitialBatchSize() {
+        return initialBatchSize;
+    }
+
+    public void setInitialBatchSize(int initialBatchSize) {
+        this.initialBatchSize = initialBatchSize;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public void setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getTargetStatementMillis() {
+        return targetStatementMillis;
+    }
+
+    public void setTargetStatementMillis(long targetStatementMillis) {
+        this.targetStatementMillis = targetStatementMillis;
+    }
+
+    public int getMaxRowsPerSecond() {
+        return maxRowsPerSecond;
+    }
+
+    public void setMaxRowsPerSecond(int maxRowsPerSecond) {
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+
+    public double getPauseRatio() {
+        return pauseRatio;
+    }
+
+    public void setPauseRatio(double pauseRatio) {
+        this.pauseRatio = pauseRatio;
+    }
+
+    public long getMaxRunSeconds() {
+        return maxRunSeconds;
+    }
+
+    public void setMaxRunSeconds(long maxRunSeconds) {
+        this.maxRunSeconds = maxRunSeconds;
+    }
+}
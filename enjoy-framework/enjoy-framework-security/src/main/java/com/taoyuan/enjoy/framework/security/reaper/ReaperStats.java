@@ -0,0 +1,108 @@
+package com.taoyuan.enjoy.framework.security.reaper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单张表的清理统计
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ReaperStats {
+
+    private final String table;
+    private final LongAdder rowsReaped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder pausedNanos = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final AtomicLong maxStatementNanos = new AtomicLong();
+    private final AtomicReference<String> lastError = new AtomicReference<>();
+    private volatile int currentBatchSize;
+
+    ReaperStats(String table) {
+        this.table = table;
+    }
+
+    void recordBatch(int rows, long nanos) {
+        rowsReaped.add(rows);
+        batches.increment();
+        statementNanos.add(nanos);
+        maxStatementNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordPause(long nanos) {
+        pausedNanos.add(nanos);
+    }
+
+    void recordRun(int batchSize) {
+        lastRunMillis.set(System.currentTimeMillis());
+        currentBatchSize = batchSize;
+    }
+
+    void recordError(Exception e) {
+        lastError.set(e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * 累计删除行数
+     */
+    public long getRowsReaped() {
+        return rowsReaped.sum();
+    }
+
+    /**
+     * 累计执行的删除批次
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * 累计在SQL语句上花费的时间（毫秒）
+     */
+    public long getStatementMillis() {
+        return statementNanos.sum() / 1_000_000L;
+    }
+
+    /**
+     * 累计限速休眠时间（毫秒）
+     */
+    public long getPausedMillis() {
+        return pausedNanos.sum() / 1_000_000L;
+    }
+
+    /**
+     * 单批最长耗时（毫秒）
+     */
+    public long getMaxStatementMillis() {
+        return maxStatementNanos.get() / 1_000_000L;
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis.get();
+    }
+
+    /**
+     * 自适应调整后的当前批大小
+     */
+    public int getCurrentBatchSize() {
+        return currentBatchSize;
+    }
+
+    public String getLastError() {
+        return lastError.get();
+    }
+
+    @Override
+    public String toString() {
+        return table + "{rows=" + getRowsReaped() + ", batches=" + getBatches() + ", sqlMs=" + getStatementMillis()
+                + ", pausedMs=" + getPausedMillis() + ", batchSize=" + currentBatchSize + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 并发布隆过滤器
+ * 位数组基于 AtomicLongArray，写入无锁；对字符串逐字符哈希，查询过程不产生对象分配
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedInsertions 预期写入数量
+     * @param falsePositiveRate  期望误判率
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1L, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1L, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    void put(CharSequence key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(CharSequence key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long byteSize() {
+        return bitSize >>> 3;
+    }
+
+    private static long hash(CharSequence key, long seed) {
+        long h = seed ^ key.length();
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
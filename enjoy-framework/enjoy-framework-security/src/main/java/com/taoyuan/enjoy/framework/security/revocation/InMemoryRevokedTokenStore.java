@@ -0,0 +1,44 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内存吊销存储，适用于单节点或开发环境；过期记录在写入时顺带清理
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class InMemoryRevokedTokenStore implements RevokedTokenStore {
+
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @Override
+    public boolean save(String tokenId, long expiresAt) {
+        boolean saved = revoked.putIfAbsent(tokenId, expiresAt) == null;
+        if (writes.incrementAndGet() % PURGE_INTERVAL == 0) {
+            long now = System.currentTimeMillis() / 1000L;
+            revoked.values().removeIf(expiresAtSeconds -> expiresAtSeconds <= now);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis() / 1000L;
+    }
+
+    @Override
+    public void forEachUnexpired(long nowSeconds, RevokedTokenConsumer consumer) {
+        revoked.forEach((tokenId, expiresAt) -> {
+            if (expiresAt > nowSeconds) {
+                consumer.accept(tokenId, expiresAt);
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import java.util.function.Consumer;
+
+/**
+ * 吊销事件广播通道
+ * 集群部署时由 Redis Pub/Sub、MQ 等实现，把本节点的吊销同步到其他节点的过滤器
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface RevocationBroadcaster {
+
+    /**
+     * 不做广播的实现（单节点）
+     */
+    RevocationBroadcaster NONE = new RevocationBroadcaster() {
+        @Override
+        public void publish(RevocationEvent event) {
+        }
+
+        @Override
+        public void subscribe(Consumer<RevocationEvent> listener) {
+        }
+    };
+
+    /**
+     * 发布吊销事件
+     *
+     * @param event 事件
+     */
+    void publish(RevocationEvent event);
+
+    /**
+     * 订阅其他节点的吊销事件
+     *
+     * @param listener 监听器
+     */
+    void subscribe(Consumer<RevocationEvent> listener);
+}
@@ -0,0 +1,13 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+/**
+ * 吊销事件
+ *
+ * @param tokenId   令牌ID
+ * @param expiresAt 令牌过期时间（秒）
+ * @param nodeId    发布节点ID，用于忽略自身发布的事件
+ * @author enjoy
+ * @version 1.0
+ */
+public record RevocationEvent(String tokenId, long expiresAt, String nodeId) {
+}
@@ -0,0 +1,64 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import com.taoyuan.enjoy.framework.common.constant.SecurityConstants;
+
+/**
+ * 令牌吊销配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class RevocationProperties {
+
+    /**
+     * 令牌最长有效期（秒），决定分桶数量，应不小于刷新令牌有效期
+     */
+    private long maxTokenTtlSeconds = SecurityConstants.DEFAULT_REFRESH_TOKEN_TTL_SECONDS;
+
+    /**
+     * 每个桶覆盖的过期时间跨度（秒）
+     */
+    private long bucketSeconds = 60 * 60L;
+
+    /**
+     * 每个桶预期的吊销数量
+     */
+    private long expectedRevocationsPerBucket = 10_000L;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    private double falsePositiveRate = 0.001D;
+
+    public long getMaxTokenTtlSeconds() {
+        return maxTokenTtlSeconds;
+    }
+
+    public void setMaxTokenTtlSeconds(long maxTokenTtlSeconds) {
+        this.maxTokenTtlSeconds = maxTokenTtlSeconds;
+    }
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public void setBucketSeconds(long bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public long getExpectedRevocationsPerBucket() {
+        return expectedRevocationsPerBucket;
+    }
+
+    public void setExpectedRevocationsPerBucket(long expectedRevocationsPerBucket) {
+        this.expectedRevocationsPerBucket = expectedRevocationsPerBucket;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -0,0 +1,46 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+/**
+ * 吊销令牌持久化存储
+ * 布隆过滤器命中时用于精确确认，业务模块可基于 sys_oauth2_access_token 等表实现
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface RevokedTokenStore {
+
+    /**
+     * 保存吊销记录，须为原子的"不存在才写入"（putIfAbsent、SET NX、唯一键插入），
+     * 刷新令牌轮换依赖返回值判定并发重放中唯一的胜出者
+     *
+     * @param tokenId   令牌ID
+     * @param expiresAt 令牌过期时间（秒），过期后记录可清除
+     * @return 本次写入了记录时为 true，已被吊销时为 false
+     */
+    boolean save(String tokenId, long expiresAt);
+
+    /**
+     * 精确判断令牌是否已吊销
+     *
+     * @param tokenId 令牌ID
+     * @return 是否已吊销
+     */
+    boolean isRevoked(String tokenId);
+
+    /**
+     * 遍历尚未过期的吊销记录，用于节点启动时预热过滤器
+     *
+     * @param nowSeconds 当前时间（秒）
+     * @param consumer   接收 (令牌ID, 过期时间)
+     */
+    void forEachUnexpired(long nowSeconds, RevokedTokenConsumer consumer);
+
+    /**
+     * 吊销记录消费者
+     */
+    @FunctionalInterface
+    interface RevokedTokenConsumer {
+
+        void accept(String tokenId, long expiresAt);
+    }
+}
@@ -0,0 +1,172 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 令牌吊销服务
+ * 吊销记录按令牌过期时间分桶，每个桶一个布隆过滤器；桶内令牌全部过期后整桶失效，无需逐条清理。
+ * 校验时调用方提供令牌的过期时间，只需查询对应的一个桶：未命中即未吊销（无 I/O），
+ * 命中后再通过 {@link RevokedTokenStore} 精确确认，排除误判
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TokenRevocationService {
+
+    private final RevokedTokenStore store;
+    private final RevocationBroadcaster broadcaster;
+    private final RevocationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final long bucketSeconds;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * 过期时间超出分桶范围的吊销记录（极少出现），精确保存
+     */
+    private final Map<String, Long> overflow = new ConcurrentHashMap<>();
+
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenStore store, RevocationBroadcaster broadcaster,
+                                  RevocationProperties properties) {
+        this.store = Objects.requireNonNull(store);
+        this.broadcaster = Objects.requireNonNull(broadcaster);
+        this.properties = Objects.requireNonNull(properties);
+        this.bucketSeconds = properties.getBucketSeconds();
+        int slots = (int) (properties.getMaxTokenTtlSeconds() / bucketSeconds) + 2;
+        this.buckets = new AtomicReferenceArray<>(slots);
+        broadcaster.subscribe(this::onRemoteEvent);
+    }
+
+    /**
+     * 从存储中加载尚未过期的吊销记录，节点启动时调用
+     */
+    public void warmUp() {
+        store.forEachUnexpired(nowSeconds(), this::addLocal);
+    }
+
+    /**
+     * 吊销令牌：原子写入存储、本地过滤器，并广播到其他节点
+     *
+     * @param tokenId   令牌ID（jti）
+     * @param expiresAt 令牌过期时间（秒）
+     * @return 本次调用完成了吊销时为 true；令牌已被吊销（并发调用中的落败者）或已过期时为 false
+     */
+    public boolean revoke(String tokenId, long expiresAt) {
+        if (expiresAt <= nowSeconds()) {
+            return false;
+        }
+        boolean saved = store.save(tokenId, expiresAt);
+        addLocal(tokenId, expiresAt);
+        if (saved) {
+            broadcaster.publish(new RevocationEvent(tokenId, expiresAt, nodeId));
+        }
+        return saved;
+    }
+
+    /**
+     * 判断令牌是否已吊销
+     *
+     * @param tokenId   令牌ID（jti）
+     * @param expiresAt 令牌过期时间（秒），取自已验签的声明
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(String tokenId, long expiresAt) {
+        long index = expiresAt / bucketSeconds;
+        Bucket bucket = buckets.get(slot(index));
+        boolean hit = bucket != null && bucket.index == index && bucket.filter.mightContain(tokenId);
+        if (!hit) {
+            return !overflow.isEmpty() && overflow.containsKey(tokenId);
+        }
+        filterHits.increment();
+        if (store.isRevoked(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    private void onRemoteEvent(RevocationEvent event) {
+        if (!nodeId.equals(event.nodeId())) {
+            addLocal(event.tokenId(), event.expiresAt());
+        }
+    }
+
+    private void addLocal(String tokenId, long expiresAt) {
+        long now = nowSeconds();
+        if (expiresAt <= now) {
+            return;
+        }
+        long index = expiresAt / bucketSeconds;
+        if (index - now / bucketSeconds >= buckets.length() - 1) {
+            overflow.put(tokenId, expiresAt);
+            return;
+        }
+        int slot = slot(index);
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.index != index) {
+            if (bucket != null && bucket.index > index) {
+                // 槽位已被更晚的桶占用，说明该记录所在的桶已整体过期
+                return;
+            }
+            Bucket created = new Bucket(index, new BloomFilter(properties.getExpectedRevocationsPerBucket(),
+                    properties.getFalsePositiveRate()));
+            if (buckets.compareAndSet(slot, bucket, created)) {
+                bucket = created;
+            } else {
+                bucket = buckets.get(slot);
+            }
+        }
+        bucket.filter.put(tokenId);
+        if (!overflow.isEmpty()) {
+            overflow.values().removeIf(expiresAtSeconds -> expiresAtSeconds <= now);
+        }
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) buckets.length());
+    }
+
+    /**
+     * 过滤器命中次数
+     */
+    public long getFilterHits() {
+        return filterHits.sum();
+    }
+
+    /**
+     * 过滤器误判次数（命中但存储确认未吊销）
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * 当前过滤器占用的内存（字节）
+     */
+    public long getFilterBytes() {
+        long now = nowSeconds() / bucketSeconds;
+        long bytes = 0L;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.index >= now) {
+                bytes += bucket.filter.byteSize();
+            }
+        }
+        return bytes;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    private record Bucket(long index, BloomFilter filter) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.taoyuan.enjoy.framework.security.jwt;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.common.model.LoginUser;
+import com.taoyuan.enjoy.framework.security.revocation.InMemoryRevokedTokenStore;
+import com.taoyuan.enjoy.framework.security.revocation.RevocationBroadcaster;
+import com.taoyuan.enjoy.framework.security.revocation.RevocationProperties;
+import com.taoyuan.enjoy.framework.security.revocation.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 令牌签发、校验、吊销与刷新轮换
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class JwtTokenServiceTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private static LoginUser user() {
+        LoginUser user = new LoginUser();
+        user.setUserId(42L);
+        user.setTenantId(7L);
+        user.setUsername("admin");
+        user.setUserType("admin");
+        user.setClientId("web");
+        return user;
+    }
+
+    private static TokenRevocationService revocation() {
+        return new TokenRevocationService(new InMemoryRevokedTokenStore(), RevocationBroadcaster.NONE,
+                new RevocationProperties());
+    }
+
+    private static void assertUnauthorized(Runnable call) {
+        BizException e = assertThrows(BizException.class, call::run);
+        assertEquals(CommonErrorCode.UNAUTHORIZED.getCode(), e.getCode());
+    }
+
+    @Test
+    void issuesAndVerifiesAccessToken() {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties(), revocation());
+        TokenPair pair = service.issue(user());
+        JwtClaims claims = service.verifyAccessToken(pair.getAccessToken());
+        assertEquals(42L, claims.getUserId());
+        assertEquals(7L, claims.getTenantId());
+        assertEquals("admin", claims.getUsername());
+        // 缓存命中路径返回同样的声明
+        assertEquals(claims.getTokenId(), service.verifyAccessToken(pair.getAccessToken()).getTokenId());
+    }
+
+    @Test
+    void rejectsTamperedWrongTypeAndForeignTokens() {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties(), revocation());
+        TokenPair pair = service.issue(user());
+        String token = pair.getAccessToken();
+        int lastDot = token.lastIndexOf('.');
+        char flipped = token.charAt(lastDot + 3) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, lastDot + 3) + flipped + token.substring(lastDot + 4);
+        assertUnauthorized(() -> service.verifyAccessToken(tampered));
+        assertUnauthorized(() -> service.verifyAccessToken(pair.getRefreshToken()));
+        assertUnauthorized(() -> service.verifyAccessToken("a.b"));
+        assertUnauthorized(() -> service.verifyAccessToken(""));
+
+        byte[] otherSecret = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8);
+        JwtTokenService other = new JwtTokenService(JwtAlgorithm.hs256(otherSecret), new JwtProperties());
+        assertUnauthorized(() -> service.verifyAccessToken(other.issue(user()).getAccessToken()));
+
+        String none = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        assertUnauthorized(() -> service.verifyAccessToken(none + token.substring(token.indexOf('.'), lastDot + 1)));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        JwtProperties properties = new JwtProperties();
+        properties.setAccessTokenTtlSeconds(-10L);
+        properties.setClockSkewSeconds(0L);
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), properties, revocation());
+        String token = service.issue(user()).getAccessToken();
+        assertUnauthorized(() -> service.verifyAccessToken(token));
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties(), revocation());
+        String token = service.issue(user()).getAccessToken();
+        service.verifyAccessToken(token);
+        service.revoke(token);
+        assertUnauthorized(() -> service.verifyAccessToken(token));
+    }
+
+    @Test
+    void refreshRotatesAndRejectsReplay() {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties(), revocation());
+        TokenPair first = service.issue(user());
+        TokenPair second = service.refresh(first.getRefreshToken());
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertEquals(42L, service.verifyAccessToken(second.getAccessToken()).getUserId());
+        assertUnauthorized(() -> service.refresh(first.getRefreshToken()));
+        service.refresh(second.getRefreshToken());
+    }
+
+    @Test
+    void concurrentReplayOfRefreshTokenHasSingleWinner() throws Exception {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties(), revocation());
+        for (int round = 0; round < 20; round++) {
+            String refreshToken = service.issue(user()).getRefreshToken();
+            int threads = 16;
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger winners = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.refresh(refreshToken);
+                        winners.incrementAndGet();
+                    } catch (BizException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            assertEquals(1, winners.get());
+            assertEquals(threads - 1, rejected.get());
+        }
+    }
+
+    @Test
+    void refreshWithoutRevocationServiceIsRefused() {
+        JwtTokenService service = new JwtTokenService(JwtAlgorithm.hs256(SECRET), new JwtProperties());
+        String refreshToken = service.issue(user()).getRefreshToken();
+        assertThrows(IllegalStateException.class, () -> service.refresh(refreshToken));
+    }
+
+    @Test
+    void rsaEnginesAreReusedAcrossPlatformAndVirtualThreads() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        JwtTokenService issuer = new JwtTokenService(JwtAlgorithm.rs256(keys.getPrivate(), keys.getPublic()),
+                new JwtProperties());
+        JwtProperties noCache = new JwtProperties();
+        noCache.setVerifiedCacheSize(0);
+        JwtTokenService verifier = new JwtTokenService(JwtAlgorithm.rs256(null, keys.getPublic()), noCache);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(42L, verifier.verifyAccessToken(issuer.issue(user()).getAccessToken()).getUserId());
+        }
+        String valid = issuer.issue(user()).getAccessToken();
+        assertUnauthorized(() -> verifier.verifyAccessToken(valid.substring(0, valid.length() - 4)));
+        // 坏签名之后同一线程的引擎仍然可用
+        assertEquals(42L, verifier.verifyAccessToken(valid).getUserId());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(executor.submit(() -> verifier.verifyAccessToken(issuer.issue(user()).getAccessToken())
+                        .getUserId()));
+            }
+            for (Future<Long> future : futures) {
+                assertEquals(42L, future.get());
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> verifier.issue(user()));
+        assertFalse(valid.isEmpty());
+        assertTrue(valid.startsWith(JwtAlgorithm.rs256(null, keys.getPublic()).getHeaderSegment()));
+    }
+}
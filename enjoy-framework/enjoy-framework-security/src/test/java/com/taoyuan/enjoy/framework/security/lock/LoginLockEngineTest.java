@@ -0,0 +1,105 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+import com.taoyuan.enjoy.framework.common.lang.AccountStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 锁定触发、到期清理写入 UNLOCK 与本地锁定状态上限
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class LoginLockEngineTest {
+
+    private final List<LockEvent> events = new CopyOnWriteArrayList<>();
+
+    private static LoginLockProperties properties() {
+        LoginLockProperties properties = new LoginLockProperties();
+        properties.setUserThreshold(3);
+        properties.setIdentifierThreshold(0);
+        properties.setIpThreshold(0);
+        return properties;
+    }
+
+    @Test
+    void locksAtThresholdAndUnlocksOnCheck() {
+        LoginLockEngine engine = new LoginLockEngine(properties(), events::add);
+        assertEquals(AccountStatus.NORMAL, engine.onFailure("alice", null, null));
+        assertEquals(AccountStatus.NORMAL, engine.onFailure("alice", null, null));
+        assertEquals(AccountStatus.LOCKED, engine.onFailure("alice", null, null));
+        assertEquals(AccountStatus.LOCKED, engine.check("alice", null, null));
+        assertEquals(AccountStatus.NORMAL, engine.check("bob", null, null));
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isLock());
+    }
+
+    @Test
+    void sweepExpiresLocksThatAreNeverCheckedAgain() {
+        LoginLockEngine engine = new LoginLockEngine(properties(), events::add);
+        for (int i = 0; i < 3; i++) {
+            engine.onFailure("alice", null, null);
+        }
+        long now = System.currentTimeMillis();
+        engine.sweep(now);
+        assertEquals(1, engine.getLockCount());
+
+        engine.sweep(now + properties().getAccountLockSeconds() * 1000L + 1000L);
+        assertEquals(0, engine.getLockCount());
+        assertEquals(2, events.size());
+        LockEvent unlock = events.get(1);
+        assertEquals(LockEvent.LOG_TYPE_UNLOCK, unlock.logType());
+        assertEquals(LockDimension.USER, unlock.dimension());
+        assertEquals("alice", unlock.value());
+        assertEquals(AccountStatus.NORMAL, engine.check("alice", null, null));
+    }
+
+    @Test
+    void keepsLockedWhenLocalStateIsFull() {
+        LoginLockProperties properties = properties();
+        properties.setMaxLocks(2);
+        LoginLockEngine engine = new LoginLockEngine(properties, events::add);
+        for (String user : List.of("u1", "u2", "u3")) {
+            for (int i = 0; i < 3; i++) {
+                engine.onFailure(user, null, null);
+            }
+        }
+        assertEquals(2, engine.getLockCount());
+        // 第三个锁定未保存为本地状态，但窗口内失败计数仍使其保持锁定
+        for (String user : List.of("u1", "u2", "u3")) {
+            assertEquals(AccountStatus.LOCKED, engine.check(user, null, null));
+        }
+        assertEquals(2, engine.getLockCount());
+    }
+
+    @Test
+    void sprayBeyondCounterCapacityStillLocksOffenders() {
+        LoginLockProperties properties = properties();
+        properties.setShards(1);
+        properties.setMaxKeysPerShard(8);
+        LoginLockEngine engine = new LoginLockEngine(properties, events::add);
+        for (int i = 0; i < 8; i++) {
+            engine.onFailure("filler-" + i, null, null);
+        }
+        AccountStatus last = AccountStatus.NORMAL;
+        for (int i = 0; i < 3; i++) {
+            last = engine.onFailure("target", null, null);
+        }
+        assertEquals(AccountStatus.LOCKED, last);
+        assertEquals(AccountStatus.LOCKED, engine.check("target", null, null));
+    }
+
+    @Test
+    void startAndStopSweeper() {
+        LoginLockEngine engine = new LoginLockEngine(properties(), events::add);
+        engine.start();
+        engine.start();
+        engine.stop();
+        engine.stop();
+    }
+}
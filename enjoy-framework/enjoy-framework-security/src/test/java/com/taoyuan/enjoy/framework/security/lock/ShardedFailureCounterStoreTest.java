@@ -0,0 +1,69 @@
+package com.taoyuan.enjoy.framework.security.lock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 滑动窗口计数、只淘汰过期条目与溢出汇总
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ShardedFailureCounterStoreTest {
+
+    @Test
+    void countsWithinSlidingWindow() {
+        ShardedFailureCounterStore store = new ShardedFailureCounterStore(10_000L, 10, 1, 16);
+        assertEquals(1, store.increment("a", 0L));
+        assertEquals(2, store.increment("a", 5_000L));
+        assertEquals(2, store.count("a", 9_999L));
+        // 第一次失败所在时间片滑出窗口
+        assertEquals(1, store.count("a", 10_000L));
+        assertEquals(0, store.count("a", 15_000L));
+        store.reset("a");
+        assertEquals(0, store.count("a", 5_000L));
+    }
+
+    @Test
+    void neverEvictsLiveCountersWhenFull() {
+        ShardedFailureCounterStore store = new ShardedFailureCounterStore(10_000L, 10, 1, 4);
+        for (int i = 0; i < 4; i++) {
+            store.increment("victim-" + i, 0L);
+        }
+        // 分片已满，新键计入汇总窗口，原有计数保持不变
+        for (int i = 0; i < 100; i++) {
+            store.increment("spray-" + i, 1_000L);
+        }
+        assertEquals(4, store.size());
+        assertEquals(100, store.getOverflowed());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(2, store.increment("victim-" + i, 2_000L));
+        }
+        assertEquals(0, store.count("spray-1", 2_000L));
+        // 汇总窗口累计所有溢出键的失败
+        assertEquals(101, store.increment("spray-new", 2_000L));
+    }
+
+    @Test
+    void evictsOnlyExpiredWindows() {
+        ShardedFailureCounterStore store = new ShardedFailureCounterStore(10_000L, 10, 1, 2);
+        store.increment("old", 0L);
+        store.increment("live", 9_000L);
+        assertEquals(1, store.increment("new", 10_500L));
+        assertEquals(2, store.size());
+        assertEquals(0, store.count("old", 10_500L));
+        assertEquals(2, store.increment("live", 10_500L));
+        assertEquals(0, store.getOverflowed());
+    }
+
+    @Test
+    void sweepRemovesExpiredWindows() {
+        ShardedFailureCounterStore store = new ShardedFailureCounterStore(10_000L, 10, 4, 16);
+        for (int i = 0; i < 20; i++) {
+            store.increment("k" + i, i < 10 ? 0L : 8_000L);
+        }
+        store.sweep(12_000L);
+        assertEquals(10, store.size());
+    }
+}
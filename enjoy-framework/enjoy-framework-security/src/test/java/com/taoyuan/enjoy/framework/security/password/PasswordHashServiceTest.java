@@ -0,0 +1,141 @@
+package com.taoyuan.enjoy.framework.security.password;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 密码校验、登录时升级哈希、旧版 摘要+盐 格式兼容与计算失败时的异常
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class PasswordHashServiceTest {
+
+    private static PasswordHashProperties properties() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setArgon2MemoryKib(1024);
+        properties.setArgon2Iterations(1);
+        properties.setBcryptCost(4);
+        properties.setThreads(1);
+        return properties;
+    }
+
+    @Test
+    void verifiesCurrentHashWithoutRehash() {
+        try (PasswordHashService service = new PasswordHashService(properties())) {
+            String encoded = service.hash("secret");
+            assertTrue(encoded.startsWith("$argon2id$"));
+            PasswordHashService.VerifyResult result = service.verify("secret", encoded);
+            assertTrue(result.matched());
+            assertFalse(result.needsUpdate());
+            assertFalse(service.verify("wrong", encoded).matched());
+            assertFalse(service.verify("secret", null).matched());
+        }
+    }
+
+    @Test
+    void rehashesWhenAlgorithmOrCostChanges() {
+        PasswordHashProperties old = properties();
+        old.setAlgorithm("BCRYPT");
+        String bcrypt;
+        String weakArgon2;
+        try (PasswordHashService service = new PasswordHashService(old)) {
+            bcrypt = service.hash("secret");
+        }
+        try (PasswordHashService service = new PasswordHashService(properties())) {
+            weakArgon2 = service.hash("secret");
+        }
+        PasswordHashProperties current = properties();
+        current.setArgon2Iterations(2);
+        try (PasswordHashService service = new PasswordHashService(current)) {
+            PasswordHashService.VerifyResult fromBcrypt = service.verify("secret", bcrypt);
+            assertTrue(fromBcrypt.matched());
+            assertTrue(fromBcrypt.rehashedTo().contains(",t=2,"));
+            PasswordHashService.VerifyResult fromWeak = service.verify("secret", weakArgon2);
+            assertTrue(fromWeak.needsUpdate());
+            assertFalse(service.verify("secret", fromWeak.rehashedTo()).needsUpdate());
+        }
+    }
+
+    @Test
+    void verifiesLegacySaltedDigestAndRehashes() throws Exception {
+        String salt = "a1b2c3";
+        String legacy = HexFormat.of().formatHex(MessageDigest.getInstance("MD5")
+                .digest(("secret" + salt).getBytes(StandardCharsets.UTF_8)));
+        try (PasswordHashService service = new PasswordHashService(properties())) {
+            PasswordHashService.VerifyResult result = service.verify("secret", legacy, salt);
+            assertTrue(result.matched());
+            assertTrue(result.rehashedTo().startsWith("$argon2id$"));
+            assertTrue(service.verify("secret", result.rehashedTo()).matched());
+
+            assertFalse(service.verify("wrong", legacy, salt).matched());
+            assertFalse(service.verify("secret", legacy, "other").matched());
+            assertTrue(service.verify("secret", legacy.toUpperCase(), salt).matched());
+            assertFalse(service.verify("secret", "not-hex", salt).matched());
+        }
+    }
+
+    @Test
+    void legacyVerifierCanBeDisabledOrConfigured() throws Exception {
+        String salt = "s";
+        byte[] once = MessageDigest.getInstance("SHA-256").digest((salt + ":secret").getBytes(StandardCharsets.UTF_8));
+        String twice = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(once));
+        PasswordHashProperties properties = properties();
+        properties.setLegacyDigest("SHA-256");
+        properties.setLegacyFormat("{salt}:{password}");
+        properties.setLegacyIterations(2);
+        try (PasswordHashService service = new PasswordHashService(properties)) {
+            assertTrue(service.verify("secret", twice, salt).matched());
+        }
+        properties.setLegacyDigest(null);
+        try (PasswordHashService service = new PasswordHashService(properties)) {
+            PasswordHashService.VerifyResult result = service.verify("secret", twice, salt);
+            assertFalse(result.matched());
+            assertNull(result.rehashedTo());
+        }
+        properties.setLegacyDigest("NO-SUCH");
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHashService(properties));
+    }
+
+    @Test
+    void failsFastWhenQueueWaitExceedsLimit() {
+        PasswordHashProperties properties = properties();
+        properties.setMaxQueueMillis(0L);
+        try (PasswordHashService service = new PasswordHashService(properties)) {
+            BizException e = assertThrows(BizException.class, () -> service.hash("secret"));
+            assertEquals(CommonErrorCode.TOO_MANY_REQUESTS, e.getErrorCode());
+            assertEquals(1, service.getExpired());
+        }
+    }
+
+    @Test
+    void keepsCauseWhenHashingFails() {
+        try (PasswordHashService service = new PasswordHashService(properties())) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.hash(null));
+            assertInstanceOf(NullPointerException.class, e.getCause());
+            assertTrue(e.getStackTrace().length > 0);
+        }
+    }
+
+    @Test
+    void keepsInterruptFlagAndCause() {
+        try (PasswordHashService service = new PasswordHashService(properties())) {
+            Thread.currentThread().interrupt();
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.hash("secret"));
+            assertTrue(Thread.interrupted());
+            assertInstanceOf(InterruptedException.class, e.getCause());
+        }
+    }
+}
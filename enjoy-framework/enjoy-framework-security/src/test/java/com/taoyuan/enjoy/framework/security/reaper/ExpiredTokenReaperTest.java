@@ -0,0 +1,132 @@
+package com.taoyuan.enjoy.framework.security.reaper;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分批清理过期记录，且休眠期间不占用连接
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ExpiredTokenReaperTest {
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:reaper" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = h2.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_oauth2_access_token (id bigint PRIMARY KEY, expires_time timestamp NOT NULL)");
+            st.execute("CREATE INDEX idx_expires_time ON sys_oauth2_access_token (expires_time, id)");
+        }
+        long now = System.currentTimeMillis();
+        try (Connection conn = h2.getConnection();
+             PreparedStatement ps = conn.prepareStatement("INSERT INTO sys_oauth2_access_token VALUES (?, ?)")) {
+            for (int i = 1; i <= 150; i++) {
+                ps.setLong(1, i);
+                // 前 120 条已过期（同一时刻，验证游标按 id 推进），其余未过期
+                ps.setTimestamp(2, new Timestamp(i <= 120 ? now - 3_600_000L : now + 3_600_000L));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Test
+    void reapsExpiredRowsInBatches() throws SQLException {
+        ReaperProperties properties = properties();
+        properties.setMaxRowsPerSecond(0);
+        properties.setPauseRatio(0D);
+        ExpiredTokenReaper reaper = new ExpiredTokenReaper(h2, properties, List.of("sys_oauth2_access_token"));
+        reaper.runOnce();
+
+        assertEquals(30, count());
+        ReaperStats stats = reaper.getStats().get(0);
+        assertEquals(120, stats.getRowsReaped());
+        assertTrue(stats.getBatches() >= 6, "batches: " + stats.getBatches());
+        assertNull(stats.getLastError());
+    }
+
+    @Test
+    void releasesConnectionWhilePausing() throws SQLException {
+        ReaperProperties properties = properties();
+        // 每批 20 行、每秒 200 行：每批休眠约 100ms
+        properties.setMaxRowsPerSecond(200);
+        AtomicLong heldNanos = new AtomicLong();
+        ExpiredTokenReaper reaper = new ExpiredTokenReaper(timed(h2, heldNanos), properties,
+                List.of("sys_oauth2_access_token"));
+        long start = System.nanoTime();
+        reaper.runOnce();
+        long total = System.nanoTime() - start;
+
+        assertEquals(30, count());
+        assertTrue(reaper.getStats().get(0).getPausedMillis() >= 400);
+        assertTrue(heldNanos.get() < total / 2, "held " + heldNanos.get() / 1_000_000 + "ms of " + total / 1_000_000 + "ms");
+    }
+
+    private static ReaperProperties properties() {
+        ReaperProperties properties = new ReaperProperties();
+        properties.setGraceSeconds(0L);
+        properties.setInitialBatchSize(20);
+        properties.setMinBatchSize(20);
+        properties.setMaxBatchSize(20);
+        properties.setTargetStatementMillis(10_000L);
+        return properties;
+    }
+
+    private long count() throws SQLException {
+        try (Connection conn = h2.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT count(*) FROM sys_oauth2_access_token")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * 统计连接从获取到关闭的累计时长
+     */
+    private static DataSource timed(DataSource target, AtomicLong heldNanos) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (!(result instanceof Connection conn)) {
+                        return result;
+                    }
+                    long opened = System.nanoTime();
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                            (p, m, a) -> {
+                                if ("close".equals(m.getName())) {
+                                    heldNanos.addAndGet(System.nanoTime() - opened);
+                                }
+                                return invoke(conn, m, a);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.taoyuan.enjoy.framework.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 吊销的原子性、分桶过滤器与跨节点广播
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class TokenRevocationServiceTest {
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    @Test
+    void revokeReportsOnlyTheFirstCaller() {
+        TokenRevocationService service = new TokenRevocationService(new InMemoryRevokedTokenStore(),
+                RevocationBroadcaster.NONE, new RevocationProperties());
+        long expiresAt = now() + 600;
+        assertTrue(service.revoke("jti-1", expiresAt));
+        assertFalse(service.revoke("jti-1", expiresAt));
+        assertFalse(service.revoke("jti-expired", now() - 1));
+        assertTrue(service.isRevoked("jti-1", expiresAt));
+        assertFalse(service.isRevoked("jti-2", expiresAt));
+    }
+
+    @Test
+    void remoteRevocationIsVisibleAfterBroadcast() {
+        LoopbackBroadcaster bus = new LoopbackBroadcaster();
+        InMemoryRevokedTokenStore shared = new InMemoryRevokedTokenStore();
+        TokenRevocationService nodeA = new TokenRevocationService(shared, bus, new RevocationProperties());
+        TokenRevocationService nodeB = new TokenRevocationService(shared, bus, new RevocationProperties());
+        long expiresAt = now() + 600;
+        assertFalse(nodeB.isRevoked("jti", expiresAt));
+        assertTrue(nodeA.revoke("jti", expiresAt));
+        assertTrue(nodeB.isRevoked("jti", expiresAt));
+        assertEquals(1, bus.published);
+        // 落败的吊销不再广播
+        assertFalse(nodeB.revoke("jti", expiresAt));
+        assertEquals(1, bus.published);
+    }
+
+    @Test
+    void warmUpLoadsUnexpiredRecords() {
+        InMemoryRevokedTokenStore store = new InMemoryRevokedTokenStore();
+        long expiresAt = now() + 600;
+        store.save("jti", expiresAt);
+        TokenRevocationService service = new TokenRevocationService(store, RevocationBroadcaster.NONE,
+                new RevocationProperties());
+        service.warmUp();
+        assertTrue(service.isRevoked("jti", expiresAt));
+        assertEquals(0, service.getFalsePositives());
+    }
+
+    private static final class LoopbackBroadcaster implements RevocationBroadcaster {
+
+        private final List<Consumer<RevocationEvent>> listeners = new ArrayList<>();
+        private int published;
+
+        @Override
+        public void publish(RevocationEvent event) {
+            published++;
+            listeners.forEach(listener -> listener.accept(event));
+        }
+
+        @Override
+        public void subscribe(Consumer<RevocationEvent> listener) {
+            listeners.add(listener);
+        }
+    }
+}
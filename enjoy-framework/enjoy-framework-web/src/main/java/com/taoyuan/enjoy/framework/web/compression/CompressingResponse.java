@@ -0,0 +1,208 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * 缓冲响应体的响应包装
+ * 忽略下游设置的 Content-Length（由压缩结果决定），flushBuffer 在缓冲阶段不提交响应
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class CompressingResponse extends HttpServletResponseWrapper {
+
+    private static final int INITIAL_SIZE = 8 * 1024;
+
+    private final CompressionFilter filter;
+    private final HttpServletRequest request;
+    private final int maxBufferSize;
+    private final BufferStream stream = new BufferStream();
+    private PrintWriter writer;
+
+    CompressingResponse(HttpServletResponse response, CompressionFilter filter, HttpServletRequest request,
+                        int maxBufferSize) {
+        super(response);
+        this.filter = filter;
+        this.request = request;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!"Content-Length".equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!"Content-Length".equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream.target != null) {
+            stream.target.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return stream.target != null || super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        stream.reset();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        stream.reset();
+        writer = null;
+        super.reset();
+    }
+
+    /**
+     * 请求处理完成后写出
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.finish();
+    }
+
+    private final class BufferStream extends ServletOutputStream {
+
+        private byte[] buffer = new byte[INITIAL_SIZE];
+        private int count;
+        private OutputStream target;
+        private boolean finished;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target != null) {
+                target.write(b);
+                return;
+            }
+            ensure(1);
+            if (target != null) {
+                target.write(b);
+            } else {
+                buffer[count++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null) {
+                ensure(len);
+            }
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            }
+        }
+
+        /**
+         * 扩容，超出上限时转为流式输出
+         */
+        private void ensure(int len) throws IOException {
+            int required = count + len;
+            if (required <= buffer.length) {
+                return;
+            }
+            if (required > maxBufferSize) {
+                target = filter.openStream(request, (HttpServletResponse) getResponse());
+                target.write(buffer, 0, count);
+                buffer = null;
+                count = 0;
+                return;
+            }
+            buffer = Arrays.copyOf(buffer, Math.min(maxBufferSize, Math.max(required, buffer.length * 2)));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (target != null) {
+                target.close();
+            } else {
+                filter.writeBuffered(request, (HttpServletResponse) getResponse(), buffer, count);
+            }
+        }
+
+        void reset() {
+            if (target == null) {
+                count = 0;
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Non-blocking output is not supported on compressed responses");
+        }
+    }
+}
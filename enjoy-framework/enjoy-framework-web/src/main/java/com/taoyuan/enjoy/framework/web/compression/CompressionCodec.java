@@ -0,0 +1,28 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 压缩编码
+ * 内置 gzip、deflate；brotli、zstd 等需要本地库的编码由应用实现后注册到 {@link CompressionFilter}
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public interface CompressionCodec {
+
+    /**
+     * Content-Encoding 名称，如 gzip、br、zstd
+     */
+    String encoding();
+
+    /**
+     * 包装输出流，关闭返回的流时写出结尾数据并关闭目标流
+     *
+     * @param out         目标流
+     * @param precompress 是否为缓存的预压缩版本（只压缩一次，可使用高压缩级别）；否则为每次请求压缩，应优先速度
+     * @return 压缩输出流
+     */
+    OutputStream wrap(OutputStream out, boolean precompress) throws IOException;
+}
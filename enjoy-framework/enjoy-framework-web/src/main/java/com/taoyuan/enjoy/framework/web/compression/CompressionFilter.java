@@ -0,0 +1,316 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 响应压缩过滤器
+ * 按 Accept-Encoding 与注册顺序（服务端偏好）协商编码。响应体先缓冲，结束时：小于阈值或内容类型不可压缩时原样写出；
+ * 带强 ETag 的 200 响应（见 {@link com.taoyuan.enjoy.framework.web.conditional.ConditionalResponses}）按
+ * (请求地址, ETag, Vary 指定的请求头, 编码) 缓存高压缩级别的预压缩版本，原文长度与摘要一致时直接写出缓存；
+ * 按共享缓存的规则，Cache-Control 含 private / no-store、Vary: * 的响应，以及带 Authorization 或 Cookie
+ * 且未声明 public 的请求不进入缓存。其余响应在 CPU 未饱和时以快速级别即时压缩。
+ * 超过缓冲上限的响应改为流式压缩。压缩后的 ETag 追加编码后缀，并写入 Vary: Accept-Encoding。
+ * 注册在 TraceFilter 之后、ErrorResponseFilter 之前
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class CompressionFilter implements Filter {
+
+    private final CompressionProperties properties;
+    private final List<CompressionCodec> codecs;
+    private final PrecompressedCache cache;
+    private final CpuLoad cpuLoad = new CpuLoad();
+
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder skippedCpu = new LongAdder();
+
+    /**
+     * 使用内置的 gzip、deflate
+     */
+    public CompressionFilter(CompressionProperties properties) {
+        this(properties, List.of(
+                new GzipCodec(properties.getLevel(), properties.getPrecompressLevel()),
+                new DeflateCodec(properties.getLevel(), properties.getPrecompressLevel())));
+    }
+
+    /**
+     * @param properties 配置
+     * @param codecs     编码，按服务端偏好排列（如 zstd、br、gzip、deflate）
+     */
+    public CompressionFilter(CompressionProperties properties, List<CompressionCodec> codecs) {
+        this.properties = properties;
+        this.codecs = List.copyOf(codecs);
+        this.cache = new PrecompressedCache(properties.getCacheMaxBytes());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!properties.isEnabled()
+                || !(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)
+                || response instanceof CompressingResponse
+                || "HEAD".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponse wrapper = new CompressingResponse(httpResponse, this, httpRequest,
+                properties.getMaxBufferSize());
+        chain.doFilter(request, wrapper);
+        wrapper.finish();
+    }
+
+    /**
+     * 缓冲的响应体写出
+     */
+    void writeBuffered(HttpServletRequest request, HttpServletResponse response, byte[] body, int length)
+            throws IOException {
+        if (length == 0) {
+            // 304、204 等无响应体
+            return;
+        }
+        CompressionCodec codec = select(request, response, length);
+        if (codec == null) {
+            writePlain(response, body, length);
+            return;
+        }
+        String etag = response.getHeader("ETag");
+        String resource = cacheKey(request, response, etag);
+        boolean cacheable = resource != null;
+        byte[] digest = cacheable ? PrecompressedCache.digest(body, length) : null;
+        byte[] compressed = cacheable ? cache.get(resource, codec.encoding(), length, digest) : null;
+        if (compressed != null) {
+            cacheHits.increment();
+        } else if (!cacheable && cpuLoad.get() > properties.getMaxCpuLoad()) {
+            skippedCpu.increment();
+            writePlain(response, body, length);
+            return;
+        } else {
+            compressed = compress(codec, body, length, cacheable);
+            if (cacheable) {
+                cache.put(resource, codec.encoding(), length, digest, compressed);
+            }
+        }
+        if (compressed.length >= length) {
+            writePlain(response, body, length);
+            return;
+        }
+        encoded(response, codec, etag);
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+        bytesIn.add(length);
+        bytesOut.add(compressed.length);
+    }
+
+    /**
+     * 预压缩缓存键，不可缓存时为 null
+     */
+    static String cacheKey(HttpServletRequest request, HttpServletResponse response, String etag) {
+        if (etag == null || etag.startsWith("W/") || response.getStatus() != HttpServletResponse.SC_OK) {
+            return null;
+        }
+        String cacheControl = directives(response.getHeaders("Cache-Control"));
+        if (cacheControl.contains("private") || cacheControl.contains("no-store")) {
+            return null;
+        }
+        if ((request.getHeader("Authorization") != null || request.getHeader("Cookie") != null)
+                && !cacheControl.contains("public")) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(128).append(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        key.append('\n').append(etag);
+        for (String vary : directives(response.getHeaders("Vary")).split(",")) {
+            String name = vary.trim();
+            if ("*".equals(name)) {
+                return null;
+            }
+            if (!name.isEmpty() && !"accept-encoding".equals(name)) {
+                key.append('\n').append(name).append(':');
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    key.append(value).append(',');
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static String directives(Collection<String> values) {
+        return String.join(",", values).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 超出缓冲上限时打开流式输出
+     */
+    OutputStream openStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CompressionCodec codec = select(request, response, Integer.MAX_VALUE);
+        OutputStream target = new FilterOutputStream(response.getOutputStream()) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        if (codec == null || cpuLoad.get() > properties.getMaxCpuLoad()) {
+            return target;
+        }
+        encoded(response, codec, response.getHeader("ETag"));
+        return codec.wrap(target, false);
+    }
+
+    private CompressionCodec select(HttpServletRequest request, HttpServletResponse response, int length) {
+        if (length < properties.getMinSize()
+                || response.containsHeader("Content-Encoding")
+                || !compressible(response.getContentType())) {
+            return null;
+        }
+        response.addHeader("Vary", "Accept-Encoding");
+        int status = response.getStatus();
+        if (status != HttpServletResponse.SC_OK && (status < 400 || status >= 600)) {
+            return null;
+        }
+        return negotiate(request.getHeader("Accept-Encoding"));
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        for (String prefix : properties.getMimeTypes()) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按服务端偏好选择客户端接受（q > 0）的第一个编码
+     */
+    CompressionCodec negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        List<String> accepted = new ArrayList<>(4);
+        List<String> refused = new ArrayList<>(2);
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String token = part.trim();
+            int semicolon = token.indexOf(';');
+            String name = (semicolon >= 0 ? token.substring(0, semicolon) : token).trim().toLowerCase(Locale.ROOT);
+            boolean zero = semicolon >= 0 && isZeroQuality(token.substring(semicolon + 1));
+            if (zero) {
+                refused.add(name);
+            } else if ("*".equals(name)) {
+                wildcard = true;
+            } else {
+                accepted.add(name);
+            }
+        }
+        for (CompressionCodec codec : codecs) {
+            String encoding = codec.encoding();
+            if (accepted.contains(encoding) || (wildcard && !refused.contains(encoding))) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isZeroQuality(String params) {
+        for (String param : params.split(";")) {
+            String p = param.trim();
+            if (p.startsWith("q=") || p.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(p.substring(2)) <= 0D;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void encoded(HttpServletResponse response, CompressionCodec codec, String etag) {
+        response.setHeader("Content-Encoding", codec.encoding());
+        if (etag != null && etag.endsWith("\"")) {
+            // 不同编码是不同的表示，强 ETag 必须区分
+            response.setHeader("ETag", etag.substring(0, etag.length() - 1) + '-' + codec.encoding() + '"');
+        }
+    }
+
+    private static byte[] compress(CompressionCodec codec, byte[] body, int length, boolean precompress)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (OutputStream compressor = codec.wrap(out, precompress)) {
+            compressor.write(body, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writePlain(HttpServletResponse response, byte[] body, int length) throws IOException {
+        response.setContentLength(length);
+        response.getOutputStream().write(body, 0, length);
+    }
+
+    /**
+     * 压缩前累计字节数
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * 压缩后累计字节数
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * 命中预压缩缓存的次数
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * 因 CPU 饱和未压缩的次数
+     */
+    public long getSkippedCpu() {
+        return skippedCpu.sum();
+    }
+
+    /**
+     * 预压缩缓存占用的字节数
+     */
+    public long getCacheBytes() {
+        return cache.getBytes();
+    }
+}
@@ -0,0 +1,117 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.util.List;
+
+/**
+ * 响应压缩配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class CompressionProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 小于该大小（字节）的响应不压缩
+     */
+    private int minSize = 1024;
+
+    /**
+     * 缓冲的最大响应大小（字节），超出后改为流式压缩，不再缓存预压缩版本
+     */
+    private int maxBufferSize = 1024 * 1024;
+
+    /**
+     * 系统 CPU 使用率（0~1）超过该值时不再即时压缩，已缓存的预压缩版本照常使用
+     */
+    private double maxCpuLoad = 0.85D;
+
+    /**
+     * 每次请求压缩的 deflate 级别
+     */
+    private int level = 4;
+
+    /**
+     * 预压缩的 deflate 级别
+     */
+    private int precompressLevel = 9;
+
+    /**
+     * 预压缩版本缓存的最大总字节数
+     */
+    private long cacheMaxBytes = 32L * 1024 * 1024;
+
+    /**
+     * 可压缩的内容类型前缀
+     */
+    private List<String> mimeTypes = List.of("application/json", "text/", "application/javascript", "application/xml",
+            "image/svg+xml");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    public void setMaxBufferSize(int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    public double getMaxCpuLoad() {
+        return maxCpuLoad;
+    }
+
+    public void setMaxCpuLoad(double maxCpuLoad) {
+        this.maxCpuLoad = maxCpuLoad;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public int getPrecompressLevel() {
+        return precompressLevel;
+    }
+
+    public void setPrecompressLevel(int precompressLevel) {
+        this.precompressLevel = precompressLevel;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+}
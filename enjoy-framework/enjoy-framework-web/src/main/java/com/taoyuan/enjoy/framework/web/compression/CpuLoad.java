@@ -0,0 +1,40 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * 系统 CPU 使用率，最多每隔采样间隔读取一次
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class CpuLoad {
+
+    private static final long SAMPLE_INTERVAL_NANOS = 500_000_000L;
+
+    private final com.sun.management.OperatingSystemMXBean bean;
+    private volatile double load;
+    private volatile long sampledAt = System.nanoTime() - SAMPLE_INTERVAL_NANOS;
+
+    CpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        this.bean = os instanceof com.sun.management.OperatingSystemMXBean sun ? sun : null;
+    }
+
+    /**
+     * @return 0~1，无法获取时为 0
+     */
+    double get() {
+        if (bean == null) {
+            return 0D;
+        }
+        long now = System.nanoTime();
+        if (now - sampledAt >= SAMPLE_INTERVAL_NANOS) {
+            // 并发请求可能同时采样，结果相同，无需加锁
+            sampledAt = now;
+            load = Math.max(0D, bean.getCpuLoad());
+        }
+        return load;
+    }
+}
@@ -0,0 +1,49 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * deflate 编码（HTTP 中的 deflate 为 zlib 格式）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class DeflateCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final int level;
+    private final int precompressLevel;
+
+    /**
+     * @param level            每次请求压缩的级别
+     * @param precompressLevel 预压缩的级别
+     */
+    public DeflateCodec(int level, int precompressLevel) {
+        this.level = level;
+        this.precompressLevel = precompressLevel;
+    }
+
+    @Override
+    public String encoding() {
+        return "deflate";
+    }
+
+    @Override
+    public OutputStream wrap(OutputStream out, boolean precompress) throws IOException {
+        Deflater deflater = new Deflater(precompress ? precompressLevel : level);
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+}
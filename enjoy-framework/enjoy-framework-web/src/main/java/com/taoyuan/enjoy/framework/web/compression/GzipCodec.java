@@ -0,0 +1,43 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip 编码
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class GzipCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final int level;
+    private final int precompressLevel;
+
+    /**
+     * @param level            每次请求压缩的级别
+     * @param precompressLevel 预压缩的级别
+     */
+    public GzipCodec(int level, int precompressLevel) {
+        this.level = level;
+        this.precompressLevel = precompressLevel;
+    }
+
+    @Override
+    public String encoding() {
+        return "gzip";
+    }
+
+    @Override
+    public OutputStream wrap(OutputStream out, boolean precompress) throws IOException {
+        int effective = precompress ? precompressLevel : level;
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(effective);
+            }
+        };
+    }
+}
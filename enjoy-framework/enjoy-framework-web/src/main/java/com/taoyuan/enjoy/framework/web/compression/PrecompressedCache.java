@@ -0,0 +1,92 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 预压缩版本缓存
+ * 以 (请求地址 + 强 ETag + Vary 指定的请求头, 编码) 为键，按最近最少使用淘汰；数据变更后 ETag 随版本变化，旧版本不再被访问。
+ * 条目同时记录原文长度与 SHA-256，命中时与本次响应原文比对，ETag 未随内容变化（如调用方漏传主体）时不会写出其他内容
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class PrecompressedCache {
+
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75F, true);
+    private long bytes;
+
+    PrecompressedCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 原文摘要
+     */
+    static byte[] digest(byte[] body, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return 原文长度与摘要一致时返回压缩结果，否则为 null
+     */
+    byte[] get(String resource, String encoding, int sourceLength, byte[] sourceDigest) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(new Key(resource, encoding));
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null || entry.sourceLength != sourceLength
+                || !MessageDigest.isEqual(entry.sourceDigest, sourceDigest)) {
+            return null;
+        }
+        return entry.compressed;
+    }
+
+    void put(String resource, String encoding, int sourceLength, byte[] sourceDigest, byte[] compressed) {
+        if (compressed.length > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(new Key(resource, encoding), new Entry(sourceLength, sourceDigest, compressed));
+            bytes += compressed.length - (previous != null ? previous.compressed.length : 0);
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (bytes > maxBytes && iterator.hasNext()) {
+                bytes -= iterator.next().getValue().compressed.length;
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Key(String resource, String encoding) {
+    }
+
+    private record Entry(int sourceLength, byte[] sourceDigest, byte[] compressed) {
+    }
+}
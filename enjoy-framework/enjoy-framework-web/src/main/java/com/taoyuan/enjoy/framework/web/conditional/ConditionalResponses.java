@@ -0,0 +1,152 @@
+package com.taoyuan.enjoy.framework.web.conditional;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 条件请求（ETag / Last-Modified）
+ * 强 ETag 由 (租户, 主体, 用户权限版本, 资源, 资源版本) 拼成，版本取自 {@link VersionSource} 中缓存的计数器，
+ * 不读数据库、不序列化、不对响应体求哈希；命中 If-None-Match 或 If-Modified-Since 时直接返回 304。
+ * 响应内容因人而异时必须传入主体（用户ID或权限范围，如排序后的角色ID），ETag 中带其 64 位哈希，
+ * 同一浏览器切换用户后不会拿到前一用户的缓存；此时只按 ETag 判断，不接受 If-Modified-Since。
+ * 用户权限版本建议同样取自 {@link ResourceVersions}（如 permission:{userId}），使 Last-Modified 同时反映权限变更
+ *
+ * <pre>
+ * if (conditional.notModified(request, response, tenantId, String.valueOf(userId), permissionVersion, "menu")) {
+ *     return;
+ * }
+ * writer.write(response, Result.ok(menuService.tree()));
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ConditionalResponses {
+
+    /**
+     * 因人而异的内容只允许客户端缓存
+     */
+    private static final String CACHE_CONTROL_PRIVATE = "private, no-cache";
+    /**
+     * 租户内共享的内容（ETag 已含租户）允许共享缓存，每次使用前须重新验证
+     */
+    private static final String CACHE_CONTROL_SHARED = "public, no-cache";
+
+    private final VersionSource versions;
+
+    public ConditionalResponses(VersionSource versions) {
+        this.versions = versions;
+    }
+
+    /**
+     * 写入 ETag、Last-Modified 并判断客户端缓存是否仍然有效
+     *
+     * @param request           请求
+     * @param response          响应
+     * @param tenantId          租户ID
+     * @param subject           主体（用户ID或权限范围），租户内所有人看到相同内容的资源传 null
+     * @param permissionVersion 用户权限版本，与权限无关的资源传 0
+     * @param resource          资源标识
+     * @return 已返回 304 时为 true，调用方不再写响应体
+     */
+    public boolean notModified(HttpServletRequest request, HttpServletResponse response,
+                               long tenantId, String subject, long permissionVersion, String resource) {
+        long version = versions.version(tenantId, resource);
+        String etag = etag(tenantId, subject, permissionVersion, resource, version);
+        long lastModified = Math.max(version, permissionVersion) / 1000L * 1000L;
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", subject != null ? CACHE_CONTROL_PRIVATE : CACHE_CONTROL_SHARED);
+        if (lastModified > 0) {
+            response.setDateHeader("Last-Modified", lastModified);
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        boolean matched = ifNoneMatch != null
+                ? matches(ifNoneMatch, etag)
+                : subject == null && lastModified > 0 && ifModifiedSince(request) >= lastModified;
+        if (matched) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return matched;
+    }
+
+    /**
+     * 强 ETag
+     */
+    public static String etag(long tenantId, String subject, long permissionVersion, String resource, long version) {
+        return "\"" + Long.toHexString(tenantId) + '-' + (subject == null ? "0" : Long.toHexString(hash(subject))) + '-'
+                + Long.toHexString(permissionVersion) + '-' + Integer.toHexString(resource.hashCode()) + '-'
+                + Long.toHexString(version) + '"';
+    }
+
+    /**
+     * 64 位 FNV-1a，跨实例稳定
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * If-None-Match 使用弱比较：忽略 W/ 前缀与压缩编码后缀，逐个比较逗号分隔的实体标签
+     */
+    static boolean matches(String header, String etag) {
+        int length = header.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && (header.charAt(i) == ' ' || header.charAt(i) == ',')) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+            if (header.charAt(i) == '*') {
+                return true;
+            }
+            if (header.startsWith("W/", i)) {
+                i += 2;
+            }
+            int end = header.indexOf(',', i);
+            if (end < 0) {
+                end = length;
+            }
+            int tagEnd = end;
+            while (tagEnd > i && header.charAt(tagEnd - 1) == ' ') {
+                tagEnd--;
+            }
+            if (matches(header, i, tagEnd, etag)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * 相同，或为压缩后追加了编码后缀的版本（"...-gzip"）
+     */
+    private static boolean matches(String header, int start, int end, String etag) {
+        int length = end - start;
+        if (length == etag.length()) {
+            return header.startsWith(etag, start);
+        }
+        int prefix = etag.length() - 1;
+        return length > etag.length() && header.startsWith(etag.substring(0, prefix), start)
+                && header.charAt(start + prefix) == '-' && header.charAt(end - 1) == '"'
+                && header.indexOf('"', start + prefix) == end - 1;
+    }
+
+    private static long ifModifiedSince(HttpServletRequest request) {
+        try {
+            return request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.taoyuan.enjoy.framework.web.conditional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地资源版本计数器
+ * 首次访问时由加载器取初始值（如该资源数据的 max(update_time)），之后只在内存中读取；
+ * 数据变更时调用 {@link #bump(long, String)}，版本取当前时间与原版本下一整秒中的较大值，
+ * 保证按秒取整的 Last-Modified 也单调递增。
+ * 平台级数据（所有租户共用）调用 {@link #bumpAll(String)}，各租户的版本不低于全局版本。
+ * 多实例部署时，变更实例把 bump 返回的版本广播出去，其他实例调用 {@link #apply(long, String, long)} /
+ * {@link #applyAll(String, long)}；未接入广播时用 {@link #start(long)} 定期从加载器重新读取，
+ * 加载值变化即视为变更，其他实例的修改最迟一个周期后生效
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ResourceVersions implements VersionSource {
+
+    private static final long ALL_TENANTS = Long.MIN_VALUE;
+
+    private final Map<Key, Counter> versions = new ConcurrentHashMap<>();
+    private final VersionSource loader;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param loader 初始版本加载器，可为空（初始版本为当前时间）
+     */
+    public ResourceVersions(VersionSource loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * 启动定期重新加载，没有加载器时不启动
+     *
+     * @param intervalMillis 间隔（毫秒）
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null || loader == null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enjoy-resource-versions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reload();
+            } catch (RuntimeException ignored) {
+                // 加载失败时保留当前版本，下个周期重试
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public long version(long tenantId, String resource) {
+        long global = counter(ALL_TENANTS, resource).version.get();
+        return Math.max(counter(tenantId, resource).version.get(), global);
+    }
+
+    /**
+     * 资源变更
+     *
+     * @return 新版本，多实例时广播给其他实例
+     */
+    public long bump(long tenantId, String resource) {
+        long floor = counter(ALL_TENANTS, resource).version.get();
+        return advance(counter(tenantId, resource).version, floor);
+    }
+
+    /**
+     * 所有租户共用的资源变更，新版本高于任一租户的当前版本
+     *
+     * @return 新版本，多实例时广播给其他实例
+     */
+    public long bumpAll(String resource) {
+        return advanceAll(resource, 0L);
+    }
+
+    /**
+     * 应用其他实例的变更（变更实例自身不再应用）：与本地变更一样推进版本，
+     * 本地版本已高于对方版本时同样推进，本实例未访问过的资源忽略
+     *
+     * @param version 变更实例 {@link #bump(long, String)} 返回的版本
+     */
+    public void apply(long tenantId, String resource, long version) {
+        Counter counter = versions.get(new Key(tenantId, resource));
+        if (counter != null) {
+            advance(counter.version, version);
+        }
+    }
+
+    /**
+     * 应用其他实例所有租户共用资源的变更
+     *
+     * @param version 变更实例 {@link #bumpAll(String)} 返回的版本
+     */
+    public void applyAll(String resource, long version) {
+        advanceAll(resource, version);
+    }
+
+    /**
+     * 从加载器重新读取已访问过的资源版本，与上次加载值不同时按变更处理。
+     * 不直接采用加载值，避免实例间时钟偏差使版本落后于本地已发出的版本
+     */
+    public void reload() {
+        if (loader == null) {
+            return;
+        }
+        for (Map.Entry<Key, Counter> entry : versions.entrySet()) {
+            Key key = entry.getKey();
+            if (key.tenantId() == ALL_TENANTS) {
+                continue;
+            }
+            Counter counter = entry.getValue();
+            long loaded = loader.version(key.tenantId(), key.resource());
+            if (loaded != counter.loaded) {
+                counter.loaded = loaded;
+                advance(counter.version, loaded);
+            }
+        }
+    }
+
+    private long advanceAll(String resource, long floor) {
+        for (Map.Entry<Key, Counter> entry : versions.entrySet()) {
+            if (entry.getKey().resource().equals(resource)) {
+                floor = Math.max(floor, entry.getValue().version.get());
+            }
+        }
+        return advance(counter(ALL_TENANTS, resource).version, floor);
+    }
+
+    private static long advance(AtomicLong counter, long floor) {
+        long now = System.currentTimeMillis();
+        return counter.updateAndGet(current -> Math.max(now, (Math.max(current, floor) / 1000L + 1L) * 1000L));
+    }
+
+    private Counter counter(long tenantId, String resource) {
+        Key key = new Key(tenantId, resource);
+        Counter counter = versions.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        // 加载器可能访问数据库，不放在 computeIfAbsent 中执行
+        long initial = tenantId == ALL_TENANTS ? 0L
+                : loader != null ? loader.version(tenantId, resource) : System.currentTimeMillis();
+        Counter existing = versions.putIfAbsent(key, new Counter(initial));
+        return existing != null ? existing : versions.get(key);
+    }
+
+    private record Key(long tenantId, String resource) {
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong version;
+        /**
+         * 最近一次加载器返回的值
+         */
+        private volatile long loaded;
+
+        private Counter(long initial) {
+            this.version = new AtomicLong(initial);
+            this.loaded = initial;
+        }
+    }
+}
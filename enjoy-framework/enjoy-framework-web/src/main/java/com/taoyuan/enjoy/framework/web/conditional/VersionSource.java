@@ -0,0 +1,22 @@
+package com.taoyuan.enjoy.framework.web.conditional;
+
+/**
+ * 资源版本来源
+ * 版本为毫秒时间戳，数据变更后必须增大；多实例部署时需使用共享实现（如缓存中的计数器），
+ * 或在变更时广播到各实例的 {@link ResourceVersions}、由其定期重新加载
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface VersionSource {
+
+    /**
+     * 当前版本
+     *
+     * @param tenantId 租户ID
+     * @param resource 资源标识，如 menu、dict:sys_user_sex、config
+     * @return 版本（毫秒时间戳），未知时返回 0
+     */
+    long version(long tenantId, String resource);
+}
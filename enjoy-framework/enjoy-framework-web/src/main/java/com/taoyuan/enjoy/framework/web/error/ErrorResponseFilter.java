@@ -0,0 +1,60 @@
+package com.taoyuan.enjoy.framework.web.error;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * 全局异常处理过滤器
+ * 业务异常按错误码写出 {@link ErrorResponses} 中预先编码的响应体；其他运行时异常写出系统异常、提交响应后
+ * 保存在 {@link RequestDispatcher#ERROR_EXCEPTION} 属性中并继续抛出，由容器记录；响应已提交时原样抛出。
+ * 注册在 {@link com.taoyuan.enjoy.framework.web.filter.TraceFilter} 之后，配合 {@link BizException#setStackless(boolean)} 使用
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ErrorResponseFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(response instanceof HttpServletResponse httpResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (BizException e) {
+            if (httpResponse.isCommitted()) {
+                throw e;
+            }
+            write(httpResponse, ErrorResponses.status(e.getCode()), ErrorResponses.body(e));
+        } catch (RuntimeException e) {
+            if (httpResponse.isCommitted()) {
+                throw e;
+            }
+            request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, e);
+            write(httpResponse, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    ErrorResponses.body(CommonErrorCode.SYSTEM_ERROR));
+            // 先提交，容器处理异常时不再改写响应
+            httpResponse.flushBuffer();
+            throw e;
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.resetBuffer();
+        response.setStatus(status);
+        response.setContentType(ErrorResponses.CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
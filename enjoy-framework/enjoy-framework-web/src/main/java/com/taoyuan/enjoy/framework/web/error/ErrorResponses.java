@@ -0,0 +1,81 @@
+package com.taoyuan.enjoy.framework.web.error;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.error.ErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 错误响应体
+ * 响应体为 {"code":403,"message":"无访问权限","data":null}，与统一响应结构一致；错误码使用默认信息时直接返回预先编码的字节，
+ * {@link CommonErrorCode} 在类加载时全部编码，其他错误码首次使用时编码并缓存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class ErrorResponses {
+
+    public static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static final Map<ErrorCode, byte[]> ENCODED = new ConcurrentHashMap<>();
+
+    static {
+        for (CommonErrorCode errorCode : CommonErrorCode.values()) {
+            ENCODED.put(errorCode, encode(errorCode.getCode(), errorCode.getMessage()));
+        }
+    }
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * 异常对应的响应体，返回的数组不可修改
+     */
+    public static byte[] body(BizException exception) {
+        ErrorCode errorCode = exception.getErrorCode();
+        String message = exception.getMessage();
+        if (errorCode != null && (message == errorCode.getMessage() || errorCode.getMessage().equals(message))) {
+            return body(errorCode);
+        }
+        return encode(exception.getCode(), message);
+    }
+
+    /**
+     * 错误码默认信息的响应体，返回的数组不可修改
+     */
+    public static byte[] body(ErrorCode errorCode) {
+        byte[] body = ENCODED.get(errorCode);
+        if (body == null) {
+            body = ENCODED.computeIfAbsent(errorCode, key -> encode(key.getCode(), key.getMessage()));
+        }
+        return body;
+    }
+
+    /**
+     * HTTP 状态码：错误码在 400~599 之间时与之相同，其余业务错误码返回 200，由响应体区分
+     */
+    public static int status(int code) {
+        return code >= 400 && code < 600 ? code : 200;
+    }
+
+    /**
+     * 编码响应体
+     */
+    public static byte[] encode(int code, String message) {
+        StringBuilder json = new StringBuilder(32 + (message != null ? message.length() : 0));
+        json.append("{\"code\":").append(code).append(",\"message\":");
+        if (message == null) {
+            json.append("null");
+        } else {
+            json.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(message, json);
+            json.append('"');
+        }
+        json.append(",\"data\":null}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
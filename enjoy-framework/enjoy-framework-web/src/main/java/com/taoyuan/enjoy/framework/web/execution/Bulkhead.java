@@ -0,0 +1,131 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 下游资源并发隔离
+ * 虚拟线程数量不再受限，并发上限改由下游资源（数据库连接池、缓存、外部接口）各自的信号量控制：
+ * 许可数与资源容量一致，超出的请求在信号量上排队（虚拟线程排队不占载体线程），等待超时返回请求过多。
+ * 信号量为公平模式，先到先得，避免长尾请求反复被插队
+ *
+ * <pre>
+ * Bulkhead db = bulkheads.register("db", 50, 1000);
+ * try (Bulkhead.Permit permit = db.acquire()) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int permits;
+    private final long timeoutNanos;
+    private final Semaphore semaphore;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name          资源名称
+     * @param permits       最大并发数
+     * @param timeoutMillis 最长等待时间（毫秒）
+     */
+    public Bulkhead(String name, int permits, long timeoutMillis) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Bulkhead permits must be positive: " + name);
+        }
+        this.name = name;
+        this.permits = permits;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    /**
+     * 获取许可，超时抛出请求过多
+     *
+     * @return 许可，关闭时归还
+     */
+    public Permit acquire() {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw BizException.of(CommonErrorCode.TOO_MANY_REQUESTS);
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * 在许可内执行
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        Permit permit = acquire();
+        try {
+            return task.call();
+        } finally {
+            permit.close();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * 正在使用的许可数
+     */
+    public int getInUse() {
+        return permits - semaphore.availablePermits();
+    }
+
+    /**
+     * 排队等待的线程数（估计值）
+     */
+    public int getWaiting() {
+        return semaphore.getQueueLength();
+    }
+
+    /**
+     * 等待超时被拒绝的累计次数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 许可，只归还一次
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private Semaphore semaphore;
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            Semaphore held = semaphore;
+            if (held != null) {
+                semaphore = null;
+                held.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * 受 {@link Bulkhead} 保护的数据源
+ * 获取连接前先取得许可，连接关闭时归还。许可数取连接池大小，虚拟线程在公平信号量上排队，
+ * 而不是挤在连接池内部的等待队列上（部分连接池用 synchronized 等待，会固定载体线程）
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class BulkheadDataSource implements DataSource {
+
+    private final DataSource delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return guard(delegate.getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return guard(delegate.getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private static Connection guard(Connection connection, Bulkhead.Permit permit) {
+        return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PermitHandler(connection, permit));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    private static final class PermitHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Bulkhead.Permit permit;
+
+        private PermitHandler(Connection connection, Bulkhead.Permit permit) {
+            this.connection = connection;
+            this.permit = permit;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    try {
+                        connection.close();
+                    } finally {
+                        permit.close();
+                    }
+                    return null;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按资源名称管理的 {@link Bulkhead}
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class Bulkheads {
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 注册资源，同名资源已存在时返回已有实例
+     *
+     * @param name          资源名称
+     * @param permits       最大并发数，一般与资源容量（如连接池大小）一致
+     * @param timeoutMillis 最长等待时间（毫秒）
+     */
+    public Bulkhead register(String name, int permits, long timeoutMillis) {
+        return bulkheads.computeIfAbsent(name, key -> new Bulkhead(key, permits, timeoutMillis));
+    }
+
+    /**
+     * 获取已注册的资源
+     */
+    public Bulkhead get(String name) {
+        Bulkhead bulkhead = bulkheads.get(name);
+        if (bulkhead == null) {
+            throw new IllegalArgumentException("Unknown bulkhead: " + name);
+        }
+        return bulkhead;
+    }
+
+    /**
+     * 全部资源，用于监控
+     */
+    public Collection<Bulkhead> getAll() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+}
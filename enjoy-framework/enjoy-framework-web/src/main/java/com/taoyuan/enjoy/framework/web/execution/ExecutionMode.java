@@ -0,0 +1,20 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+/**
+ * 请求执行模式
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public enum ExecutionMode {
+
+    /**
+     * 平台线程池，并发受线程数限制
+     */
+    PLATFORM,
+
+    /**
+     * 每个请求一个虚拟线程，阻塞IO时让出载体线程，并发由 {@link Bulkhead} 按下游资源限制
+     */
+    VIRTUAL
+}
@@ -0,0 +1,131 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 虚拟线程固定（pinning）检测
+ * 订阅 JFR 的 jdk.VirtualThreadPinned 事件：虚拟线程在 synchronized 块或本地方法中阻塞时无法卸载，
+ * 会占住载体线程（典型如 JDBC 驱动在 synchronized 中做网络IO）。按栈顶第一个非 JDK 帧归并计数，
+ * 用于定位需要改为 ReentrantLock 或放到 {@link Bulkhead} 后面的代码
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class PinningMonitor implements Closeable {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final String UNKNOWN_FRAME = "unknown";
+
+    private final RecordingStream stream;
+    private final Map<String, LongAdder> hotspots = new ConcurrentHashMap<>();
+    private final LongAdder pinnedCount = new LongAdder();
+    private final Consumer<PinnedEvent> listener;
+
+    /**
+     * @param threshold 固定时长超过该值才记录
+     * @param listener  事件回调，可为空
+     */
+    public PinningMonitor(Duration threshold, Consumer<PinnedEvent> listener) {
+        this.listener = listener;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onEvent);
+    }
+
+    /**
+     * 按配置启动检测，未开启时返回 null
+     */
+    public static PinningMonitor start(RequestExecutionProperties properties, Consumer<PinnedEvent> listener) {
+        if (!properties.isPinningDetection()) {
+            return null;
+        }
+        PinningMonitor monitor = new PinningMonitor(Duration.ofMillis(properties.getPinningThresholdMillis()), listener);
+        monitor.start();
+        return monitor;
+    }
+
+    /**
+     * 后台开始接收事件
+     */
+    public void start() {
+        stream.startAsync();
+    }
+
+    private void onEvent(RecordedEvent event) {
+        String frame = firstApplicationFrame(event.getStackTrace());
+        pinnedCount.increment();
+        hotspots.computeIfAbsent(frame, key -> new LongAdder()).increment();
+        if (listener != null) {
+            String thread = event.getThread() != null ? event.getThread().getJavaName() : null;
+            listener.accept(new PinnedEvent(thread, event.getDuration(), frame));
+        }
+    }
+
+    private static String firstApplicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_FRAME;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) {
+                continue;
+            }
+            return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+        }
+        return frames.isEmpty() ? UNKNOWN_FRAME : frames.get(0).getMethod().getType().getName();
+    }
+
+    /**
+     * 累计固定次数
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    /**
+     * 按次数降序的固定位置
+     *
+     * @param limit 最多返回条数
+     */
+    public Map<String, Long> getHotspots(int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        hotspots.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    /**
+     * 固定事件
+     *
+     * @param thread   虚拟线程名称
+     * @param duration 固定时长
+     * @param frame    栈顶第一个非 JDK 帧
+     */
+    public record PinnedEvent(String thread, Duration duration, String frame) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+/**
+ * 请求执行配置
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class RequestExecutionProperties {
+
+    /**
+     * 执行模式，使用 {@link SwitchableRequestExecutor} 时运行期修改对之后提交的请求立即生效
+     */
+    private volatile ExecutionMode mode = ExecutionMode.PLATFORM;
+
+    /**
+     * 平台线程池大小
+     */
+    private int platformThreads = 200;
+
+    /**
+     * 是否开启虚拟线程固定（pinning）检测
+     */
+    private boolean pinningDetection = true;
+
+    /**
+     * 固定时长超过该值（毫秒）才记录
+     */
+    private long pinningThresholdMillis = 20L;
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ExecutionMode mode) {
+        this.mode = mode;
+    }
+
+    public int getPlatformThreads() {
+        return platformThreads;
+    }
+
+    public void setPlatformThreads(int platformThreads) {
+        this.platformThreads = platformThreads;
+    }
+
+    public boolean isPinningDetection() {
+        return pinningDetection;
+    }
+
+    public void setPinningDetection(boolean pinningDetection) {
+        this.pinningDetection = pinningDetection;
+    }
+
+    public long getPinningThresholdMillis() {
+        return pinningThresholdMillis;
+    }
+
+    public void setPinningThresholdMillis(long pinningThresholdMillis) {
+        this.pinningThresholdMillis = pinningThresholdMillis;
+    }
+}
@@ -0,0 +1,53 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import com.taoyuan.enjoy.framework.log.trace.TraceExecutors;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 请求线程池
+ * 供支持自定义线程池的容器连接器（如 Tomcat 的 ProtocolHandler#setExecutor）直接替换请求线程；
+ * 需要运行期切换模式时使用 {@link #switchable(RequestExecutionProperties)}
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class RequestExecutors {
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * 按配置的模式创建请求线程池，传播链路
+     *
+     * @param properties 配置
+     * @return 线程池
+     */
+    public static ExecutorService create(RequestExecutionProperties properties) {
+        return create(properties.getMode(), properties.getPlatformThreads());
+    }
+
+    /**
+     * 按配置的模式在每次提交时选择虚拟线程或平台线程池，模式可运行期切换
+     *
+     * @param properties 配置
+     * @return 线程池
+     */
+    public static ExecutorService switchable(RequestExecutionProperties properties) {
+        return TraceExecutors.wrap(new SwitchableRequestExecutor(properties));
+    }
+
+    /**
+     * @param mode            执行模式
+     * @param platformThreads 平台线程数，虚拟线程模式下忽略
+     */
+    public static ExecutorService create(ExecutionMode mode, int platformThreads) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return TraceExecutors.wrap(Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("enjoy-request-v", 0).factory()));
+        }
+        return TraceExecutors.wrap(Executors.newFixedThreadPool(platformThreads,
+                Thread.ofPlatform().name("enjoy-request-", 0).factory()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 可运行期切换的请求线程池
+ * 每次提交时读取 {@link RequestExecutionProperties#getMode()}：虚拟线程模式下每个任务一个虚拟线程，
+ * 否则交给固定大小的平台线程池，切换后新提交的任务立即生效，已在执行的（包括其所在保持连接上紧接着处理的请求）不受影响。
+ * 设置为容器连接器的线程池（如 Tomcat 的 {@code ProtocolHandler#setExecutor}），
+ * 请求从解析到过滤器、处理器全程在同一线程上执行，不跨线程续跑过滤器链
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class SwitchableRequestExecutor extends AbstractExecutorService {
+
+    private final RequestExecutionProperties properties;
+    private final ExecutorService virtual;
+    private final ExecutorService platform;
+
+    public SwitchableRequestExecutor(RequestExecutionProperties properties) {
+        this.properties = properties;
+        this.virtual = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("enjoy-request-v", 0).factory());
+        // 核心线程按需创建，始终使用虚拟线程时不占用平台线程
+        this.platform = Executors.newFixedThreadPool(properties.getPlatformThreads(),
+                Thread.ofPlatform().name("enjoy-request-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (properties.getMode() == ExecutionMode.VIRTUAL) {
+            virtual.execute(command);
+        } else {
+            platform.execute(command);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        virtual.shutdown();
+        platform.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>(virtual.shutdownNow());
+        pending.addAll(platform.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return virtual.isShutdown() && platform.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return virtual.isTerminated() && platform.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return virtual.awaitTermination(timeout, unit)
+                && platform.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,49 @@
+package com.taoyuan.enjoy.framework.web.filter;
+
+import com.taoyuan.enjoy.framework.common.constant.HeaderConstants;
+import com.taoyuan.enjoy.framework.log.trace.Span;
+import com.taoyuan.enjoy.framework.log.trace.Tracer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * 链路追踪过滤器
+ * 沿用上游请求头中的追踪ID（不合法则重新生成），为每个请求开启根跨度，并在响应头中回写追踪ID；
+ * 响应状态码 >= 500 或抛出异常时标记为失败链路
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class TraceFilter implements Filter {
+
+    private static final String SPAN_NAME = "http.request";
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest) || !(response instanceof HttpServletResponse httpResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (Span span = Tracer.startTrace(SPAN_NAME, httpRequest.getHeader(HeaderConstants.TRACE_ID))) {
+            span.tag(httpRequest.getMethod() + " " + httpRequest.getRequestURI());
+            httpResponse.setHeader(HeaderConstants.TRACE_ID, span.getTrace().getTraceId());
+            try {
+                chain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            }
+            if (httpResponse.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                span.error("HTTP " + httpResponse.getStatus());
+            }
+        }
+    }
+}
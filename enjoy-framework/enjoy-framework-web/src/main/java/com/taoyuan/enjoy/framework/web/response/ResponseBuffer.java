@@ -0,0 +1,99 @@
+package com.taoyuan.enjoy.framework.web.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 可复用的响应缓冲
+ * 响应体不超过上限时完整缓冲，结束时带 Content-Length 一次写出；超过上限后把已缓冲的内容和之后的数据
+ * 直接写往 Servlet 输出流（分块传输），大响应不会占用更多内存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+final class ResponseBuffer extends OutputStream {
+
+    private final int maxSize;
+
+    private byte[] buffer;
+    private int count;
+    private HttpServletResponse response;
+    private OutputStream target;
+
+    ResponseBuffer(int initialSize, int maxSize) {
+        this.maxSize = maxSize;
+        this.buffer = new byte[initialSize];
+    }
+
+    void open(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length && !ensure(1)) {
+            spill();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (count + len > buffer.length && !ensure(len)) {
+            spill();
+            if (len >= buffer.length) {
+                target.write(b, off, len);
+                return;
+            }
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * 在上限内扩容
+     */
+    private boolean ensure(int len) {
+        int required = count + len;
+        if (required > maxSize) {
+            return false;
+        }
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(maxSize, Math.max(required, buffer.length * 2)));
+        }
+        return true;
+    }
+
+    private void spill() throws IOException {
+        if (target == null) {
+            target = response.getOutputStream();
+        }
+        target.write(buffer, 0, count);
+        count = 0;
+    }
+
+    /**
+     * 写出剩余内容
+     */
+    void finish() throws IOException {
+        if (target == null) {
+            response.setContentLength(count);
+            response.getOutputStream().write(buffer, 0, count);
+        } else if (count > 0) {
+            target.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+    /**
+     * 归还前清理，扩容后的缓冲区继续保留（不超过上限）
+     */
+    void reset() {
+        count = 0;
+        response = null;
+        target = null;
+    }
+}
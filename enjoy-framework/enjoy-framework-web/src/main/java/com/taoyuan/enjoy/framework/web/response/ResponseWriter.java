@@ -0,0 +1,120 @@
+package com.taoyuan.enjoy.framework.web.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.error.ErrorCode;
+import com.taoyuan.enjoy.framework.common.model.Result;
+import com.taoyuan.enjoy.framework.common.utils.ThreadLocalPool;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 统一响应写出
+ * 每个错误码的 {"code":..,"message":..,"data": 前缀预先编码为 UTF-8 字节，只有 data 经 Jackson 序列化，
+ * 不再对外层包装做反射；序列化直接写入复用的 {@link ResponseBuffer}（平台线程按线程复用，虚拟线程从共享队列借还），
+ * 小响应带 Content-Length 一次写出，大响应超出缓冲上限后直接写往 Servlet 输出流
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public class ResponseWriter {
+
+    public static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static final int DEFAULT_INITIAL_SIZE = 4 * 1024;
+    private static final int DEFAULT_MAX_SIZE = 64 * 1024;
+    private static final int MAX_SHARED_BUFFERS = 256;
+    private static final byte[] NULL_DATA = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final int END_OBJECT = '}';
+
+    private final ObjectMapper objectMapper;
+    private final Map<ErrorCode, byte[]> prefixes = new ConcurrentHashMap<>();
+    private final ThreadLocalPool<ResponseBuffer> buffers;
+
+    public ResponseWriter(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_INITIAL_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param objectMapper 序列化 data 使用的 ObjectMapper
+     * @param initialSize  缓冲区初始大小
+     * @param maxSize      缓冲区上限，超出后改为分块写出
+     */
+    public ResponseWriter(ObjectMapper objectMapper, int initialSize, int maxSize) {
+        this.objectMapper = objectMapper;
+        this.buffers = new ThreadLocalPool<>(() -> new ResponseBuffer(initialSize, maxSize), MAX_SHARED_BUFFERS);
+        for (CommonErrorCode errorCode : CommonErrorCode.values()) {
+            prefixes.put(errorCode, prefix(errorCode.getCode(), errorCode.getMessage()));
+        }
+    }
+
+    /**
+     * 写出统一响应
+     */
+    public void write(HttpServletResponse response, Result<?> result) throws IOException {
+        ErrorCode errorCode = result.errorCode();
+        byte[] prefix = errorCode != null ? prefix(errorCode) : prefix(result.getCode(), result.getMessage());
+        write(response, prefix, result.getData());
+    }
+
+    /**
+     * 以错误码默认信息写出
+     *
+     * @param response  响应
+     * @param errorCode 错误码
+     * @param data      数据，可为空
+     */
+    public void write(HttpServletResponse response, ErrorCode errorCode, Object data) throws IOException {
+        write(response, prefix(errorCode), data);
+    }
+
+    private void write(HttpServletResponse response, byte[] prefix, Object data) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        ResponseBuffer buffer = buffers.acquire();
+        try {
+            buffer.open(response);
+            buffer.write(prefix);
+            if (data == null) {
+                buffer.write(NULL_DATA);
+            } else {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    objectMapper.writeValue(generator, data);
+                }
+            }
+            buffer.write(END_OBJECT);
+            buffer.finish();
+        } finally {
+            buffer.reset();
+            buffers.release(buffer);
+        }
+    }
+
+    private byte[] prefix(ErrorCode errorCode) {
+        byte[] prefix = prefixes.get(errorCode);
+        if (prefix == null) {
+            prefix = prefixes.computeIfAbsent(errorCode, key -> prefix(key.getCode(), key.getMessage()));
+        }
+        return prefix;
+    }
+
+    private static byte[] prefix(int code, String message) {
+        StringBuilder json = new StringBuilder(48 + (message != null ? message.length() : 0));
+        json.append("{\"code\":").append(code).append(",\"message\":");
+        if (message == null) {
+            json.append("null");
+        } else {
+            json.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(message, json);
+            json.append('"');
+        }
+        json.append(",\"data\":");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.taoyuan.enjoy.framework.web;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.Servlet;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * 测试用内嵌 Tomcat：随机端口，按注册顺序组成过滤器链
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+public final class EmbeddedTomcat implements AutoCloseable {
+
+    private static final Logger TOMCAT_LOGGER = Logger.getLogger("org.apache");
+
+    static {
+        TOMCAT_LOGGER.setLevel(Level.WARNING);
+    }
+
+    private final Tomcat tomcat = new Tomcat();
+    private final Context context;
+    private final Path baseDir;
+
+    public EmbeddedTomcat() throws IOException {
+        this(null);
+    }
+
+    /**
+     * @param executor 连接器线程池，为空时使用 Tomcat 默认线程池
+     */
+    public EmbeddedTomcat(Executor executor) throws IOException {
+        baseDir = Files.createTempDirectory("enjoy-tomcat-");
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        if (executor != null) {
+            tomcat.getConnector().getProtocolHandler().setExecutor(executor);
+        }
+        context = tomcat.addContext("", baseDir.toString());
+        // 测试进程不开放 java.base 模块，关闭依赖反射的泄漏检测
+        StandardContext standard = (StandardContext) context;
+        standard.setClearReferencesThreadLocals(false);
+        standard.setClearReferencesRmiTargets(false);
+    }
+
+    public EmbeddedTomcat filter(String name, Filter filter) {
+        FilterDef def = new FilterDef();
+        def.setFilterName(name);
+        def.setFilter(filter);
+        def.setAsyncSupported("true");
+        context.addFilterDef(def);
+        FilterMap map = new FilterMap();
+        map.setFilterName(name);
+        map.addURLPattern("/*");
+        context.addFilterMap(map);
+        return this;
+    }
+
+    public EmbeddedTomcat servlet(String pattern, Servlet servlet) {
+        String name = "servlet" + pattern;
+        Tomcat.addServlet(context, name, servlet).setAsyncSupported(true);
+        context.addServletMappingDecoded(pattern, name);
+        return this;
+    }
+
+    public EmbeddedTomcat start() throws LifecycleException {
+        tomcat.start();
+        return this;
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + tomcat.getConnector().getLocalPort() + path);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } finally {
+            try (Stream<Path> files = Files.walk(baseDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.taoyuan.enjoy.framework.web.compression;
+
+import com.taoyuan.enjoy.framework.web.EmbeddedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 响应压缩：预压缩缓存按地址、ETag 与 Vary 请求头区分，命中时校验原文，私有与需认证的响应不缓存
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class CompressionFilterTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private CompressionFilter filter;
+    private EmbeddedTomcat tomcat;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CompressionProperties properties = new CompressionProperties();
+        properties.setMaxCpuLoad(1D);
+        filter = new CompressionFilter(properties);
+        tomcat = new EmbeddedTomcat()
+                .filter("compression", filter)
+                .servlet("/data/*", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        resp.setContentType("application/json;charset=UTF-8");
+                        resp.setHeader("ETag", "\"v1\"");
+                        resp.setHeader("Cache-Control", req.getParameter("cc") != null ? req.getParameter("cc") : "no-cache");
+                        if (req.getParameter("vary") != null) {
+                            resp.setHeader("Vary", req.getParameter("vary"));
+                        }
+                        String tenant = req.getHeader("X-Tenant");
+                        String body = req.getParameter("body") != null ? req.getParameter("body") : req.getHeader("X-Body");
+                        resp.getWriter().write(("{\"tenant\":\"" + tenant + "\",\"body\":\"" + (body != null ? body : "a")
+                                + "\"}").repeat(200));
+                    }
+                })
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.close();
+        client.close();
+    }
+
+    private String get(String path, String... headers) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(tomcat.uri(path)).header("Accept-Encoding", "gzip");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertEquals("\"v1-gzip\"", response.headers().firstValue("ETag").orElseThrow());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String expected(String tenant, String body) {
+        return ("{\"tenant\":\"" + tenant + "\",\"body\":\"" + body + "\"}").repeat(200);
+    }
+
+    @Test
+    void servesPrecompressedVariantForSameResource() throws Exception {
+        assertEquals(expected("null", "a"), get("/data/x?body=a"));
+        assertEquals(expected("null", "a"), get("/data/x?body=a"));
+        assertEquals(1, filter.getCacheHits());
+    }
+
+    @Test
+    void verifiesSourceBeforeServingCachedVariant() throws Exception {
+        assertEquals(expected("null", "a"), get("/data/x"));
+        // 内容变化而 ETag 未变（如调用方漏传主体），不写出缓存中的旧内容
+        assertEquals(expected("null", "b"), get("/data/x", "X-Body", "b"));
+        assertEquals(0, filter.getCacheHits());
+        assertEquals(expected("null", "b"), get("/data/x", "X-Body", "b"));
+        assertEquals(1, filter.getCacheHits());
+    }
+
+    @Test
+    void keysByUriAndVariedHeaders() throws Exception {
+        get("/data/x?body=a");
+        assertEquals(expected("null", "a"), get("/data/other?body=a"));
+        assertEquals(0, filter.getCacheHits());
+
+        assertEquals(expected("t1", "a"), get("/data/x?body=a&vary=X-Tenant", "X-Tenant", "t1"));
+        assertEquals(expected("t2", "a"), get("/data/x?body=a&vary=X-Tenant", "X-Tenant", "t2"));
+        assertEquals(0, filter.getCacheHits());
+        assertEquals(expected("t1", "a"), get("/data/x?body=a&vary=X-Tenant", "X-Tenant", "t1"));
+        assertEquals(1, filter.getCacheHits());
+    }
+
+    @Test
+    void skipsPrivateAndAuthenticatedResponses() throws Exception {
+        get("/data/x?body=a&cc=private,no-cache");
+        get("/data/x?body=a&cc=private,no-cache");
+        get("/data/x?body=a&cc=no-store");
+        get("/data/x?body=a&cc=no-store");
+        get("/data/x?body=a", "Authorization", "Bearer t");
+        get("/data/x?body=a", "Authorization", "Bearer t");
+        get("/data/x?body=a", "Cookie", "SESSION=1");
+        assertEquals(0, filter.getCacheHits());
+        assertEquals(0, filter.getCacheBytes());
+
+        get("/data/x?body=a&cc=public,no-cache", "Authorization", "Bearer t");
+        get("/data/x?body=a&cc=public,no-cache", "Authorization", "Bearer t");
+        assertEquals(1, filter.getCacheHits());
+    }
+}
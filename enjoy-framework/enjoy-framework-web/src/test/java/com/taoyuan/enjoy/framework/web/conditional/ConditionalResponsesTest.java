@@ -0,0 +1,99 @@
+package com.taoyuan.enjoy.framework.web.conditional;
+
+import com.taoyuan.enjoy.framework.web.EmbeddedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 条件请求：ETag 区分主体，带主体的资源不接受 If-Modified-Since，资源变更后重新返回内容
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ConditionalResponsesTest {
+
+    private final ResourceVersions versions = new ResourceVersions((tenantId, resource) -> 1_700_000_000_000L);
+    private final ConditionalResponses conditional = new ConditionalResponses(versions);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private EmbeddedTomcat tomcat;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tomcat = new EmbeddedTomcat()
+                .servlet("/menu", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        String user = req.getParameter("user");
+                        if (conditional.notModified(req, resp, 1L, user, 0L, "menu")) {
+                            return;
+                        }
+                        resp.getWriter().write("menu of " + user);
+                    }
+                })
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.close();
+        client.close();
+    }
+
+    private HttpResponse<String> get(String path, String header, String value) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(tomcat.uri(path));
+        if (header != null) {
+            builder.header(header, value);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void etagIsBoundToSubject() throws Exception {
+        HttpResponse<String> alice = get("/menu?user=alice", null, null);
+        assertEquals(200, alice.statusCode());
+        String etag = alice.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get("/menu?user=alice", "If-None-Match", etag).statusCode());
+
+        HttpResponse<String> bob = get("/menu?user=bob", "If-None-Match", etag);
+        assertEquals(200, bob.statusCode());
+        assertEquals("menu of bob", bob.body());
+        assertNotEquals(etag, bob.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void ifModifiedSinceOnlyForSharedResources() throws Exception {
+        HttpResponse<String> first = get("/menu?user=alice", null, null);
+        String lastModified = first.headers().firstValue("Last-Modified").orElseThrow();
+        assertEquals(200, get("/menu?user=bob", "If-Modified-Since", lastModified).statusCode());
+        assertEquals(304, get("/menu", "If-Modified-Since", lastModified).statusCode());
+    }
+
+    @Test
+    void changeInvalidatesEtag() throws Exception {
+        String etag = get("/menu?user=alice", null, null).headers().firstValue("ETag").orElseThrow();
+        versions.bump(1L, "menu");
+        assertEquals(200, get("/menu?user=alice", "If-None-Match", etag).statusCode());
+    }
+
+    @Test
+    void etagFormat() {
+        assertEquals("\"1-0-2-" + Integer.toHexString("menu".hashCode()) + "-10\"",
+                ConditionalResponses.etag(1L, null, 2L, "menu", 16L));
+        assertNotEquals(ConditionalResponses.etag(1L, "1", 0L, "menu", 1L),
+                ConditionalResponses.etag(1L, "2", 0L, "menu", 1L));
+        assertTrue(ConditionalResponses.matches("W/\"a\", \"b-gzip\"", "\"b\""));
+    }
+}
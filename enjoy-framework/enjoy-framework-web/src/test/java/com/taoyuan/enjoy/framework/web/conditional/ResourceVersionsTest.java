@@ -0,0 +1,78 @@
+package com.taoyuan.enjoy.framework.web.conditional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 资源版本：本地变更、其他实例变更的应用与定期重新加载
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ResourceVersionsTest {
+
+    private static final long LOADED = 1_700_000_000_000L;
+
+    @Test
+    void bumpAdvancesPastNextSecond() {
+        ResourceVersions versions = new ResourceVersions((tenantId, resource) -> LOADED);
+        assertEquals(LOADED, versions.version(1L, "menu"));
+        long bumped = versions.bump(1L, "menu");
+        assertTrue(bumped >= LOADED + 1000L);
+        assertEquals(bumped, versions.version(1L, "menu"));
+        assertEquals(LOADED, versions.version(2L, "menu"));
+    }
+
+    @Test
+    void applyAdvancesEvenWhenRemoteVersionIsLower() {
+        ResourceVersions versions = new ResourceVersions((tenantId, resource) -> LOADED);
+        long local = versions.bump(1L, "menu");
+        versions.apply(1L, "menu", LOADED);
+        assertTrue(versions.version(1L, "menu") > local);
+    }
+
+    @Test
+    void applyAllRaisesEveryTenant() {
+        ResourceVersions versions = new ResourceVersions((tenantId, resource) -> LOADED);
+        long tenant = versions.bump(1L, "dict");
+        versions.version(2L, "dict");
+        versions.applyAll("dict", LOADED);
+        assertTrue(versions.version(1L, "dict") > tenant);
+        assertTrue(versions.version(2L, "dict") > tenant);
+    }
+
+    @Test
+    void reloadDetectsChangesMadeElsewhere() {
+        AtomicLong source = new AtomicLong(LOADED);
+        ResourceVersions versions = new ResourceVersions((tenantId, resource) -> source.get());
+        long local = versions.bump(1L, "menu");
+        versions.reload();
+        assertEquals(local, versions.version(1L, "menu"));
+        // 其他实例时钟偏慢：加载值低于本地版本，仍视为变更
+        source.set(LOADED + 500L);
+        versions.reload();
+        assertTrue(versions.version(1L, "menu") > local);
+    }
+
+    @Test
+    void periodicReload() throws InterruptedException {
+        AtomicLong source = new AtomicLong(LOADED);
+        ResourceVersions versions = new ResourceVersions((tenantId, resource) -> source.get());
+        versions.version(1L, "menu");
+        versions.start(20L);
+        try {
+            source.set(LOADED + 1L);
+            long deadline = System.currentTimeMillis() + 5_000L;
+            while (versions.version(1L, "menu") == LOADED && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertTrue(versions.version(1L, "menu") > LOADED);
+        } finally {
+            versions.stop();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.taoyuan.enjoy.framework.web.error;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import com.taoyuan.enjoy.framework.web.EmbeddedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 全局异常处理：业务异常按错误码响应，其他异常写出系统异常后继续抛给容器记录
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ErrorResponseFilterTest {
+
+    private final Logger containerLogger = Logger.getLogger("org.apache.catalina.core");
+    private final List<Throwable> logged = new CopyOnWriteArrayList<>();
+    private final Handler capture = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            if (record.getThrown() != null) {
+                logged.add(record.getThrown());
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+    private final HttpClient client = HttpClient.newHttpClient();
+    private EmbeddedTomcat tomcat;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        containerLogger.setUseParentHandlers(false);
+        containerLogger.addHandler(capture);
+        tomcat = new EmbeddedTomcat()
+                .filter("error", new ErrorResponseFilter())
+                .servlet("/biz", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                        throw new BizException(CommonErrorCode.DATA_NOT_FOUND);
+                    }
+                })
+                .servlet("/bug", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                        resp.setHeader("X-Partial", "1");
+                        throw new IllegalStateException("boom");
+                    }
+                })
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.close();
+        client.close();
+        containerLogger.removeHandler(capture);
+        containerLogger.setUseParentHandlers(true);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(tomcat.uri(path)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesBizExceptionByErrorCode() throws Exception {
+        HttpResponse<String> response = get("/biz");
+        assertEquals(404, response.statusCode());
+        assertEquals("{\"code\":404,\"message\":\"数据不存在\",\"data\":null}", response.body());
+        assertTrue(logged.isEmpty());
+    }
+
+    @Test
+    void writesSystemErrorAndRethrowsToContainer() throws Exception {
+        HttpResponse<String> response = get("/bug");
+        assertEquals(500, response.statusCode());
+        assertEquals(ErrorResponses.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElseThrow()
+                .replace(" ", ""));
+        assertEquals("{\"code\":500,\"message\":\"系统异常，请稍后再试\",\"data\":null}", response.body());
+        assertTrue(logged.stream().anyMatch(e -> "boom".equals(e.getMessage())), "container logged " + logged);
+    }
+}
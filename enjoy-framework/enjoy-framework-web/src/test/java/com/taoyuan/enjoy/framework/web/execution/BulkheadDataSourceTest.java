@@ -0,0 +1,128 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.exception.BizException;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 受隔离的数据源：连接关闭、获取失败时归还许可，等待超时返回请求过多
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class BulkheadDataSourceTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private Connection connection(SQLException onClose) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        closed.incrementAndGet();
+                        if (onClose != null) {
+                            throw onClose;
+                        }
+                        yield null;
+                    }
+                    case "isClosed" -> closed.get() > 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static DataSource dataSource(Connection connection, Exception failure) {
+        return (DataSource) Proxy.newProxyInstance(BulkheadDataSourceTest.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return connection;
+                });
+    }
+
+    @Test
+    void permitIsReleasedWhenConnectionCloses() throws SQLException {
+        Bulkhead bulkhead = new Bulkhead("db", 1, 20);
+        BulkheadDataSource dataSource = new BulkheadDataSource(dataSource(connection(null), null), bulkhead);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(1, bulkhead.getInUse());
+        assertFalse(first.isClosed());
+        BizException e = assertThrows(BizException.class, dataSource::getConnection);
+        assertEquals(CommonErrorCode.TOO_MANY_REQUESTS.getCode(), e.getCode());
+
+        first.close();
+        first.close();
+        assertEquals(2, closed.get());
+        assertEquals(0, bulkhead.getInUse());
+        try (Connection second = dataSource.getConnection("u", "p")) {
+            assertEquals(1, bulkhead.getInUse());
+            assertTrue(second.equals(second));
+        }
+        assertEquals(0, bulkhead.getInUse());
+    }
+
+    @Test
+    void permitIsReleasedWhenCloseFails() {
+        Bulkhead bulkhead = new Bulkhead("db", 1, 20);
+        SQLException failure = new SQLException("close failed");
+        BulkheadDataSource dataSource = new BulkheadDataSource(dataSource(connection(failure), null), bulkhead);
+
+        SQLException e = assertThrows(SQLException.class, () -> dataSource.getConnection().close());
+        assertSame(failure, e);
+        assertEquals(0, bulkhead.getInUse());
+    }
+
+    @Test
+    void permitIsReleasedWhenGetConnectionFails() {
+        Bulkhead bulkhead = new Bulkhead("db", 1, 20);
+        SQLException failure = new SQLException("pool exhausted");
+        BulkheadDataSource dataSource = new BulkheadDataSource(dataSource(null, failure), bulkhead);
+
+        assertSame(failure, assertThrows(SQLException.class, dataSource::getConnection));
+        assertEquals(0, bulkhead.getInUse());
+        assertSame(failure, assertThrows(SQLException.class, () -> dataSource.getConnection("u", "p")));
+        assertEquals(0, bulkhead.getInUse());
+
+        IllegalStateException runtime = new IllegalStateException("broken");
+        BulkheadDataSource broken = new BulkheadDataSource(dataSource(null, runtime), bulkhead);
+        assertSame(runtime, assertThrows(IllegalStateException.class, broken::getConnection));
+        assertEquals(0, bulkhead.getInUse());
+        assertEquals(0, bulkhead.getRejected());
+    }
+
+    @Test
+    void acquireTimeoutIsTooManyRequests() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("db", 1, 50);
+        try (Bulkhead.Permit ignored = bulkhead.acquire()) {
+            long start = System.nanoTime();
+            BizException e = assertThrows(BizException.class, bulkhead::acquire);
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(CommonErrorCode.TOO_MANY_REQUESTS.getCode(), e.getCode());
+            assertTrue(waited >= 40, "waited " + waited + "ms");
+            assertEquals(1, bulkhead.getRejected());
+        }
+        assertEquals(0, bulkhead.getInUse());
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> {
+            throw new IllegalStateException("task failed");
+        }));
+        assertEquals(0, bulkhead.getInUse());
+    }
+}
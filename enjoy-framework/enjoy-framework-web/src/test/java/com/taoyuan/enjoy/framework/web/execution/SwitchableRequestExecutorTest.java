@@ -0,0 +1,109 @@
+package com.taoyuan.enjoy.framework.web.execution;
+
+import com.taoyuan.enjoy.framework.web.EmbeddedTomcat;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 连接器级线程切换：过滤器与处理器同线程执行，模式运行期切换立即生效
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class SwitchableRequestExecutorTest {
+
+    private final RequestExecutionProperties properties = new RequestExecutionProperties();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ExecutorService executor;
+    private EmbeddedTomcat tomcat;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.setPlatformThreads(4);
+        executor = RequestExecutors.switchable(properties);
+        Filter threadRecorder = (request, response, chain) -> {
+            request.setAttribute("filterThread", Thread.currentThread());
+            chain.doFilter(request, response);
+        };
+        tomcat = new EmbeddedTomcat(executor)
+                .filter("thread", threadRecorder)
+                .servlet("/thread", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        if (req.getParameter("sleep") != null) {
+                            try {
+                                Thread.sleep(Long.parseLong(req.getParameter("sleep")));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        Thread current = Thread.currentThread();
+                        resp.getWriter().write(current.isVirtual() + "," + (req.getAttribute("filterThread") == current));
+                    }
+                })
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.close();
+        executor.shutdownNow();
+        client.close();
+    }
+
+    /**
+     * 每次新建连接：保持连接上紧接着到达的请求可能由同一任务继续处理
+     */
+    private String get(String path) throws Exception {
+        try (HttpClient fresh = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = fresh.send(HttpRequest.newBuilder(tomcat.uri(path)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            return response.body();
+        }
+    }
+
+    @Test
+    void switchesModeAtRuntime() throws Exception {
+        assertEquals("false,true", get("/thread"));
+        properties.setMode(ExecutionMode.VIRTUAL);
+        assertEquals("true,true", get("/thread"));
+        properties.setMode(ExecutionMode.PLATFORM);
+        assertEquals("false,true", get("/thread"));
+    }
+
+    @Test
+    void blockingRequestsDoNotExhaustPlatformThreads() throws Exception {
+        properties.setMode(ExecutionMode.VIRTUAL);
+        int requests = 32;
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(client.sendAsync(HttpRequest.newBuilder(tomcat.uri("/thread?sleep=500")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> future : futures) {
+            assertEquals("true,true", future.get().body());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        // 4 个平台线程串行需要 4 秒
+        assertTrue(elapsedMillis < 3_000, "elapsed " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,88 @@
+package com.taoyuan.enjoy.framework.web.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taoyuan.enjoy.framework.common.error.CommonErrorCode;
+import com.taoyuan.enjoy.framework.common.model.Result;
+import com.taoyuan.enjoy.framework.web.EmbeddedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 统一响应写出：与 Jackson 直接序列化 Result 的结果一致；小响应带 Content-Length，超出缓冲上限后分块写出
+ *
+ * @author enjoy
+ * @version 1.0
+ */
+class ResponseWriterTest {
+
+    private static final int MAX_SIZE = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private EmbeddedTomcat tomcat;
+
+    private Result<?> result(String kind) {
+        return switch (kind) {
+            case "ok" -> Result.ok(Map.of("name", "张三", "tags", List.of("a\"b", "c\n")));
+            case "large" -> Result.ok(Collections.nCopies(2000, Map.of("id", 1234567890123L, "name", "用户")));
+            case "fail" -> Result.fail(CommonErrorCode.PARAM_ERROR);
+            default -> Result.fail(CommonErrorCode.PARAM_ERROR, "名称\"不能\"为空\n");
+        };
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResponseWriter writer = new ResponseWriter(objectMapper, 64, MAX_SIZE);
+        tomcat = new EmbeddedTomcat()
+                .servlet("/r/*", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        writer.write(resp, result(req.getPathInfo().substring(1)));
+                    }
+                })
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.close();
+        client.close();
+    }
+
+    private HttpResponse<String> get(String kind) throws Exception {
+        return client.send(HttpRequest.newBuilder(tomcat.uri("/r/" + kind)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void smallResponseMatchesJacksonWithContentLength() throws Exception {
+        for (String kind : List.of("ok", "fail", "custom")) {
+            HttpResponse<String> response = get(kind);
+            assertEquals(objectMapper.writeValueAsString(result(kind)), response.body());
+            assertEquals(String.valueOf(response.body().getBytes(StandardCharsets.UTF_8).length),
+                    response.headers().firstValue("Content-Length").orElseThrow());
+        }
+    }
+
+    @Test
+    void largeResponseIsStreamed() throws Exception {
+        HttpResponse<String> response = get("large");
+        assertFalse(response.headers().firstValue("Content-Length").isPresent());
+        assertEquals(objectMapper.writeValueAsString(result("large")), response.body());
+    }
+}